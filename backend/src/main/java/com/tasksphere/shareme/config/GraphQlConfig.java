@@ -0,0 +1,75 @@
+package com.tasksphere.shareme.config;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+
+import com.tasksphere.shareme.security.JwtTokenProvider;
+
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+
+/**
+ * Limits and request context of the GraphQL API.
+ *
+ * The endpoint lives under /api, so the JWT filter has already authenticated the
+ * request; the interceptor only copies the user id into the GraphQL context for
+ * the resolvers and data loaders.
+ *
+ * Cost of a query: every field costs 1; a list field multiplies the cost of its
+ * selection by its size or first argument (capped like the page size itself), or
+ * by app.graphql.list-cost when it has neither.
+ * Queries deeper or costlier than the limits are rejected before any data is
+ * loaded.
+ */
+@Configuration
+public class GraphQlConfig {
+
+    public static final String USER_ID = "userId";
+
+    @Value("${app.graphql.max-depth:8}")
+    private int maxDepth;
+
+    @Value("${app.graphql.max-complexity:5000}")
+    private int maxComplexity;
+
+    @Value("${app.graphql.list-cost:10}")
+    private int listCost;
+
+    @Value("${app.graphql.max-page-size:100}")
+    private int maxPageSize;
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation() {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation() {
+        return new MaxQueryComplexityInstrumentation(maxComplexity, (env, childComplexity) -> {
+            GraphQLType type = GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType());
+            if (type instanceof GraphQLList) {
+                Object size = env.getArguments().getOrDefault("size", env.getArguments().get("first"));
+                int items = size instanceof Integer ? Math.max(1, Math.min((Integer) size, maxPageSize)) : listCost;
+                return items * (1 + childComplexity);
+            }
+            return 1 + childComplexity;
+        });
+    }
+
+    @Bean
+    public WebGraphQlInterceptor userIdInterceptor(JwtTokenProvider jwtTokenProvider) {
+        return (request, chain) -> {
+            String token = request.getHeaders().getFirst("Authorization");
+            Long userId = jwtTokenProvider.getUserIdFromToken(token.substring(7)); // Remove "Bearer " prefix
+            request.configureExecutionInput((input, builder) -> builder.graphQLContext(Map.of(USER_ID, userId)).build());
+            return chain.next(request);
+        };
+    }
+}
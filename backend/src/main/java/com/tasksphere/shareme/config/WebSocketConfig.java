@@ -0,0 +1,81 @@
+package com.tasksphere.shareme.config;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriTemplate;
+
+import com.tasksphere.shareme.security.JwtTokenProvider;
+import com.tasksphere.shareme.service.TaskNoteService;
+import com.tasksphere.shareme.web.NoteCollaborationHandler;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private static final UriTemplate NOTE_PATH = new UriTemplate("/ws/task-notes/{noteId}");
+
+    @Autowired
+    private NoteCollaborationHandler noteCollaborationHandler;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private TaskNoteService taskNoteService;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(noteCollaborationHandler, "/ws/task-notes/{noteId}")
+                .addInterceptors(new NoteAccessInterceptor())
+                .setAllowedOrigins("http://localhost:3000");
+    }
+
+    /**
+     * Browsers cannot set an Authorization header on a WebSocket handshake, so the
+     * JWT is passed as the "token" query parameter and checked here, together with
+     * access to the note.
+     */
+    private class NoteAccessInterceptor implements HandshakeInterceptor {
+
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            if (!(request instanceof ServletServerHttpRequest)) {
+                return false;
+            }
+            String token = ((ServletServerHttpRequest) request).getServletRequest().getParameter("token");
+            if (token == null || !jwtTokenProvider.validateToken(token)) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+
+            try {
+                Long userId = jwtTokenProvider.getUserIdFromToken(token);
+                Long noteId = Long.valueOf(NOTE_PATH.match(request.getURI().getPath()).get("noteId"));
+                taskNoteService.getTaskNoteForCollaboration(userId, noteId);
+                attributes.put("userId", userId);
+                attributes.put("noteId", noteId);
+                return true;
+            } catch (Exception e) {
+                response.setStatusCode(HttpStatus.FORBIDDEN);
+                return false;
+            }
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.tasksphere.shareme.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tasksphere.shareme.dto.CursorPageResponse;
+import com.tasksphere.shareme.dto.ErrorResponse;
+import com.tasksphere.shareme.exception.ResourceNotFoundException;
+import com.tasksphere.shareme.exception.UnauthorizedException;
+import com.tasksphere.shareme.security.JwtTokenProvider;
+import com.tasksphere.shareme.service.ActivityFeedService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/activity")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Activity", description = "Who changed what on tasks and projects, newest first")
+@SecurityRequirement(name = "bearerAuth")
+public class ActivityController {
+
+    @Autowired
+    private ActivityFeedService activityFeedService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @GetMapping("/projects/{projectId}")
+    @Operation(summary = "Project Activity",
+               description = "Activity of a project and its tasks; members only see the tasks they created or are assigned to")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Activity page retrieved",
+                content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Not an owner or member of the project",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Project not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getProjectActivity(
+            @Parameter(description = "Project ID", required = true, example = "1")
+            @PathVariable Long projectId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "nextCursor of the previous page; omit for the newest entries")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 200)", example = "50")
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            return ResponseEntity.ok(activityFeedService.getProjectActivity(projectId, userId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return invalidCursor(e);
+        } catch (ResourceNotFoundException e) {
+            return notFound(e);
+        } catch (UnauthorizedException e) {
+            return forbidden(e);
+        }
+    }
+
+    @GetMapping("/tasks/{taskId}")
+    @Operation(summary = "Task Activity", description = "Activity of a live or archived task the user can see")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Activity page retrieved",
+                content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - No access to this task",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Task not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getTaskActivity(
+            @Parameter(description = "Task ID", required = true, example = "1")
+            @PathVariable Long taskId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "nextCursor of the previous page; omit for the newest entries")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 200)", example = "50")
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            return ResponseEntity.ok(activityFeedService.getTaskActivity(taskId, userId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return invalidCursor(e);
+        } catch (ResourceNotFoundException e) {
+            return notFound(e);
+        } catch (UnauthorizedException e) {
+            return forbidden(e);
+        }
+    }
+
+    @GetMapping("/me")
+    @Operation(summary = "My Activity", description = "What the current user changed, across all projects")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Activity page retrieved",
+                content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getMyActivity(
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "nextCursor of the previous page; omit for the newest entries")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 200)", example = "50")
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            return ResponseEntity.ok(activityFeedService.getUserActivity(userId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return invalidCursor(e);
+        }
+    }
+
+    private ResponseEntity<ErrorResponse> invalidCursor(IllegalArgumentException e) {
+        return ResponseEntity.badRequest()
+            .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), "ValidationException"));
+    }
+
+    private ResponseEntity<ErrorResponse> notFound(ResourceNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+    }
+
+    private ResponseEntity<ErrorResponse> forbidden(UnauthorizedException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+            .body(new ErrorResponse(HttpStatus.FORBIDDEN.value(), e.getMessage(), "UnauthorizedException"));
+    }
+}
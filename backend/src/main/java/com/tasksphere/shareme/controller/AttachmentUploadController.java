@@ -0,0 +1,195 @@
+package com.tasksphere.shareme.controller;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tasksphere.shareme.dto.ErrorResponse;
+import com.tasksphere.shareme.dto.TaskAttachmentResponse;
+import com.tasksphere.shareme.dto.UploadSessionRequest;
+import com.tasksphere.shareme.dto.UploadSessionResponse;
+import com.tasksphere.shareme.exception.ResourceNotFoundException;
+import com.tasksphere.shareme.exception.UploadException;
+import com.tasksphere.shareme.security.JwtTokenProvider;
+import com.tasksphere.shareme.service.ChunkedUploadService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/tasks")
+@Tag(name = "Attachments", description = "Upload, list, download, delete task files")
+@SecurityRequirement(name = "bearerAuth")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AttachmentUploadController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentUploadController.class);
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @PostMapping("/{taskId}/attachments/uploads")
+    @Operation(summary = "Start a resumable upload",
+               description = "Open an upload session for a large file; the file is then sent in chunks and finalized")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Upload session created",
+                content = @Content(schema = @Schema(implementation = UploadSessionResponse.class))),
+        @ApiResponse(responseCode = "400", description = "File type not allowed",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "No access to the task",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Task not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "413", description = "File too large",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> createUploadSession(
+            @Parameter(description = "Task ID") @PathVariable Long taskId,
+            @Valid @RequestBody UploadSessionRequest request,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        try {
+            Long userId = jwtTokenProvider.getUserIdFromToken(token.substring(7));
+            UploadSessionResponse session = chunkedUploadService.createSession(userId, taskId, request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(session);
+        } catch (Exception e) {
+            return handleException(e);
+        }
+    }
+
+    @GetMapping("/attachments/uploads/{uploadId}")
+    @Operation(summary = "Get upload offset",
+               description = "Get how many bytes of an upload were received, to resume after a dropped connection")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Upload session retrieved",
+                content = @Content(schema = @Schema(implementation = UploadSessionResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Upload session not found or expired",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getUploadSession(
+            @Parameter(description = "Upload session ID") @PathVariable String uploadId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        try {
+            Long userId = jwtTokenProvider.getUserIdFromToken(token.substring(7));
+            return ResponseEntity.ok(chunkedUploadService.getSession(userId, uploadId));
+        } catch (Exception e) {
+            return handleException(e);
+        }
+    }
+
+    @PutMapping(value = "/attachments/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Upload a chunk",
+               description = "Write the raw request body at the given offset; the offset may not be past the bytes received so far")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Chunk stored; the response carries the new offset",
+                content = @Content(schema = @Schema(implementation = UploadSessionResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Upload session not found or expired",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Offset mismatch or another chunk in progress",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "413", description = "Chunk larger than allowed",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> uploadChunk(
+            @Parameter(description = "Upload session ID") @PathVariable String uploadId,
+            @Parameter(description = "Byte offset of the chunk in the file") @RequestParam long offset,
+            HttpServletRequest request,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        try {
+            Long userId = jwtTokenProvider.getUserIdFromToken(token.substring(7));
+            return ResponseEntity.ok(chunkedUploadService.writeChunk(userId, uploadId, offset, request.getInputStream()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Could not read chunk", "UploadException"));
+        } catch (Exception e) {
+            return handleException(e);
+        }
+    }
+
+    @PostMapping("/attachments/uploads/{uploadId}/complete")
+    @Operation(summary = "Finalize an upload", description = "Turn a fully received upload into a task attachment")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Attachment created",
+                content = @Content(schema = @Schema(implementation = TaskAttachmentResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Upload session not found or expired",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Upload not complete yet",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> completeUpload(
+            @Parameter(description = "Upload session ID") @PathVariable String uploadId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        try {
+            Long userId = jwtTokenProvider.getUserIdFromToken(token.substring(7));
+            TaskAttachmentResponse attachment = chunkedUploadService.completeSession(userId, uploadId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(attachment);
+        } catch (Exception e) {
+            return handleException(e);
+        }
+    }
+
+    @DeleteMapping("/attachments/uploads/{uploadId}")
+    @Operation(summary = "Cancel an upload", description = "Abandon an upload session and discard the received bytes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Upload session cancelled"),
+        @ApiResponse(responseCode = "404", description = "Upload session not found or expired",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> cancelUpload(
+            @Parameter(description = "Upload session ID") @PathVariable String uploadId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        try {
+            Long userId = jwtTokenProvider.getUserIdFromToken(token.substring(7));
+            chunkedUploadService.cancelSession(userId, uploadId);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return handleException(e);
+        }
+    }
+
+    private ResponseEntity<ErrorResponse> handleException(Exception e) {
+        if (e instanceof UploadException) {
+            UploadException uploadException = (UploadException) e;
+            return ResponseEntity.status(uploadException.getStatus())
+                .body(new ErrorResponse(uploadException.getStatus().value(), e.getMessage(), "UploadException"));
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+        }
+        logger.error("Chunked upload request failed", e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal server error", "InternalServerError"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.tasksphere.shareme.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tasksphere.shareme.dto.DashboardResponse;
+import com.tasksphere.shareme.dto.ErrorResponse;
+import com.tasksphere.shareme.security.JwtTokenProvider;
+import com.tasksphere.shareme.service.DashboardService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Dashboard", description = "Combined dashboard data")
+@SecurityRequirement(name = "bearerAuth")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @GetMapping
+    @Operation(summary = "Get Dashboard",
+               description = "Projects, project stats, task stats and recent tasks in one response; sections are loaded in parallel")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Dashboard retrieved; sections that timed out are listed in unavailableSections",
+                content = @Content(schema = @Schema(implementation = DashboardResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "500", description = "Internal server error",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getDashboard(
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            return ResponseEntity.ok(dashboardService.getDashboard(userId));
+        } catch (Exception e) {
+            ErrorResponse error = new ErrorResponse(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to load dashboard: " + e.getMessage(),
+                e.getClass().getSimpleName()
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+}
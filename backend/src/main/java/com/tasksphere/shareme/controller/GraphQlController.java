@@ -0,0 +1,179 @@
+package com.tasksphere.shareme.controller;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.ContextValue;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Controller;
+
+import com.tasksphere.shareme.config.GraphQlConfig;
+import com.tasksphere.shareme.dto.ProjectNode;
+import com.tasksphere.shareme.dto.TaskAttachmentResponse;
+import com.tasksphere.shareme.dto.TaskNode;
+import com.tasksphere.shareme.dto.TaskNoteResponse;
+import com.tasksphere.shareme.dto.TaskResponse;
+import com.tasksphere.shareme.dto.UserInfo;
+import com.tasksphere.shareme.entity.Task;
+import com.tasksphere.shareme.service.GraphQlQueryService;
+import com.tasksphere.shareme.service.ProjectService;
+import com.tasksphere.shareme.service.TaskAttachmentService;
+import com.tasksphere.shareme.service.TaskNoteService;
+
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolvers of the GraphQL schema (resources/graphql/schema.graphqls).
+ *
+ * Every relation is resolved through a data loader registered below, so the
+ * keys requested by all parents at one level are collected and loaded with a
+ * single query. Loaders are created per request; values are not shared between
+ * users.
+ *
+ * The tasks of a project are loaded up to the largest first argument requested
+ * at that level and cut down per field, so aliases with different sizes still
+ * share one query.
+ */
+@Controller
+public class GraphQlController {
+
+    private static final String USERS = "users";
+    private static final String PROJECTS = "projects";
+    private static final String PROJECT_MEMBERS = "projectMembers";
+    private static final String PROJECT_TASKS = "projectTasks";
+    private static final String TASK_ATTACHMENTS = "taskAttachments";
+    private static final String TASK_NOTES = "taskNotes";
+
+    private final GraphQlQueryService graphQlQueryService;
+
+    private final int maxPageSize;
+
+    public GraphQlController(BatchLoaderRegistry registry, GraphQlQueryService queries, ProjectService projectService,
+                             TaskAttachmentService taskAttachmentService, TaskNoteService taskNoteService,
+                             @Value("${app.graphql.max-page-size:100}") int maxPageSize) {
+        this.graphQlQueryService = queries;
+        this.maxPageSize = maxPageSize;
+        registry.<Long, UserInfo>forName(USERS)
+            .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> queries.getUsersByIds(ids)));
+        registry.<Long, TaskResponse.ProjectInfo>forName(PROJECTS)
+            .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> queries.getProjectInfosByIds(ids)));
+        registry.<Long, List<UserInfo>>forName(PROJECT_MEMBERS)
+            .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> projectService.getMembersByProjectIds(ids)));
+        registry.<Long, List<TaskNode>>forName(PROJECT_TASKS)
+            .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(
+                () -> queries.getTasksByProjectIds(currentUserId(env.getContext()), ids, largestLimit(env.getKeyContexts()))));
+        registry.<Long, List<TaskAttachmentResponse>>forName(TASK_ATTACHMENTS)
+            .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> taskAttachmentService.getAttachmentsByTaskIds(ids)));
+        registry.<Long, List<TaskNoteResponse>>forName(TASK_NOTES)
+            .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(
+                () -> taskNoteService.getUserTaskNotesByTaskIds(currentUserId(env.getContext()), ids)));
+    }
+
+    private static Long currentUserId(Object context) {
+        return ((GraphQLContext) context).get(GraphQlConfig.USER_ID);
+    }
+
+    private static int largestLimit(Map<Object, Object> keyContexts) {
+        int limit = 1;
+        for (Object first : keyContexts.values()) {
+            limit = Math.max(limit, (Integer) first);
+        }
+        return limit;
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    // Queries
+
+    @QueryMapping
+    public List<ProjectNode> projects(@ContextValue(GraphQlConfig.USER_ID) Long userId) {
+        return graphQlQueryService.getProjects(userId);
+    }
+
+    @QueryMapping
+    public ProjectNode project(@Argument Long id, @ContextValue(GraphQlConfig.USER_ID) Long userId) {
+        return graphQlQueryService.getProject(userId, id).orElse(null);
+    }
+
+    @QueryMapping
+    public List<TaskNode> tasks(@Argument Task.TaskStatus status, @Argument Long projectId,
+                                @Argument int page, @Argument int size,
+                                @ContextValue(GraphQlConfig.USER_ID) Long userId) {
+        return graphQlQueryService.getTasks(userId, status, projectId, Math.max(0, page), pageSize(size));
+    }
+
+    @QueryMapping
+    public TaskNode task(@Argument Long id, @ContextValue(GraphQlConfig.USER_ID) Long userId) {
+        return graphQlQueryService.getTask(userId, id).orElse(null);
+    }
+
+    // Project fields
+
+    @SchemaMapping(typeName = "Project")
+    public CompletableFuture<UserInfo> owner(ProjectNode project, DataFetchingEnvironment env) {
+        return load(env, USERS, project.getOwnerId());
+    }
+
+    @SchemaMapping(typeName = "Project")
+    public CompletableFuture<List<UserInfo>> members(ProjectNode project, DataFetchingEnvironment env) {
+        return loadList(env, PROJECT_MEMBERS, project.getId());
+    }
+
+    @SchemaMapping(typeName = "Project")
+    public CompletableFuture<List<TaskNode>> tasks(ProjectNode project, @Argument int first, DataFetchingEnvironment env) {
+        int limit = pageSize(first);
+        return env.<Long, List<TaskNode>>getDataLoader(PROJECT_TASKS).load(project.getId(), limit)
+            .thenApply(tasks -> tasks == null ? Collections.<TaskNode>emptyList()
+                : tasks.size() > limit ? tasks.subList(0, limit) : tasks);
+    }
+
+    // Task fields
+
+    @SchemaMapping(typeName = "Task")
+    public CompletableFuture<TaskResponse.ProjectInfo> project(TaskNode task, DataFetchingEnvironment env) {
+        return load(env, PROJECTS, task.getProjectId());
+    }
+
+    @SchemaMapping(typeName = "Task")
+    public CompletableFuture<UserInfo> assignee(TaskNode task, DataFetchingEnvironment env) {
+        return load(env, USERS, task.getAssigneeId());
+    }
+
+    @SchemaMapping(typeName = "Task")
+    public CompletableFuture<UserInfo> creator(TaskNode task, DataFetchingEnvironment env) {
+        return load(env, USERS, task.getCreatorId());
+    }
+
+    @SchemaMapping(typeName = "Task")
+    public CompletableFuture<List<TaskAttachmentResponse>> attachments(TaskNode task, DataFetchingEnvironment env) {
+        return loadList(env, TASK_ATTACHMENTS, task.getId());
+    }
+
+    @SchemaMapping(typeName = "Task")
+    public CompletableFuture<List<TaskNoteResponse>> notes(TaskNode task, DataFetchingEnvironment env) {
+        return loadList(env, TASK_NOTES, task.getId());
+    }
+
+    private static <V> CompletableFuture<V> load(DataFetchingEnvironment env, String loader, Long key) {
+        if (key == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return env.<Long, V>getDataLoader(loader).load(key);
+    }
+
+    // Mapped loaders leave keys without rows out of the map; those resolve to an empty list
+    private static <V> CompletableFuture<List<V>> loadList(DataFetchingEnvironment env, String loader, Long key) {
+        return env.<Long, List<V>>getDataLoader(loader).load(key)
+            .thenApply(values -> values != null ? values : Collections.<V>emptyList());
+    }
+}
@@ -0,0 +1,143 @@
+package com.tasksphere.shareme.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tasksphere.shareme.dto.ErrorResponse;
+import com.tasksphere.shareme.exception.ProjectException;
+import com.tasksphere.shareme.security.JwtTokenProvider;
+import com.tasksphere.shareme.service.ProjectAnalyticsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/projects/{projectId}/analytics")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Project Analytics", description = "Burndown, cumulative flow and cycle time from precomputed daily rollups")
+@SecurityRequirement(name = "bearerAuth")
+public class ProjectAnalyticsController {
+
+    @Autowired
+    private ProjectAnalyticsService projectAnalyticsService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @GetMapping("/burndown")
+    @Operation(summary = "Burndown", description = "Remaining, completed and total tasks at the end of each day")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Series retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Not an owner or member of the project",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Project not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getBurndown(
+            @Parameter(description = "Project ID", required = true, example = "1")
+            @PathVariable Long projectId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "First day (default: 29 days before to)", example = "2024-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (default: today)", example = "2024-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Only tasks assigned to this user", example = "2")
+            @RequestParam(required = false) Long assigneeId) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            return ResponseEntity.ok(projectAnalyticsService.getBurndown(projectId, userId, from, to, assigneeId));
+        } catch (ProjectException e) {
+            return error(e);
+        }
+    }
+
+    @GetMapping("/cumulative-flow")
+    @Operation(summary = "Cumulative Flow", description = "Tasks in each status at the end of each day")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Series retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Not an owner or member of the project",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Project not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getCumulativeFlow(
+            @Parameter(description = "Project ID", required = true, example = "1")
+            @PathVariable Long projectId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "First day (default: 29 days before to)", example = "2024-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (default: today)", example = "2024-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Only tasks assigned to this user", example = "2")
+            @RequestParam(required = false) Long assigneeId) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            return ResponseEntity.ok(projectAnalyticsService.getCumulativeFlow(projectId, userId, from, to, assigneeId));
+        } catch (ProjectException e) {
+            return error(e);
+        }
+    }
+
+    @GetMapping("/cycle-time")
+    @Operation(summary = "Cycle Time", description = "Completed tasks with average cycle and lead time per day, week or month")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Series retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range or interval",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Not an owner or member of the project",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Project not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getCycleTime(
+            @Parameter(description = "Project ID", required = true, example = "1")
+            @PathVariable Long projectId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "First day (default: 29 days before to)", example = "2024-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (default: today)", example = "2024-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Only tasks assigned to this user", example = "2")
+            @RequestParam(required = false) Long assigneeId,
+            @Parameter(description = "day, week or month", example = "week")
+            @RequestParam(defaultValue = "day") String interval) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            return ResponseEntity.ok(projectAnalyticsService.getCycleTime(projectId, userId, from, to, assigneeId,
+                interval));
+        } catch (ProjectException e) {
+            return error(e);
+        }
+    }
+
+    private ResponseEntity<ErrorResponse> error(ProjectException e) {
+        return ResponseEntity.status(e.getStatus())
+            .body(new ErrorResponse(e.getStatus().value(), e.getMessage(), "ProjectException"));
+    }
+}
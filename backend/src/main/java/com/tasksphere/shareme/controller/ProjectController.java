@@ -1,17 +1,19 @@
 package com.tasksphere.shareme.controller;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -21,14 +23,22 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.tasksphere.shareme.dto.BoardResponse;
 import com.tasksphere.shareme.dto.CreateProjectBasicRequest;
 import com.tasksphere.shareme.dto.CreateProjectRequest;
 import com.tasksphere.shareme.dto.ErrorResponse;
 import com.tasksphere.shareme.dto.ProjectResponse;
 import com.tasksphere.shareme.exception.ProjectException;
 import com.tasksphere.shareme.security.JwtTokenProvider;
+import com.tasksphere.shareme.service.FileArchiveService;
+import com.tasksphere.shareme.service.ProjectBoardService;
 import com.tasksphere.shareme.service.ProjectService;
+import com.tasksphere.shareme.service.SyncService;
+import com.tasksphere.shareme.util.ETags;
+import com.tasksphere.shareme.util.FieldSelection;
+import com.tasksphere.shareme.util.MergePatch;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -38,6 +48,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -49,12 +60,23 @@ public class ProjectController {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(ProjectController.class);
 
+    private static final int MAX_BOARD_COLUMN_SIZE = 100;
+
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private ProjectBoardService projectBoardService;
+
+    @Autowired
+    private FileArchiveService fileArchiveService;
+
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private SyncService syncService;
+
     @GetMapping
     @Operation(summary = "Get User Projects", description = "Retrieve all projects belonging to the authenticated user with complete project details")
     @ApiResponses(value = {
@@ -64,15 +86,39 @@ public class ProjectController {
         @ApiResponse(responseCode = "500", description = "Internal server error",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<List<ProjectResponse>> getUserProjects(
+    public ResponseEntity<?> getUserProjects(
+            @Parameter(description = "Comma-separated fields to return; only these are queried", example = "name,status,deadline")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Comma-separated related data to load (members, taskCounts); all when neither fields nor include is given", example = "taskCounts")
+            @RequestParam(required = false) String include,
             @Parameter(description = "JWT Bearer token for authentication", required = true, example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
-            @RequestHeader("Authorization") String token) {
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "ETag of a cached copy; 304 when nothing changed")
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            HttpServletRequest request) {
         try {
             String jwt = token.substring(7); // Remove "Bearer " prefix
             Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
 
-            List<ProjectResponse> projects = projectService.getUserProjects(userId);
-            return ResponseEntity.ok(projects);
+            String etag = syncService.getListETag("projects", userId, request.getQueryString());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag);
+            }
+
+            FieldSelection selection;
+            try {
+                selection = FieldSelection.parse(fields, include, ProjectService.PROJECT_FIELDS, ProjectService.PROJECT_INCLUDES);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), "InvalidFieldSelection"));
+            }
+
+            if (selection.isSparse()) {
+                return ETags.ok(etag).body(projectService.getUserProjectFields(userId, selection));
+            }
+            List<ProjectResponse> projects = projectService.getUserProjects(userId,
+                selection.hasInclude("members"), selection.hasInclude("taskCounts"));
+            return ETags.ok(etag).body(projects);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -181,6 +227,48 @@ public class ProjectController {
         }
     }
 
+    @GetMapping("/{projectId}/documents/archive")
+    @Operation(summary = "Download All Documents", description = "Stream every document of a project as one ZIP archive")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archive streamed successfully"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Access denied to this project",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Project not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> downloadDocumentArchive(
+            @PathVariable Long projectId,
+            @RequestHeader("Authorization") String token) {
+        try {
+            String jwt = token.substring(7);
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            List<FileArchiveService.ArchiveEntry> entries =
+                fileArchiveService.toArchiveEntries(projectService.getProjectDocuments(projectId, userId));
+
+            StreamingResponseBody body = output -> fileArchiveService.writeZip(entries, output);
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                       "attachment; filename=\"project-" + projectId + "-documents.zip\"")
+                .body(body);
+        } catch (ProjectException e) {
+            HttpStatus status = e.getStatus() != null ? e.getStatus() : HttpStatus.INTERNAL_SERVER_ERROR;
+            ErrorResponse error = new ErrorResponse(
+                status.value(),
+                e.getMessage(),
+                "ProjectException"
+            );
+            return ResponseEntity.status(status).body(error);
+        } catch (Exception e) {
+            ErrorResponse error = new ErrorResponse(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to download documents: " + e.getMessage(),
+                e.getClass().getSimpleName()
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get Project by ID", description = "Retrieve a specific project by its ID with full details")
     @ApiResponses(value = {
@@ -199,13 +287,20 @@ public class ProjectController {
             @Parameter(description = "Project ID to retrieve", required = true, example = "1")
             @PathVariable Long id,
             @Parameter(description = "JWT Bearer token for authentication", required = true, example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
-            @RequestHeader("Authorization") String token) {
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "ETag of a cached copy; 304 when the project did not change")
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
             String jwt = token.substring(7); // Remove "Bearer " prefix
             Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
 
+            String etag = projectService.getProjectETag(id, userId);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag);
+            }
+
             ProjectResponse project = projectService.getProjectById(id, userId);
-            return ResponseEntity.ok(project);
+            return ETags.ok(etag).body(project);
         } catch (ProjectException e) {
             ErrorResponse error = new ErrorResponse(
                 e.getStatus().value(),
@@ -235,6 +330,8 @@ public class ProjectController {
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "404", description = "Project not found",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Conflict - The project was changed since the given version",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "500", description = "Internal server error",
@@ -271,6 +368,50 @@ public class ProjectController {
         }
     }
 
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch Project",
+               description = "Change only the fields present in a JSON Merge Patch document (RFC 7386); null clears a field. "
+                           + "Include the version from the last read to get 409 instead of overwriting a concurrent edit")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Project updated successfully",
+                content = @Content(schema = @Schema(implementation = ProjectResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Bad request - Unknown field or invalid value",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Only project owner can update",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Project not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Conflict - The project was changed since the given version",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> patchProject(
+            @Parameter(description = "Project ID to update", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Merge patch, e.g. {\"deadline\": \"2024-12-31T23:59:59\", \"version\": 3}", required = true)
+            @RequestBody Map<String, Object> patch,
+            @Parameter(description = "JWT Bearer token for authentication", required = true, example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
+            @RequestHeader("Authorization") String token) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+
+            MergePatch mergePatch = MergePatch.of(patch, ProjectService.PROJECT_PATCH_FIELDS);
+            return ResponseEntity.ok(projectService.patchProject(id, mergePatch, userId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), "InvalidPatch"));
+        } catch (ProjectException e) {
+            ErrorResponse error = new ErrorResponse(
+                e.getStatus().value(),
+                e.getMessage(),
+                "ProjectException"
+            );
+            return ResponseEntity.status(e.getStatus().value()).body(error);
+        }
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete Project", description = "Delete a project permanently (only project owner can delete)")
     @ApiResponses(value = {
@@ -313,6 +454,41 @@ public class ProjectController {
         }
     }
 
+    @GetMapping("/{projectId}/board")
+    @Operation(summary = "Get Project Board",
+               description = "The first tasks of every status column, most urgent first, with the number of tasks per column")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Board retrieved successfully",
+                content = @Content(schema = @Schema(implementation = BoardResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Not an owner or member of the project",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Project not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getProjectBoard(
+            @Parameter(description = "Project ID", required = true, example = "1")
+            @PathVariable Long projectId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true, example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "Tasks per column (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            int perColumn = Math.max(1, Math.min(limit, MAX_BOARD_COLUMN_SIZE));
+            return ResponseEntity.ok(projectBoardService.getBoard(projectId, userId, perColumn));
+        } catch (ProjectException e) {
+            ErrorResponse error = new ErrorResponse(
+                e.getStatus().value(),
+                e.getMessage(),
+                "ProjectException"
+            );
+            return ResponseEntity.status(e.getStatus().value()).body(error);
+        }
+    }
+
     @GetMapping("/stats")
     @Operation(summary = "Get User Statistics", description = "Retrieve comprehensive statistics about user's projects and tasks")
     @ApiResponses(value = {
@@ -329,10 +505,7 @@ public class ProjectController {
             String jwt = token.substring(7); // Remove "Bearer " prefix
             Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
 
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("totalProjects", projectService.getProjectCount(userId));
-            stats.put("completedTasks", projectService.getCompletedTasksCount(userId));
-            stats.put("inProgressTasks", projectService.getInProgressTasksCount(userId));
+            Map<String, Object> stats = projectService.getUserStats(userId);
 
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
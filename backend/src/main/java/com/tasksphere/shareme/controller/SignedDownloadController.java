@@ -0,0 +1,117 @@
+package com.tasksphere.shareme.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tasksphere.shareme.security.DownloadUrlSigner;
+import com.tasksphere.shareme.storage.FileStorage;
+import com.tasksphere.shareme.storage.LocalFileStorage;
+import com.tasksphere.shareme.storage.StorageResource;
+import com.tasksphere.shareme.storage.StoredObject;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Serves signed download URLs issued by TaskAttachmentService.
+ *
+ * Everything needed to answer is in the URL and covered by its signature, so a
+ * request costs one HMAC and no database access; the path is excluded from the
+ * security filter chain. With an offload mode configured the response carries
+ * only headers and the front proxy sends the file itself:
+ * - x-accel-redirect (nginx): internal location + storage key
+ * - x-sendfile (Apache, lighttpd): absolute path of the file, local storage only
+ */
+@RestController
+@RequestMapping("/files")
+@Tag(name = "Attachments", description = "Upload, list, download, delete task files")
+public class SignedDownloadController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignedDownloadController.class);
+
+    @Autowired
+    private DownloadUrlSigner downloadUrlSigner;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Value("${app.downloads.offload:none}")
+    private String offloadMode;
+
+    @Value("${app.downloads.x-accel-prefix:/protected-files/}")
+    private String xAccelPrefix;
+
+    @GetMapping("/{key}")
+    @Operation(summary = "Download via signed URL",
+               description = "Download a file with a signed, expiring URL from /api/tasks/attachments/{id}/signed-url; no Authorization header needed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "File sent (or handed to the front proxy)"),
+        @ApiResponse(responseCode = "403", description = "Signature invalid or URL expired"),
+        @ApiResponse(responseCode = "404", description = "File no longer exists")
+    })
+    public ResponseEntity<Resource> download(
+            @Parameter(description = "Storage key of the file") @PathVariable String key,
+            @Parameter(description = "File name for the download") @RequestParam String name,
+            @Parameter(description = "Content type of the file") @RequestParam String type,
+            @Parameter(description = "Expiry in epoch seconds") @RequestParam long expires,
+            @Parameter(description = "URL signature") @RequestParam String sig) {
+        if (!downloadUrlSigner.verify(key, name, type, expires, sig)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(type);
+        } catch (IllegalArgumentException e) {
+            mediaType = MediaType.APPLICATION_OCTET_STREAM;
+        }
+
+        // The URL is only valid until it expires; do not let caches keep it longer
+        long maxAge = Math.max(0, expires - Instant.now().getEpochSecond());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(mediaType)
+            .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePrivate())
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(name, StandardCharsets.UTF_8).build().toString());
+
+        if ("x-accel-redirect".equalsIgnoreCase(offloadMode)) {
+            return response.header("X-Accel-Redirect", xAccelPrefix + key).build();
+        }
+        if ("x-sendfile".equalsIgnoreCase(offloadMode) && fileStorage instanceof LocalFileStorage) {
+            return response.header("X-Sendfile", ((LocalFileStorage) fileStorage).getPath(key).toString()).build();
+        }
+
+        try {
+            StoredObject stored = fileStorage.stat(key);
+            if (stored == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return response.body(new StorageResource(fileStorage, stored.getKey(), name, stored.getSize()));
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Signed download of {} failed: {}", key, e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.tasksphere.shareme.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tasksphere.shareme.dto.ErrorResponse;
+import com.tasksphere.shareme.dto.SyncResponse;
+import com.tasksphere.shareme.security.JwtTokenProvider;
+import com.tasksphere.shareme.service.SyncService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/sync")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Sync", description = "Incremental sync of projects, tasks and notes")
+@SecurityRequirement(name = "bearerAuth")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Value("${app.sync.max-limit:1000}")
+    private int maxLimit;
+
+    @GetMapping
+    @Operation(summary = "Get Changes",
+               description = "Projects, tasks and notes changed since the token, and ids deleted since then. " +
+                             "Without a token everything visible to the user is returned. Repeat with the returned " +
+                             "token while hasMore is true.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved",
+                content = @Content(schema = @Schema(implementation = SyncResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Malformed sync token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getChanges(
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "Token from the previous sync response; omit for a full sync")
+            @RequestParam(required = false, name = "token") String syncToken,
+            @Parameter(description = "Maximum number of changes in one response")
+            @RequestParam(defaultValue = "500") int limit) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            int pageLimit = Math.max(1, Math.min(limit, maxLimit));
+            return ResponseEntity.ok(syncService.getChanges(userId, syncToken, pageLimit));
+        } catch (IllegalArgumentException e) {
+            ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), "InvalidSyncToken");
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            ErrorResponse error = new ErrorResponse(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to load changes: " + e.getMessage(),
+                e.getClass().getSimpleName()
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.tasksphere.shareme.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tasksphere.shareme.dto.ArchivedTaskResponse;
+import com.tasksphere.shareme.dto.ErrorResponse;
+import com.tasksphere.shareme.dto.TaskResponse;
+import com.tasksphere.shareme.exception.ResourceNotFoundException;
+import com.tasksphere.shareme.exception.UnauthorizedException;
+import com.tasksphere.shareme.security.JwtTokenProvider;
+import com.tasksphere.shareme.service.TaskArchiveService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/tasks/archive")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Task Archive", description = "Search and restore closed tasks moved to the archive")
+@SecurityRequirement(name = "bearerAuth")
+public class TaskArchiveController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @GetMapping
+    @Operation(summary = "Search Archived Tasks",
+               description = "Archived tasks the user can see (assignee, creator or project owner), newest archived first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archived tasks retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid status",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> searchArchivedTasks(
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "Text to find in title or description", example = "authentication")
+            @RequestParam(required = false) String query,
+            @Parameter(description = "COMPLETED or CANCELLED", example = "COMPLETED")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Only tasks of this project", example = "1")
+            @RequestParam(required = false) Long projectId,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            return ResponseEntity.ok(taskArchiveService.searchArchivedTasks(
+                userId, query, status, projectId, Math.max(0, page), pageSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), "InvalidSearch"));
+        }
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get Archived Task", description = "An archived task with the metadata of its attachments")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archived task retrieved",
+                content = @Content(schema = @Schema(implementation = ArchivedTaskResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - No access to this task",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "No archived task with this id",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getArchivedTask(
+            @Parameter(description = "Task ID", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            return ResponseEntity.ok(taskArchiveService.getArchivedTask(id, userId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ErrorResponse(HttpStatus.FORBIDDEN.value(), e.getMessage(), "UnauthorizedException"));
+        }
+    }
+
+    @PostMapping("/{id}/restore")
+    @Operation(summary = "Restore Archived Task",
+               description = "Move the task with its attachments and notes back to the live tasks (creator or project owner)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task restored",
+                content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Only the creator or project owner can restore",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "No archived task with this id",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> restoreTask(
+            @Parameter(description = "Task ID", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            return ResponseEntity.ok(taskArchiveService.restoreTask(id, userId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ErrorResponse(HttpStatus.FORBIDDEN.value(), e.getMessage(), "UnauthorizedException"));
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.tasksphere.shareme.controller;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -15,17 +17,26 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.tasksphere.shareme.dto.SignedDownloadUrlResponse;
 import com.tasksphere.shareme.dto.TaskAttachmentResponse;
 import com.tasksphere.shareme.entity.User;
+import com.tasksphere.shareme.exception.ResourceNotFoundException;
+import com.tasksphere.shareme.security.JwtTokenProvider;
+import com.tasksphere.shareme.service.AttachmentThumbnailService;
+import com.tasksphere.shareme.service.FileArchiveService;
 import com.tasksphere.shareme.service.TaskAttachmentService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -41,6 +52,15 @@ public class TaskAttachmentController {
     @Autowired
     private TaskAttachmentService taskAttachmentService;
 
+    @Autowired
+    private AttachmentThumbnailService attachmentThumbnailService;
+
+    @Autowired
+    private FileArchiveService fileArchiveService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
     @PostMapping("/{taskId}/attachments")
     @Operation(summary = "Upload files to a task", description = "Upload one or more files as attachments to a task")
     @ApiResponses(value = {
@@ -105,6 +125,27 @@ public class TaskAttachmentController {
         }
     }
 
+    @GetMapping("/{taskId}/attachments/archive")
+    @Operation(summary = "Download all attachments", description = "Stream every attachment of a task as one ZIP archive")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archive streamed successfully"),
+        @ApiResponse(responseCode = "404", description = "Task has no attachments")
+    })
+    public ResponseEntity<StreamingResponseBody> downloadAttachmentArchive(
+            @Parameter(description = "Task ID") @PathVariable Long taskId) {
+        List<FileArchiveService.ArchiveEntry> entries = fileArchiveService.getTaskAttachmentEntries(taskId);
+        if (entries.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = output -> fileArchiveService.writeZip(entries, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                       "attachment; filename=\"task-" + taskId + "-attachments.zip\"")
+                .body(body);
+    }
+
     @GetMapping("/attachments/{attachmentId}/download")
     @Operation(summary = "Download attachment", description = "Download a specific attachment file")
     @ApiResponses(value = {
@@ -130,6 +171,52 @@ public class TaskAttachmentController {
         }
     }
 
+    @PostMapping("/attachments/{attachmentId}/signed-url")
+    @Operation(summary = "Create signed download URL",
+               description = "Issue a short-lived URL that downloads the file without an Authorization header")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Signed URL created",
+                content = @Content(schema = @Schema(implementation = SignedDownloadUrlResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Not authorized to download this attachment"),
+        @ApiResponse(responseCode = "404", description = "Attachment not found")
+    })
+    public ResponseEntity<SignedDownloadUrlResponse> createSignedDownloadUrl(
+            @Parameter(description = "Attachment ID") @PathVariable Long attachmentId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        try {
+            Long userId = jwtTokenProvider.getUserIdFromToken(token.substring(7));
+            return ResponseEntity.ok(taskAttachmentService.createSignedDownloadUrl(attachmentId, userId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains("permission")) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @GetMapping("/attachments/{attachmentId}/thumbnail")
+    @Operation(summary = "Get attachment thumbnail", description = "Get the small JPEG preview of an image or PDF attachment")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Thumbnail retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Attachment not found or no thumbnail rendered yet")
+    })
+    public ResponseEntity<Resource> getAttachmentThumbnail(
+            @Parameter(description = "Attachment ID") @PathVariable Long attachmentId) {
+        try {
+            Resource resource = attachmentThumbnailService.getThumbnail(attachmentId);
+            
+            return ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePrivate())
+                    .body(resource);
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @DeleteMapping("/attachments/{attachmentId}")
     @Operation(summary = "Delete attachment", description = "Delete a specific attachment")
     @ApiResponses(value = {
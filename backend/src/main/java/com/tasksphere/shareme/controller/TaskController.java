@@ -1,11 +1,11 @@
 package com.tasksphere.shareme.controller;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -22,11 +22,21 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.tasksphere.shareme.dto.ErrorResponse;
+import com.tasksphere.shareme.dto.SubtreeProgress;
+import com.tasksphere.shareme.dto.TaskMoveRequest;
+import com.tasksphere.shareme.dto.TaskParentRequest;
 import com.tasksphere.shareme.dto.TaskRequest;
 import com.tasksphere.shareme.dto.TaskResponse;
 import com.tasksphere.shareme.dto.TaskSearchRequest;
+import com.tasksphere.shareme.exception.ResourceNotFoundException;
+import com.tasksphere.shareme.exception.UnauthorizedException;
+import com.tasksphere.shareme.exception.VersionConflictException;
 import com.tasksphere.shareme.security.JwtTokenProvider;
+import com.tasksphere.shareme.service.SyncService;
 import com.tasksphere.shareme.service.TaskService;
+import com.tasksphere.shareme.util.ETags;
+import com.tasksphere.shareme.util.FieldSelection;
+import com.tasksphere.shareme.util.MergePatch;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -36,6 +46,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -52,6 +63,9 @@ public class TaskController {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
     
+    @Autowired
+    private SyncService syncService;
+    
     @GetMapping
     @Operation(summary = "Get Tasks with Search and Filtering", 
               description = "Retrieve tasks accessible by the user with advanced search, filtering, and pagination capabilities")
@@ -63,7 +77,7 @@ public class TaskController {
         @ApiResponse(responseCode = "500", description = "Internal server error",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<Page<TaskResponse>> getTasks(
+    public ResponseEntity<?> getTasks(
             @Parameter(description = "Search query for task title or description", example = "authentication")
             @RequestParam(required = false) String query,
             
@@ -82,7 +96,7 @@ public class TaskController {
             @Parameter(description = "Filter by creator ID", example = "1")
             @RequestParam(required = false) Long creatorId,
             
-            @Parameter(description = "Sort field", example = "createdAt")
+            @Parameter(description = "Sort field: createdAt, updatedAt, dueDate, title, status, priority or rank (manual order)", example = "createdAt")
             @RequestParam(defaultValue = "createdAt") String sortBy,
             
             @Parameter(description = "Sort direction", example = "DESC")
@@ -94,20 +108,48 @@ public class TaskController {
             @Parameter(description = "Page size", example = "20")
             @RequestParam(defaultValue = "20") int size,
             
+            @Parameter(description = "Comma-separated fields to return; only these are queried", example = "title,status,assignee")
+            @RequestParam(required = false) String fields,
+            
+            @Parameter(description = "Comma-separated related data to load (attachments); all when neither fields nor include is given", example = "attachments")
+            @RequestParam(required = false) String include,
+            
             @Parameter(description = "JWT Bearer token for authentication", required = true)
-            @RequestHeader("Authorization") String token) {
+            @RequestHeader("Authorization") String token,
+            
+            @Parameter(description = "ETag of a cached copy; 304 when nothing changed")
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            
+            HttpServletRequest request) {
         
         try {
             String jwt = token.substring(7); // Remove "Bearer " prefix
             Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
             
+            String etag = syncService.getListETag("tasks", userId, request.getQueryString());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag);
+            }
+            
             TaskSearchRequest searchRequest = new TaskSearchRequest(
                 query, status, priority, projectId, assigneeId, creatorId,
                 sortBy, sortDirection, page, size
             );
             
-            Page<TaskResponse> tasks = taskService.getUserAccessibleTasks(userId, searchRequest);
-            return ResponseEntity.ok(tasks);
+            FieldSelection selection;
+            try {
+                selection = FieldSelection.parse(fields, include, TaskService.TASK_FIELDS, TaskService.TASK_INCLUDES);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), "InvalidFieldSelection"));
+            }
+            
+            if (selection.isSparse()) {
+                return ETags.ok(etag).body(taskService.getUserAccessibleTaskFields(userId, searchRequest, selection));
+            }
+            Page<TaskResponse> tasks = taskService.getUserAccessibleTasks(userId, searchRequest,
+                selection.hasInclude("attachments"));
+            return ETags.ok(etag).body(tasks);
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -133,14 +175,22 @@ public class TaskController {
             @PathVariable Long id,
             
             @Parameter(description = "JWT Bearer token for authentication", required = true)
-            @RequestHeader("Authorization") String token) {
+            @RequestHeader("Authorization") String token,
+            
+            @Parameter(description = "ETag of a cached copy; 304 when the task did not change")
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         
         try {
             String jwt = token.substring(7); // Remove "Bearer " prefix
             Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
             
+            String etag = taskService.getTaskETag(id, userId);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag);
+            }
+            
             TaskResponse task = taskService.getTaskById(id, userId);
-            return ResponseEntity.ok(task);
+            return ETags.ok(etag).body(task);
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -177,6 +227,9 @@ public class TaskController {
             TaskResponse createdTask = taskService.createTask(taskRequest, userId);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
             
+        } catch (IllegalArgumentException e) {
+            // Invalid status or priority, or a parent task that cannot take the new task
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -193,6 +246,7 @@ public class TaskController {
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "404", description = "Task not found",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Conflict - The task was changed since the given version"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
                 content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "500", description = "Internal server error",
@@ -215,11 +269,63 @@ public class TaskController {
             TaskResponse updatedTask = taskService.updateTask(id, taskRequest, userId);
             return ResponseEntity.ok(updatedTask);
             
+        } catch (VersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch Task",
+               description = "Change only the fields present in a JSON Merge Patch document (RFC 7386); null clears a field. "
+                           + "Include the version from the last read to get 409 instead of overwriting a concurrent edit")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task updated successfully",
+                content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Bad request - Unknown field or invalid value",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - No permission to update this task",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Task or assignee not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Conflict - The task was changed since the given version",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> patchTask(
+            @Parameter(description = "Task ID to update", required = true, example = "1")
+            @PathVariable Long id,
+            
+            @Parameter(description = "Merge patch, e.g. {\"status\": \"IN_PROGRESS\", \"dueDate\": null, \"version\": 3}", required = true)
+            @RequestBody Map<String, Object> patch,
+            
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            
+            MergePatch mergePatch = MergePatch.of(patch, TaskService.TASK_PATCH_FIELDS);
+            return ResponseEntity.ok(taskService.patchTask(id, mergePatch, userId));
+            
+        } catch (VersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(HttpStatus.CONFLICT.value(), e.getMessage(), "VersionConflictException"));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ErrorResponse(HttpStatus.FORBIDDEN.value(), e.getMessage(), "UnauthorizedException"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), "InvalidPatch"));
+        }
+    }
+    
     @PatchMapping("/{id}/status")
     @Operation(summary = "Update Task Status", description = "Update only the status of a task")
     @ApiResponses(value = {
@@ -258,6 +364,8 @@ public class TaskController {
             TaskResponse updatedTask = taskService.updateTaskStatus(id, status, userId);
             return ResponseEntity.ok(updatedTask);
             
+        } catch (VersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             // Handle specific exceptions
             if (e.getMessage().contains("Task not found")) {
@@ -277,6 +385,210 @@ public class TaskController {
         }
     }
     
+    @PutMapping("/{id}/position")
+    @Operation(summary = "Move Task",
+               description = "Place a task right after another task of its project (or first), optionally in another status column. "
+                           + "Only the moved task changes; list with sortBy=rank or read the project board to see the order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task moved successfully",
+                content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Bad request - Invalid status or neighbour from another project",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - No access to this task",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Task not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Conflict - The task was changed since the given version",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> moveTask(
+            @Parameter(description = "Task ID to move", required = true, example = "1")
+            @PathVariable Long id,
+            
+            @Parameter(description = "New position", required = true)
+            @RequestBody TaskMoveRequest moveRequest,
+            
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            
+            return ResponseEntity.ok(taskService.moveTask(id, moveRequest, userId));
+            
+        } catch (VersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(HttpStatus.CONFLICT.value(), e.getMessage(), "VersionConflictException"));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ErrorResponse(HttpStatus.FORBIDDEN.value(), e.getMessage(), "UnauthorizedException"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), "InvalidMove"));
+        }
+    }
+    
+    @GetMapping("/{id}/subtasks")
+    @Operation(summary = "Get Subtasks",
+               description = "Subtasks you can see down to the given depth, nested, each level in the manual order; one query on the closure table")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Subtasks retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - No access to this task",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Task not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getSubtasks(
+            @Parameter(description = "Task ID", required = true, example = "1")
+            @PathVariable Long id,
+            
+            @Parameter(description = "Levels of subtasks to return (1 = direct subtasks, at most app.tasks.max-depth)", example = "1")
+            @RequestParam(defaultValue = "1") int depth,
+            
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            
+            return ResponseEntity.ok(taskService.getSubtasks(id, depth, userId));
+            
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ErrorResponse(HttpStatus.FORBIDDEN.value(), e.getMessage(), "UnauthorizedException"));
+        }
+    }
+    
+    @GetMapping("/{id}/ancestors")
+    @Operation(summary = "Get Parent Tasks", description = "Path from the top-level task down to the direct parent of the task, without the tasks you cannot see")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Parent tasks retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - No access to this task",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Task not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getTaskAncestors(
+            @Parameter(description = "Task ID", required = true, example = "7")
+            @PathVariable Long id,
+            
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            
+            return ResponseEntity.ok(taskService.getTaskAncestors(id, userId));
+            
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ErrorResponse(HttpStatus.FORBIDDEN.value(), e.getMessage(), "UnauthorizedException"));
+        }
+    }
+    
+    @GetMapping("/{id}/progress")
+    @Operation(summary = "Get Subtask Progress", description = "Subtasks you can see per status and the completed share, down to the given depth")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Progress retrieved successfully",
+                content = @Content(schema = @Schema(implementation = SubtreeProgress.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - No access to this task",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Task not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getSubtreeProgress(
+            @Parameter(description = "Task ID", required = true, example = "1")
+            @PathVariable Long id,
+            
+            @Parameter(description = "Levels of subtasks to count (default: all)", example = "2")
+            @RequestParam(required = false) Integer depth,
+            
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            
+            return ResponseEntity.ok(taskService.getSubtreeProgress(id, depth, userId));
+            
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ErrorResponse(HttpStatus.FORBIDDEN.value(), e.getMessage(), "UnauthorizedException"));
+        }
+    }
+    
+    @PutMapping("/{id}/parent")
+    @Operation(summary = "Move Task Below Another Task",
+               description = "Make the task, with all its subtasks, a subtask of another task of the project, or a top-level task when parentId is null")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task moved successfully",
+                content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Bad request - Parent from another project, inside the moved subtree or too deep",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - No permission to update this task or the new parent",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Task not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Conflict - The task was changed since the given version",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> changeParent(
+            @Parameter(description = "Task ID to move", required = true, example = "7")
+            @PathVariable Long id,
+            
+            @Parameter(description = "New parent", required = true)
+            @RequestBody TaskParentRequest parentRequest,
+            
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        try {
+            String jwt = token.substring(7); // Remove "Bearer " prefix
+            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            
+            return ResponseEntity.ok(taskService.changeParent(id, parentRequest, userId));
+            
+        } catch (VersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(HttpStatus.CONFLICT.value(), e.getMessage(), "VersionConflictException"));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ErrorResponse(HttpStatus.FORBIDDEN.value(), e.getMessage(), "UnauthorizedException"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), "InvalidParent"));
+        }
+    }
+    
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete Task", description = "Delete a task permanently")
     @ApiResponses(value = {
@@ -326,32 +638,7 @@ public class TaskController {
             String jwt = token.substring(7); // Remove "Bearer " prefix
             Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
             
-            // Get quick stats for dashboard
-            TaskSearchRequest allTasks = new TaskSearchRequest();
-            allTasks.setSize(1); // We only need count
-            
-            TaskSearchRequest todoTasks = new TaskSearchRequest();
-            todoTasks.setStatus("TODO");
-            todoTasks.setSize(1);
-            
-            TaskSearchRequest inProgressTasks = new TaskSearchRequest();
-            inProgressTasks.setStatus("IN_PROGRESS");
-            inProgressTasks.setSize(1);
-            
-            TaskSearchRequest completedTasks = new TaskSearchRequest();
-            completedTasks.setStatus("COMPLETED");
-            completedTasks.setSize(1);
-            
-            Page<TaskResponse> all = taskService.getUserAccessibleTasks(userId, allTasks);
-            Page<TaskResponse> todo = taskService.getUserAccessibleTasks(userId, todoTasks);
-            Page<TaskResponse> inProgress = taskService.getUserAccessibleTasks(userId, inProgressTasks);
-            Page<TaskResponse> completed = taskService.getUserAccessibleTasks(userId, completedTasks);
-            
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("totalTasks", all.getTotalElements());
-            stats.put("todoTasks", todo.getTotalElements());
-            stats.put("inProgressTasks", inProgress.getTotalElements());
-            stats.put("completedTasks", completed.getTotalElements());
+            Map<String, Object> stats = taskService.getTaskStats(userId);
             
             return ResponseEntity.ok(stats);
             
@@ -1,6 +1,7 @@
 package com.tasksphere.shareme.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,19 +13,30 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.tasksphere.shareme.dto.CursorPageResponse;
 import com.tasksphere.shareme.dto.ErrorResponse;
+import com.tasksphere.shareme.dto.TaskNoteAutosaveRequest;
 import com.tasksphere.shareme.dto.TaskNoteRequest;
 import com.tasksphere.shareme.dto.TaskNoteResponse;
+import com.tasksphere.shareme.dto.TaskNoteRevisionResponse;
+import com.tasksphere.shareme.dto.TaskNoteSummaryResponse;
+import com.tasksphere.shareme.exception.ResourceNotFoundException;
 import com.tasksphere.shareme.repository.TaskRepository;
 import com.tasksphere.shareme.security.JwtTokenProvider;
+import com.tasksphere.shareme.service.SyncService;
+import com.tasksphere.shareme.service.TaskNoteAutosaveBuffer;
+import com.tasksphere.shareme.service.TaskNoteRevisionService;
 import com.tasksphere.shareme.service.TaskNoteService;
 import com.tasksphere.shareme.service.TaskService;
+import com.tasksphere.shareme.util.ETags;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -58,9 +70,18 @@ public class TaskNoteController {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
     
+    @Autowired
+    private SyncService syncService;
+    
     @Autowired
     private TaskRepository taskRepository;
     
+    @Autowired
+    private TaskNoteAutosaveBuffer taskNoteAutosaveBuffer;
+    
+    @Autowired
+    private TaskNoteRevisionService taskNoteRevisionService;
+    
     @Operation(summary = "Get personal note for a task", 
                description = "Retrieve the current user's personal note for a specific task with all reminder tags and content")
     @ApiResponses(value = {
@@ -227,6 +248,108 @@ public class TaskNoteController {
         }
     }
     
+    @Operation(summary = "Autosave a personal note", 
+               description = "Buffer the current state of an existing note. Repeated autosaves of the same note are coalesced in memory and written to its row in batches shortly afterwards")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Autosave accepted"),
+        @ApiResponse(responseCode = "404", description = "Note not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/{noteId}/autosave")
+    public ResponseEntity<?> autosaveTaskNote(
+            @Parameter(description = "Note ID", required = true, example = "1") @PathVariable Long noteId,
+            @Valid @RequestBody TaskNoteAutosaveRequest request,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        if (!token.startsWith("Bearer ")) {
+            logger.error("Invalid token format - token must start with 'Bearer '");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token format", "AuthenticationException"));
+        }
+
+        String jwt = token.substring(7);
+        Long userId;
+        
+        try {
+            userId = jwtTokenProvider.getUserIdFromToken(jwt);
+        } catch (Exception e) {
+            logger.error("Failed to extract user ID from token: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token: " + e.getMessage(), "AuthenticationException"));
+        }
+        
+        if (userId == null) {
+            logger.error("User ID is null in JWT token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token - no user ID found", "AuthenticationException"));
+        }
+        
+        if (!taskNoteService.isNoteOwner(userId, noteId)) {
+            logger.debug("Note {} not found for user {}", noteId, userId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), 
+                    "Task note not found with id: " + noteId, "ResourceNotFoundException"));
+        }
+        
+        taskNoteAutosaveBuffer.enqueue(noteId, request);
+        return ResponseEntity.accepted().body(Map.of("noteId", noteId, "buffered", true));
+    }
+    
+    @Operation(summary = "Close a personal note", 
+               description = "Immediately write any buffered autosave of the note, e.g. when its editor is closed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Pending changes written"),
+        @ApiResponse(responseCode = "404", description = "Note not found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/{noteId}/close")
+    public ResponseEntity<?> closeTaskNote(
+            @Parameter(description = "Note ID", required = true, example = "1") @PathVariable Long noteId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        if (!token.startsWith("Bearer ")) {
+            logger.error("Invalid token format - token must start with 'Bearer '");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token format", "AuthenticationException"));
+        }
+
+        String jwt = token.substring(7);
+        Long userId;
+        
+        try {
+            userId = jwtTokenProvider.getUserIdFromToken(jwt);
+        } catch (Exception e) {
+            logger.error("Failed to extract user ID from token: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token: " + e.getMessage(), "AuthenticationException"));
+        }
+        
+        if (userId == null) {
+            logger.error("User ID is null in JWT token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token - no user ID found", "AuthenticationException"));
+        }
+        
+        if (!taskNoteService.isNoteOwner(userId, noteId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), 
+                    "Task note not found with id: " + noteId, "ResourceNotFoundException"));
+        }
+        
+        taskNoteAutosaveBuffer.flushNote(noteId);
+        return ResponseEntity.noContent().build();
+    }
+    
     @Operation(summary = "Delete personal note for a task", 
                description = "Delete the current user's personal note for a specific task")
     @ApiResponses(value = {
@@ -311,7 +434,9 @@ public class TaskNoteController {
     @GetMapping
     public ResponseEntity<?> getUserTaskNotes(
             @Parameter(description = "JWT Bearer token for authentication", required = true)
-            @RequestHeader("Authorization") String token) {
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "ETag of a cached copy; 304 when nothing changed")
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         
         if (!token.startsWith("Bearer ")) {
             logger.error("Invalid token format - token must start with 'Bearer '");
@@ -338,8 +463,248 @@ public class TaskNoteController {
         
         logger.info("Getting all task notes for user {}", userId);
         
+        String etag = syncService.getListETag("notes", userId, null);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        
         List<TaskNoteResponse> notes = taskNoteService.getUserTaskNotes(userId);
-        return ResponseEntity.ok(notes);
+        return ETags.ok(etag).body(notes);
+    }
+    
+    @Operation(summary = "Get personal note summaries", 
+               description = "Retrieve one cursor-paginated page of the current user's notes, newest first, with a content snippet instead of the full content")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Note summaries retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/summaries")
+    public ResponseEntity<?> getUserTaskNoteSummaries(
+            @Parameter(description = "Cursor returned by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        if (!token.startsWith("Bearer ")) {
+            logger.error("Invalid token format - token must start with 'Bearer '");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token format", "AuthenticationException"));
+        }
+
+        String jwt = token.substring(7);
+        Long userId;
+        
+        try {
+            userId = jwtTokenProvider.getUserIdFromToken(jwt);
+        } catch (Exception e) {
+            logger.error("Failed to extract user ID from token: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token: " + e.getMessage(), "AuthenticationException"));
+        }
+        
+        if (userId == null) {
+            logger.error("User ID is null in JWT token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token - no user ID found", "AuthenticationException"));
+        }
+        
+        logger.info("Getting task note summaries for user {}", userId);
+        
+        try {
+            CursorPageResponse<TaskNoteSummaryResponse> page = taskNoteService.getUserTaskNoteSummaries(userId, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), "ValidationException"));
+        } catch (Exception e) {
+            logger.error("Error getting task note summaries for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                    "Failed to get task note summaries: " + e.getMessage(), "InternalServerError"));
+        }
+    }
+    
+    @Operation(summary = "Get a personal note by ID", 
+               description = "Retrieve the full content of one of the current user's notes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task note retrieved successfully",
+                content = @Content(schema = @Schema(implementation = TaskNoteResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Note not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{noteId}")
+    public ResponseEntity<?> getTaskNoteById(
+            @Parameter(description = "Note ID", required = true, example = "1") @PathVariable Long noteId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token,
+            @Parameter(description = "ETag of a cached copy; 304 when the note did not change")
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        
+        if (!token.startsWith("Bearer ")) {
+            logger.error("Invalid token format - token must start with 'Bearer '");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token format", "AuthenticationException"));
+        }
+
+        String jwt = token.substring(7);
+        Long userId;
+        
+        try {
+            userId = jwtTokenProvider.getUserIdFromToken(jwt);
+        } catch (Exception e) {
+            logger.error("Failed to extract user ID from token: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token: " + e.getMessage(), "AuthenticationException"));
+        }
+        
+        if (userId == null) {
+            logger.error("User ID is null in JWT token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token - no user ID found", "AuthenticationException"));
+        }
+        
+        try {
+            // Make sure a reader sees its own buffered autosaves
+            if (taskNoteAutosaveBuffer.isPending(noteId)) {
+                taskNoteAutosaveBuffer.flushNote(noteId);
+            }
+            String etag = taskNoteService.getTaskNoteETag(userId, noteId);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag);
+            }
+            return ETags.ok(etag).body(taskNoteService.getTaskNoteById(userId, noteId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+        } catch (Exception e) {
+            logger.error("Error getting task note {} for user {}: {}", noteId, userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                    "Failed to get task note: " + e.getMessage(), "InternalServerError"));
+        }
+    }
+    
+    @Operation(summary = "List note revisions", 
+               description = "Retrieve the revision history of one of the current user's notes, newest first, without content")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Revisions retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Note not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{noteId}/revisions")
+    public ResponseEntity<?> getTaskNoteRevisions(
+            @Parameter(description = "Note ID", required = true, example = "1") @PathVariable Long noteId,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        if (!token.startsWith("Bearer ")) {
+            logger.error("Invalid token format - token must start with 'Bearer '");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token format", "AuthenticationException"));
+        }
+
+        String jwt = token.substring(7);
+        Long userId;
+        
+        try {
+            userId = jwtTokenProvider.getUserIdFromToken(jwt);
+        } catch (Exception e) {
+            logger.error("Failed to extract user ID from token: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token: " + e.getMessage(), "AuthenticationException"));
+        }
+        
+        if (userId == null) {
+            logger.error("User ID is null in JWT token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token - no user ID found", "AuthenticationException"));
+        }
+        
+        try {
+            if (taskNoteAutosaveBuffer.isPending(noteId)) {
+                taskNoteAutosaveBuffer.flushNote(noteId);
+            }
+            List<TaskNoteRevisionResponse> revisions = taskNoteRevisionService.getRevisions(userId, noteId);
+            return ResponseEntity.ok(revisions);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+        } catch (Exception e) {
+            logger.error("Error getting revisions of note {} for user {}: {}", noteId, userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                    "Failed to get note revisions: " + e.getMessage(), "InternalServerError"));
+        }
+    }
+    
+    @Operation(summary = "Get a note revision", 
+               description = "Retrieve the content of one of the current user's notes as it was at the given revision")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Revision retrieved successfully",
+                content = @Content(schema = @Schema(implementation = TaskNoteRevisionResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Note or revision not found",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{noteId}/revisions/{revision}")
+    public ResponseEntity<?> getTaskNoteRevision(
+            @Parameter(description = "Note ID", required = true, example = "1") @PathVariable Long noteId,
+            @Parameter(description = "Revision number", required = true, example = "3") @PathVariable Integer revision,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        if (!token.startsWith("Bearer ")) {
+            logger.error("Invalid token format - token must start with 'Bearer '");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token format", "AuthenticationException"));
+        }
+
+        String jwt = token.substring(7);
+        Long userId;
+        
+        try {
+            userId = jwtTokenProvider.getUserIdFromToken(jwt);
+        } catch (Exception e) {
+            logger.error("Failed to extract user ID from token: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token: " + e.getMessage(), "AuthenticationException"));
+        }
+        
+        if (userId == null) {
+            logger.error("User ID is null in JWT token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token - no user ID found", "AuthenticationException"));
+        }
+        
+        try {
+            return ResponseEntity.ok(taskNoteRevisionService.getRevision(userId, noteId, revision));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage(), "ResourceNotFoundException"));
+        } catch (Exception e) {
+            logger.error("Error getting revision {} of note {} for user {}: {}", revision, noteId, userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                    "Failed to get note revision: " + e.getMessage(), "InternalServerError"));
+        }
     }
     
     @Operation(summary = "Get task notes by tag", 
@@ -444,6 +809,164 @@ public class TaskNoteController {
         }
     }
     
+    @Operation(summary = "Get task notes by several tags", 
+               description = "Retrieve personal task notes carrying all (match=all) or any (match=any) of the given reminder tags")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task notes retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/tags/search")
+    public ResponseEntity<?> getTaskNotesByTags(
+            @Parameter(description = "Reminder tags to match", example = "urgent,review") @RequestParam List<String> tags,
+            @Parameter(description = "Whether notes must carry all tags or any of them", example = "all")
+            @RequestParam(defaultValue = "all") String match,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        if (!token.startsWith("Bearer ")) {
+            logger.error("Invalid token format - token must start with 'Bearer '");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token format", "AuthenticationException"));
+        }
+
+        String jwt = token.substring(7);
+        Long userId;
+        
+        try {
+            userId = jwtTokenProvider.getUserIdFromToken(jwt);
+        } catch (Exception e) {
+            logger.error("Failed to extract user ID from token: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token: " + e.getMessage(), "AuthenticationException"));
+        }
+        
+        if (userId == null) {
+            logger.error("User ID is null in JWT token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token - no user ID found", "AuthenticationException"));
+        }
+        
+        logger.info("Getting task notes for user {} with tags {} (match={})", userId, tags, match);
+        
+        try {
+            boolean matchAll = !"any".equalsIgnoreCase(match);
+            List<TaskNoteResponse> notes = taskNoteService.getUserTaskNotesByTags(userId, tags, matchAll);
+            return ResponseEntity.ok(notes);
+        } catch (Exception e) {
+            logger.error("Error getting task notes for user {} with tags {}: {}", 
+                userId, tags, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                    "Failed to get task notes: " + e.getMessage(), "InternalServerError"));
+        }
+    }
+    
+    @Operation(summary = "Get tag usage counts", 
+               description = "Retrieve each reminder tag of the current user with the number of notes carrying it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tag counts retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/tags/counts")
+    public ResponseEntity<?> getUserTagCounts(
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        if (!token.startsWith("Bearer ")) {
+            logger.error("Invalid token format - token must start with 'Bearer '");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token format", "AuthenticationException"));
+        }
+
+        String jwt = token.substring(7);
+        Long userId;
+        
+        try {
+            userId = jwtTokenProvider.getUserIdFromToken(jwt);
+        } catch (Exception e) {
+            logger.error("Failed to extract user ID from token: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token: " + e.getMessage(), "AuthenticationException"));
+        }
+        
+        if (userId == null) {
+            logger.error("User ID is null in JWT token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token - no user ID found", "AuthenticationException"));
+        }
+        
+        logger.info("Getting tag counts for user {}", userId);
+        
+        try {
+            Map<String, Integer> counts = taskNoteService.getUserTagCounts(userId);
+            return ResponseEntity.ok(counts);
+        } catch (Exception e) {
+            logger.error("Error getting tag counts for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                    "Failed to get tag counts: " + e.getMessage(), "InternalServerError"));
+        }
+    }
+    
+    @Operation(summary = "Autocomplete tags", 
+               description = "Suggest the current user's reminder tags that start with the given prefix")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/tags/autocomplete")
+    public ResponseEntity<?> autocompleteTags(
+            @Parameter(description = "Tag prefix", example = "ur") @RequestParam(defaultValue = "") String prefix,
+            @Parameter(description = "Maximum number of suggestions", example = "10")
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "JWT Bearer token for authentication", required = true)
+            @RequestHeader("Authorization") String token) {
+        
+        if (!token.startsWith("Bearer ")) {
+            logger.error("Invalid token format - token must start with 'Bearer '");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token format", "AuthenticationException"));
+        }
+
+        String jwt = token.substring(7);
+        Long userId;
+        
+        try {
+            userId = jwtTokenProvider.getUserIdFromToken(jwt);
+        } catch (Exception e) {
+            logger.error("Failed to extract user ID from token: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token: " + e.getMessage(), "AuthenticationException"));
+        }
+        
+        if (userId == null) {
+            logger.error("User ID is null in JWT token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), 
+                    "Invalid token - no user ID found", "AuthenticationException"));
+        }
+        
+        logger.debug("Autocompleting tags for user {} with prefix {}", userId, prefix);
+        
+        try {
+            List<String> tags = taskNoteService.autocompleteTags(userId, prefix, Math.max(1, Math.min(limit, 50)));
+            return ResponseEntity.ok(tags);
+        } catch (Exception e) {
+            logger.error("Error autocompleting tags for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                    "Failed to autocomplete tags: " + e.getMessage(), "InternalServerError"));
+        }
+    }
+    
     @Operation(summary = "Check if task has note", 
                description = "Check if the current user has a personal note for a specific task")
     @ApiResponses(value = {
@@ -0,0 +1,102 @@
+package com.tasksphere.shareme.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One entry of an activity feed")
+public class ActivityEntryResponse {
+
+    @Schema(description = "Unique identifier of the entry", example = "1024")
+    private Long id;
+
+    @Schema(description = "What happened", example = "TASK_UPDATED")
+    private String action;
+
+    @Schema(description = "User who did it; null for deleted users and background jobs")
+    private UserInfo actor;
+
+    @Schema(description = "Project concerned", example = "1")
+    private Long projectId;
+
+    @Schema(description = "Task concerned, if any", example = "42")
+    private Long taskId;
+
+    @Schema(description = "Action details, e.g. changes as field -> {from, to}")
+    private Map<String, Object> details;
+
+    @Schema(description = "When it happened", example = "2024-01-15T10:30:00")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ActivityEntryResponse() {}
+
+    public ActivityEntryResponse(Long id, String action, UserInfo actor, Long projectId, Long taskId,
+                                 Map<String, Object> details, LocalDateTime createdAt) {
+        this.id = id;
+        this.action = action;
+        this.actor = actor;
+        this.projectId = projectId;
+        this.taskId = taskId;
+        this.details = details;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public UserInfo getActor() {
+        return actor;
+    }
+
+    public void setActor(UserInfo actor) {
+        this.actor = actor;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+
+    public void setDetails(Map<String, Object> details) {
+        this.details = details;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,175 @@
+package com.tasksphere.shareme.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A closed task in the archive tier; restore it to edit it again")
+public class ArchivedTaskResponse {
+    
+    @Schema(description = "Unique identifier of the task (kept from before archiving)", example = "1")
+    private Long id;
+    
+    @Schema(description = "Title of the task", example = "Implement user authentication")
+    private String title;
+    
+    @Schema(description = "Detailed description of the task", example = "Implement JWT-based authentication system")
+    private String description;
+    
+    @Schema(description = "Status of the task when it was archived", example = "COMPLETED")
+    private String status;
+    
+    @Schema(description = "Priority level of the task", example = "HIGH")
+    private String priority;
+    
+    @Schema(description = "Project information this task belongs to")
+    private TaskResponse.ProjectInfo project;
+    
+    @Schema(description = "User assigned to this task")
+    private UserInfo assignee;
+    
+    @Schema(description = "User who created this task")
+    private UserInfo creator;
+    
+    @Schema(description = "When the task was created", example = "2024-01-15T10:30:00")
+    private LocalDateTime createdAt;
+    
+    @Schema(description = "When the task was last updated before archiving", example = "2024-02-16T14:20:00")
+    private LocalDateTime updatedAt;
+    
+    @Schema(description = "Due date for the task", example = "2024-02-28T23:59:59")
+    private LocalDateTime dueDate;
+    
+    @Schema(description = "When the task was moved to the archive", example = "2024-06-01T04:00:12")
+    private LocalDateTime archivedAt;
+    
+    @Schema(description = "Attachment metadata (detail view only); restore the task to download the files")
+    private List<TaskAttachmentResponse> attachments;
+    
+    // Constructors
+    public ArchivedTaskResponse() {}
+    
+    public ArchivedTaskResponse(Long id, String title, String description, String status, String priority,
+                                TaskResponse.ProjectInfo project, UserInfo assignee, UserInfo creator,
+                                LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime dueDate,
+                                LocalDateTime archivedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.project = project;
+        this.assignee = assignee;
+        this.creator = creator;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.dueDate = dueDate;
+        this.archivedAt = archivedAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+    
+    public TaskResponse.ProjectInfo getProject() {
+        return project;
+    }
+    
+    public void setProject(TaskResponse.ProjectInfo project) {
+        this.project = project;
+    }
+    
+    public UserInfo getAssignee() {
+        return assignee;
+    }
+    
+    public void setAssignee(UserInfo assignee) {
+        this.assignee = assignee;
+    }
+    
+    public UserInfo getCreator() {
+        return creator;
+    }
+    
+    public void setCreator(UserInfo creator) {
+        this.creator = creator;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+    
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+    
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+    
+    public List<TaskAttachmentResponse> getAttachments() {
+        return attachments;
+    }
+    
+    public void setAttachments(List<TaskAttachmentResponse> attachments) {
+        this.attachments = attachments;
+    }
+}
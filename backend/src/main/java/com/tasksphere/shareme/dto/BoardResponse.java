@@ -0,0 +1,129 @@
+package com.tasksphere.shareme.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Top tasks of each status column of a project, with the number of tasks per column")
+public class BoardResponse {
+
+    @Schema(description = "Project ID", example = "1")
+    private Long projectId;
+
+    @Schema(description = "One column per task status, in workflow order")
+    private List<Column> columns = new ArrayList<>();
+
+    // Constructors
+    public BoardResponse() {}
+
+    public BoardResponse(Long projectId, List<Column> columns) {
+        this.projectId = projectId;
+        this.columns = columns;
+    }
+
+    // Getters and Setters
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public void setColumns(List<Column> columns) {
+        this.columns = columns;
+    }
+
+    @Schema(description = "A status column")
+    public static class Column {
+        @Schema(description = "Task status", example = "IN_PROGRESS")
+        private String status;
+
+        @Schema(description = "All tasks in this column the user can see, including those not returned", example = "42")
+        private long total;
+
+        @Schema(description = "The first tasks of the column in the manual order")
+        private List<Card> tasks = new ArrayList<>();
+
+        public Column() {}
+
+        public Column(String status, long total, List<Card> tasks) {
+            this.status = status;
+            this.total = total;
+            this.tasks = tasks;
+        }
+
+        // Getters and Setters
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        public long getTotal() { return total; }
+        public void setTotal(long total) { this.total = total; }
+        public List<Card> getTasks() { return tasks; }
+        public void setTasks(List<Card> tasks) { this.tasks = tasks; }
+    }
+
+    @Schema(description = "A task on the board")
+    public static class Card {
+        @Schema(description = "Task ID", example = "1")
+        private Long id;
+
+        @Schema(description = "Task title", example = "Implement user authentication")
+        private String title;
+
+        @Schema(description = "Task priority", example = "HIGH")
+        private String priority;
+
+        @Schema(description = "Task due date", example = "2024-12-31T23:59:59")
+        private LocalDateTime dueDate;
+
+        @Schema(description = "Last update time", example = "2024-01-15T10:30:00")
+        private LocalDateTime updatedAt;
+
+        @Schema(description = "Version for optimistic locking", example = "3")
+        private Long version;
+
+        @Schema(description = "Position in the manual order of the project", example = "V")
+        private String rank;
+
+        @Schema(description = "Assigned user, null when unassigned")
+        private UserInfo assignee;
+
+        public Card() {}
+
+        public Card(Long id, String title, String priority, LocalDateTime dueDate, LocalDateTime updatedAt,
+                    Long version, String rank, UserInfo assignee) {
+            this.id = id;
+            this.title = title;
+            this.priority = priority;
+            this.dueDate = dueDate;
+            this.updatedAt = updatedAt;
+            this.version = version;
+            this.rank = rank;
+            this.assignee = assignee;
+        }
+
+        // Getters and Setters
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+        public String getPriority() { return priority; }
+        public void setPriority(String priority) { this.priority = priority; }
+        public LocalDateTime getDueDate() { return dueDate; }
+        public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
+        public LocalDateTime getUpdatedAt() { return updatedAt; }
+        public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+        public Long getVersion() { return version; }
+        public void setVersion(Long version) { this.version = version; }
+        public String getRank() { return rank; }
+        public void setRank(String rank) { this.rank = rank; }
+        public UserInfo getAssignee() { return assignee; }
+        public void setAssignee(UserInfo assignee) { this.assignee = assignee; }
+    }
+}
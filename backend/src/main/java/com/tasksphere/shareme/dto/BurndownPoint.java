@@ -0,0 +1,76 @@
+package com.tasksphere.shareme.dto;
+
+import java.time.LocalDate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Remaining and completed work at the end of a day")
+public class BurndownPoint {
+
+    @Schema(description = "Day", example = "2024-01-15")
+    private LocalDate date;
+
+    @Schema(description = "Open tasks (TODO and IN_PROGRESS)", example = "16")
+    private long remaining;
+
+    @Schema(description = "Completed tasks so far", example = "30")
+    private long completed;
+
+    @Schema(description = "Total scope: remaining plus completed (cancelled tasks excluded)", example = "46")
+    private long scope;
+
+    @Schema(description = "Tasks completed on this day (velocity)", example = "3")
+    private long completedOnDay;
+
+    // Constructors
+    public BurndownPoint() {}
+
+    public BurndownPoint(LocalDate date, long remaining, long completed, long completedOnDay) {
+        this.date = date;
+        this.remaining = remaining;
+        this.completed = completed;
+        this.scope = remaining + completed;
+        this.completedOnDay = completedOnDay;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public long getRemaining() {
+        return remaining;
+    }
+
+    public void setRemaining(long remaining) {
+        this.remaining = remaining;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getScope() {
+        return scope;
+    }
+
+    public void setScope(long scope) {
+        this.scope = scope;
+    }
+
+    public long getCompletedOnDay() {
+        return completedOnDay;
+    }
+
+    public void setCompletedOnDay(long completedOnDay) {
+        this.completedOnDay = completedOnDay;
+    }
+}
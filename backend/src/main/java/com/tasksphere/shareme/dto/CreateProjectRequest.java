@@ -29,6 +29,9 @@ public class CreateProjectRequest {
 
     private boolean sendEmail;
 
+    // Version the update is based on (updates only); 409 if the project changed since
+    private Long version;
+
     // Constructors
     public CreateProjectRequest() {}
 
@@ -94,4 +97,12 @@ public class CreateProjectRequest {
     public void setSendEmail(boolean sendEmail) {
         this.sendEmail = sendEmail;
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,76 @@
+package com.tasksphere.shareme.dto;
+
+import java.time.LocalDate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Number of tasks in each status at the end of a day")
+public class CumulativeFlowPoint {
+
+    @Schema(description = "Day", example = "2024-01-15")
+    private LocalDate date;
+
+    @Schema(description = "Tasks in TODO", example = "12")
+    private long todo;
+
+    @Schema(description = "Tasks in IN_PROGRESS", example = "4")
+    private long inProgress;
+
+    @Schema(description = "Tasks in COMPLETED", example = "30")
+    private long completed;
+
+    @Schema(description = "Tasks in CANCELLED", example = "2")
+    private long cancelled;
+
+    // Constructors
+    public CumulativeFlowPoint() {}
+
+    public CumulativeFlowPoint(LocalDate date, long todo, long inProgress, long completed, long cancelled) {
+        this.date = date;
+        this.todo = todo;
+        this.inProgress = inProgress;
+        this.completed = completed;
+        this.cancelled = cancelled;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public long getTodo() {
+        return todo;
+    }
+
+    public void setTodo(long todo) {
+        this.todo = todo;
+    }
+
+    public long getInProgress() {
+        return inProgress;
+    }
+
+    public void setInProgress(long inProgress) {
+        this.inProgress = inProgress;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(long cancelled) {
+        this.cancelled = cancelled;
+    }
+}
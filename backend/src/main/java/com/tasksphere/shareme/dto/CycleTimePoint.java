@@ -0,0 +1,66 @@
+package com.tasksphere.shareme.dto;
+
+import java.time.LocalDate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Tasks completed in a period with their average cycle and lead times")
+public class CycleTimePoint {
+
+    @Schema(description = "First day of the period", example = "2024-01-15")
+    private LocalDate periodStart;
+
+    @Schema(description = "Tasks completed in the period", example = "7")
+    private long completed;
+
+    @Schema(description = "Average hours from first IN_PROGRESS to COMPLETED; null when no completed task was started",
+            example = "30.5")
+    private Double averageCycleTimeHours;
+
+    @Schema(description = "Average hours from creation to COMPLETED; null without completions", example = "72.25")
+    private Double averageLeadTimeHours;
+
+    // Constructors
+    public CycleTimePoint() {}
+
+    public CycleTimePoint(LocalDate periodStart, long completed, Double averageCycleTimeHours,
+                          Double averageLeadTimeHours) {
+        this.periodStart = periodStart;
+        this.completed = completed;
+        this.averageCycleTimeHours = averageCycleTimeHours;
+        this.averageLeadTimeHours = averageLeadTimeHours;
+    }
+
+    // Getters and Setters
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public Double getAverageCycleTimeHours() {
+        return averageCycleTimeHours;
+    }
+
+    public void setAverageCycleTimeHours(Double averageCycleTimeHours) {
+        this.averageCycleTimeHours = averageCycleTimeHours;
+    }
+
+    public Double getAverageLeadTimeHours() {
+        return averageLeadTimeHours;
+    }
+
+    public void setAverageLeadTimeHours(Double averageLeadTimeHours) {
+        this.averageLeadTimeHours = averageLeadTimeHours;
+    }
+}
@@ -0,0 +1,87 @@
+package com.tasksphere.shareme.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Everything the dashboard shows, loaded in one request")
+public class DashboardResponse {
+
+    @JsonProperty("projects")
+    @Schema(description = "Projects the user owns or is a member of")
+    private List<ProjectResponse> projects;
+
+    @JsonProperty("projectStats")
+    @Schema(description = "Same as GET /api/projects/stats")
+    private Map<String, Object> projectStats;
+
+    @JsonProperty("taskStats")
+    @Schema(description = "Same as GET /api/tasks/stats")
+    private Map<String, Object> taskStats;
+
+    @JsonProperty("recentTasks")
+    @Schema(description = "Most recently updated tasks the user can access")
+    private List<TaskResponse> recentTasks;
+
+    @JsonProperty("unavailableSections")
+    @Schema(description = "Sections that failed or timed out and are null in this response", example = "[\"taskStats\"]")
+    private List<String> unavailableSections = new ArrayList<>();
+
+    // Constructors
+    public DashboardResponse() {}
+
+    public DashboardResponse(List<ProjectResponse> projects, Map<String, Object> projectStats,
+                             Map<String, Object> taskStats, List<TaskResponse> recentTasks,
+                             List<String> unavailableSections) {
+        this.projects = projects;
+        this.projectStats = projectStats;
+        this.taskStats = taskStats;
+        this.recentTasks = recentTasks;
+        this.unavailableSections = unavailableSections;
+    }
+
+    // Getters and Setters
+    public List<ProjectResponse> getProjects() {
+        return projects;
+    }
+
+    public void setProjects(List<ProjectResponse> projects) {
+        this.projects = projects;
+    }
+
+    public Map<String, Object> getProjectStats() {
+        return projectStats;
+    }
+
+    public void setProjectStats(Map<String, Object> projectStats) {
+        this.projectStats = projectStats;
+    }
+
+    public Map<String, Object> getTaskStats() {
+        return taskStats;
+    }
+
+    public void setTaskStats(Map<String, Object> taskStats) {
+        this.taskStats = taskStats;
+    }
+
+    public List<TaskResponse> getRecentTasks() {
+        return recentTasks;
+    }
+
+    public void setRecentTasks(List<TaskResponse> recentTasks) {
+        this.recentTasks = recentTasks;
+    }
+
+    public List<String> getUnavailableSections() {
+        return unavailableSections;
+    }
+
+    public void setUnavailableSections(List<String> unavailableSections) {
+        this.unavailableSections = unavailableSections;
+    }
+}
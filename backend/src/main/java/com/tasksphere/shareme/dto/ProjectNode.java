@@ -0,0 +1,68 @@
+package com.tasksphere.shareme.dto;
+
+import java.time.LocalDateTime;
+
+import com.tasksphere.shareme.entity.Project;
+
+/**
+ * Project as seen by the GraphQL API: plain columns plus the owner id, which is
+ * resolved to a user through the per-request user data loader.
+ */
+public class ProjectNode {
+    private Long id;
+    private String name;
+    private String description;
+    private Project.ProjectStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime deadline;
+    private Long ownerId;
+
+    // Constructors
+    public ProjectNode() {}
+
+    public ProjectNode(Long id, String name, String description, Project.ProjectStatus status,
+                       LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime deadline, Long ownerId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.deadline = deadline;
+        this.ownerId = ownerId;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Project.ProjectStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+}
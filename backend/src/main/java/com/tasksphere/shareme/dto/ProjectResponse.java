@@ -18,6 +18,7 @@ public class ProjectResponse {
     private int totalTasks;
     private int completedTasks;
     private int inProgressTasks;
+    private Long version;
 
     // Constructors
     public ProjectResponse() {}
@@ -129,4 +130,12 @@ public class ProjectResponse {
     public void setInProgressTasks(int inProgressTasks) {
         this.inProgressTasks = inProgressTasks;
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,45 @@
+package com.tasksphere.shareme.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Short-lived download link that needs no Authorization header")
+public class SignedDownloadUrlResponse {
+
+    @JsonProperty("url")
+    @Schema(description = "Signed download URL",
+            example = "/files/3f2b9c1e-8d4a-4b7e-a0c5-1d2e3f4a5b6c.pdf?name=report.pdf&type=application%2Fpdf&expires=1705401000&sig=kR3...")
+    private String url;
+
+    @JsonProperty("expiresAt")
+    @Schema(description = "When the link stops working", example = "2024-01-16T10:30:00")
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public SignedDownloadUrlResponse() {}
+
+    public SignedDownloadUrlResponse(String url, LocalDateTime expiresAt) {
+        this.url = url;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,111 @@
+package com.tasksphere.shareme.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Subtasks of a task per status")
+public class SubtreeProgress {
+
+    @Schema(description = "Task whose subtasks are counted", example = "1")
+    private Long taskId;
+
+    @Schema(description = "Levels of subtasks counted", example = "10")
+    private int depth;
+
+    @Schema(description = "Subtasks counted", example = "12")
+    private long total;
+
+    @Schema(description = "Subtasks in TODO", example = "4")
+    private long todo;
+
+    @Schema(description = "Subtasks in IN_PROGRESS", example = "3")
+    private long inProgress;
+
+    @Schema(description = "Subtasks in COMPLETED", example = "4")
+    private long completed;
+
+    @Schema(description = "Subtasks in CANCELLED", example = "1")
+    private long cancelled;
+
+    @Schema(description = "Completed share of the subtasks that are not cancelled; null without any", example = "36.4")
+    private Double percentComplete;
+
+    // Constructors
+    public SubtreeProgress() {}
+
+    public SubtreeProgress(Long taskId, int depth, long total, long todo, long inProgress, long completed,
+                           long cancelled, Double percentComplete) {
+        this.taskId = taskId;
+        this.depth = depth;
+        this.total = total;
+        this.todo = todo;
+        this.inProgress = inProgress;
+        this.completed = completed;
+        this.cancelled = cancelled;
+        this.percentComplete = percentComplete;
+    }
+
+    // Getters and Setters
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getTodo() {
+        return todo;
+    }
+
+    public void setTodo(long todo) {
+        this.todo = todo;
+    }
+
+    public long getInProgress() {
+        return inProgress;
+    }
+
+    public void setInProgress(long inProgress) {
+        this.inProgress = inProgress;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(long cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public Double getPercentComplete() {
+        return percentComplete;
+    }
+
+    public void setPercentComplete(Double percentComplete) {
+        this.percentComplete = percentComplete;
+    }
+}
@@ -0,0 +1,134 @@
+package com.tasksphere.shareme.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Projects, tasks and notes that changed since a sync token")
+public class SyncResponse {
+
+    @JsonProperty("token")
+    @Schema(description = "Token for the next sync request; null when resetRequired is set", example = "48213")
+    private String token;
+
+    @JsonProperty("hasMore")
+    @Schema(description = "More changes are waiting; request again with the new token right away")
+    private boolean hasMore;
+
+    @JsonProperty("resetRequired")
+    @Schema(description = "The token is too old or invalid; discard local data and sync again without a token")
+    private boolean resetRequired;
+
+    @JsonProperty("projects")
+    @Schema(description = "Created or updated projects (members and task counts not included)")
+    private List<ProjectResponse> projects = new ArrayList<>();
+
+    @JsonProperty("tasks")
+    @Schema(description = "Created or updated tasks, with attachments")
+    private List<TaskResponse> tasks = new ArrayList<>();
+
+    @JsonProperty("notes")
+    @Schema(description = "Created or updated notes of the user")
+    private List<TaskNoteResponse> notes = new ArrayList<>();
+
+    @JsonProperty("deleted")
+    @Schema(description = "Ids to remove locally: deleted, or no longer visible to the user")
+    private Deleted deleted = new Deleted();
+
+    // Constructors
+    public SyncResponse() {}
+
+    public SyncResponse(String token, boolean hasMore) {
+        this.token = token;
+        this.hasMore = hasMore;
+    }
+
+    public static SyncResponse resetRequired() {
+        SyncResponse response = new SyncResponse();
+        response.setResetRequired(true);
+        return response;
+    }
+
+    // Getters and Setters
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public boolean isResetRequired() {
+        return resetRequired;
+    }
+
+    public void setResetRequired(boolean resetRequired) {
+        this.resetRequired = resetRequired;
+    }
+
+    public List<ProjectResponse> getProjects() {
+        return projects;
+    }
+
+    public void setProjects(List<ProjectResponse> projects) {
+        this.projects = projects;
+    }
+
+    public List<TaskResponse> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskResponse> tasks) {
+        this.tasks = tasks;
+    }
+
+    public List<TaskNoteResponse> getNotes() {
+        return notes;
+    }
+
+    public void setNotes(List<TaskNoteResponse> notes) {
+        this.notes = notes;
+    }
+
+    public Deleted getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(Deleted deleted) {
+        this.deleted = deleted;
+    }
+
+    public static class Deleted {
+        @JsonProperty("projects")
+        private List<Long> projects = new ArrayList<>();
+
+        @JsonProperty("tasks")
+        private List<Long> tasks = new ArrayList<>();
+
+        @JsonProperty("notes")
+        private List<Long> notes = new ArrayList<>();
+
+        public List<Long> getProjects() {
+            return projects;
+        }
+
+        public List<Long> getTasks() {
+            return tasks;
+        }
+
+        public List<Long> getNotes() {
+            return notes;
+        }
+    }
+}
@@ -28,6 +28,9 @@ public class TaskAttachmentResponse {
     @Schema(description = "Download URL for the file", example = "/api/tasks/1/attachments/1/download")
     private String downloadUrl;
     
+    @Schema(description = "Preview image URL, present once a thumbnail has been rendered", example = "/api/tasks/attachments/1/thumbnail")
+    private String thumbnailUrl;
+    
     // Constructors
     public TaskAttachmentResponse() {}
     
@@ -42,6 +45,13 @@ public class TaskAttachmentResponse {
         this.downloadUrl = downloadUrl;
     }
     
+    public TaskAttachmentResponse(Long id, String originalFilename, Long fileSize, String contentType,
+                                 UserInfo uploadedBy, LocalDateTime uploadedAt, String downloadUrl,
+                                 String thumbnailUrl) {
+        this(id, originalFilename, fileSize, contentType, uploadedBy, uploadedAt, downloadUrl);
+        this.thumbnailUrl = thumbnailUrl;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -98,4 +108,12 @@ public class TaskAttachmentResponse {
     public void setDownloadUrl(String downloadUrl) {
         this.downloadUrl = downloadUrl;
     }
+    
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+    
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.tasksphere.shareme.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Request object for moving a task in the manual order of its project")
+public class TaskMoveRequest {
+    
+    @Schema(description = "Task to place the moved task right after; null puts it first", example = "12")
+    private Long afterTaskId;
+    
+    @Schema(description = "New status when the task is dropped into another column", example = "IN_PROGRESS",
+            allowableValues = {"TODO", "IN_PROGRESS", "COMPLETED", "CANCELLED"})
+    private String status;
+    
+    @Schema(description = "Version the move is based on; 409 if the task changed since", example = "3")
+    private Long version;
+    
+    // Constructors
+    public TaskMoveRequest() {}
+    
+    public TaskMoveRequest(Long afterTaskId, String status, Long version) {
+        this.afterTaskId = afterTaskId;
+        this.status = status;
+        this.version = version;
+    }
+    
+    // Getters and Setters
+    public Long getAfterTaskId() {
+        return afterTaskId;
+    }
+    
+    public void setAfterTaskId(Long afterTaskId) {
+        this.afterTaskId = afterTaskId;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,87 @@
+package com.tasksphere.shareme.dto;
+
+import java.time.LocalDateTime;
+
+import com.tasksphere.shareme.entity.Task;
+
+/**
+ * Task as seen by the GraphQL API: plain columns plus the ids of its project,
+ * assignee and creator, which are resolved through per-request data loaders.
+ */
+public class TaskNode {
+    private Long id;
+    private String title;
+    private String description;
+    private Task.TaskStatus status;
+    private Task.TaskPriority priority;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime dueDate;
+    private Long projectId;
+    private Long assigneeId;
+    private Long creatorId;
+
+    // Constructors
+    public TaskNode() {}
+
+    public TaskNode(Long id, String title, String description, Task.TaskStatus status, Task.TaskPriority priority,
+                    LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime dueDate,
+                    Long projectId, Long assigneeId, Long creatorId) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.dueDate = dueDate;
+        this.projectId = projectId;
+        this.assigneeId = assigneeId;
+        this.creatorId = creatorId;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Task.TaskStatus getStatus() {
+        return status;
+    }
+
+    public Task.TaskPriority getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public Long getCreatorId() {
+        return creatorId;
+    }
+}
@@ -0,0 +1,79 @@
+package com.tasksphere.shareme.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Request object for autosaving the current state of an existing personal note")
+public class TaskNoteAutosaveRequest {
+
+    @Size(max = 255, message = "Note name cannot exceed 255 characters")
+    @JsonProperty("noteName")
+    @Schema(description = "Title or name for the personal note", example = "Implementation Notes", maxLength = 255)
+    private String noteName;
+
+    @Size(max = 5000, message = "Note content cannot exceed 5000 characters")
+    @JsonProperty("noteContent")
+    @Schema(description = "Full current content of the personal note",
+            example = "Remember to implement proper error handling", maxLength = 5000)
+    private String noteContent;
+
+    @JsonProperty("reminderTags")
+    @Schema(description = "Current list of reminder tags", example = "[\"urgent\", \"review\"]")
+    private List<@Size(max = 50, message = "Tag cannot exceed 50 characters") String> reminderTags;
+
+    // Saves of a shared editing session carry the content alone
+    @JsonIgnore
+    private boolean contentOnly;
+
+    // Constructors
+    public TaskNoteAutosaveRequest() {}
+
+    public TaskNoteAutosaveRequest(String noteName, String noteContent, List<String> reminderTags) {
+        this.noteName = noteName;
+        this.noteContent = noteContent;
+        this.reminderTags = reminderTags;
+    }
+
+    /**
+     * A save of the content alone; the name and tags of the note stay as they are
+     */
+    public static TaskNoteAutosaveRequest contentOnly(String noteContent) {
+        TaskNoteAutosaveRequest request = new TaskNoteAutosaveRequest(null, noteContent, null);
+        request.contentOnly = true;
+        return request;
+    }
+
+    // Getters and Setters
+    public String getNoteName() {
+        return noteName;
+    }
+
+    public void setNoteName(String noteName) {
+        this.noteName = noteName;
+    }
+
+    public String getNoteContent() {
+        return noteContent;
+    }
+
+    public void setNoteContent(String noteContent) {
+        this.noteContent = noteContent;
+    }
+
+    public List<String> getReminderTags() {
+        return reminderTags;
+    }
+
+    public void setReminderTags(List<String> reminderTags) {
+        this.reminderTags = reminderTags;
+    }
+
+    public boolean isContentOnly() {
+        return contentOnly;
+    }
+}
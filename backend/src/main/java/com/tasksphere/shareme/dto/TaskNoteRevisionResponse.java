@@ -0,0 +1,102 @@
+package com.tasksphere.shareme.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One stored revision of a personal note")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskNoteRevisionResponse {
+
+    @JsonProperty("noteId")
+    private Long noteId;
+
+    @JsonProperty("revision")
+    @Schema(description = "Revision number, starting at 1", example = "3")
+    private Integer revision;
+
+    @JsonProperty("snapshot")
+    @Schema(description = "Whether the revision is stored as a full snapshot rather than a delta")
+    private Boolean snapshot;
+
+    @JsonProperty("contentLength")
+    @Schema(description = "Length of the note content at this revision", example = "1250")
+    private Integer contentLength;
+
+    @JsonProperty("noteContent")
+    @Schema(description = "Reconstructed note content; only present when a single revision is requested")
+    private String noteContent;
+
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public TaskNoteRevisionResponse() {}
+
+    public TaskNoteRevisionResponse(Long noteId, Integer revision, Boolean snapshot, Integer contentLength,
+                                    LocalDateTime createdAt) {
+        this(noteId, revision, snapshot, contentLength, null, createdAt);
+    }
+
+    public TaskNoteRevisionResponse(Long noteId, Integer revision, Boolean snapshot, Integer contentLength,
+                                    String noteContent, LocalDateTime createdAt) {
+        this.noteId = noteId;
+        this.revision = revision;
+        this.snapshot = snapshot;
+        this.contentLength = contentLength;
+        this.noteContent = noteContent;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public void setNoteId(Long noteId) {
+        this.noteId = noteId;
+    }
+
+    public Integer getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Integer revision) {
+        this.revision = revision;
+    }
+
+    public Boolean getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(Boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public Integer getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(Integer contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public String getNoteContent() {
+        return noteContent;
+    }
+
+    public void setNoteContent(String noteContent) {
+        this.noteContent = noteContent;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,119 @@
+package com.tasksphere.shareme.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Lightweight note listing entry without the full note content")
+public class TaskNoteSummaryResponse {
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("noteName")
+    private String noteName;
+
+    @JsonProperty("taskId")
+    private Long taskId;
+
+    @JsonProperty("taskTitle")
+    private String taskTitle;
+
+    @JsonProperty("snippet")
+    @Schema(description = "Beginning of the note content", example = "Remember to implement proper error handling...")
+    private String snippet;
+
+    @JsonProperty("reminderTags")
+    private List<String> reminderTags;
+
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("updatedAt")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public TaskNoteSummaryResponse() {}
+
+    /**
+     * Used by the JPQL constructor projection; tags are filled in afterwards
+     */
+    public TaskNoteSummaryResponse(Long id, String noteName, Long taskId, String taskTitle, String snippet,
+                                   LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.noteName = noteName;
+        this.taskId = taskId;
+        this.taskTitle = taskTitle;
+        this.snippet = snippet;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNoteName() {
+        return noteName;
+    }
+
+    public void setNoteName(String noteName) {
+        this.noteName = noteName;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getTaskTitle() {
+        return taskTitle;
+    }
+
+    public void setTaskTitle(String taskTitle) {
+        this.taskTitle = taskTitle;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public List<String> getReminderTags() {
+        return reminderTags;
+    }
+
+    public void setReminderTags(List<String> reminderTags) {
+        this.reminderTags = reminderTags;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
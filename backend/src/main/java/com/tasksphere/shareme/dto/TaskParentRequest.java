@@ -0,0 +1,38 @@
+package com.tasksphere.shareme.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Request object for moving a task with its subtasks below another task")
+public class TaskParentRequest {
+    
+    @Schema(description = "New parent task of the same project; null makes it a top-level task", example = "3")
+    private Long parentId;
+    
+    @Schema(description = "Version the move is based on; 409 if the task changed since", example = "3")
+    private Long version;
+    
+    // Constructors
+    public TaskParentRequest() {}
+    
+    public TaskParentRequest(Long parentId, Long version) {
+        this.parentId = parentId;
+        this.version = version;
+    }
+    
+    // Getters and Setters
+    public Long getParentId() {
+        return parentId;
+    }
+    
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -34,6 +34,12 @@ public class TaskRequest {
     @Schema(description = "Due date for the task", example = "2024-12-31T23:59:59")
     private LocalDateTime dueDate;
     
+    @Schema(description = "Version the update is based on (updates only); 409 if the task changed since", example = "3")
+    private Long version;
+    
+    @Schema(description = "Parent task of the same project (creation only; use PUT /api/tasks/{id}/parent to move)", example = "3")
+    private Long parentId;
+    
     // Constructors
     public TaskRequest() {}
     
@@ -104,4 +110,20 @@ public class TaskRequest {
     public void setDueDate(LocalDateTime dueDate) {
         this.dueDate = dueDate;
     }
+    
+    public Long getParentId() {
+        return parentId;
+    }
+    
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -44,6 +44,15 @@ public class TaskResponse {
     @Schema(description = "List of attachments for this task")
     private List<TaskAttachmentResponse> attachments;
     
+    @Schema(description = "Row version; send it back with PUT/PATCH to detect concurrent edits", example = "3")
+    private Long version;
+    
+    @Schema(description = "Position in the manual order of the project; sorts as a plain string", example = "V")
+    private String rank;
+    
+    @Schema(description = "Parent task; null for a top-level task", example = "3")
+    private Long parentId;
+    
     // Constructors
     public TaskResponse() {}
     
@@ -162,6 +171,30 @@ public class TaskResponse {
         this.attachments = attachments;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public String getRank() {
+        return rank;
+    }
+    
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+    
+    public Long getParentId() {
+        return parentId;
+    }
+    
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+    
     // Inner classes for nested objects
     @Schema(description = "Project information")
     public static class ProjectInfo {
@@ -0,0 +1,125 @@
+package com.tasksphere.shareme.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A task in a subtask tree or ancestor path")
+public class TaskTreeNode {
+
+    @Schema(description = "Task ID", example = "7")
+    private Long id;
+
+    @Schema(description = "Task title", example = "Write login form")
+    private String title;
+
+    @Schema(description = "Task status", example = "IN_PROGRESS")
+    private String status;
+
+    @Schema(description = "Task priority", example = "HIGH")
+    private String priority;
+
+    @Schema(description = "Direct parent; null for a top-level task", example = "3")
+    private Long parentId;
+
+    @Schema(description = "Levels below (subtrees) or above (ancestor paths) the requested task", example = "1")
+    private int depth;
+
+    @Schema(description = "Position in the manual order of the project", example = "V")
+    private String rank;
+
+    @Schema(description = "Assigned user, null when unassigned")
+    private UserInfo assignee;
+
+    @Schema(description = "Subtasks within the requested depth; empty in ancestor paths")
+    private List<TaskTreeNode> children = new ArrayList<>();
+
+    // Constructors
+    public TaskTreeNode() {}
+
+    public TaskTreeNode(Long id, String title, String status, String priority, Long parentId, int depth,
+                        String rank, UserInfo assignee) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+        this.priority = priority;
+        this.parentId = parentId;
+        this.depth = depth;
+        this.rank = rank;
+        this.assignee = assignee;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
+    public UserInfo getAssignee() {
+        return assignee;
+    }
+
+    public void setAssignee(UserInfo assignee) {
+        this.assignee = assignee;
+    }
+
+    public List<TaskTreeNode> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<TaskTreeNode> children) {
+        this.children = children;
+    }
+}
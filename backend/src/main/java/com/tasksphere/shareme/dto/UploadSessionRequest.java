@@ -0,0 +1,63 @@
+package com.tasksphere.shareme.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Request object for starting a resumable chunked upload")
+public class UploadSessionRequest {
+
+    @NotBlank(message = "Filename is required")
+    @Size(max = 500, message = "Filename cannot exceed 500 characters")
+    @JsonProperty("originalFilename")
+    @Schema(description = "Name of the file being uploaded", example = "demo_recording.mp4")
+    private String originalFilename;
+
+    @NotNull(message = "File size is required")
+    @Positive(message = "File size must be positive")
+    @JsonProperty("fileSize")
+    @Schema(description = "Total size of the file in bytes", example = "734003200")
+    private Long fileSize;
+
+    @JsonProperty("contentType")
+    @Schema(description = "MIME content type of the file", example = "video/mp4")
+    private String contentType;
+
+    // Constructors
+    public UploadSessionRequest() {}
+
+    public UploadSessionRequest(String originalFilename, Long fileSize, String contentType) {
+        this.originalFilename = originalFilename;
+        this.fileSize = fileSize;
+        this.contentType = contentType;
+    }
+
+    // Getters and Setters
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    public void setOriginalFilename(String originalFilename) {
+        this.originalFilename = originalFilename;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+}
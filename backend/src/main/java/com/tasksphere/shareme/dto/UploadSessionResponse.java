@@ -0,0 +1,110 @@
+package com.tasksphere.shareme.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "State of a resumable chunked upload")
+public class UploadSessionResponse {
+
+    @JsonProperty("uploadId")
+    @Schema(description = "Identifier of the upload session", example = "7b1c3f0e-2d4a-4d7e-9a51-0c8f6e2b9d11")
+    private String uploadId;
+
+    @JsonProperty("taskId")
+    @Schema(description = "Task the file will be attached to", example = "1")
+    private Long taskId;
+
+    @JsonProperty("originalFilename")
+    @Schema(description = "Name of the file being uploaded", example = "demo_recording.mp4")
+    private String originalFilename;
+
+    @JsonProperty("fileSize")
+    @Schema(description = "Total size of the file in bytes", example = "734003200")
+    private Long fileSize;
+
+    @JsonProperty("offset")
+    @Schema(description = "Number of bytes received so far; the next chunk starts here", example = "16777216")
+    private Long offset;
+
+    @JsonProperty("maxChunkSize")
+    @Schema(description = "Largest chunk the server accepts in one request, in bytes", example = "8388608")
+    private Long maxChunkSize;
+
+    @JsonProperty("expiresAt")
+    @Schema(description = "When the session is discarded if no further chunk arrives", example = "2024-01-16T10:30:00")
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public UploadSessionResponse() {}
+
+    public UploadSessionResponse(String uploadId, Long taskId, String originalFilename, Long fileSize,
+                                 Long offset, Long maxChunkSize, LocalDateTime expiresAt) {
+        this.uploadId = uploadId;
+        this.taskId = taskId;
+        this.originalFilename = originalFilename;
+        this.fileSize = fileSize;
+        this.offset = offset;
+        this.maxChunkSize = maxChunkSize;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    public void setOriginalFilename(String originalFilename) {
+        this.originalFilename = originalFilename;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Long offset) {
+        this.offset = offset;
+    }
+
+    public Long getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    public void setMaxChunkSize(Long maxChunkSize) {
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.tasksphere.shareme.entity;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.tasksphere.shareme.service.ChangeSequenceService;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Stamps projects, tasks and notes with the next change sequence number on every
+ * insert and update, and records tombstones when they are removed through the
+ * entity manager. Set-based deletes bypass this listener and record their
+ * tombstones themselves (see ProjectService.deleteProject).
+ *
+ * Instantiated by Hibernate through Spring's bean container, so injection works.
+ */
+public class ChangeSequenceListener {
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @PrePersist
+    @PreUpdate
+    void assignChangeSeq(Object entity) {
+        ((ChangeTracked) entity).setChangeSeq(changeSequenceService.next());
+    }
+
+    @PreRemove
+    void recordDeletion(Object entity) {
+        if (entity instanceof Task) {
+            changeSequenceService.recordTaskDeletion(((Task) entity).getId());
+        } else if (entity instanceof Project) {
+            changeSequenceService.recordProjectDeletion(((Project) entity).getId());
+        } else if (entity instanceof TaskNote) {
+            changeSequenceService.recordNoteDeletion(((TaskNote) entity).getId());
+        }
+    }
+}
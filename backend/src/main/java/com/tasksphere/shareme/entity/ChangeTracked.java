@@ -0,0 +1,12 @@
+package com.tasksphere.shareme.entity;
+
+/**
+ * An entity that carries a change sequence number for delta sync; see
+ * ChangeSequenceListener.
+ */
+public interface ChangeTracked {
+
+    Long getChangeSeq();
+
+    void setChangeSeq(Long changeSeq);
+}
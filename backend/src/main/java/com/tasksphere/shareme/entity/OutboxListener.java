@@ -0,0 +1,46 @@
+package com.tasksphere.shareme.entity;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.tasksphere.shareme.service.OutboxService;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Publishes an outbox event for every insert, update and removal of a task or
+ * project made through the entity manager. Set-based statements bypass this
+ * listener and publish their events themselves (see TaskArchiveService and
+ * ProjectService.deleteProject).
+ *
+ * Instantiated by Hibernate through Spring's bean container, so injection works.
+ */
+public class OutboxListener {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @PostPersist
+    void created(Object entity) {
+        publish(OutboxEvent.CREATED, entity);
+    }
+
+    @PostUpdate
+    void updated(Object entity) {
+        publish(OutboxEvent.UPDATED, entity);
+    }
+
+    @PostRemove
+    void deleted(Object entity) {
+        publish(OutboxEvent.DELETED, entity);
+    }
+
+    private void publish(String eventType, Object entity) {
+        if (entity instanceof Task) {
+            outboxService.publishTaskEvent(eventType, (Task) entity);
+        } else if (entity instanceof Project) {
+            outboxService.publishProjectEvent(eventType, (Project) entity);
+        }
+    }
+}
@@ -4,9 +4,13 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -20,10 +24,13 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "projects")
-public class Project {
+@EntityListeners({ChangeSequenceListener.class, OutboxListener.class})
+@DynamicUpdate
+public class Project implements ChangeTracked {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -43,6 +50,7 @@ public class Project {
     private Priority priority = Priority.MEDIUM;
 
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OptimisticLock(excluded = true)
     private List<ProjectDocument> documents = new ArrayList<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -50,6 +58,7 @@ public class Project {
     private User owner;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @OptimisticLock(excluded = true)
     @JoinTable(
         name = "project_members",
         joinColumns = @JoinColumn(name = "project_id"),
@@ -58,6 +67,7 @@ public class Project {
     private List<User> members = new ArrayList<>();
 
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OptimisticLock(excluded = true)
     private List<Task> tasks = new ArrayList<>();
 
     @Column(name = "created_at", nullable = false)
@@ -66,6 +76,14 @@ public class Project {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq = 0L;
+
+    // Null until persisted so that Spring Data still detects new projects
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "deadline")
     private LocalDateTime deadline;
 
@@ -157,6 +175,24 @@ public class Project {
         this.updatedAt = updatedAt;
     }
 
+    @Override
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    @Override
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getDeadline() {
         return deadline;
     }
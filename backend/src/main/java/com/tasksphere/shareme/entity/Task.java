@@ -4,9 +4,13 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -18,10 +22,13 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "tasks")
-public class Task {
+@EntityListeners({ChangeSequenceListener.class, OutboxListener.class})
+@DynamicUpdate
+public class Task implements ChangeTracked {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -58,10 +65,27 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq = 0L;
+
+    // Null until persisted so that Spring Data still detects new tasks
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "due_date")
     private LocalDateTime dueDate;
+
+    // Direct parent task; the whole tree is in task_closure (see TaskHierarchyService)
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // Position in the manual order of the project, see RankKey
+    @Column(name = "sort_rank", nullable = false, length = 64)
+    private String rank;
     
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OptimisticLock(excluded = true)
     private List<TaskAttachment> attachments = new ArrayList<>();
 
     // Constructors
@@ -158,6 +182,24 @@ public class Task {
         this.updatedAt = updatedAt;
     }
 
+    @Override
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    @Override
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getDueDate() {
         return dueDate;
     }
@@ -165,6 +207,22 @@ public class Task {
     public void setDueDate(LocalDateTime dueDate) {
         this.dueDate = dueDate;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
     
     public List<TaskAttachment> getAttachments() {
         return attachments;
@@ -33,6 +33,9 @@ public class TaskAttachment {
     @Column(name = "file_path", nullable = false, length = 1000)
     private String filePath;
     
+    @Column(name = "thumbnail_path", length = 1000)
+    private String thumbnailPath;
+    
     @Column(name = "file_size", nullable = false)
     private Long fileSize;
     
@@ -102,6 +105,14 @@ public class TaskAttachment {
         this.filePath = filePath;
     }
     
+    public String getThumbnailPath() {
+        return thumbnailPath;
+    }
+    
+    public void setThumbnailPath(String thumbnailPath) {
+        this.thumbnailPath = thumbnailPath;
+    }
+    
     public Long getFileSize() {
         return fileSize;
     }
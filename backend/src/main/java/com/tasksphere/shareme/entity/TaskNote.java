@@ -7,6 +7,7 @@ import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -22,7 +23,8 @@ import jakarta.validation.constraints.Size;
 
 @Entity
 @Table(name = "task_notes")
-public class TaskNote {
+@EntityListeners(ChangeSequenceListener.class)
+public class TaskNote implements ChangeTracked {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -57,6 +59,9 @@ public class TaskNote {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq = 0L;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -160,6 +165,16 @@ public class TaskNote {
         this.updatedAt = updatedAt;
     }
     
+    @Override
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+    
+    @Override
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+    
     @Override
     public String toString() {
         return "TaskNote{" +
@@ -0,0 +1,14 @@
+package com.tasksphere.shareme.exception;
+
+/**
+ * An update was based on a version of the row that is no longer current
+ */
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+    
+    public VersionConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,55 @@
+package com.tasksphere.shareme.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.tasksphere.shareme.entity.ArchivedTask;
+import com.tasksphere.shareme.entity.Task;
+
+/**
+ * Reads the archive tier; rows are moved in and out by TaskArchiveService.
+ */
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    // Same visibility as live tasks: assignee, creator or project owner
+    String USER_ARCHIVED_TASK_FILTER =
+           "(a.assignee.id = :userId OR a.creator.id = :userId OR a.project.owner.id = :userId) AND " +
+           "(:query IS NULL OR LOWER(a.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(a.description) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
+           "(:status IS NULL OR a.status = :status) AND " +
+           "(:projectId IS NULL OR a.project.id = :projectId)";
+
+    @Query(value = "SELECT a FROM ArchivedTask a JOIN FETCH a.project LEFT JOIN FETCH a.assignee JOIN FETCH a.creator " +
+                   "WHERE " + USER_ARCHIVED_TASK_FILTER + " ORDER BY a.archivedAt DESC, a.id DESC",
+           countQuery = "SELECT COUNT(a) FROM ArchivedTask a WHERE " + USER_ARCHIVED_TASK_FILTER)
+    Page<ArchivedTask> searchForUser(@Param("userId") Long userId,
+                                     @Param("query") String query,
+                                     @Param("status") Task.TaskStatus status,
+                                     @Param("projectId") Long projectId,
+                                     Pageable pageable);
+
+    @Query("SELECT a FROM ArchivedTask a JOIN FETCH a.project p JOIN FETCH p.owner LEFT JOIN FETCH a.assignee " +
+           "JOIN FETCH a.creator WHERE a.id = :id")
+    Optional<ArchivedTask> findWithPeopleById(@Param("id") Long id);
+
+    @Query(value = "SELECT COUNT(*) FROM archived_task_notes WHERE task_id = :taskId", nativeQuery = true)
+    int countNotesByTaskId(@Param("taskId") Long taskId);
+
+    // Archived attachments still own their files; the upload garbage collector must keep them
+
+    @Query(value = "SELECT stored_filename FROM archived_task_attachments WHERE stored_filename IN :storedFilenames",
+           nativeQuery = true)
+    List<String> findExistingStoredFilenames(@Param("storedFilenames") Collection<String> storedFilenames);
+
+    @Query(value = "SELECT id FROM archived_task_attachments WHERE id IN :ids AND thumbnail_path IS NOT NULL",
+           nativeQuery = true)
+    List<Long> findAttachmentIdsWithThumbnail(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,33 @@
+package com.tasksphere.shareme.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.tasksphere.shareme.entity.OutboxEvent;
+
+/**
+ * Reads and prunes outbox events; they are written by OutboxService.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Events after the cursor, up to the change number watermark (ids are change numbers)
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :after AND e.id <= :upTo ORDER BY e.id")
+    List<OutboxEvent> findAfter(@Param("after") Long after, @Param("upTo") long upTo, Pageable pageable);
+
+    /**
+     * Delete delivered events older than the cutoff; undelivered ones are kept however old
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id <= :relayedThrough AND e.createdAt < :cutoff")
+    int deleteRelayedBefore(@Param("relayedThrough") Long relayedThrough, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,57 @@
+package com.tasksphere.shareme.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tasksphere.shareme.entity.PendingFileDeletion;
+
+@Repository
+public interface PendingFileDeletionRepository extends JpaRepository<PendingFileDeletion, Long> {
+
+    @Query("SELECT d FROM PendingFileDeletion d WHERE d.attempts < :maxAttempts ORDER BY d.id")
+    List<PendingFileDeletion> findPending(@Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PendingFileDeletion d WHERE d.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PendingFileDeletion d SET d.attempts = d.attempts + 1 WHERE d.id IN :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+
+    // Enqueue the files of a project in one statement each, without loading any entity;
+    // attachment files and thumbnails include those of the project's archived tasks
+
+    @Modifying
+    @Query(value = "INSERT INTO pending_file_deletions (storage_key) "
+        + "SELECT a.stored_filename FROM task_attachments a JOIN tasks t ON t.id = a.task_id WHERE t.project_id = :projectId "
+        + "UNION ALL SELECT a.stored_filename FROM archived_task_attachments a JOIN archived_tasks t ON t.id = a.task_id "
+        + "WHERE t.project_id = :projectId",
+        nativeQuery = true)
+    int enqueueAttachmentFilesOfProject(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "INSERT INTO pending_file_deletions (storage_key) "
+        + "SELECT a.thumbnail_path FROM task_attachments a JOIN tasks t ON t.id = a.task_id "
+        + "WHERE t.project_id = :projectId AND a.thumbnail_path IS NOT NULL "
+        + "UNION ALL SELECT a.thumbnail_path FROM archived_task_attachments a JOIN archived_tasks t ON t.id = a.task_id "
+        + "WHERE t.project_id = :projectId AND a.thumbnail_path IS NOT NULL",
+        nativeQuery = true)
+    int enqueueThumbnailFilesOfProject(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "INSERT INTO pending_file_deletions (storage_key) "
+        + "SELECT d.file_path FROM project_documents d WHERE d.project_id = :projectId",
+        nativeQuery = true)
+    int enqueueDocumentFilesOfProject(@Param("projectId") Long projectId);
+}
@@ -1,10 +1,20 @@
 package com.tasksphere.shareme.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.tasksphere.shareme.entity.ProjectDocument;
 
 @Repository
 public interface ProjectDocumentRepository extends JpaRepository<ProjectDocument, Long> {
+    
+    @Query("SELECT pd.filePath FROM ProjectDocument pd WHERE pd.filePath IN :filePaths")
+    List<String> findExistingFilePaths(@Param("filePaths") Collection<String> filePaths);
+    
+    List<ProjectDocument> findByProjectIdOrderByUploadedAtAsc(Long projectId);
 }
\ No newline at end of file
@@ -1,28 +1,117 @@
 package com.tasksphere.shareme.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.tasksphere.shareme.dto.ProjectNode;
 import com.tasksphere.shareme.entity.Project;
 import com.tasksphere.shareme.entity.User;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
     
     List<Project> findByOwnerOrderByCreatedAtDesc(User owner);
     
     @Query("SELECT p FROM Project p JOIN p.members m WHERE m.id = :userId ORDER BY p.createdAt DESC")
     List<Project> findProjectsByMemberId(@Param("userId") Long userId);
     
-    @Query("SELECT p FROM Project p WHERE p.owner.id = :userId OR :userId IN (SELECT m.id FROM p.members m) ORDER BY p.createdAt DESC")
+    // Projects the user owns or is a member of, shared with ProjectRepositoryImpl
+    String USER_PROJECT_FILTER = "p.owner.id = :userId OR :userId IN (SELECT m.id FROM p.members m)";
+    
+    @Query("SELECT p FROM Project p WHERE " + USER_PROJECT_FILTER + " ORDER BY p.createdAt DESC")
     List<Project> findAllUserProjects(@Param("userId") Long userId);
     
+    // GraphQL projections: only the project columns and the owner id
+    String PROJECT_NODE = "new com.tasksphere.shareme.dto.ProjectNode(p.id, p.name, p.description, p.status, " +
+        "p.createdAt, p.updatedAt, p.deadline, p.owner.id)";
+    
+    @Query("SELECT " + PROJECT_NODE + " FROM Project p WHERE " + USER_PROJECT_FILTER + " ORDER BY p.createdAt DESC")
+    List<ProjectNode> findProjectNodesForUser(@Param("userId") Long userId);
+    
+    @Query("SELECT " + PROJECT_NODE + " FROM Project p WHERE p.id = :projectId AND (" + USER_PROJECT_FILTER + ")")
+    Optional<ProjectNode> findProjectNodeForUser(@Param("userId") Long userId, @Param("projectId") Long projectId);
+    
+    @Query("SELECT " + PROJECT_NODE + " FROM Project p WHERE p.id IN :projectIds")
+    List<ProjectNode> findProjectNodesByIds(@Param("projectIds") Collection<Long> projectIds);
+    
+    // ETag lookup: change number of the project plus task count and newest task change (for the task counts)
+    @Query("SELECT p.changeSeq, COUNT(t.id), COALESCE(MAX(t.changeSeq), 0) FROM Project p LEFT JOIN Task t ON t.project = p " +
+           "WHERE p.id = :projectId AND (" + USER_PROJECT_FILTER + ") GROUP BY p.id, p.changeSeq")
+    List<Object[]> findVersionForUser(@Param("userId") Long userId, @Param("projectId") Long projectId);
+    
+    // Delta sync: projects of the user that changed in (since, upTo], in change order
+    @Query("SELECT p FROM Project p JOIN FETCH p.owner WHERE (" + USER_PROJECT_FILTER + ") " +
+           "AND p.changeSeq > :since AND p.changeSeq <= :upTo ORDER BY p.changeSeq")
+    List<Project> findChangedForUser(@Param("userId") Long userId,
+                                     @Param("since") Long since,
+                                     @Param("upTo") Long upTo,
+                                     Pageable pageable);
+    
+    @Query("SELECT p.id, m FROM Project p JOIN p.members m WHERE p.id IN :projectIds")
+    List<Object[]> findMembersByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+    
     @Query("SELECT COUNT(p) FROM Project p WHERE p.owner.id = :userId OR :userId IN (SELECT m.id FROM p.members m)")
     Long countUserProjects(@Param("userId") Long userId);
     
     List<Project> findByStatusOrderByCreatedAtDesc(Project.ProjectStatus status);
+    
+    @Query("SELECT p.owner.id FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findOwnerIdById(@Param("projectId") Long projectId);
+    
+    // Set-based project deletion, children first. Each statement removes all rows
+    // of one table for the project; no entity is loaded into the persistence context.
+    
+    @Modifying
+    @Query(value = "DELETE r FROM task_note_revisions r JOIN task_notes n ON n.id = r.task_note_id "
+        + "JOIN tasks t ON t.id = n.task_id WHERE t.project_id = :projectId", nativeQuery = true)
+    int deleteTaskNoteRevisionsOfProject(@Param("projectId") Long projectId);
+    
+    @Modifying
+    @Query(value = "DELETE g FROM task_note_tags g JOIN task_notes n ON n.id = g.task_note_id "
+        + "JOIN tasks t ON t.id = n.task_id WHERE t.project_id = :projectId", nativeQuery = true)
+    int deleteTaskNoteTagsOfProject(@Param("projectId") Long projectId);
+    
+    @Modifying
+    @Query(value = "DELETE n FROM task_notes n JOIN tasks t ON t.id = n.task_id WHERE t.project_id = :projectId",
+        nativeQuery = true)
+    int deleteTaskNotesOfProject(@Param("projectId") Long projectId);
+    
+    @Modifying
+    @Query(value = "DELETE a FROM task_attachments a JOIN tasks t ON t.id = a.task_id WHERE t.project_id = :projectId",
+        nativeQuery = true)
+    int deleteTaskAttachmentsOfProject(@Param("projectId") Long projectId);
+    
+    @Modifying
+    @Query(value = "DELETE s FROM upload_sessions s JOIN tasks t ON t.id = s.task_id WHERE t.project_id = :projectId",
+        nativeQuery = true)
+    int deleteUploadSessionsOfProject(@Param("projectId") Long projectId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE project_id = :projectId", nativeQuery = true)
+    int deleteTasksOfProject(@Param("projectId") Long projectId);
+    
+    // Cascades to the archived attachments, notes, tags and revisions
+    @Modifying
+    @Query(value = "DELETE FROM archived_tasks WHERE project_id = :projectId", nativeQuery = true)
+    int deleteArchivedTasksOfProject(@Param("projectId") Long projectId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM project_documents WHERE project_id = :projectId", nativeQuery = true)
+    int deleteDocumentsOfProject(@Param("projectId") Long projectId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM project_members WHERE project_id = :projectId", nativeQuery = true)
+    int deleteMembersOfProject(@Param("projectId") Long projectId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM projects WHERE id = :projectId", nativeQuery = true)
+    int deleteProjectRow(@Param("projectId") Long projectId);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.tasksphere.shareme.repository;
+
+import java.util.List;
+import java.util.Set;
+
+import jakarta.persistence.Tuple;
+
+public interface ProjectRepositoryCustom {
+
+    /**
+     * Same filter as findAllUserProjects, but selects only the given fields and
+     * joins the owner only when it is selected. Tuple aliases are the field
+     * names; the owner uses "owner_id", "owner_email", ...
+     */
+    List<Tuple> findUserProjectFields(Long userId, Set<String> fields);
+}
@@ -0,0 +1,51 @@
+package com.tasksphere.shareme.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+public class ProjectRepositoryImpl implements ProjectRepositoryCustom {
+
+    // Plain columns of Project that can be selected directly
+    private static final Map<String, String> COLUMNS = Map.of(
+        "name", "p.name",
+        "description", "p.description",
+        "status", "p.status",
+        "createdAt", "p.createdAt",
+        "updatedAt", "p.updatedAt",
+        "deadline", "p.deadline",
+        "version", "p.version");
+
+    private static final List<String> USER_COLUMNS = List.of("id", "firstName", "lastName", "email", "role");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findUserProjectFields(Long userId, Set<String> fields) {
+        // The id is always selected; it identifies the row and keys the member and task count lookups
+        StringJoiner select = new StringJoiner(", ");
+        select.add("p.id AS id");
+        String join = "";
+        for (String field : fields) {
+            if (COLUMNS.containsKey(field)) {
+                select.add(COLUMNS.get(field) + " AS " + field);
+            } else if ("owner".equals(field)) {
+                join = " JOIN p.owner owner";
+                for (String column : USER_COLUMNS) {
+                    select.add("owner." + column + " AS owner_" + column);
+                }
+            }
+        }
+
+        return entityManager.createQuery("SELECT " + select + " FROM Project p" + join
+                + " WHERE " + ProjectRepository.USER_PROJECT_FILTER + " ORDER BY p.createdAt DESC", Tuple.class)
+            .setParameter("userId", userId)
+            .getResultList();
+    }
+}
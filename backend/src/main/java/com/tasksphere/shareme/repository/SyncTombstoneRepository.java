@@ -0,0 +1,34 @@
+package com.tasksphere.shareme.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.tasksphere.shareme.entity.SyncTombstone;
+
+/**
+ * Reads and prunes tombstones; they are written by ChangeSequenceService.
+ */
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("SELECT t FROM SyncTombstone t WHERE t.userId = :userId AND t.changeSeq > :since AND t.changeSeq <= :upTo " +
+           "ORDER BY t.changeSeq")
+    List<SyncTombstone> findChangedForUser(@Param("userId") Long userId,
+                                           @Param("since") Long since,
+                                           @Param("upTo") Long upTo,
+                                           Pageable pageable);
+
+    @Query("SELECT MAX(t.changeSeq) FROM SyncTombstone t WHERE t.deletedAt < :cutoff")
+    Long findMaxChangeSeqDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.changeSeq <= :changeSeq")
+    int deleteUpTo(@Param("changeSeq") Long changeSeq);
+}
@@ -1,11 +1,14 @@
 package com.tasksphere.shareme.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.tasksphere.shareme.entity.TaskAttachment;
 
@@ -14,6 +17,9 @@ public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment,
     
     List<TaskAttachment> findByTaskIdOrderByUploadedAtDesc(Long taskId);
     
+    @Query("SELECT ta FROM TaskAttachment ta JOIN FETCH ta.uploadedBy WHERE ta.task.id IN :taskIds ORDER BY ta.uploadedAt DESC")
+    List<TaskAttachment> findByTaskIdsWithUploader(@Param("taskIds") Collection<Long> taskIds);
+    
     @Query("SELECT COUNT(ta) FROM TaskAttachment ta WHERE ta.task.id = :taskId")
     Long countByTaskId(@Param("taskId") Long taskId);
     
@@ -24,4 +30,15 @@ public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment,
     
     @Query("SELECT ta FROM TaskAttachment ta WHERE ta.task.id = :taskId AND ta.uploadedBy.id = :userId")
     List<TaskAttachment> findByTaskIdAndUploadedById(@Param("taskId") Long taskId, @Param("userId") Long userId);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE TaskAttachment ta SET ta.thumbnailPath = :thumbnailPath WHERE ta.id = :id")
+    int updateThumbnailPath(@Param("id") Long id, @Param("thumbnailPath") String thumbnailPath);
+    
+    @Query("SELECT ta.storedFilename FROM TaskAttachment ta WHERE ta.storedFilename IN :storedFilenames")
+    List<String> findExistingStoredFilenames(@Param("storedFilenames") Collection<String> storedFilenames);
+    
+    @Query("SELECT ta.id FROM TaskAttachment ta WHERE ta.id IN :ids AND ta.thumbnailPath IS NOT NULL")
+    List<Long> findIdsWithThumbnail(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
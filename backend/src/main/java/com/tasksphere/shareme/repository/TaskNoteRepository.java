@@ -1,15 +1,22 @@
 package com.tasksphere.shareme.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.tasksphere.shareme.dto.TaskNoteSummaryResponse;
 import com.tasksphere.shareme.entity.TaskNote;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface TaskNoteRepository extends JpaRepository<TaskNote, Long> {
     
@@ -29,22 +36,94 @@ public interface TaskNoteRepository extends JpaRepository<TaskNote, Long> {
     List<TaskNote> findByTaskIdOrderByUpdatedAtDesc(Long taskId);
     
     /**
-     * Find task notes by user and containing specific tags
+     * Find the notes of a user on any of the given tasks, with task and tags fetched (GraphQL batch loading)
+     */
+    @Query("SELECT DISTINCT tn FROM TaskNote tn JOIN FETCH tn.task LEFT JOIN FETCH tn.reminderTags " +
+           "WHERE tn.user.id = :userId AND tn.task.id IN :taskIds ORDER BY tn.updatedAt DESC")
+    List<TaskNote> findByUserIdAndTaskIdIn(@Param("userId") Long userId, @Param("taskIds") Collection<Long> taskIds);
+    
+    /**
+     * ETag lookup: change numbers of a user's note and of its task (the task title is part of the response)
+     */
+    @Query("SELECT tn.changeSeq, t.changeSeq FROM TaskNote tn LEFT JOIN tn.task t WHERE tn.id = :noteId AND tn.user.id = :userId")
+    List<Object[]> findVersionForUser(@Param("userId") Long userId, @Param("noteId") Long noteId);
+    
+    /**
+     * Find the notes of a user that changed in (since, upTo], in change order (delta sync)
+     */
+    @Query("SELECT tn FROM TaskNote tn LEFT JOIN FETCH tn.task " +
+           "WHERE tn.user.id = :userId AND tn.changeSeq > :since AND tn.changeSeq <= :upTo ORDER BY tn.changeSeq")
+    List<TaskNote> findChangedForUser(@Param("userId") Long userId,
+                                      @Param("since") Long since,
+                                      @Param("upTo") Long upTo,
+                                      Pageable pageable);
+    
+    /**
+     * Find task notes by id and lock them for update, in id order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT tn FROM TaskNote tn WHERE tn.id IN :ids ORDER BY tn.id")
+    List<TaskNote> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Find task notes of a user by id, newest first (used with the tag index postings)
+     */
+    @Query("SELECT tn FROM TaskNote tn WHERE tn.user.id = :userId AND tn.id IN :ids ORDER BY tn.updatedAt DESC")
+    List<TaskNote> findByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    /**
+     * First page of a user's note summaries, newest first, without loading note content or tags
+     */
+    @Query("SELECT new com.tasksphere.shareme.dto.TaskNoteSummaryResponse(tn.id, tn.noteName, t.id, t.title, " +
+           "SUBSTRING(tn.noteContent, 1, :snippetLength), tn.createdAt, tn.updatedAt) " +
+           "FROM TaskNote tn LEFT JOIN tn.task t WHERE tn.user.id = :userId " +
+           "ORDER BY tn.updatedAt DESC, tn.id DESC")
+    List<TaskNoteSummaryResponse> findSummariesByUserId(@Param("userId") Long userId,
+                                                       @Param("snippetLength") int snippetLength,
+                                                       Pageable pageable);
+    
+    /**
+     * Next page of a user's note summaries strictly after the (updatedAt, id) keyset position
+     */
+    @Query("SELECT new com.tasksphere.shareme.dto.TaskNoteSummaryResponse(tn.id, tn.noteName, t.id, t.title, " +
+           "SUBSTRING(tn.noteContent, 1, :snippetLength), tn.createdAt, tn.updatedAt) " +
+           "FROM TaskNote tn LEFT JOIN tn.task t WHERE tn.user.id = :userId " +
+           "AND (tn.updatedAt < :updatedAt OR (tn.updatedAt = :updatedAt AND tn.id < :id)) " +
+           "ORDER BY tn.updatedAt DESC, tn.id DESC")
+    List<TaskNoteSummaryResponse> findSummariesByUserIdBefore(@Param("userId") Long userId,
+                                                             @Param("updatedAt") LocalDateTime updatedAt,
+                                                             @Param("id") Long id,
+                                                             @Param("snippetLength") int snippetLength,
+                                                             Pageable pageable);
+    
+    /**
+     * Load every (note id, tag) pair of a user to build the in-memory tag index
+     */
+    @Query("SELECT tn.id, tag FROM TaskNote tn JOIN tn.reminderTags tag WHERE tn.user.id = :userId")
+    List<Object[]> findNoteIdAndTagByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Owners of the notes on any of the given tasks, whose tag indexes change when the tasks go
      */
-    @Query("SELECT tn FROM TaskNote tn WHERE tn.user.id = :userId AND :tag MEMBER OF tn.reminderTags ORDER BY tn.updatedAt DESC")
-    List<TaskNote> findByUserIdAndReminderTagsContaining(@Param("userId") Long userId, @Param("tag") String tag);
+    @Query("SELECT DISTINCT tn.user.id FROM TaskNote tn WHERE tn.task.id IN :taskIds")
+    List<Long> findUserIdsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
     
     /**
-     * Find all unique tags used by a user
+     * Owners of the notes on the tasks of a project
      */
-    @Query("SELECT DISTINCT tag FROM TaskNote tn JOIN tn.reminderTags tag WHERE tn.user.id = :userId ORDER BY tag")
-    List<String> findDistinctTagsByUserId(@Param("userId") Long userId);
+    @Query("SELECT DISTINCT tn.user.id FROM TaskNote tn WHERE tn.task.project.id = :projectId")
+    List<Long> findUserIdsByProjectId(@Param("projectId") Long projectId);
     
     /**
      * Check if a user has a note for a specific task
      */
     boolean existsByUserIdAndTaskId(Long userId, Long taskId);
     
+    /**
+     * Check that a note belongs to a user
+     */
+    boolean existsByIdAndUserId(Long id, Long userId);
+    
     /**
      * Delete task note by user ID and task ID
      */
@@ -0,0 +1,43 @@
+package com.tasksphere.shareme.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.tasksphere.shareme.dto.TaskNoteRevisionResponse;
+import com.tasksphere.shareme.entity.TaskNoteRevision;
+
+@Repository
+public interface TaskNoteRevisionRepository extends JpaRepository<TaskNoteRevision, Long> {
+
+    /**
+     * Latest revision of a note, if any
+     */
+    Optional<TaskNoteRevision> findTopByTaskNoteIdOrderByRevisionNumberDesc(Long taskNoteId);
+
+    /**
+     * Revision metadata of a note, newest first, without loading payloads
+     */
+    @Query("SELECT new com.tasksphere.shareme.dto.TaskNoteRevisionResponse(r.taskNoteId, r.revisionNumber, " +
+           "r.snapshot, r.contentLength, r.createdAt) " +
+           "FROM TaskNoteRevision r WHERE r.taskNoteId = :taskNoteId ORDER BY r.revisionNumber DESC")
+    List<TaskNoteRevisionResponse> findSummariesByTaskNoteId(@Param("taskNoteId") Long taskNoteId);
+
+    /**
+     * Nearest snapshot at or before a revision
+     */
+    @Query("SELECT MAX(r.revisionNumber) FROM TaskNoteRevision r " +
+           "WHERE r.taskNoteId = :taskNoteId AND r.snapshot = true AND r.revisionNumber <= :revisionNumber")
+    Integer findSnapshotRevisionAtOrBefore(@Param("taskNoteId") Long taskNoteId,
+                                           @Param("revisionNumber") Integer revisionNumber);
+
+    /**
+     * The chain needed to rebuild a revision: its base snapshot followed by the deltas up to it
+     */
+    List<TaskNoteRevision> findByTaskNoteIdAndRevisionNumberBetweenOrderByRevisionNumberAsc(
+        Long taskNoteId, Integer fromRevision, Integer toRevision);
+}
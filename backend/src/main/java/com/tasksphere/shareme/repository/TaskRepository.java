@@ -1,6 +1,8 @@
 package com.tasksphere.shareme.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,12 +11,13 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.tasksphere.shareme.dto.TaskNode;
 import com.tasksphere.shareme.entity.Project;
 import com.tasksphere.shareme.entity.Task;
 import com.tasksphere.shareme.entity.User;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
     
     List<Task> findByProjectOrderByCreatedAtDesc(Project project);
     
@@ -28,6 +31,9 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.status = :status")
     Long countTasksByProjectIdAndStatus(@Param("projectId") Long projectId, @Param("status") Task.TaskStatus status);
     
+    @Query("SELECT t.project.id, t.status, COUNT(t) FROM Task t WHERE t.project.id IN :projectIds GROUP BY t.project.id, t.status")
+    List<Object[]> countTasksByProjectIdsAndStatus(@Param("projectIds") Collection<Long> projectIds);
+    
     @Query("SELECT COUNT(t) FROM Task t WHERE t.assignee.id = :userId OR t.creator.id = :userId")
     Long countUserTasks(@Param("userId") Long userId);
     
@@ -50,13 +56,16 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
                                    @Param("creatorId") Long creatorId,
                                    Pageable pageable);
     
-    // Find tasks accessible by user (either assigned to them or created by them)
-    @Query("SELECT t FROM Task t WHERE " +
+    // Tasks accessible by user (assigned to them, created by them or in a project they own), shared with TaskRepositoryImpl
+    String USER_ACCESSIBLE_TASK_FILTER =
            "(t.assignee.id = :userId OR t.creator.id = :userId OR t.project.owner.id = :userId) AND " +
            "(:query IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
            "(:status IS NULL OR t.status = :status) AND " +
            "(:priority IS NULL OR t.priority = :priority) AND " +
-           "(:projectId IS NULL OR t.project.id = :projectId)")
+           "(:projectId IS NULL OR t.project.id = :projectId)";
+    
+    // Find tasks accessible by user (either assigned to them or created by them)
+    @Query("SELECT t FROM Task t WHERE " + USER_ACCESSIBLE_TASK_FILTER)
     Page<Task> findUserAccessibleTasksWithFilters(@Param("userId") Long userId,
                                                  @Param("query") String query,
                                                  @Param("status") Task.TaskStatus status,
@@ -64,6 +73,34 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
                                                  @Param("projectId") Long projectId,
                                                  Pageable pageable);
     
+    // GraphQL projections: only the task columns and foreign key ids
+    String TASK_NODE = "new com.tasksphere.shareme.dto.TaskNode(t.id, t.title, t.description, t.status, t.priority, " +
+           "t.createdAt, t.updatedAt, t.dueDate, t.project.id, a.id, t.creator.id)";
+    String TASK_ACCESS = "(t.assignee.id = :userId OR t.creator.id = :userId OR t.project.owner.id = :userId)";
+    
+    @Query("SELECT " + TASK_NODE + " FROM Task t LEFT JOIN t.assignee a WHERE " + TASK_ACCESS + " AND " +
+           "(:status IS NULL OR t.status = :status) AND (:projectId IS NULL OR t.project.id = :projectId) " +
+           "ORDER BY t.createdAt DESC")
+    List<TaskNode> findTaskNodesForUser(@Param("userId") Long userId,
+                                        @Param("status") Task.TaskStatus status,
+                                        @Param("projectId") Long projectId,
+                                        Pageable pageable);
+    
+    @Query("SELECT " + TASK_NODE + " FROM Task t LEFT JOIN t.assignee a WHERE t.id = :taskId AND " + TASK_ACCESS)
+    Optional<TaskNode> findTaskNodeForUser(@Param("userId") Long userId, @Param("taskId") Long taskId);
+    
+    // ETag lookup: change numbers of the task and of its project (its name is part of the response)
+    @Query("SELECT t.changeSeq, t.project.changeSeq FROM Task t WHERE t.id = :taskId AND " + TASK_ACCESS)
+    List<Object[]> findVersionForUser(@Param("userId") Long userId, @Param("taskId") Long taskId);
+    
+    // Delta sync: tasks the user can see that changed in (since, upTo], in change order
+    @Query("SELECT t FROM Task t JOIN FETCH t.project JOIN FETCH t.creator LEFT JOIN FETCH t.assignee WHERE " + TASK_ACCESS +
+           " AND t.changeSeq > :since AND t.changeSeq <= :upTo ORDER BY t.changeSeq")
+    List<Task> findChangedForUser(@Param("userId") Long userId,
+                                  @Param("since") Long since,
+                                  @Param("upTo") Long upTo,
+                                  Pageable pageable);
+    
     // Find tasks by status
     List<Task> findByStatusOrderByCreatedAtDesc(Task.TaskStatus status);
     
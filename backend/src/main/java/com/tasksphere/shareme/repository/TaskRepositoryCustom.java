@@ -0,0 +1,22 @@
+package com.tasksphere.shareme.repository;
+
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.tasksphere.shareme.entity.Task;
+
+import jakarta.persistence.Tuple;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Same filter as findUserAccessibleTasksWithFilters, but selects only the given
+     * fields and joins only the relations they need. Tuple aliases are the field
+     * names; project, assignee and creator use "project_id", "assignee_email", ...
+     */
+    Page<Tuple> findUserAccessibleTaskFields(Long userId, String query, Task.TaskStatus status,
+                                             Task.TaskPriority priority, Long projectId,
+                                             Set<String> fields, Pageable pageable);
+}
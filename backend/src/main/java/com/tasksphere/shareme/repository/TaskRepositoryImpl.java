@@ -0,0 +1,106 @@
+package com.tasksphere.shareme.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.tasksphere.shareme.entity.Task;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    // Plain columns of Task that can be selected directly
+    private static final Map<String, String> COLUMNS = Map.of(
+        "title", "t.title",
+        "description", "t.description",
+        "status", "t.status",
+        "priority", "t.priority",
+        "createdAt", "t.createdAt",
+        "updatedAt", "t.updatedAt",
+        "dueDate", "t.dueDate",
+        "version", "t.version",
+        "rank", "t.rank",
+        "parentId", "t.parentId");
+
+    // To-one relations: join alias and join type
+    private static final Map<String, String> JOINS = new LinkedHashMap<>();
+    static {
+        JOINS.put("project", "JOIN t.project project");
+        JOINS.put("assignee", "LEFT JOIN t.assignee assignee");
+        JOINS.put("creator", "JOIN t.creator creator");
+    }
+
+    private static final List<String> USER_COLUMNS = List.of("id", "firstName", "lastName", "email", "role");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Tuple> findUserAccessibleTaskFields(Long userId, String query, Task.TaskStatus status,
+                                                    Task.TaskPriority priority, Long projectId,
+                                                    Set<String> fields, Pageable pageable) {
+        // The id is always selected; it identifies the row and keys the attachment lookup
+        StringJoiner select = new StringJoiner(", ");
+        select.add("t.id AS id");
+        StringBuilder joins = new StringBuilder();
+        for (String field : fields) {
+            if (COLUMNS.containsKey(field)) {
+                select.add(COLUMNS.get(field) + " AS " + field);
+            } else if (JOINS.containsKey(field)) {
+                joins.append(' ').append(JOINS.get(field));
+                if ("project".equals(field)) {
+                    select.add("project.id AS project_id").add("project.name AS project_name")
+                          .add("project.status AS project_status");
+                } else {
+                    for (String column : USER_COLUMNS) {
+                        select.add(field + "." + column + " AS " + field + "_" + column);
+                    }
+                }
+            }
+        }
+
+        String from = " FROM Task t" + joins + " WHERE " + TaskRepository.USER_ACCESSIBLE_TASK_FILTER;
+        TypedQuery<Tuple> rows = entityManager.createQuery("SELECT " + select + from + orderBy(pageable.getSort()), Tuple.class);
+        bind(rows, userId, query, status, priority, projectId);
+        rows.setFirstResult((int) pageable.getOffset());
+        rows.setMaxResults(pageable.getPageSize());
+        List<Tuple> content = rows.getResultList();
+
+        TypedQuery<Long> count = entityManager.createQuery(
+            "SELECT COUNT(t) FROM Task t WHERE " + TaskRepository.USER_ACCESSIBLE_TASK_FILTER, Long.class);
+        bind(count, userId, query, status, priority, projectId);
+        return new PageImpl<>(content, pageable, count.getSingleResult());
+    }
+
+    private void bind(TypedQuery<?> query, Long userId, String text, Task.TaskStatus status,
+                      Task.TaskPriority priority, Long projectId) {
+        query.setParameter("userId", userId);
+        query.setParameter("query", text);
+        query.setParameter("status", status);
+        query.setParameter("priority", priority);
+        query.setParameter("projectId", projectId);
+    }
+
+    private String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        // Sort properties come from TaskService.createSort and are plain Task attributes
+        StringJoiner orders = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            orders.add("t." + order.getProperty() + " " + order.getDirection().name());
+        }
+        return orders.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.tasksphere.shareme.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Signs and verifies short-lived download URLs.
+ *
+ * The signature is an HMAC-SHA256 over everything the download endpoint needs
+ * to answer the request (storage key, file name, content type and expiry), so
+ * a valid URL can be served without looking anything up in the database.
+ * Changing any parameter or the secret invalidates the URL.
+ *
+ * The key is app.downloads.signing-secret when set. Otherwise it is derived
+ * from the JWT secret as HMAC(jwtSecret, "download-url"), so the two never
+ * share a key and a download signature is no help in forging a token.
+ */
+@Component
+public class DownloadUrlSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String DERIVATION_LABEL = "download-url";
+
+    private final SecretKeySpec key;
+
+    // Mac instances are not thread-safe; keep one per request thread
+    private final ThreadLocal<Mac> macs;
+
+    public DownloadUrlSigner(@Value("${app.downloads.signing-secret:}") String signingSecret,
+                             @Value("${app.jwt.secret}") String jwtSecret) {
+        this.key = signingSecret.isBlank()
+            ? new SecretKeySpec(hmac(new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM),
+                DERIVATION_LABEL.getBytes(StandardCharsets.UTF_8)), ALGORITHM)
+            : new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+    }
+
+    /**
+     * Signature for the given download parameters
+     */
+    public String sign(String storageKey, String filename, String contentType, long expiresAt) {
+        String payload = storageKey + '\n' + filename + '\n' + contentType + '\n' + expiresAt;
+        byte[] mac = macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac);
+    }
+
+    /**
+     * Check the signature and expiry (epoch seconds) of a download URL
+     */
+    public boolean verify(String storageKey, String filename, String contentType, long expiresAt, String signature) {
+        if (signature == null || expiresAt < Instant.now().getEpochSecond()) {
+            return false;
+        }
+        String expected = sign(storageKey, filename, contentType, expiresAt);
+        // Constant-time comparison so the signature cannot be guessed byte by byte
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII),
+                                     signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] hmac(SecretKeySpec key, byte[] data) {
+        return newMac(key).doFinal(data);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
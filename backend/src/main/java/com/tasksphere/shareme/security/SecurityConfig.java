@@ -3,6 +3,7 @@
  * - Public: "/", "/error", Swagger, health, auth, OPTIONS.
  * - JWT required for other /api/**.
  * - Uses RestAuthEntryPoint for 401 JSON; avoids 500s from filters.
+ * - "/files/**" (signed download URLs) skips the filter chain entirely.
  */
 package com.tasksphere.shareme.security;
 
@@ -14,6 +15,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -33,6 +35,12 @@ public class SecurityConfig {
     @Bean
     public PasswordEncoder passwordEncoder() { return new BCryptPasswordEncoder(); }
 
+    // Signed URLs carry their own authorization; no JWT parsing or security context needed
+    @Bean
+    public WebSecurityCustomizer signedDownloadCustomizer() {
+        return web -> web.ignoring().requestMatchers("/files/**");
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -64,9 +72,10 @@ public class SecurityConfig {
         cfg.setAllowedMethods(Arrays.asList("GET","POST","PUT","PATCH","DELETE","OPTIONS","HEAD"));
         cfg.setAllowedHeaders(Arrays.asList(
             "Authorization","Content-Type","Accept","Origin",
-            "X-Requested-With","Access-Control-Request-Method","Access-Control-Request-Headers"
+            "X-Requested-With","Access-Control-Request-Method","Access-Control-Request-Headers",
+            "If-None-Match"
         ));
-        cfg.setExposedHeaders(Arrays.asList("Authorization","Content-Type"));
+        cfg.setExposedHeaders(Arrays.asList("Authorization","Content-Type","ETag"));
         cfg.setAllowCredentials(true);
         cfg.setMaxAge(3600L);
         UrlBasedCorsConfigurationSource src = new UrlBasedCorsConfigurationSource();
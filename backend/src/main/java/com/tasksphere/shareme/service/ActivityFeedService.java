@@ -0,0 +1,150 @@
+package com.tasksphere.shareme.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasksphere.shareme.dto.ActivityEntryResponse;
+import com.tasksphere.shareme.dto.CursorPageResponse;
+import com.tasksphere.shareme.dto.UserInfo;
+import com.tasksphere.shareme.exception.ResourceNotFoundException;
+import com.tasksphere.shareme.exception.UnauthorizedException;
+import com.tasksphere.shareme.util.CursorCodec;
+
+/**
+ * Reads the activity log as newest-first feeds per project, task and user.
+ *
+ * Pages are cut by entry id (keyset pagination), so a page costs one index
+ * range scan however deep the client scrolls. Entries appear once the
+ * background writer of ActivityLog has flushed them, normally within a second.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ActivityFeedService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final String SELECT_ENTRIES =
+        "SELECT a.id, a.action, a.project_id, a.task_id, a.details, a.created_at, "
+        + "u.id, u.first_name, u.last_name, u.email, u.role "
+        + "FROM activity_log a LEFT JOIN users u ON u.id = a.actor_id WHERE ";
+
+    private static final TypeReference<Map<String, Object>> DETAILS_TYPE = new TypeReference<>() {};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Activity of a project; the owner sees everything, members see the project
+     * entries and those of the tasks they created or are assigned to
+     */
+    public CursorPageResponse<ActivityEntryResponse> getProjectActivity(Long projectId, Long userId,
+                                                                        String cursor, int size) {
+        List<Long> owners = jdbcTemplate.queryForList("SELECT owner_id FROM projects WHERE id = ?", Long.class, projectId);
+        if (owners.isEmpty()) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        if (owners.get(0).equals(userId)) {
+            return page("a.project_id = ?", cursor, size, projectId);
+        }
+
+        Integer memberships = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM project_members WHERE project_id = ? AND user_id = ?", Integer.class, projectId, userId);
+        if (memberships == null || memberships == 0) {
+            throw new UnauthorizedException("You don't have access to this project");
+        }
+        return page("a.project_id = ? AND (a.task_id IS NULL OR a.task_id IN "
+            + "(SELECT t.id FROM tasks t WHERE t.project_id = ? AND (t.creator_id = ? OR t.assignee_id = ?)))",
+            cursor, size, projectId, projectId, userId, userId);
+    }
+
+    /**
+     * Activity of a live or archived task the user can see (creator, assignee or project owner)
+     */
+    public CursorPageResponse<ActivityEntryResponse> getTaskActivity(Long taskId, Long userId, String cursor, int size) {
+        String access = "SELECT t.creator_id = ? OR t.assignee_id <=> ? OR p.owner_id = ? FROM %s t "
+            + "JOIN projects p ON p.id = t.project_id WHERE t.id = ?";
+        List<Long> allowed = jdbcTemplate.queryForList(
+            String.format(access, "tasks") + " UNION ALL " + String.format(access, "archived_tasks"),
+            Long.class, userId, userId, userId, taskId, userId, userId, userId, taskId);
+        if (allowed.isEmpty()) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+        if (allowed.get(0) == 0) {
+            throw new UnauthorizedException("You don't have access to this task");
+        }
+        return page("a.task_id = ?", cursor, size, taskId);
+    }
+
+    /**
+     * What the user did, across all projects
+     */
+    public CursorPageResponse<ActivityEntryResponse> getUserActivity(Long userId, String cursor, int size) {
+        return page("a.actor_id = ?", cursor, size, userId);
+    }
+
+    private CursorPageResponse<ActivityEntryResponse> page(String condition, String cursor, int size, Object... args) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        CursorCodec.Position position = CursorCodec.decode(cursor);
+
+        StringBuilder sql = new StringBuilder(SELECT_ENTRIES).append(condition);
+        List<Object> params = new ArrayList<>(Arrays.asList(args));
+        if (position != null) {
+            sql.append(" AND a.id < ?");
+            params.add(position.getId());
+        }
+        // Fetch one extra row to know whether another page follows
+        sql.append(" ORDER BY a.id DESC LIMIT ?");
+        params.add(pageSize + 1);
+
+        List<ActivityEntryResponse> rows = jdbcTemplate.query(sql.toString(), this::mapEntry, params.toArray());
+        boolean hasMore = rows.size() > pageSize;
+        List<ActivityEntryResponse> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ActivityEntryResponse last = items.get(items.size() - 1);
+            nextCursor = CursorCodec.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPageResponse<>(items, nextCursor);
+    }
+
+    private ActivityEntryResponse mapEntry(ResultSet rs, int rowNum) throws SQLException {
+        UserInfo actor = rs.getObject(7) == null ? null
+            : new UserInfo(rs.getLong(7), rs.getString(8), rs.getString(9), rs.getString(10), rs.getString(11));
+        return new ActivityEntryResponse(
+            rs.getLong(1),
+            rs.getString(2),
+            actor,
+            rs.getObject(3, Long.class),
+            rs.getObject(4, Long.class),
+            parseDetails(rs.getString(5)),
+            rs.getObject(6, LocalDateTime.class));
+    }
+
+    private Map<String, Object> parseDetails(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, DETAILS_TYPE);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
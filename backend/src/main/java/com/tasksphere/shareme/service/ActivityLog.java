@@ -0,0 +1,255 @@
+package com.tasksphere.shareme.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasksphere.shareme.util.RingBuffer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Append-only log of who changed what on tasks and projects.
+ *
+ * Recording never touches the database on the request thread: once the
+ * transaction commits, the entry is offered to a lock-free ring buffer, and a
+ * single writer thread drains it with multi-row INSERTs every flush interval.
+ * When the buffer fills past the sampling threshold only one entry in
+ * sample-one-in is kept, and when it is full entries are dropped; both are
+ * counted and reported. Entries still buffered at a crash are lost, which is
+ * the price of keeping the log off the write path.
+ */
+@Component
+public class ActivityLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLog.class);
+
+    public static final String TASK_CREATED = "TASK_CREATED";
+    public static final String TASK_UPDATED = "TASK_UPDATED";
+    public static final String TASK_DELETED = "TASK_DELETED";
+    public static final String TASK_RESTORED = "TASK_RESTORED";
+    public static final String PROJECT_CREATED = "PROJECT_CREATED";
+    public static final String PROJECT_UPDATED = "PROJECT_UPDATED";
+    public static final String PROJECT_DELETED = "PROJECT_DELETED";
+
+    private static final int MAX_TEXT_LENGTH = 100;
+    private static final int PRUNE_CHUNK_SIZE = 10000;
+
+    private static final String INSERT_ENTRIES =
+        "INSERT INTO activity_log (actor_id, project_id, task_id, action, details, created_at) VALUES ";
+    private static final String ENTRY_VALUES = "(?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.activity.buffer-capacity:16384}")
+    private int bufferCapacity;
+
+    @Value("${app.activity.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.activity.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${app.activity.sampling-threshold:0.75}")
+    private double samplingThreshold;
+
+    @Value("${app.activity.sample-one-in:10}")
+    private int sampleOneIn;
+
+    @Value("${app.activity.retention-days:365}")
+    private int retentionDays;
+
+    private RingBuffer<Entry> buffer;
+    private int samplingSize;
+    private ScheduledExecutorService writer;
+
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    @PostConstruct
+    public void startWriter() {
+        buffer = new RingBuffer<>(bufferCapacity);
+        samplingSize = (int) (buffer.capacity() * samplingThreshold);
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "activity-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopWriter() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        logger.info("Writing {} buffered activity entries before shutdown", buffer.size());
+        flush();
+    }
+
+    /**
+     * Record an action once the current transaction commits (right away outside
+     * one); never blocks. projectId and taskId may be null, details is stored as JSON.
+     */
+    public void record(Long actorId, Long projectId, Long taskId, String action, Map<String, Object> details) {
+        Entry entry = new Entry(actorId, projectId, taskId, action, details, LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    /**
+     * The fields whose values differ between two snapshots, as name -> {from, to};
+     * text is shortened so that a long description does not bloat the log
+     */
+    public static Map<String, Object> changes(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> field : after.entrySet()) {
+            Object from = before.get(field.getKey());
+            if (!Objects.equals(from, field.getValue())) {
+                Map<String, Object> change = new LinkedHashMap<>();
+                change.put("from", shorten(from));
+                change.put("to", shorten(field.getValue()));
+                changes.put(field.getKey(), change);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Delete entries older than the retention period, in chunks so that no single
+     * statement holds many row locks
+     */
+    @Scheduled(cron = "${app.activity.prune-cron:0 15 4 * * *}")
+    public void pruneOldEntries() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update("DELETE FROM activity_log WHERE created_at < ? LIMIT " + PRUNE_CHUNK_SIZE,
+                    cutoff);
+                total += deleted;
+            } while (deleted == PRUNE_CHUNK_SIZE);
+        } catch (Exception e) {
+            logger.error("Pruning the activity log failed: {}", e.getMessage(), e);
+        }
+        if (total > 0) {
+            logger.info("Pruned {} activity entries older than {}", total, cutoff);
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        // Under overload keep a sample instead of letting the buffer fill up
+        if (buffer.size() >= samplingSize && ThreadLocalRandom.current().nextInt(sampleOneIn) != 0) {
+            sampledOut.increment();
+            return;
+        }
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    private void flush() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+
+        long sampled = sampledOut.sumThenReset();
+        long lost = dropped.sumThenReset();
+        if (sampled > 0 || lost > 0) {
+            logger.warn("Activity log overloaded: {} entries sampled out, {} dropped with the buffer full", sampled, lost);
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        Object[] params = new Object[batch.size() * 6];
+        int i = 0;
+        for (Entry entry : batch) {
+            params[i++] = entry.actorId;
+            params[i++] = entry.projectId;
+            params[i++] = entry.taskId;
+            params[i++] = entry.action;
+            params[i++] = toJson(entry.details);
+            params[i++] = entry.createdAt;
+        }
+        try {
+            jdbcTemplate.update(INSERT_ENTRIES + String.join(", ", Collections.nCopies(batch.size(), ENTRY_VALUES)),
+                params);
+        } catch (Exception e) {
+            logger.error("Failed to write {} activity entries: {}", batch.size(), e.getMessage(), e);
+        }
+    }
+
+    private String toJson(Map<String, Object> details) {
+        if (details == null || details.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize activity details: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Object shorten(Object value) {
+        if (value instanceof String && ((String) value).length() > MAX_TEXT_LENGTH) {
+            return ((String) value).substring(0, MAX_TEXT_LENGTH) + "...";
+        }
+        return value;
+    }
+
+    private static final class Entry {
+        private final Long actorId;
+        private final Long projectId;
+        private final Long taskId;
+        private final String action;
+        private final Map<String, Object> details;
+        private final LocalDateTime createdAt;
+
+        private Entry(Long actorId, Long projectId, Long taskId, String action, Map<String, Object> details,
+                      LocalDateTime createdAt) {
+            this.actorId = actorId;
+            this.projectId = projectId;
+            this.taskId = taskId;
+            this.action = action;
+            this.details = details;
+            this.createdAt = createdAt;
+        }
+    }
+}
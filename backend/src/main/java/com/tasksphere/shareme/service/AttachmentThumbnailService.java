@@ -0,0 +1,268 @@
+package com.tasksphere.shareme.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tasksphere.shareme.entity.TaskAttachment;
+import com.tasksphere.shareme.exception.ResourceNotFoundException;
+import com.tasksphere.shareme.repository.TaskAttachmentRepository;
+import com.tasksphere.shareme.storage.FileStorage;
+import com.tasksphere.shareme.storage.StorageResource;
+import com.tasksphere.shareme.storage.StoredObject;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Renders small JPEG previews of image and PDF attachments.
+ *
+ * Rendering runs after the upload is committed on a small bounded worker pool,
+ * so uploads never wait for it. Images are decoded with subsampling so a large
+ * photo is never fully loaded into memory, and PDFs only render their first
+ * page. The preview is written to storage under "thumbnails/" and its key recorded on the
+ * attachment, which is what makes the thumbnail URL appear in responses.
+ */
+@Service
+public class AttachmentThumbnailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentThumbnailService.class);
+
+    private static final Set<String> IMAGE_TYPES = Set.of(
+        "image/jpeg", "image/jpg", "image/png", "image/gif", "image/bmp");
+    private static final String PDF_TYPE = "application/pdf";
+    private static final String THUMBNAIL_PREFIX = "thumbnails/";
+
+    @Autowired
+    private TaskAttachmentRepository taskAttachmentRepository;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Value("${app.attachments.thumbnails.max-size:256}")
+    private int maxSize;
+
+    @Value("${app.attachments.thumbnails.pool-size:2}")
+    private int poolSize;
+
+    @Value("${app.attachments.thumbnails.queue-capacity:200}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void startWorkers() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "thumbnail-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void stopWorkers() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Whether a preview can be rendered for this content type
+     */
+    public boolean supports(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase();
+        return IMAGE_TYPES.contains(type) || PDF_TYPE.equals(type);
+    }
+
+    /**
+     * Queue preview rendering for a stored attachment, after the current transaction commits
+     */
+    public void scheduleThumbnail(TaskAttachment attachment) {
+        if (!supports(attachment.getContentType())) {
+            return;
+        }
+        Long attachmentId = attachment.getId();
+        String source = attachment.getStoredFilename();
+        String contentType = attachment.getContentType().toLowerCase();
+
+        Runnable submit = () -> {
+            try {
+                executor.execute(() -> generateThumbnail(attachmentId, source, contentType));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Thumbnail queue is full, skipping preview of attachment {}", attachmentId);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
+    /**
+     * Get the rendered preview of an attachment
+     */
+    public Resource getThumbnail(Long attachmentId) {
+        TaskAttachment attachment = taskAttachmentRepository.findById(attachmentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Attachment not found with id: " + attachmentId));
+        if (attachment.getThumbnailPath() == null) {
+            throw new ResourceNotFoundException("No thumbnail available for attachment: " + attachmentId);
+        }
+
+        try {
+            StoredObject stored = fileStorage.stat(attachment.getThumbnailPath());
+            if (stored == null) {
+                throw new ResourceNotFoundException("No thumbnail available for attachment: " + attachmentId);
+            }
+            return new StorageResource(fileStorage, stored.getKey(), attachmentId + ".jpg", stored.getSize());
+        } catch (IOException e) {
+            throw new ResourceNotFoundException("No thumbnail available for attachment: " + attachmentId);
+        }
+    }
+
+    /**
+     * Remove a preview file, ignoring files that are already gone
+     */
+    public void deleteThumbnail(String thumbnailPath) {
+        if (thumbnailPath == null) {
+            return;
+        }
+        try {
+            fileStorage.delete(thumbnailPath);
+        } catch (IOException e) {
+            logger.warn("Failed to delete thumbnail {}: {}", thumbnailPath, e.getMessage());
+        }
+    }
+
+    private void generateThumbnail(Long attachmentId, String source, String contentType) {
+        long start = System.currentTimeMillis();
+        try {
+            BufferedImage rendered = PDF_TYPE.equals(contentType) ? renderPdfPage(source) : readImage(source);
+            if (rendered == null) {
+                logger.debug("No image reader for attachment {} ({})", attachmentId, contentType);
+                return;
+            }
+
+            ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+            ImageIO.write(scale(rendered), "jpg", jpeg);
+            String target = THUMBNAIL_PREFIX + attachmentId + ".jpg";
+            fileStorage.store(target, new ByteArrayInputStream(jpeg.toByteArray()), jpeg.size(), "image/jpeg");
+
+            if (taskAttachmentRepository.updateThumbnailPath(attachmentId, target) == 0) {
+                // Attachment was deleted while we were rendering
+                fileStorage.delete(target);
+                return;
+            }
+            changeSequenceService.touchTaskOfAttachment(attachmentId);
+            logger.debug("Rendered thumbnail of attachment {} in {} ms", attachmentId, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.warn("Failed to render thumbnail of attachment {}: {}", attachmentId, e.getMessage());
+        }
+    }
+
+    /**
+     * Decode an image, skipping pixels up front when it is much larger than the thumbnail
+     */
+    private BufferedImage readImage(String source) throws IOException {
+        try (InputStream content = fileStorage.read(source);
+             ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longestSide / (maxSize * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Render the first PDF page at a resolution just above the thumbnail size
+     */
+    private BufferedImage renderPdfPage(String source) throws IOException {
+        try (InputStream content = fileStorage.read(source);
+             PDDocument document = PDDocument.load(content, MemoryUsageSetting.setupTempFileOnly())) {
+            if (document.getNumberOfPages() == 0) {
+                return null;
+            }
+            PDRectangle page = document.getPage(0).getCropBox();
+            float longestSideInches = Math.max(page.getWidth(), page.getHeight()) / 72f;
+            float dpi = Math.max(10f, Math.min(150f, (maxSize * 2) / longestSideInches));
+            return new PDFRenderer(document).renderImageWithDPI(0, dpi, ImageType.RGB);
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image) {
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        // JPEG has no alpha channel, so flatten transparent images onto white
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return thumbnail;
+    }
+}
@@ -0,0 +1,405 @@
+package com.tasksphere.shareme.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tasksphere.shareme.entity.SyncTombstone;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hands out change sequence numbers for delta sync and records tombstones.
+ *
+ * Numbers are taken from sync_state in blocks, each in a short transaction of
+ * its own on a small pool reserved for that, so the counter row is locked for
+ * a few statements and writers never wait for each other's commits. Numbers
+ * then no longer become visible in order, so the first block of a transaction
+ * also records its first number in sync_open_ranges, and the transaction
+ * deletes that row again in its own work: the row goes away exactly when the
+ * transaction's changes appear, or after it rolled back. Readers stop at
+ * State.getSafeSeq, below the oldest open range, and a reader that has seen
+ * everything up to it has seen every row numbered up to it. A range older
+ * than open-range-expiry-minutes is taken to be left by a transaction that
+ * died without cleaning up.
+ *
+ * Plain JDBC on the transaction's connection is used because most calls come
+ * from entity callbacks during a flush, where the entity manager must not be
+ * used. Every tombstone row gets its own number, like every synced row, so a
+ * sync page can be cut at any number.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class ChangeSequenceService {
+
+    private static final String INSERT_TOMBSTONES =
+        "INSERT INTO sync_tombstones (entity_type, entity_id, user_id, change_seq) ";
+
+    // Creator, assignee and project owner of the selected tasks; UNION removes duplicates
+    private static final String TASK_AUDIENCE =
+        "SELECT t.id AS entity_id, t.creator_id AS user_id FROM tasks t WHERE %1$s "
+        + "UNION SELECT t.id, t.assignee_id FROM tasks t WHERE %1$s AND t.assignee_id IS NOT NULL "
+        + "UNION SELECT t.id, p.owner_id FROM tasks t JOIN projects p ON p.id = t.project_id WHERE %1$s";
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeSequenceService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Value("${app.sync.number-block-size:32}")
+    private int blockSize;
+
+    @Value("${app.sync.number-pool-size:2}")
+    private int numberPoolSize;
+
+    @Value("${app.sync.open-range-expiry-minutes:10}")
+    private int openRangeExpiryMinutes;
+
+    // Separate from the main pool, whose connections may all be held by writers waiting for numbers
+    private DataSource numberDataSource;
+
+    @PostConstruct
+    public void openNumberPool() {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("change-numbers");
+        pool.setMaximumPoolSize(numberPoolSize);
+        numberDataSource = pool;
+    }
+
+    @PreDestroy
+    public void closeNumberPool() {
+        if (numberDataSource instanceof HikariDataSource) {
+            ((HikariDataSource) numberDataSource).close();
+        }
+    }
+
+    /**
+     * Take the next change sequence number
+     */
+    public long next() {
+        return take(1) + 1;
+    }
+
+    /**
+     * Take count consecutive numbers, for rows inserted with set-based statements;
+     * returns the number before the first one
+     */
+    public long reserve(int count) {
+        return take(count);
+    }
+
+    /**
+     * Give a task a new number because something shown with it changed
+     * (attachments, thumbnails). Runs in its own short transaction when called
+     * outside one, so callers that store files do not keep a range open.
+     */
+    @Transactional
+    public void touchTask(Long taskId) {
+        jdbcTemplate.update("UPDATE tasks SET change_seq = ? WHERE id = ?", next(), taskId);
+    }
+
+    @Transactional
+    public void touchTaskOfAttachment(Long attachmentId) {
+        jdbcTemplate.update("UPDATE tasks SET change_seq = ? WHERE id = (SELECT task_id FROM task_attachments WHERE id = ?)",
+            next(), attachmentId);
+    }
+
+    /**
+     * Last number handed out, the pruning watermark and the open ranges, as
+     * committed when the calling transaction took its snapshot; read it before
+     * the rows it is used for
+     */
+    @Transactional(readOnly = true)
+    public State readState() {
+        return jdbcTemplate.queryForObject(
+            "SELECT s.last_seq, s.pruned_through, MIN(o.first_seq), COUNT(o.first_seq) FROM sync_state s "
+            + "LEFT JOIN sync_open_ranges o ON o.opened_at > NOW() - INTERVAL ? MINUTE "
+            + "WHERE s.id = 1 GROUP BY s.last_seq, s.pruned_through",
+            (rs, rowNum) -> {
+                long lastSeq = rs.getLong(1);
+                long oldestOpen = rs.getLong(3);
+                long safeSeq = rs.wasNull() ? lastSeq : oldestOpen - 1;
+                return new State(lastSeq, rs.getLong(2), safeSeq, rs.getInt(4));
+            },
+            openRangeExpiryMinutes);
+    }
+
+    /**
+     * Delete the open ranges past the expiry, left by transactions that died
+     * between taking numbers and ending
+     */
+    public int deleteExpiredOpenRanges() {
+        return jdbcTemplate.update("DELETE FROM sync_open_ranges WHERE opened_at <= NOW() - INTERVAL ? MINUTE",
+            openRangeExpiryMinutes);
+    }
+
+    public void advancePrunedThrough(long changeSeq) {
+        jdbcTemplate.update("UPDATE sync_state SET pruned_through = GREATEST(pruned_through, ?) WHERE id = 1", changeSeq);
+    }
+
+    /**
+     * Record that a user can no longer see an object (e.g. was unassigned from a task)
+     */
+    public void recordAccessLost(String entityType, Long entityId, Long userId) {
+        long seq = next();
+        jdbcTemplate.update(INSERT_TOMBSTONES + "VALUES (?, ?, ?, ?)", entityType, entityId, userId, seq);
+    }
+
+    /**
+     * Record the deletion of a task and of the notes on it (removed by the foreign key cascade)
+     */
+    public int recordTaskDeletion(Long taskId) {
+        return recordTaskDeletions(List.of(taskId));
+    }
+
+    /**
+     * Record the removal of a batch of tasks and their notes (deleted or moved to the archive)
+     */
+    public int recordTaskDeletions(List<Long> taskIds) {
+        String in = "(" + String.join(", ", Collections.nCopies(taskIds.size(), "?")) + ")";
+        Object[] ids = taskIds.toArray();
+        Object[] idsPerAudience = new Object[ids.length * 3];
+        for (int i = 0; i < 3; i++) {
+            System.arraycopy(ids, 0, idsPerAudience, i * ids.length, ids.length);
+        }
+        return insertTombstones(noteTombstones("n.task_id IN " + in), ids)
+            + insertTombstones(taskTombstones("t.id IN " + in), idsPerAudience);
+    }
+
+    public int recordNoteDeletion(Long noteId) {
+        return insertTombstones(noteTombstones("n.id = ?"), noteId);
+    }
+
+    /**
+     * Record the deletion of a project row, for its owner and members
+     */
+    public int recordProjectDeletion(Long projectId) {
+        return insertTombstones("SELECT '" + SyncTombstone.PROJECT + "' AS entity_type, a.project_id AS entity_id, "
+            + "a.user_id, ? + ROW_NUMBER() OVER (ORDER BY a.user_id) AS change_seq "
+            + "FROM (SELECT id AS project_id, owner_id AS user_id FROM projects WHERE id = ? "
+            + "UNION SELECT project_id, user_id FROM project_members WHERE project_id = ?) a",
+            projectId, projectId);
+    }
+
+    /**
+     * Record the deletion of all tasks and notes of a project, before they are
+     * removed with set-based statements
+     */
+    public int recordTaskAndNoteDeletionsOfProject(Long projectId) {
+        return insertTombstones(noteTombstones("n.task_id IN (SELECT id FROM tasks WHERE project_id = ?)"), projectId)
+            + insertTombstones(taskTombstones("t.project_id = ?"), projectId, projectId, projectId);
+    }
+
+    private static String noteTombstones(String condition) {
+        return "SELECT '" + SyncTombstone.NOTE + "' AS entity_type, n.id AS entity_id, n.user_id, "
+            + "? + ROW_NUMBER() OVER (ORDER BY n.id) AS change_seq FROM task_notes n WHERE " + condition;
+    }
+
+    private static String taskTombstones(String condition) {
+        return "SELECT '" + SyncTombstone.TASK + "' AS entity_type, a.entity_id, a.user_id, "
+            + "? + ROW_NUMBER() OVER (ORDER BY a.entity_id, a.user_id) AS change_seq "
+            + "FROM (" + String.format(TASK_AUDIENCE, condition) + ") a";
+    }
+
+    private int insertTombstones(String select, Object... args) {
+        return insertNumbered(INSERT_TOMBSTONES, select, args);
+    }
+
+    /**
+     * Insert the rows of a SELECT, each with its own change number. The SELECT
+     * numbers its rows after a base, which it takes as its first parameter, and
+     * names its columns; it is counted first to reserve the numbers. Lock the
+     * rows it reads, so that the count holds: rows added in between get numbers
+     * past the reserved ones, which are still safe for readers but may repeat
+     * numbers taken later.
+     */
+    public int insertNumbered(String insert, String select, Object... args) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + select + ") numbered", Integer.class,
+            withBase(0, args));
+        if (count == null || count == 0) {
+            return 0;
+        }
+        long base = reserve(count);
+        int rows = jdbcTemplate.update(insert + select, withBase(base, args));
+        if (rows > count) {
+            skipTo(base + rows);
+        }
+        return rows;
+    }
+
+    private static Object[] withBase(long base, Object[] args) {
+        Object[] params = new Object[args.length + 1];
+        params[0] = base;
+        System.arraycopy(args, 0, params, 1, args.length);
+        return params;
+    }
+
+    // Hand out count numbers of the transaction's block, taking a new block when it runs out
+    private long take(int count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Outside a transaction the caller's statement commits right after
+            return allocate(count, false);
+        }
+        Numbers numbers = (Numbers) TransactionSynchronizationManager.getResource(this);
+        if (numbers == null) {
+            numbers = open(Math.max(count, blockSize));
+        } else if (numbers.end - numbers.last < count) {
+            int size = Math.max(count, blockSize);
+            numbers.last = allocate(size, false);
+            numbers.end = numbers.last + size;
+        }
+        long base = numbers.last;
+        numbers.last += count;
+        return base;
+    }
+
+    private void skipTo(long seq) {
+        Numbers numbers = (Numbers) TransactionSynchronizationManager.getResource(this);
+        if (numbers != null) {
+            numbers.last = Math.min(Math.max(numbers.last, seq), numbers.end);
+        }
+    }
+
+    // First block of the transaction, with its open range
+    private Numbers open(int size) {
+        long base = allocate(size, true);
+        long firstSeq = base + 1;
+        // Committed with this transaction's changes, so readers see the range close exactly when they appear
+        jdbcTemplate.update("DELETE FROM sync_open_ranges WHERE first_seq = ?", firstSeq);
+
+        Numbers numbers = new Numbers(base, base + size);
+        TransactionSynchronizationManager.bindResource(this, numbers);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeSequenceService.this);
+                if (status != STATUS_COMMITTED) {
+                    // The delete above was rolled back with everything else
+                    closeRange(firstSeq);
+                }
+            }
+        });
+        return numbers;
+    }
+
+    /**
+     * Move last_seq past count numbers in a transaction of its own, recording
+     * an open range from the first of them when asked; returns the number
+     * before the first one
+     */
+    private long allocate(int count, boolean openRange) {
+        try (Connection connection = numberDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long base;
+                try (PreparedStatement lock = connection.prepareStatement(
+                        "SELECT last_seq FROM sync_state WHERE id = 1 FOR UPDATE");
+                     ResultSet rs = lock.executeQuery()) {
+                    rs.next();
+                    base = rs.getLong(1);
+                }
+                execute(connection, "UPDATE sync_state SET last_seq = ? WHERE id = 1", base + count);
+                if (openRange) {
+                    execute(connection, "INSERT INTO sync_open_ranges (first_seq) VALUES (?)", base + 1);
+                }
+                connection.commit();
+                return base;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not take change sequence numbers", e);
+        }
+    }
+
+    private void closeRange(long firstSeq) {
+        try (Connection connection = numberDataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            execute(connection, "DELETE FROM sync_open_ranges WHERE first_seq = ?", firstSeq);
+        } catch (SQLException e) {
+            logger.warn("Could not close change range {}; it expires after {} minutes: {}",
+                firstSeq, openRangeExpiryMinutes, e.getMessage());
+        }
+    }
+
+    private static void execute(Connection connection, String sql, long... args) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < args.length; i++) {
+                statement.setLong(i + 1, args[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    // Numbers of the current transaction: last handed out and last of the current block
+    private static class Numbers {
+        long last;
+        long end;
+
+        Numbers(long last, long end) {
+            this.last = last;
+            this.end = end;
+        }
+    }
+
+    public static class State {
+        private final long lastSeq;
+        private final long prunedThrough;
+        private final long safeSeq;
+        private final int openRanges;
+
+        public State(long lastSeq, long prunedThrough, long safeSeq, int openRanges) {
+            this.lastSeq = lastSeq;
+            this.prunedThrough = prunedThrough;
+            this.safeSeq = safeSeq;
+            this.openRanges = openRanges;
+        }
+
+        public long getLastSeq() {
+            return lastSeq;
+        }
+
+        public long getPrunedThrough() {
+            return prunedThrough;
+        }
+
+        /**
+         * Every change numbered up to this has committed or rolled back
+         */
+        public long getSafeSeq() {
+            return safeSeq;
+        }
+
+        /**
+         * Changes with every commit of a synced change: a commit closes an open
+         * range, and a range only opens by taking numbers
+         */
+        public String getVersion() {
+            return lastSeq + "." + openRanges;
+        }
+    }
+}
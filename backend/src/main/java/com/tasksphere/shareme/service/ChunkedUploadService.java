@@ -0,0 +1,331 @@
+package com.tasksphere.shareme.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.tasksphere.shareme.dto.TaskAttachmentResponse;
+import com.tasksphere.shareme.dto.UploadSessionRequest;
+import com.tasksphere.shareme.dto.UploadSessionResponse;
+import com.tasksphere.shareme.entity.Task;
+import com.tasksphere.shareme.entity.UploadSession;
+import com.tasksphere.shareme.entity.User;
+import com.tasksphere.shareme.exception.ResourceNotFoundException;
+import com.tasksphere.shareme.exception.UploadException;
+import com.tasksphere.shareme.repository.TaskRepository;
+import com.tasksphere.shareme.repository.UploadSessionRepository;
+import com.tasksphere.shareme.repository.UserRepository;
+
+/**
+ * Resumable uploads: the client opens a session, sends the file as a series of
+ * chunks at explicit offsets and finalizes it once every byte has arrived.
+ *
+ * Chunks are streamed from the request straight into a staging file with
+ * positional writes, so no request body is ever held in memory and a dropped
+ * connection only costs the chunk in flight. The client asks for the current
+ * offset and continues from there. Sessions that see no chunk for the expiry
+ * period are removed together with their staging file.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int EXPIRY_BATCH_SIZE = 100;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskAttachmentService taskAttachmentService;
+
+    @Value("${app.attachments.chunked.staging-dir:uploads-staging}")
+    private String stagingDir;
+
+    @Value("${app.attachments.chunked.max-file-size:2147483648}")
+    private long maxFileSize;
+
+    @Value("${app.attachments.chunked.max-chunk-size:8388608}")
+    private long maxChunkSize;
+
+    @Value("${app.attachments.chunked.expiry-hours:24}")
+    private long expiryHours;
+
+    // One writer per session at a time; a second concurrent chunk is rejected
+    private final ConcurrentHashMap<String, ReentrantLock> sessionLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Open an upload session for a file that will be attached to a task
+     */
+    public UploadSessionResponse createSession(Long userId, Long taskId, UploadSessionRequest request) {
+        if (!taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+        if (!taskService.userHasAccessToTask(userId, taskId)) {
+            throw new UploadException("You don't have access to this task", HttpStatus.FORBIDDEN);
+        }
+        if (request.getFileSize() > maxFileSize) {
+            throw new UploadException("File size exceeds maximum limit of " + maxFileSize + " bytes",
+                HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        try {
+            taskAttachmentService.validateFilename(request.getOriginalFilename());
+        } catch (RuntimeException e) {
+            throw new UploadException(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(stagingPath());
+            Files.createFile(stagingFile(uploadId));
+        } catch (IOException e) {
+            throw new UploadException("Could not start upload. Please try again!", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        String contentType = request.getContentType() != null && !request.getContentType().isBlank()
+            ? request.getContentType()
+            : "application/octet-stream";
+        UploadSession session = uploadSessionRepository.save(new UploadSession(uploadId, taskId, userId,
+            request.getOriginalFilename(), contentType, request.getFileSize(), nextExpiry()));
+        logger.info("Opened upload session {} for {} ({} bytes) on task {}",
+            uploadId, request.getOriginalFilename(), request.getFileSize(), taskId);
+        return convertToResponse(session);
+    }
+
+    /**
+     * Get the current offset of an upload session
+     */
+    public UploadSessionResponse getSession(Long userId, String uploadId) {
+        return convertToResponse(findActiveSession(userId, uploadId));
+    }
+
+    /**
+     * Write one chunk starting at offset. The offset may not be past the bytes
+     * received so far; re-sending already received bytes is allowed.
+     */
+    public UploadSessionResponse writeChunk(Long userId, String uploadId, long offset, InputStream body) {
+        findActiveSession(userId, uploadId);
+        ReentrantLock lock = sessionLocks.computeIfAbsent(uploadId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new UploadException("Another chunk of this upload is being written", HttpStatus.CONFLICT);
+        }
+        try {
+            UploadSession session = findActiveSession(userId, uploadId);
+            if (offset < 0 || offset > session.getReceivedBytes()) {
+                throw new UploadException("Offset " + offset + " does not match the " + session.getReceivedBytes()
+                    + " bytes received", HttpStatus.CONFLICT);
+            }
+
+            long limit = Math.min(maxChunkSize, session.getFileSize() - offset);
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(stagingFile(uploadId), StandardOpenOption.WRITE)) {
+                try {
+                    byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                    int read;
+                    while ((read = body.read(buffer, 0, (int) Math.min(buffer.length, limit - written + 1))) != -1) {
+                        if (written + read > limit) {
+                            throw new UploadException("Chunk exceeds the file size or the maximum chunk size of "
+                                + maxChunkSize + " bytes", HttpStatus.PAYLOAD_TOO_LARGE);
+                        }
+                        ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+                        while (data.hasRemaining()) {
+                            channel.write(data, offset + written + data.position());
+                        }
+                        written += read;
+                    }
+                } catch (IOException e) {
+                    // Keep the bytes that arrived before the interruption, once they are synced below
+                    logger.debug("Chunk of upload {} interrupted after {} bytes: {}", uploadId, written, e.getMessage());
+                    if (written == 0) {
+                        throw new UploadException("Failed to write chunk", HttpStatus.INTERNAL_SERVER_ERROR);
+                    }
+                }
+                // Only acknowledge bytes that are durable
+                channel.force(false);
+            } catch (IOException e) {
+                logger.warn("Failed to sync chunk of upload {}: {}", uploadId, e.getMessage());
+                throw new UploadException("Failed to write chunk", HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+
+            session.setReceivedBytes(Math.max(session.getReceivedBytes(), offset + written));
+            session.setExpiresAt(nextExpiry());
+            return convertToResponse(uploadSessionRepository.save(session));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Turn a fully received upload into a task attachment
+     */
+    public TaskAttachmentResponse completeSession(Long userId, String uploadId) {
+        findActiveSession(userId, uploadId);
+        ReentrantLock lock = sessionLocks.computeIfAbsent(uploadId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new UploadException("A chunk of this upload is still being written", HttpStatus.CONFLICT);
+        }
+        try {
+            UploadSession session = findActiveSession(userId, uploadId);
+            if (!session.getReceivedBytes().equals(session.getFileSize())) {
+                throw new UploadException("Upload is incomplete: received " + session.getReceivedBytes()
+                    + " of " + session.getFileSize() + " bytes", HttpStatus.CONFLICT);
+            }
+
+            Task task = taskRepository.findById(session.getTaskId())
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + session.getTaskId()));
+            User uploader = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+
+            TaskAttachmentResponse attachment;
+            try (InputStream content = Files.newInputStream(stagingFile(uploadId))) {
+                attachment = taskAttachmentService.storeAttachment(task, session.getOriginalFilename(),
+                    session.getContentType(), session.getFileSize(), content, uploader);
+            } catch (IOException e) {
+                throw new UploadException("Failed to store file: " + session.getOriginalFilename(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+
+            discard(session);
+            logger.info("Completed upload session {} as attachment {}", uploadId, attachment.getId());
+            return attachment;
+        } finally {
+            lock.unlock();
+            sessionLocks.remove(uploadId, lock);
+        }
+    }
+
+    /**
+     * Abandon an upload and free its staging space
+     */
+    public void cancelSession(Long userId, String uploadId) {
+        discard(findActiveSession(userId, uploadId));
+        sessionLocks.remove(uploadId);
+    }
+
+    /**
+     * Remove sessions that received no chunk within the expiry period
+     */
+    @Scheduled(fixedDelayString = "${app.attachments.chunked.cleanup-interval-ms:900000}")
+    public void expireSessions() {
+        List<UploadSession> expired;
+        int removed = 0;
+        do {
+            expired = uploadSessionRepository.findByExpiresAtBefore(LocalDateTime.now(),
+                PageRequest.of(0, EXPIRY_BATCH_SIZE));
+            for (UploadSession session : expired) {
+                discard(session);
+                sessionLocks.remove(session.getId());
+                removed++;
+            }
+        } while (expired.size() == EXPIRY_BATCH_SIZE);
+
+        removed += removeOrphanedStagingFiles();
+
+        if (removed > 0) {
+            logger.info("Removed {} expired upload sessions", removed);
+        }
+    }
+
+    /**
+     * Staging files whose session row is gone (e.g. deleted with its project)
+     * and that have not been written to for the expiry period
+     */
+    private int removeOrphanedStagingFiles() {
+        Path staging = stagingPath();
+        if (!Files.isDirectory(staging)) {
+            return 0;
+        }
+
+        Instant cutoff = Instant.now().minus(Duration.ofHours(expiryHours));
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(staging, "*.part")) {
+            for (Path file : files) {
+                String uploadId = file.getFileName().toString().replace(".part", "");
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)
+                        && !uploadSessionRepository.existsById(uploadId)) {
+                    Files.deleteIfExists(file);
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to clean up staging files: {}", e.getMessage());
+        }
+        return removed;
+    }
+
+    private UploadSession findActiveSession(Long userId, String uploadId) {
+        UploadSession session = uploadSessionRepository.findById(uploadId)
+            .filter(found -> found.getUserId().equals(userId))
+            .orElseThrow(() -> new ResourceNotFoundException("Upload session not found with id: " + uploadId));
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new ResourceNotFoundException("Upload session has expired: " + uploadId);
+        }
+        return session;
+    }
+
+    private void discard(UploadSession session) {
+        try {
+            Files.deleteIfExists(stagingFile(session.getId()));
+        } catch (IOException e) {
+            logger.warn("Failed to delete staging file of upload {}: {}", session.getId(), e.getMessage());
+        }
+        uploadSessionRepository.delete(session);
+    }
+
+    private LocalDateTime nextExpiry() {
+        return LocalDateTime.now().plusHours(expiryHours);
+    }
+
+    private Path stagingPath() {
+        return Paths.get(stagingDir).toAbsolutePath().normalize();
+    }
+
+    private Path stagingFile(String uploadId) {
+        // uploadId is always a server-generated UUID; parse it so a crafted id cannot escape the staging dir
+        return stagingPath().resolve(UUID.fromString(uploadId) + ".part");
+    }
+
+    private UploadSessionResponse convertToResponse(UploadSession session) {
+        return new UploadSessionResponse(
+            session.getId(),
+            session.getTaskId(),
+            session.getOriginalFilename(),
+            session.getFileSize(),
+            session.getReceivedBytes(),
+            maxChunkSize,
+            session.getExpiresAt()
+        );
+    }
+}
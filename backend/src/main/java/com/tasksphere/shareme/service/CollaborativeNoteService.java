@@ -0,0 +1,289 @@
+package com.tasksphere.shareme.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasksphere.shareme.dto.TaskNoteAutosaveRequest;
+import com.tasksphere.shareme.dto.TaskNoteResponse;
+import com.tasksphere.shareme.util.TextOperation;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Authoritative state of notes that are being edited together.
+ *
+ * Clients send small text operations tagged with the revision they were made
+ * against. The server transforms each operation over everything applied since
+ * that revision, applies it to the single in-memory document, acknowledges the
+ * sender and forwards it to the other editors. Documents are written back
+ * through the autosave buffer on an interval and when the last editor leaves,
+ * so the database sees one UPDATE per interval instead of one per keystroke.
+ * A session owns the content only; the name and tags stay editable over REST
+ * while it is open. A document leaves the map only after its last state is
+ * written, and a join that finds it closing waits for that write.
+ */
+@Service
+public class CollaborativeNoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollaborativeNoteService.class);
+
+    @Autowired
+    private TaskNoteService taskNoteService;
+
+    @Autowired
+    private TaskNoteAutosaveBuffer taskNoteAutosaveBuffer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.notes.collaboration.history-size:500}")
+    private int historySize;
+
+    @Value("${app.notes.collaboration.max-content-length:5000}")
+    private int maxContentLength;
+
+    private final ConcurrentHashMap<Long, NoteDocument> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Open a note for shared editing and send the current state to the new editor
+     */
+    public void join(Long noteId, Long userId, WebSocketSession session) {
+        while (true) {
+            NoteDocument document = documents.get(noteId);
+            if (document == null) {
+                // Make sure a pending single-user autosave is not older than what we load
+                taskNoteAutosaveBuffer.flushNote(noteId);
+                TaskNoteResponse note = taskNoteService.getTaskNoteForCollaboration(userId, noteId);
+                NoteDocument loaded = new NoteDocument(noteId,
+                    note.getNoteContent() != null ? note.getNoteContent() : "");
+                document = documents.putIfAbsent(noteId, loaded);
+                if (document == null) {
+                    document = loaded;
+                }
+            }
+
+            synchronized (document) {
+                if (!document.closed) {
+                    document.sessions.put(session.getId(), session);
+                    sendInit(document, session);
+                    logger.debug("User {} joined note {} ({} editors)", userId, noteId, document.sessions.size());
+                    return;
+                }
+            }
+            // The last editor just left: wait until its state is written, then load it again
+            taskNoteAutosaveBuffer.flushNote(noteId);
+            documents.remove(noteId, document);
+        }
+    }
+
+    /**
+     * Apply an operation a client made against baseRevision
+     */
+    public void applyOperation(Long noteId, Long userId, WebSocketSession session, int baseRevision, List<?> components) {
+        NoteDocument document = documents.get(noteId);
+        if (document == null) {
+            send(session, error("Note is not open for editing"));
+            return;
+        }
+
+        synchronized (document) {
+            if (baseRevision > document.revision) {
+                send(session, error("Unknown revision " + baseRevision));
+                return;
+            }
+            int missed = document.revision - baseRevision;
+            if (missed > document.history.size()) {
+                // Too far behind to transform: start over from the current state
+                sendInit(document, session);
+                return;
+            }
+
+            TextOperation operation;
+            try {
+                operation = TextOperation.fromJson(components);
+                List<TextOperation> concurrent = new ArrayList<>(document.history)
+                    .subList(document.history.size() - missed, document.history.size());
+                for (TextOperation applied : concurrent) {
+                    operation = TextOperation.transform(operation, applied)[0];
+                }
+            } catch (IllegalArgumentException e) {
+                send(session, error("Invalid operation: " + e.getMessage()));
+                return;
+            }
+
+            if (operation.getTargetLength() > maxContentLength) {
+                send(session, error("Note content cannot exceed " + maxContentLength + " characters"));
+                return;
+            }
+
+            String content;
+            try {
+                content = operation.apply(document.content);
+            } catch (IllegalArgumentException e) {
+                send(session, error("Operation does not match the document: " + e.getMessage()));
+                return;
+            }
+
+            document.content = content;
+            document.revision++;
+            document.dirty = true;
+            document.history.addLast(operation);
+            while (document.history.size() > historySize) {
+                document.history.removeFirst();
+            }
+
+            Map<String, Object> ack = new LinkedHashMap<>();
+            ack.put("type", "ack");
+            ack.put("revision", document.revision);
+            send(session, ack);
+
+            Map<String, Object> broadcast = new LinkedHashMap<>();
+            broadcast.put("type", "op");
+            broadcast.put("revision", document.revision);
+            broadcast.put("ops", operation.toJson());
+            broadcast.put("userId", userId);
+            for (WebSocketSession other : document.sessions.values()) {
+                if (!other.getId().equals(session.getId())) {
+                    send(other, broadcast);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove an editor; the last one out writes the document and closes it
+     */
+    public void leave(Long noteId, WebSocketSession session) {
+        NoteDocument document = documents.get(noteId);
+        if (document == null) {
+            return;
+        }
+
+        synchronized (document) {
+            document.sessions.remove(session.getId());
+            if (!document.sessions.isEmpty()) {
+                return;
+            }
+            document.closed = true;
+            persist(document);
+        }
+        // Written before the document goes, so a new join cannot load an older state
+        taskNoteAutosaveBuffer.flushNote(noteId);
+        documents.remove(noteId, document);
+        logger.debug("Closed collaborative session of note {}", noteId);
+    }
+
+    /**
+     * Drop the documents of notes that no longer exist (their task was archived),
+     * without writing them, and disconnect their editors
+     */
+    public void discard(Collection<Long> noteIds) {
+        for (Long noteId : noteIds) {
+            NoteDocument document = documents.get(noteId);
+            if (document == null) {
+                continue;
+            }
+            List<WebSocketSession> sessions;
+            synchronized (document) {
+                document.closed = true;
+                document.dirty = false;
+                sessions = new ArrayList<>(document.sessions.values());
+                document.sessions.clear();
+            }
+            documents.remove(noteId, document);
+            for (WebSocketSession session : sessions) {
+                send(session, error("Note is no longer available"));
+                try {
+                    session.close(CloseStatus.GOING_AWAY.withReason("Note archived"));
+                } catch (IOException e) {
+                    logger.debug("Failed to close session {}: {}", session.getId(), e.getMessage());
+                }
+            }
+            logger.debug("Discarded collaborative session of note {}", noteId);
+        }
+    }
+
+    /**
+     * Hand every changed document to the autosave buffer
+     */
+    @Scheduled(fixedDelayString = "${app.notes.collaboration.persist-interval-ms:5000}")
+    public void persistDirtyDocuments() {
+        for (NoteDocument document : documents.values()) {
+            synchronized (document) {
+                persist(document);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void persistOnShutdown() {
+        persistDirtyDocuments();
+    }
+
+    private void persist(NoteDocument document) {
+        if (!document.dirty) {
+            return;
+        }
+        taskNoteAutosaveBuffer.enqueue(document.noteId, TaskNoteAutosaveRequest.contentOnly(document.content));
+        document.dirty = false;
+    }
+
+    private void sendInit(NoteDocument document, WebSocketSession session) {
+        Map<String, Object> init = new LinkedHashMap<>();
+        init.put("type", "init");
+        init.put("revision", document.revision);
+        init.put("content", document.content);
+        send(session, init);
+    }
+
+    private Map<String, Object> error(String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("type", "error");
+        error.put("message", message);
+        return error;
+    }
+
+    private void send(WebSocketSession session, Map<String, Object> message) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
+        } catch (IOException e) {
+            logger.warn("Failed to send {} message to session {}: {}", message.get("type"), session.getId(), e.getMessage());
+        }
+    }
+
+    private static class NoteDocument {
+        private final Long noteId;
+        private final Map<String, WebSocketSession> sessions = new LinkedHashMap<>();
+        private final Deque<TextOperation> history = new ArrayDeque<>();
+        private String content;
+        private int revision;
+        private boolean dirty;
+        private boolean closed;
+
+        private NoteDocument(Long noteId, String content) {
+            this.noteId = noteId;
+            this.content = content;
+        }
+    }
+}
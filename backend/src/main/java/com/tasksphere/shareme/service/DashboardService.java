@@ -0,0 +1,163 @@
+package com.tasksphere.shareme.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tasksphere.shareme.dto.DashboardResponse;
+import com.tasksphere.shareme.dto.ProjectResponse;
+import com.tasksphere.shareme.dto.TaskResponse;
+import com.tasksphere.shareme.dto.TaskSearchRequest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Builds the dashboard payload from independent sections.
+ *
+ * Each section (projects, project stats, task stats, recent tasks) runs its own
+ * queries in its own transaction on a dedicated pool, so the response takes as
+ * long as the slowest section rather than the sum of all of them. A section
+ * that fails or does not finish within its timeout is left empty and named in
+ * unavailableSections; the rest of the dashboard is still returned.
+ *
+ * The section transaction carries the timeout, so its queries are cancelled
+ * by the driver once it has passed and a timed-out section gives its thread
+ * and connection back. A full pool rejects sections instead of running them
+ * on the request thread, where no timeout would apply.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.dashboard.pool-size:8}")
+    private int poolSize;
+
+    @Value("${app.dashboard.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.dashboard.section-timeout-ms:3000}")
+    private long sectionTimeoutMs;
+
+    @Value("${app.dashboard.recent-tasks:5}")
+    private int recentTaskCount;
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate sectionTransaction;
+
+    @PostConstruct
+    public void startWorkers() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // When the pool and queue are full the section is rejected and reported unavailable
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+
+        // The service methods join this transaction, so their queries get its timeout (whole seconds)
+        sectionTransaction = new TransactionTemplate(transactionManager);
+        sectionTransaction.setReadOnly(true);
+        sectionTransaction.setTimeout((int) Math.max(1, (sectionTimeoutMs + 999) / 1000));
+    }
+
+    @PreDestroy
+    public void stopWorkers() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Load all dashboard sections for a user in parallel
+     */
+    public DashboardResponse getDashboard(Long userId) {
+        List<String> unavailable = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<List<ProjectResponse>> projects =
+            section("projects", () -> projectService.getUserProjects(userId), unavailable);
+        CompletableFuture<Map<String, Object>> projectStats =
+            section("projectStats", () -> projectService.getUserStats(userId), unavailable);
+        CompletableFuture<Map<String, Object>> taskStats =
+            section("taskStats", () -> taskService.getTaskStats(userId), unavailable);
+        CompletableFuture<List<TaskResponse>> recentTasks =
+            section("recentTasks", () -> getRecentTasks(userId), unavailable);
+
+        CompletableFuture.allOf(projects, projectStats, taskStats, recentTasks).join();
+
+        return new DashboardResponse(projects.join(), projectStats.join(), taskStats.join(),
+            recentTasks.join(), new ArrayList<>(unavailable));
+    }
+
+    private List<TaskResponse> getRecentTasks(Long userId) {
+        TaskSearchRequest request = new TaskSearchRequest();
+        request.setSortBy("updatedAt");
+        request.setSortDirection("DESC");
+        request.setSize(recentTaskCount);
+        return taskService.getUserAccessibleTasks(userId, request).getContent();
+    }
+
+    /**
+     * Run one section on the pool; on failure, timeout or a full pool it completes with null
+     */
+    private <T> CompletableFuture<T> section(String name, Supplier<T> loader, List<String> unavailable) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running;
+        try {
+            running = executor.submit(() -> {
+                try {
+                    result.complete(sectionTransaction.execute(status -> loader.get()));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Dashboard section {} rejected, the dashboard pool is saturated", name);
+            unavailable.add(name);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return result
+            .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS)
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof TimeoutException) {
+                    // Stops a section still queued or between queries; a running query ends with the transaction timeout
+                    running.cancel(true);
+                    logger.warn("Dashboard section {} timed out after {} ms", name, sectionTimeoutMs);
+                } else {
+                    logger.error("Dashboard section {} failed: {}", name, cause.getMessage(), cause);
+                }
+                unavailable.add(name);
+                return null;
+            });
+    }
+}
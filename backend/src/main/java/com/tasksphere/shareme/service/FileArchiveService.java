@@ -0,0 +1,141 @@
+package com.tasksphere.shareme.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.tasksphere.shareme.entity.ProjectDocument;
+import com.tasksphere.shareme.repository.TaskAttachmentRepository;
+import com.tasksphere.shareme.storage.FileStorage;
+
+/**
+ * Streams several stored files as one ZIP archive.
+ *
+ * Entries are copied from storage to the response through a small buffer, one
+ * at a time, so memory use does not depend on the number or size of files and
+ * the first bytes leave the server as soon as the first file is opened.
+ * Formats that are already compressed (images, video, office documents, ...)
+ * are written without compression since deflating them only costs CPU.
+ */
+@Service
+public class FileArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileArchiveService.class);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+        "jpg", "jpeg", "png", "gif", "webp",
+        "mp4", "avi", "mov", "wmv", "flv", "webm", "mkv", "mp3", "aac", "ogg",
+        "zip", "gz", "7z", "rar", "docx", "xlsx", "pptx", "pdf");
+
+    @Autowired
+    private TaskAttachmentRepository taskAttachmentRepository;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    /**
+     * Resolve the files of a task into archive entries (call before streaming starts)
+     */
+    public List<ArchiveEntry> getTaskAttachmentEntries(Long taskId) {
+        return taskAttachmentRepository.findByTaskIdOrderByUploadedAtDesc(taskId).stream()
+            .map(attachment -> new ArchiveEntry(attachment.getOriginalFilename(), attachment.getStoredFilename()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Turn project documents into archive entries
+     */
+    public List<ArchiveEntry> toArchiveEntries(List<ProjectDocument> documents) {
+        return documents.stream()
+            .map(document -> new ArchiveEntry(document.getName(), document.getFilePath()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Write the entries as a ZIP archive to the output stream
+     */
+    public void writeZip(List<ArchiveEntry> entries, OutputStream output) throws IOException {
+        Set<String> usedNames = new HashSet<>();
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        int written = 0;
+
+        try (ZipOutputStream zip = new ZipOutputStream(output)) {
+            for (ArchiveEntry entry : entries) {
+                InputStream content;
+                try {
+                    content = fileStorage.read(entry.getStorageKey());
+                } catch (IOException e) {
+                    // A missing file should not break the whole download
+                    logger.warn("Skipping {} in archive: {}", entry.getStorageKey(), e.getMessage());
+                    continue;
+                }
+
+                try (InputStream in = content) {
+                    String name = uniqueName(entry.getName(), usedNames);
+                    zip.setLevel(isCompressed(name) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                    zip.putNextEntry(new ZipEntry(name));
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        zip.write(buffer, 0, read);
+                    }
+                    zip.closeEntry();
+                    written++;
+                }
+            }
+        }
+        logger.debug("Streamed archive with {} of {} files", written, entries.size());
+    }
+
+    private boolean isCompressed(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Keep entry names flat and unique: "report.pdf", "report (2).pdf", ...
+     */
+    private String uniqueName(String name, Set<String> usedNames) {
+        String base = name == null || name.isBlank() ? "file" : name.replace('\\', '_').replace('/', '_');
+        String candidate = base;
+        int dot = base.lastIndexOf('.');
+        String stem = dot > 0 ? base.substring(0, dot) : base;
+        String extension = dot > 0 ? base.substring(dot) : "";
+        for (int copy = 2; !usedNames.add(candidate.toLowerCase(Locale.ROOT)); copy++) {
+            candidate = stem + " (" + copy + ")" + extension;
+        }
+        return candidate;
+    }
+
+    public static class ArchiveEntry {
+        private final String name;
+        private final String storageKey;
+
+        public ArchiveEntry(String name, String storageKey) {
+            this.name = name;
+            this.storageKey = storageKey;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getStorageKey() {
+            return storageKey;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.tasksphere.shareme.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tasksphere.shareme.entity.PendingFileDeletion;
+import com.tasksphere.shareme.repository.PendingFileDeletionRepository;
+import com.tasksphere.shareme.storage.FileStorage;
+
+/**
+ * Deletes the stored files recorded in the pending_file_deletions queue.
+ *
+ * Bulk deletes only enqueue storage keys inside their transaction, so they stay
+ * short no matter how many files are involved; the files are removed here in
+ * batches afterwards. Keys that keep failing are given up after a few attempts
+ * and left to the upload garbage collector.
+ */
+@Component
+public class FileDeletionWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileDeletionWorker.class);
+
+    @Autowired
+    private PendingFileDeletionRepository pendingFileDeletionRepository;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Value("${app.storage.deletions.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.storage.deletions.max-attempts:5}")
+    private int maxAttempts;
+
+    @Scheduled(fixedDelayString = "${app.storage.deletions.interval-ms:10000}")
+    public void processQueue() {
+        try {
+            int deleted = 0;
+            List<PendingFileDeletion> batch;
+            do {
+                batch = pendingFileDeletionRepository.findPending(maxAttempts, PageRequest.of(0, batchSize));
+                deleted += processBatch(batch);
+            } while (batch.size() == batchSize);
+
+            if (deleted > 0) {
+                logger.info("Deleted {} queued files", deleted);
+            }
+        } catch (Exception e) {
+            logger.error("Processing the file deletion queue failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private int processBatch(List<PendingFileDeletion> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> done = new ArrayList<>(batch.size());
+        List<Long> failed = new ArrayList<>();
+        for (PendingFileDeletion pending : batch) {
+            try {
+                fileStorage.delete(pending.getStorageKey());
+                done.add(pending.getId());
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Failed to delete queued file {} (attempt {}): {}",
+                    pending.getStorageKey(), pending.getAttempts() + 1, e.getMessage());
+                failed.add(pending.getId());
+            }
+        }
+
+        if (!done.isEmpty()) {
+            pendingFileDeletionRepository.deleteByIdIn(done);
+        }
+        if (!failed.isEmpty()) {
+            pendingFileDeletionRepository.incrementAttempts(failed);
+        }
+        return done.size();
+    }
+}
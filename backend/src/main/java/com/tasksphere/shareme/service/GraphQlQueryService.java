@@ -0,0 +1,137 @@
+package com.tasksphere.shareme.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tasksphere.shareme.dto.ProjectNode;
+import com.tasksphere.shareme.dto.TaskNode;
+import com.tasksphere.shareme.dto.TaskResponse;
+import com.tasksphere.shareme.dto.UserInfo;
+import com.tasksphere.shareme.entity.Task;
+import com.tasksphere.shareme.entity.User;
+import com.tasksphere.shareme.repository.ProjectRepository;
+import com.tasksphere.shareme.repository.TaskRepository;
+import com.tasksphere.shareme.repository.UserRepository;
+
+/**
+ * Queries behind the GraphQL API.
+ *
+ * Root queries apply the same access rules as the REST endpoints. The by-ids
+ * methods serve the data loaders and return plain projections keyed by id, so
+ * each nesting level of a GraphQL query is one statement however many parents
+ * it has. The project of a task is reduced to id, name and status, as in the
+ * REST task response, since a task can be visible to users who are not members
+ * of its project.
+ */
+@Service
+@Transactional(readOnly = true)
+public class GraphQlQueryService {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public List<ProjectNode> getProjects(Long userId) {
+        return projectRepository.findProjectNodesForUser(userId);
+    }
+
+    public Optional<ProjectNode> getProject(Long userId, Long projectId) {
+        return projectRepository.findProjectNodeForUser(userId, projectId);
+    }
+
+    public List<TaskNode> getTasks(Long userId, Task.TaskStatus status, Long projectId, int page, int size) {
+        return taskRepository.findTaskNodesForUser(userId, status, projectId, PageRequest.of(page, size));
+    }
+
+    public Optional<TaskNode> getTask(Long userId, Long taskId) {
+        return taskRepository.findTaskNodeForUser(userId, taskId);
+    }
+
+    public Map<Long, TaskResponse.ProjectInfo> getProjectInfosByIds(Collection<Long> projectIds) {
+        Map<Long, TaskResponse.ProjectInfo> projects = new HashMap<>();
+        for (ProjectNode project : projectRepository.findProjectNodesByIds(projectIds)) {
+            projects.put(project.getId(),
+                new TaskResponse.ProjectInfo(project.getId(), project.getName(), project.getStatus().toString()));
+        }
+        return projects;
+    }
+
+    /**
+     * Newest tasks of the given projects that the user can see, at most limit per
+     * project, grouped by project id
+     */
+    public Map<Long, List<TaskNode>> getTasksByProjectIds(Long userId, Collection<Long> projectIds, int limit) {
+        if (projectIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        String in = "(" + String.join(", ", Collections.nCopies(projectIds.size(), "?")) + ")";
+        List<Object> params = new ArrayList<>(projectIds);
+        params.add(userId);
+        params.add(userId);
+        params.add(userId);
+        params.add(limit);
+
+        Map<Long, List<TaskNode>> tasks = new HashMap<>();
+        for (TaskNode task : jdbcTemplate.query(
+                "SELECT * FROM (SELECT t.id, t.title, t.description, t.status, t.priority, t.created_at, t.updated_at, "
+                + "t.due_date, t.project_id, t.assignee_id, t.creator_id, "
+                + "ROW_NUMBER() OVER (PARTITION BY t.project_id ORDER BY t.created_at DESC, t.id DESC) AS position "
+                + "FROM tasks t JOIN projects p ON p.id = t.project_id WHERE t.project_id IN " + in
+                + " AND (t.assignee_id = ? OR t.creator_id = ? OR p.owner_id = ?)) ranked "
+                + "WHERE position <= ? ORDER BY project_id, position",
+                this::mapTaskNode, params.toArray())) {
+            tasks.computeIfAbsent(task.getProjectId(), id -> new ArrayList<>()).add(task);
+        }
+        return tasks;
+    }
+
+    public Map<Long, UserInfo> getUsersByIds(Collection<Long> userIds) {
+        Map<Long, UserInfo> users = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            users.put(user.getId(), new UserInfo(
+                user.getId(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getEmail(),
+                user.getRole().toString()));
+        }
+        return users;
+    }
+
+    private TaskNode mapTaskNode(ResultSet rs, int rowNum) throws SQLException {
+        return new TaskNode(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("description"),
+            Task.TaskStatus.valueOf(rs.getString("status")),
+            Task.TaskPriority.valueOf(rs.getString("priority")),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getObject("due_date", LocalDateTime.class),
+            rs.getLong("project_id"),
+            rs.getObject("assignee_id", Long.class),
+            rs.getLong("creator_id"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.tasksphere.shareme.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tasksphere.shareme.entity.OutboxEvent;
+import com.tasksphere.shareme.repository.OutboxEventRepository;
+
+/**
+ * Delivers outbox events to the subscribers, one batch per transaction.
+ *
+ * The cursor row in outbox_relay_state is locked with SKIP LOCKED, so with
+ * several application instances only one relays at a time and the others find
+ * nothing to do. Events are read after the cursor in id order up to the safe
+ * watermark of the change numbers, which event ids are taken from, so an event
+ * committed late with a lower id is not passed over. They are handed to every
+ * subscriber and the cursor is advanced, all in the same transaction.
+ */
+@Service
+@Transactional
+public class OutboxRelay {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    /**
+     * Deliver up to limit events after the cursor; returns how many were delivered
+     * (0 when another instance holds the cursor)
+     */
+    public int relayBatch(int limit, List<OutboxSubscriber> subscribers) {
+        Long relayedThrough = lockCursor();
+        if (relayedThrough == null) {
+            return 0;
+        }
+        List<OutboxEvent> events = outboxEventRepository.findAfter(relayedThrough, safeSeq(), PageRequest.of(0, limit));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        for (OutboxSubscriber subscriber : subscribers) {
+            subscriber.onEvents(events);
+        }
+        advanceCursor(events.get(events.size() - 1).getId());
+        return events.size();
+    }
+
+    /**
+     * Move the cursor past the next event without delivering it; returns its id,
+     * or null when there is none or another instance holds the cursor
+     */
+    public Long skipNext() {
+        Long relayedThrough = lockCursor();
+        if (relayedThrough == null) {
+            return null;
+        }
+        List<OutboxEvent> events = outboxEventRepository.findAfter(relayedThrough, safeSeq(), PageRequest.of(0, 1));
+        if (events.isEmpty()) {
+            return null;
+        }
+        advanceCursor(events.get(0).getId());
+        return events.get(0).getId();
+    }
+
+    /**
+     * Delete delivered events created before the cutoff
+     */
+    public int pruneRelayed(LocalDateTime cutoff) {
+        Long relayedThrough = jdbcTemplate.queryForObject(
+            "SELECT relayed_through FROM outbox_relay_state WHERE id = 1", Long.class);
+        return outboxEventRepository.deleteRelayedBefore(relayedThrough, cutoff);
+    }
+
+    // First plain read of the transaction, so the events are read from the same snapshot
+    private long safeSeq() {
+        return changeSequenceService.readState().getSafeSeq();
+    }
+
+    private Long lockCursor() {
+        List<Long> cursor = jdbcTemplate.queryForList(
+            "SELECT relayed_through FROM outbox_relay_state WHERE id = 1 FOR UPDATE SKIP LOCKED", Long.class);
+        return cursor.isEmpty() ? null : cursor.get(0);
+    }
+
+    private void advanceCursor(long relayedThrough) {
+        jdbcTemplate.update("UPDATE outbox_relay_state SET relayed_through = ? WHERE id = 1", relayedThrough);
+    }
+}
@@ -0,0 +1,154 @@
+package com.tasksphere.shareme.service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Drains the outbox on a single background thread.
+ *
+ * The thread polls at a fixed delay and is also woken right after a
+ * transaction that published events commits, so subscribers usually run
+ * within milliseconds of the change. It relays batches until the outbox is
+ * empty. When a batch fails it retries one event at a time to isolate the
+ * failing event; an event that keeps failing for max-attempts polls is logged
+ * and skipped, so that one bad event cannot stall all later ones.
+ */
+@Component
+public class OutboxRelayWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelayWorker.class);
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired(required = false)
+    private List<OutboxSubscriber> subscribers = Collections.emptyList();
+
+    @Value("${app.outbox.relay-enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retention-hours:72}")
+    private int retentionHours;
+
+    private ScheduledExecutorService executor;
+
+    private final AtomicBoolean wakeQueued = new AtomicBoolean();
+
+    // Only touched by the relay thread
+    private int failedAttempts;
+
+    @PostConstruct
+    public void startRelay() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        outboxService.setCommitListener(this::wake);
+    }
+
+    @PreDestroy
+    public void stopRelay() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Scheduled(cron = "${app.outbox.prune-cron:0 45 3 * * *}")
+    public void pruneRelayedEvents() {
+        try {
+            int deleted = outboxRelay.pruneRelayed(LocalDateTime.now().minusHours(retentionHours));
+            if (deleted > 0) {
+                logger.info("Pruned {} relayed outbox events", deleted);
+            }
+        } catch (Exception e) {
+            logger.error("Pruning outbox events failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Schedule a drain now; wakes arriving while one is queued are merged into it
+     */
+    private void wake() {
+        if (!wakeQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                wakeQueued.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the events are relayed after the restart
+            wakeQueued.set(false);
+        }
+    }
+
+    private void drain() {
+        int limit = batchSize;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                int relayed = outboxRelay.relayBatch(limit, subscribers);
+                failedAttempts = 0;
+                if (relayed < limit) {
+                    return;
+                }
+                limit = batchSize;
+            } catch (Exception e) {
+                if (limit > 1) {
+                    // Retry one event at a time to find the one that fails
+                    limit = 1;
+                    continue;
+                }
+                if (++failedAttempts < maxAttempts) {
+                    logger.warn("Relaying outbox event failed (attempt {} of {}): {}",
+                        failedAttempts, maxAttempts, e.getMessage());
+                    return;
+                }
+                failedAttempts = 0;
+                skipFailedEvent(e);
+            }
+        }
+    }
+
+    private void skipFailedEvent(Exception cause) {
+        try {
+            Long skipped = outboxRelay.skipNext();
+            logger.error("Skipped outbox event {} after {} failed attempts", skipped, maxAttempts, cause);
+        } catch (Exception e) {
+            logger.error("Skipping a failed outbox event failed: {}", e.getMessage(), e);
+        }
+    }
+}
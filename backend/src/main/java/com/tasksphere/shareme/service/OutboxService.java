@@ -0,0 +1,154 @@
+package com.tasksphere.shareme.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasksphere.shareme.entity.OutboxEvent;
+import com.tasksphere.shareme.entity.Project;
+import com.tasksphere.shareme.entity.Task;
+
+/**
+ * Writes outbox events in the transaction of the change they describe.
+ *
+ * An event therefore exists exactly when its change committed, whatever crashes
+ * in between, and nothing has to happen on the request path besides one insert.
+ * Each event takes a change sequence number as its id, so OutboxRelay can
+ * deliver them with a simple cursor that stays below the numbers still held by
+ * open transactions. Entity
+ * changes are published by OutboxListener; set-based statements (archiving,
+ * project deletion) publish theirs with one INSERT ... SELECT.
+ *
+ * Like ChangeSequenceService this uses plain JDBC, because most calls come from
+ * entity callbacks during a flush.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    private static final String INSERT_EVENTS =
+        "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, id) ";
+
+    // The members of taskPayload and projectPayload, built by MySQL for set-based statements
+    private static final String TASK_PAYLOAD_SQL =
+        "JSON_OBJECT('title', t.title, 'status', t.status, 'priority', t.priority, 'projectId', t.project_id, "
+        + "'assigneeId', t.assignee_id, 'creatorId', t.creator_id)";
+    private static final String PROJECT_PAYLOAD_SQL =
+        "JSON_OBJECT('name', p.name, 'status', p.status, 'priority', p.priority, 'ownerId', p.owner_id)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile Runnable commitListener;
+
+    /**
+     * Called after every transaction that published events commits; set by the relay
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void setCommitListener(Runnable commitListener) {
+        this.commitListener = commitListener;
+    }
+
+    public void publishTaskEvent(String eventType, Task task) {
+        publish(OutboxEvent.TASK, task.getId(), eventType, taskPayload(task));
+    }
+
+    public void publishProjectEvent(String eventType, Project project) {
+        publish(OutboxEvent.PROJECT, project.getId(), eventType, projectPayload(project));
+    }
+
+    /**
+     * Publish one event for every task matching the condition on tasks t; call it
+     * while the rows still exist (before a delete, after an insert)
+     */
+    public int publishTaskEvents(String eventType, String condition, Object... args) {
+        return insertEvents("SELECT '" + OutboxEvent.TASK + "' AS aggregate_type, t.id AS aggregate_id, '" + eventType
+            + "' AS event_type, " + TASK_PAYLOAD_SQL + " AS payload, ? + ROW_NUMBER() OVER (ORDER BY t.id) AS id "
+            + "FROM tasks t WHERE " + condition, args);
+    }
+
+    /**
+     * Publish one event for every project matching the condition on projects p
+     */
+    public int publishProjectEvents(String eventType, String condition, Object... args) {
+        return insertEvents("SELECT '" + OutboxEvent.PROJECT + "' AS aggregate_type, p.id AS aggregate_id, '" + eventType
+            + "' AS event_type, " + PROJECT_PAYLOAD_SQL + " AS payload, ? + ROW_NUMBER() OVER (ORDER BY p.id) AS id "
+            + "FROM projects p WHERE " + condition, args);
+    }
+
+    public void publish(String aggregateType, Long aggregateId, String eventType, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+        jdbcTemplate.update(INSERT_EVENTS + "VALUES (?, ?, ?, ?, ?)",
+            aggregateType, aggregateId, eventType, json, changeSequenceService.next());
+        notifyAfterCommit();
+    }
+
+    private int insertEvents(String select, Object... args) {
+        int rows = changeSequenceService.insertNumbered(INSERT_EVENTS, select, args);
+        if (rows > 0) {
+            notifyAfterCommit();
+        }
+        return rows;
+    }
+
+    private static Map<String, Object> taskPayload(Task task) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("title", task.getTitle());
+        payload.put("status", task.getStatus().name());
+        payload.put("priority", task.getPriority().name());
+        payload.put("projectId", task.getProject().getId());
+        payload.put("assigneeId", task.getAssignee() != null ? task.getAssignee().getId() : null);
+        payload.put("creatorId", task.getCreator().getId());
+        return payload;
+    }
+
+    private static Map<String, Object> projectPayload(Project project) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("name", project.getName());
+        payload.put("status", project.getStatus().name());
+        payload.put("priority", project.getPriority().name());
+        payload.put("ownerId", project.getOwner().getId());
+        return payload;
+    }
+
+    /**
+     * Wake the relay once the transaction commits; registered once per transaction
+     * however many events it publishes
+     */
+    private void notifyAfterCommit() {
+        Runnable listener = commitListener;
+        if (listener == null || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OutboxService.this);
+                if (status == STATUS_COMMITTED) {
+                    listener.run();
+                }
+            }
+        });
+    }
+}
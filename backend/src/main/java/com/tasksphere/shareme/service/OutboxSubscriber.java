@@ -0,0 +1,21 @@
+package com.tasksphere.shareme.service;
+
+import java.util.List;
+
+import com.tasksphere.shareme.entity.OutboxEvent;
+
+/**
+ * Receives outbox events from OutboxRelay, in id order and in batches.
+ *
+ * A batch is delivered inside the relay's transaction: rows a subscriber writes
+ * commit together with the advanced cursor, so derived tables see each event
+ * exactly once. After a failure or a crash the batch is delivered again, so
+ * effects outside the database must tolerate repeats. Throwing rolls the batch
+ * back for all subscribers; it is retried on the next poll.
+ *
+ * Subscribers are Spring beans and are picked up automatically.
+ */
+public interface OutboxSubscriber {
+
+    void onEvents(List<OutboxEvent> events);
+}
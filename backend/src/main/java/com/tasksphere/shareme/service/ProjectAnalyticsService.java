@@ -0,0 +1,227 @@
+package com.tasksphere.shareme.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tasksphere.shareme.dto.BurndownPoint;
+import com.tasksphere.shareme.dto.CumulativeFlowPoint;
+import com.tasksphere.shareme.dto.CycleTimePoint;
+import com.tasksphere.shareme.entity.Task;
+import com.tasksphere.shareme.exception.ProjectException;
+
+/**
+ * Burndown, cumulative-flow and cycle-time series of a project.
+ *
+ * Everything is read from the rollups kept by TaskFlowRollup. The status counts
+ * at the start of a chart are the sum of the monthly counters before its first
+ * month plus the daily counters of that month up to the first day, so the cost
+ * depends on the length of the chart and not on the age of the project. The
+ * series trail the tasks by the outbox relay delay, normally well under a second.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProjectAnalyticsService {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int MAX_RANGE_DAYS = 1096;
+
+    private static final int TODO = Task.TaskStatus.TODO.ordinal();
+    private static final int IN_PROGRESS = Task.TaskStatus.IN_PROGRESS.ordinal();
+    private static final int COMPLETED = Task.TaskStatus.COMPLETED.ordinal();
+    private static final int CANCELLED = Task.TaskStatus.CANCELLED.ordinal();
+    private static final int STATUS_COUNT = Task.TaskStatus.values().length;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Tasks per status at the end of each day from..to (both inclusive)
+     */
+    public List<CumulativeFlowPoint> getCumulativeFlow(Long projectId, Long userId, LocalDate from, LocalDate to,
+                                                      Long assigneeId) {
+        checkAccess(projectId, userId);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = checkRange(from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1), end);
+
+        List<CumulativeFlowPoint> points = new ArrayList<>();
+        walkDays(projectId, start, end, assigneeId, (day, counts, moves) -> points.add(new CumulativeFlowPoint(
+            day, counts[TODO], counts[IN_PROGRESS], counts[COMPLETED], counts[CANCELLED])));
+        return points;
+    }
+
+    /**
+     * Remaining, completed and total work at the end of each day, with the number completed that day
+     */
+    public List<BurndownPoint> getBurndown(Long projectId, Long userId, LocalDate from, LocalDate to, Long assigneeId) {
+        checkAccess(projectId, userId);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = checkRange(from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1), end);
+
+        List<BurndownPoint> points = new ArrayList<>();
+        walkDays(projectId, start, end, assigneeId, (day, counts, moves) -> points.add(new BurndownPoint(
+            day, counts[TODO] + counts[IN_PROGRESS], counts[COMPLETED], moves != null ? moves[COMPLETED][0] : 0)));
+        return points;
+    }
+
+    /**
+     * Completions with average cycle and lead time per day, week (from Monday) or month
+     */
+    public List<CycleTimePoint> getCycleTime(Long projectId, Long userId, LocalDate from, LocalDate to,
+                                             Long assigneeId, String interval) {
+        checkAccess(projectId, userId);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = checkRange(from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1), end);
+        String period = interval == null ? "day" : interval.toLowerCase();
+        if (!period.equals("day") && !period.equals("week") && !period.equals("month")) {
+            throw new ProjectException("Invalid interval: " + interval + ". Use day, week or month", HttpStatus.BAD_REQUEST);
+        }
+
+        // completed, started_completed, cycle_seconds, lead_seconds per period
+        Map<LocalDate, long[]> sums = new LinkedHashMap<>();
+        for (LocalDate day = periodStart(start, period); !day.isAfter(end); day = nextPeriod(day, period)) {
+            sums.put(day, new long[4]);
+        }
+        List<Object> params = new ArrayList<>(List.of(projectId, start, end));
+        String assigneeFilter = assigneeFilter(assigneeId, params);
+        jdbcTemplate.query("SELECT day, SUM(completed), SUM(started_completed), SUM(cycle_seconds), SUM(lead_seconds) "
+            + "FROM task_cycle_daily WHERE project_id = ? AND day BETWEEN ? AND ?" + assigneeFilter + " GROUP BY day",
+            rs -> {
+                long[] periodSums = sums.get(periodStart(rs.getObject(1, LocalDate.class), period));
+                for (int i = 0; i < 4; i++) {
+                    periodSums[i] += rs.getLong(i + 2);
+                }
+            },
+            params.toArray());
+
+        List<CycleTimePoint> points = new ArrayList<>();
+        sums.forEach((day, s) -> points.add(new CycleTimePoint(day, s[0],
+            s[1] > 0 ? s[2] / 3600.0 / s[1] : null,
+            s[0] > 0 ? s[3] / 3600.0 / s[0] : null)));
+        return points;
+    }
+
+    private interface DayVisitor {
+        /** counts: tasks per status at the end of the day; moves: [status][entered, exited] that day, or null */
+        void visit(LocalDate day, long[] counts, long[][] moves);
+    }
+
+    private void walkDays(Long projectId, LocalDate from, LocalDate to, Long assigneeId, DayVisitor visitor) {
+        long[] counts = openingCounts(projectId, from, assigneeId);
+
+        Map<LocalDate, long[][]> movesByDay = new HashMap<>();
+        List<Object> params = new ArrayList<>(List.of(projectId, from, to));
+        String assigneeFilter = assigneeFilter(assigneeId, params);
+        jdbcTemplate.query("SELECT day, status, SUM(entered), SUM(exited) FROM task_flow_daily "
+            + "WHERE project_id = ? AND day BETWEEN ? AND ?" + assigneeFilter + " GROUP BY day, status",
+            rs -> {
+                long[][] moves = movesByDay.computeIfAbsent(rs.getObject(1, LocalDate.class),
+                    day -> new long[STATUS_COUNT][2]);
+                int status = Task.TaskStatus.valueOf(rs.getString(2)).ordinal();
+                moves[status][0] = rs.getLong(3);
+                moves[status][1] = rs.getLong(4);
+            },
+            params.toArray());
+
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            long[][] moves = movesByDay.get(day);
+            if (moves != null) {
+                for (int status = 0; status < STATUS_COUNT; status++) {
+                    counts[status] += moves[status][0] - moves[status][1];
+                }
+            }
+            visitor.visit(day, counts, moves);
+        }
+    }
+
+    /**
+     * Tasks per status at the start of the day: whole months from the monthly
+     * counters, the rest of the month from the daily ones
+     */
+    private long[] openingCounts(Long projectId, LocalDate day, Long assigneeId) {
+        LocalDate monthStart = day.withDayOfMonth(1);
+        List<Object> params = new ArrayList<>(List.of(projectId, monthStart));
+        String monthlyFilter = assigneeFilter(assigneeId, params);
+        params.addAll(List.of(projectId, monthStart, day));
+        String dailyFilter = assigneeFilter(assigneeId, params);
+
+        long[] counts = new long[STATUS_COUNT];
+        jdbcTemplate.query("SELECT status, SUM(entered - exited) FROM ("
+            + "SELECT status, entered, exited FROM task_flow_monthly WHERE project_id = ? AND month < ?" + monthlyFilter
+            + " UNION ALL "
+            + "SELECT status, entered, exited FROM task_flow_daily WHERE project_id = ? AND day >= ? AND day < ?"
+            + dailyFilter + ") f GROUP BY status",
+            rs -> {
+                counts[Task.TaskStatus.valueOf(rs.getString(1)).ordinal()] = rs.getLong(2);
+            },
+            params.toArray());
+        return counts;
+    }
+
+    private static String assigneeFilter(Long assigneeId, List<Object> params) {
+        if (assigneeId == null) {
+            return "";
+        }
+        params.add(assigneeId);
+        return " AND assignee_id = ?";
+    }
+
+    private static LocalDate checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ProjectException("from must not be after to", HttpStatus.BAD_REQUEST);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new ProjectException("Date range cannot exceed " + MAX_RANGE_DAYS + " days", HttpStatus.BAD_REQUEST);
+        }
+        return from;
+    }
+
+    private static LocalDate periodStart(LocalDate day, String period) {
+        switch (period) {
+            case "week":
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "month":
+                return day.withDayOfMonth(1);
+            default:
+                return day;
+        }
+    }
+
+    private static LocalDate nextPeriod(LocalDate periodStart, String period) {
+        switch (period) {
+            case "week":
+                return periodStart.plusWeeks(1);
+            case "month":
+                return periodStart.plusMonths(1);
+            default:
+                return periodStart.plusDays(1);
+        }
+    }
+
+    private void checkAccess(Long projectId, Long userId) {
+        List<Long> owners = jdbcTemplate.queryForList("SELECT owner_id FROM projects WHERE id = ?", Long.class, projectId);
+        if (owners.isEmpty()) {
+            throw new ProjectException("Project not found", HttpStatus.NOT_FOUND);
+        }
+        if (owners.get(0).equals(userId)) {
+            return;
+        }
+        Integer memberships = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM project_members WHERE project_id = ? AND user_id = ?", Integer.class, projectId, userId);
+        if (memberships == null || memberships == 0) {
+            throw new ProjectException("Access denied to project", HttpStatus.FORBIDDEN);
+        }
+    }
+}
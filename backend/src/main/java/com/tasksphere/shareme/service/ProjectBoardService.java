@@ -0,0 +1,102 @@
+package com.tasksphere.shareme.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tasksphere.shareme.dto.BoardResponse;
+import com.tasksphere.shareme.dto.UserInfo;
+import com.tasksphere.shareme.entity.Task;
+import com.tasksphere.shareme.exception.ProjectException;
+
+/**
+ * The board of a project: the first tasks of every status column and the size
+ * of each column.
+ *
+ * All columns come from one query. A window function numbers the tasks of each
+ * status in the manual order and counts them, reading only
+ * idx_tasks_project_status_rank; the titles, versions and assignees are then
+ * joined for the numbered rows that fit on the board. The project owner sees
+ * every task, members the tasks they created or are assigned to.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProjectBoardService {
+
+    private static final String BOARD_QUERY =
+        "SELECT r.id, t.title, r.status, t.priority, t.due_date, t.updated_at, t.version, t.sort_rank, r.column_total, "
+        + "u.id, u.first_name, u.last_name, u.email, u.role "
+        + "FROM (SELECT id, status, "
+        + "ROW_NUMBER() OVER (PARTITION BY status ORDER BY sort_rank, id) AS position, "
+        + "COUNT(*) OVER (PARTITION BY status) AS column_total "
+        + "FROM tasks WHERE project_id = ?%s) r "
+        + "JOIN tasks t ON t.id = r.id "
+        + "LEFT JOIN users u ON u.id = t.assignee_id "
+        + "WHERE r.position <= ? "
+        + "ORDER BY r.status, r.position";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Up to limit tasks per status in the manual order
+     */
+    public BoardResponse getBoard(Long projectId, Long userId, int limit) {
+        boolean owner = checkAccess(projectId, userId);
+
+        Map<Task.TaskStatus, BoardResponse.Column> columns = new EnumMap<>(Task.TaskStatus.class);
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            columns.put(status, new BoardResponse.Column(status.name(), 0, new ArrayList<>()));
+        }
+
+        String sql = String.format(BOARD_QUERY, owner ? "" : " AND (creator_id = ? OR assignee_id = ?)");
+        Object[] args = owner
+            ? new Object[] { projectId, limit }
+            : new Object[] { projectId, userId, userId, limit };
+        jdbcTemplate.query(sql, rs -> {
+            BoardResponse.Column column = columns.get(Task.TaskStatus.valueOf(rs.getString(3)));
+            column.setTotal(rs.getLong(9));
+            long assigneeId = rs.getLong(10);
+            UserInfo assignee = rs.wasNull() ? null
+                : new UserInfo(assigneeId, rs.getString(11), rs.getString(12), rs.getString(13), rs.getString(14));
+            column.getTasks().add(new BoardResponse.Card(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(4),
+                rs.getObject(5, LocalDateTime.class),
+                rs.getObject(6, LocalDateTime.class),
+                rs.getLong(7),
+                rs.getString(8),
+                assignee));
+        }, args);
+
+        return new BoardResponse(projectId, new ArrayList<>(columns.values()));
+    }
+
+    /**
+     * Whether the user owns the project; members pass, anyone else is refused
+     */
+    private boolean checkAccess(Long projectId, Long userId) {
+        List<Long> owners = jdbcTemplate.queryForList("SELECT owner_id FROM projects WHERE id = ?", Long.class, projectId);
+        if (owners.isEmpty()) {
+            throw new ProjectException("Project not found", HttpStatus.NOT_FOUND);
+        }
+        if (owners.get(0).equals(userId)) {
+            return true;
+        }
+        Integer memberships = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM project_members WHERE project_id = ? AND user_id = ?", Integer.class, projectId, userId);
+        if (memberships == null || memberships == 0) {
+            throw new ProjectException("Access denied to project", HttpStatus.FORBIDDEN);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,56 @@
+package com.tasksphere.shareme.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Write lock of a project, held until the calling transaction ends.
+ *
+ * Writers that read task rows of a project with a locking read, or change
+ * several of them at once (rank keys, the subtask tree, archiving, deletion),
+ * lock the project row first and the task rows after it, so they serialize per
+ * project instead of deadlocking on each other's rows. Several projects are
+ * locked in id order.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class ProjectLockService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void lock(Long projectId) {
+        jdbcTemplate.queryForList("SELECT id FROM projects WHERE id = ? FOR UPDATE", Long.class, projectId);
+    }
+
+    public void lockAll(Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        String in = "(" + String.join(", ", Collections.nCopies(projectIds.size(), "?")) + ")";
+        jdbcTemplate.queryForList("SELECT id FROM projects WHERE id IN " + in + " ORDER BY id FOR UPDATE", Long.class,
+            projectIds.toArray());
+    }
+
+    /**
+     * Lock the projects of some tasks; tasks never change project, so their
+     * project ids are read without a lock
+     */
+    public void lockProjectsOfTasks(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        String in = "(" + String.join(", ", Collections.nCopies(taskIds.size(), "?")) + ")";
+        List<Long> projectIds = new ArrayList<>(jdbcTemplate.queryForList(
+            "SELECT DISTINCT project_id FROM tasks WHERE id IN " + in, Long.class, taskIds.toArray()));
+        lockAll(projectIds);
+    }
+}
@@ -1,13 +1,20 @@
 package com.tasksphere.shareme.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,21 +24,39 @@ import com.tasksphere.shareme.dto.CreateProjectBasicRequest;
 import com.tasksphere.shareme.dto.CreateProjectRequest;
 import com.tasksphere.shareme.dto.ProjectResponse;
 import com.tasksphere.shareme.dto.UserInfo;
+import com.tasksphere.shareme.entity.OutboxEvent;
 import com.tasksphere.shareme.entity.Priority;
 import com.tasksphere.shareme.entity.Project;
 import com.tasksphere.shareme.entity.ProjectDocument;
 import com.tasksphere.shareme.entity.Task;
 import com.tasksphere.shareme.entity.User;
 import com.tasksphere.shareme.exception.ProjectException;
+import com.tasksphere.shareme.repository.PendingFileDeletionRepository;
+import com.tasksphere.shareme.repository.ProjectDocumentRepository;
 import com.tasksphere.shareme.repository.ProjectRepository;
+import com.tasksphere.shareme.repository.TaskNoteRepository;
 import com.tasksphere.shareme.repository.TaskRepository;
 import com.tasksphere.shareme.repository.UserRepository;
+import com.tasksphere.shareme.util.ETags;
+import com.tasksphere.shareme.util.FieldSelection;
+import com.tasksphere.shareme.util.MergePatch;
+
+import jakarta.persistence.Tuple;
 
 @Service
 @Transactional
 public class ProjectService {
     private static final Logger logger = LoggerFactory.getLogger(ProjectService.class);
 
+    /** Values accepted by fields= and include= on the project list */
+    public static final Set<String> PROJECT_FIELDS = FieldSelection.names(
+            "id", "name", "description", "status", "owner", "createdAt", "updatedAt", "deadline", "version");
+    public static final Set<String> PROJECT_INCLUDES = FieldSelection.names("members", "taskCounts");
+
+    /** Members accepted by PATCH /api/projects/{id} */
+    public static final Set<String> PROJECT_PATCH_FIELDS = FieldSelection.names(
+            "name", "description", "priority", "status", "deadline", "version");
+
     @Autowired
     private ProjectRepository projectRepository;
 
@@ -44,13 +69,141 @@ public class ProjectService {
     @Autowired
     private DocumentStorageService documentStorageService;
 
+    @Autowired
+    private ProjectDocumentRepository projectDocumentRepository;
+
+    @Autowired
+    private PendingFileDeletionRepository pendingFileDeletionRepository;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private ProjectLockService projectLockService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ActivityLog activityLog;
+
+    @Autowired
+    private TaskNoteRepository taskNoteRepository;
+
+    @Autowired
+    private TaskNoteTagIndex taskNoteTagIndex;
+
     public List<ProjectResponse> getUserProjects(Long userId) {
-        List<Project> projects = projectRepository.findAllUserProjects(userId);
+        return getUserProjects(userId, true, true);
+    }
+
+    /**
+     * Get the user's projects; members and task counts are loaded for all projects
+     * in one query each, or not at all
+     */
+    public List<ProjectResponse> getUserProjects(Long userId, boolean includeMembers, boolean includeTaskCounts) {
+        return toProjectResponses(projectRepository.findAllUserProjects(userId), includeMembers, includeTaskCounts);
+    }
+
+    List<ProjectResponse> toProjectResponses(List<Project> projects, boolean includeMembers, boolean includeTaskCounts) {
+        List<Long> projectIds = projects.stream().map(Project::getId).collect(Collectors.toList());
+        Map<Long, List<UserInfo>> members = includeMembers ? getMembersByProjectIds(projectIds) : null;
+        Map<Long, Map<Task.TaskStatus, Long>> taskCounts = includeTaskCounts ? countTasks(projectIds) : null;
+
         return projects.stream()
-                .map(this::convertToProjectResponse)
+                .map(project -> {
+                    ProjectResponse response = convertToProjectResponse(project, false);
+                    if (members != null) {
+                        response.setMembers(members.getOrDefault(project.getId(), new ArrayList<>()));
+                    }
+                    if (taskCounts != null) {
+                        Map<Task.TaskStatus, Long> counts = taskCounts.getOrDefault(project.getId(), Map.of());
+                        response.setTotalTasks((int) counts.values().stream().mapToLong(Long::longValue).sum());
+                        response.setCompletedTasks(counts.getOrDefault(Task.TaskStatus.COMPLETED, 0L).intValue());
+                        response.setInProgressTasks(counts.getOrDefault(Task.TaskStatus.IN_PROGRESS, 0L).intValue());
+                    }
+                    return response;
+                })
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get the user's projects with only the selected fields; the owner is only joined
+     * and members and task counts only queried when requested
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUserProjectFields(Long userId, FieldSelection selection) {
+        List<Tuple> rows = projectRepository.findUserProjectFields(userId, selection.getFields());
+        List<Long> projectIds = rows.stream().map(row -> row.get("id", Long.class)).collect(Collectors.toList());
+        Map<Long, List<UserInfo>> members = selection.hasInclude("members") ? getMembersByProjectIds(projectIds) : null;
+        Map<Long, Map<Task.TaskStatus, Long>> taskCounts = selection.hasInclude("taskCounts") ? countTasks(projectIds) : null;
+
+        List<Map<String, Object>> projects = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Long projectId = row.get("id", Long.class);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", projectId);
+            for (String field : selection.getFields()) {
+                if ("id".equals(field)) {
+                    continue;
+                }
+                if ("owner".equals(field)) {
+                    item.put("owner", new UserInfo(
+                            row.get("owner_id", Long.class),
+                            row.get("owner_firstName", String.class),
+                            row.get("owner_lastName", String.class),
+                            row.get("owner_email", String.class),
+                            String.valueOf(row.get("owner_role"))));
+                } else {
+                    item.put(field, row.get(field));
+                }
+            }
+            if (members != null) {
+                item.put("members", members.getOrDefault(projectId, new ArrayList<>()));
+            }
+            if (taskCounts != null) {
+                Map<Task.TaskStatus, Long> counts = taskCounts.getOrDefault(projectId, Map.of());
+                item.put("totalTasks", counts.values().stream().mapToLong(Long::longValue).sum());
+                item.put("completedTasks", counts.getOrDefault(Task.TaskStatus.COMPLETED, 0L));
+                item.put("inProgressTasks", counts.getOrDefault(Task.TaskStatus.IN_PROGRESS, 0L));
+            }
+            projects.add(item);
+        }
+        return projects;
+    }
+
+    /**
+     * Get the members of the given projects, grouped by project id
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<UserInfo>> getMembersByProjectIds(Collection<Long> projectIds) {
+        Map<Long, List<UserInfo>> members = new HashMap<>();
+        if (projectIds.isEmpty()) {
+            return members;
+        }
+        for (Object[] row : projectRepository.findMembersByProjectIds(projectIds)) {
+            User member = (User) row[1];
+            members.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(new UserInfo(
+                    member.getId(),
+                    member.getFirstName(),
+                    member.getLastName(),
+                    member.getEmail(),
+                    member.getRole().toString()));
+        }
+        return members;
+    }
+
+    private Map<Long, Map<Task.TaskStatus, Long>> countTasks(List<Long> projectIds) {
+        Map<Long, Map<Task.TaskStatus, Long>> counts = new HashMap<>();
+        if (projectIds.isEmpty()) {
+            return counts;
+        }
+        for (Object[] row : taskRepository.countTasksByProjectIdsAndStatus(projectIds)) {
+            counts.computeIfAbsent((Long) row[0], id -> new HashMap<>()).put((Task.TaskStatus) row[1], (Long) row[2]);
+        }
+        return counts;
+    }
+
     public ProjectResponse createProject(CreateProjectBasicRequest request, Long ownerId) {
         logger.debug("Creating project with basic details - name: {}, priority: {}, description length: {}", 
             request.getName(), 
@@ -102,6 +255,9 @@ public class ProjectService {
         try {
             Project savedProject = projectRepository.save(project);
             logger.info("Successfully created project with ID: {}", savedProject.getId());
+            Map<String, Object> created = activityFields(savedProject);
+            created.remove("description");
+            activityLog.record(ownerId, savedProject.getId(), null, ActivityLog.PROJECT_CREATED, created);
             return convertToProjectResponse(savedProject);
         } catch (Exception e) {
             logger.error("Failed to create project with name: {}", request.getName(), e);
@@ -149,6 +305,20 @@ public class ProjectService {
         }
     }
 
+    /**
+     * ETag of GET /api/projects/{id} from a version lookup; null when the project
+     * is missing or not accessible
+     */
+    @Transactional(readOnly = true)
+    public String getProjectETag(Long projectId, Long userId) {
+        List<Object[]> versions = projectRepository.findVersionForUser(userId, projectId);
+        if (versions.isEmpty()) {
+            return null;
+        }
+        Object[] version = versions.get(0);
+        return ETags.of("project", projectId, version[0], version[1], version[2]);
+    }
+
     public ProjectResponse getProjectById(Long projectId, Long userId) {
         Optional<Project> projectOpt = projectRepository.findById(projectId);
         if (projectOpt.isEmpty()) {
@@ -168,6 +338,23 @@ public class ProjectService {
         return convertToProjectResponse(project);
     }
 
+    /**
+     * Get the documents of a project the user owns or is a member of
+     */
+    @Transactional(readOnly = true)
+    public List<ProjectDocument> getProjectDocuments(Long projectId, Long userId) {
+        Project project = projectRepository.findById(projectId)
+            .orElseThrow(() -> new ProjectException("Project not found", HttpStatus.NOT_FOUND));
+
+        boolean hasAccess = project.getOwner().getId().equals(userId) ||
+                project.getMembers().stream().anyMatch(member -> member.getId().equals(userId));
+        if (!hasAccess) {
+            throw new ProjectException("Access denied to project", HttpStatus.FORBIDDEN);
+        }
+
+        return projectDocumentRepository.findByProjectIdOrderByUploadedAtAsc(projectId);
+    }
+
     public ProjectResponse updateProject(Long projectId, CreateProjectRequest request, Long userId) {
         Optional<Project> projectOpt = projectRepository.findById(projectId);
         if (projectOpt.isEmpty()) {
@@ -180,8 +367,11 @@ public class ProjectService {
         if (!project.getOwner().getId().equals(userId)) {
             throw new ProjectException("Only project owner can update the project", HttpStatus.FORBIDDEN);
         }
+        checkVersion(project, request.getVersion());
+        Map<String, Object> before = activityFields(project);
 
         try {
+            // Values that did not change are left out of the UPDATE
             project.setName(request.getName());
             project.setDescription(request.getDescription());
             
@@ -197,13 +387,104 @@ public class ProjectService {
                 project.setDeadline(null);
             }
 
-            Project savedProject = projectRepository.save(project);
-            return convertToProjectResponse(savedProject);
+            return convertToProjectResponse(saveAndRecord(project, before, userId));
+        } catch (ProjectException e) {
+            throw e;
         } catch (Exception e) {
             throw new ProjectException("Failed to update project: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Apply a JSON Merge Patch to a project; only the fields present in the patch are changed
+     */
+    public ProjectResponse patchProject(Long projectId, MergePatch patch, Long userId) {
+        Project project = projectRepository.findById(projectId)
+            .orElseThrow(() -> new ProjectException("Project not found", HttpStatus.NOT_FOUND));
+
+        // Only owner can update project
+        if (!project.getOwner().getId().equals(userId)) {
+            throw new ProjectException("Only project owner can update the project", HttpStatus.FORBIDDEN);
+        }
+
+        Map<String, Object> before = activityFields(project);
+        try {
+            checkVersion(project, patch.getLong("version"));
+            if (patch.has("name")) {
+                project.setName(patch.getRequiredString("name", 2, 100));
+            }
+            if (patch.has("description")) {
+                String description = patch.getString("description");
+                if (description != null && description.length() > 1000) {
+                    throw new IllegalArgumentException("Description cannot exceed 1000 characters");
+                }
+                project.setDescription(description);
+            }
+            if (patch.has("priority")) {
+                project.setPriority(Priority.valueOf(patch.getRequiredString("priority", 1, 20).toUpperCase()));
+            }
+            if (patch.has("status")) {
+                project.setStatus(Project.ProjectStatus.valueOf(patch.getRequiredString("status", 1, 20).toUpperCase()));
+            }
+            if (patch.has("deadline")) {
+                project.setDeadline(patch.getDateTime("deadline"));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ProjectException("Invalid project patch: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+
+        return convertToProjectResponse(saveAndRecord(project, before, userId));
+    }
+
+    /**
+     * Reject an update based on a version the client read before someone else changed the project
+     */
+    private void checkVersion(Project project, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new ProjectException("Project was changed by someone else (version " + expectedVersion
+                + " is stale, current version is " + project.getVersion() + ")", HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * Flush the update so that the response carries the new version; a concurrent
+     * update committed since the project was read fails the version check in the UPDATE
+     */
+    private Project saveVersioned(Project project) {
+        try {
+            return projectRepository.saveAndFlush(project);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ProjectException("Project was changed by someone else", HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * Save an update and log the fields it changed, if any
+     */
+    private Project saveAndRecord(Project project, Map<String, Object> before, Long userId) {
+        Project saved = saveVersioned(project);
+        Map<String, Object> changes = ActivityLog.changes(before, activityFields(saved));
+        if (!changes.isEmpty()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("changes", changes);
+            activityLog.record(userId, saved.getId(), null, ActivityLog.PROJECT_UPDATED, details);
+        }
+        return saved;
+    }
+
+    /**
+     * The fields compared for the activity log
+     */
+    private static Map<String, Object> activityFields(Project project) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", project.getName());
+        fields.put("description", project.getDescription());
+        fields.put("status", project.getStatus().name());
+        fields.put("priority", project.getPriority().name());
+        fields.put("deadline", project.getDeadline() != null ? project.getDeadline().toString() : null);
+        return fields;
+    }
+
     public ProjectResponse addDocumentToProject(Long projectId, MultipartFile document, Long userId) {
         Optional<Project> projectOpt = projectRepository.findById(projectId);
         if (projectOpt.isEmpty()) {
@@ -237,26 +518,68 @@ public class ProjectService {
         }
     }
 
+    /**
+     * Delete a project with all its tasks, notes, attachments, members and documents.
+     * Rows are removed with one statement per table; the stored files are queued
+     * and deleted by FileDeletionWorker after the transaction commits.
+     */
     public void deleteProject(Long projectId, Long userId) {
-        Optional<Project> projectOpt = projectRepository.findById(projectId);
-        if (projectOpt.isEmpty()) {
-            throw new ProjectException("Project not found", HttpStatus.NOT_FOUND);
-        }
+        Long ownerId = projectRepository.findOwnerIdById(projectId)
+            .orElseThrow(() -> new ProjectException("Project not found", HttpStatus.NOT_FOUND));
 
-        Project project = projectOpt.get();
-        
         // Only owner can delete project
-        if (!project.getOwner().getId().equals(userId)) {
+        if (!ownerId.equals(userId)) {
             throw new ProjectException("Only project owner can delete the project", HttpStatus.FORBIDDEN);
         }
 
         try {
-            projectRepository.delete(project);
+            // Project lock before any row lock, as taken by every writer of several task rows;
+            // queueing the files below already reads the attachment rows with locks
+            projectLockService.lock(projectId);
+
+            // Record the files first; the rows that name them are deleted below
+            int queuedFiles = pendingFileDeletionRepository.enqueueAttachmentFilesOfProject(projectId)
+                + pendingFileDeletionRepository.enqueueThumbnailFilesOfProject(projectId)
+                + pendingFileDeletionRepository.enqueueDocumentFilesOfProject(projectId);
+
+            // Tombstones for delta sync and outbox events; they are read from the rows deleted below
+            changeSequenceService.recordTaskAndNoteDeletionsOfProject(projectId);
+            changeSequenceService.recordProjectDeletion(projectId);
+            outboxService.publishTaskEvents(OutboxEvent.DELETED, "t.project_id = ?", projectId);
+            outboxService.publishProjectEvents(OutboxEvent.DELETED, "p.id = ?", projectId);
+            taskNoteTagIndex.onNotesChanged(taskNoteRepository.findUserIdsByProjectId(projectId));
+
+            projectRepository.deleteTaskNoteRevisionsOfProject(projectId);
+            projectRepository.deleteTaskNoteTagsOfProject(projectId);
+            projectRepository.deleteTaskNotesOfProject(projectId);
+            projectRepository.deleteTaskAttachmentsOfProject(projectId);
+            projectRepository.deleteUploadSessionsOfProject(projectId);
+            int deletedTasks = projectRepository.deleteTasksOfProject(projectId)
+                + projectRepository.deleteArchivedTasksOfProject(projectId);
+            projectRepository.deleteDocumentsOfProject(projectId);
+            projectRepository.deleteMembersOfProject(projectId);
+            projectRepository.deleteProjectRow(projectId);
+
+            logger.info("Deleted project {} with {} tasks; {} files queued for deletion",
+                projectId, deletedTasks, queuedFiles);
+            activityLog.record(userId, projectId, null, ActivityLog.PROJECT_DELETED, null);
         } catch (Exception e) {
             throw new ProjectException("Failed to delete project: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Get project and task counts for the dashboard
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getUserStats(Long userId) {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalProjects", getProjectCount(userId));
+        stats.put("completedTasks", getCompletedTasksCount(userId));
+        stats.put("inProgressTasks", getInProgressTasksCount(userId));
+        return stats;
+    }
+
     public Long getProjectCount(Long userId) {
         return projectRepository.countUserProjects(userId);
     }
@@ -270,6 +593,10 @@ public class ProjectService {
     }
 
     private ProjectResponse convertToProjectResponse(Project project) {
+        return convertToProjectResponse(project, true);
+    }
+
+    private ProjectResponse convertToProjectResponse(Project project, boolean withMembersAndCounts) {
         UserInfo ownerInfo = new UserInfo(
                 project.getOwner().getId(),
                 project.getOwner().getFirstName(),
@@ -289,6 +616,11 @@ public class ProjectService {
         );
 
         response.setUpdatedAt(project.getUpdatedAt());
+        response.setVersion(project.getVersion());
+
+        if (!withMembersAndCounts) {
+            return response;
+        }
 
         // Set task counts
         Long totalTasks = taskRepository.countTasksByProjectId(project.getId());
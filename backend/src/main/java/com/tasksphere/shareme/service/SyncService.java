@@ -0,0 +1,195 @@
+package com.tasksphere.shareme.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tasksphere.shareme.dto.SyncResponse;
+import com.tasksphere.shareme.dto.TaskAttachmentResponse;
+import com.tasksphere.shareme.entity.Project;
+import com.tasksphere.shareme.entity.SyncTombstone;
+import com.tasksphere.shareme.entity.Task;
+import com.tasksphere.shareme.entity.TaskNote;
+import com.tasksphere.shareme.repository.ProjectRepository;
+import com.tasksphere.shareme.repository.SyncTombstoneRepository;
+import com.tasksphere.shareme.repository.TaskNoteRepository;
+import com.tasksphere.shareme.repository.TaskRepository;
+import com.tasksphere.shareme.util.ETags;
+
+/**
+ * Delta sync of projects, tasks and notes.
+ *
+ * A sync token is the last change sequence number the client has seen. Each
+ * source (projects, tasks, notes, tombstones) is read in number order from the
+ * token up to the safe watermark, below which no transaction still holds
+ * numbers (see ChangeSequenceService), at most limit + 1 rows each; when more than
+ * limit changes come back, the page is cut at the limit-th smallest number so
+ * that nothing at or below the new token is left out.
+ *
+ * Without a token the client gets everything it can see, paged the same way.
+ * Tombstones are kept for app.sync.tombstone-retention-days; older tokens get
+ * resetRequired and start over.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncService.class);
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskNoteRepository taskNoteRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskNoteService taskNoteService;
+
+    @Autowired
+    private TaskAttachmentService taskAttachmentService;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    /**
+     * Get the changes visible to a user since a token (null for a full sync).
+     * Throws IllegalArgumentException for a malformed token.
+     */
+    public SyncResponse getChanges(Long userId, String token, int limit) {
+        long since = parseToken(token);
+
+        // First read of the transaction: the rows below are read from the same snapshot
+        ChangeSequenceService.State state = changeSequenceService.readState();
+        if (since > state.getLastSeq() || (since > 0 && since < state.getPrunedThrough())) {
+            return SyncResponse.resetRequired();
+        }
+
+        // Numbers above the watermark may still be taken by rows that are not committed yet
+        long upTo = Math.max(since, state.getSafeSeq());
+        Pageable firstRows = PageRequest.of(0, limit + 1);
+        List<Project> projects = projectRepository.findChangedForUser(userId, since, upTo, firstRows);
+        List<Task> tasks = taskRepository.findChangedForUser(userId, since, upTo, firstRows);
+        List<TaskNote> notes = taskNoteRepository.findChangedForUser(userId, since, upTo, firstRows);
+        // A client without a token holds nothing that could have been deleted
+        List<SyncTombstone> tombstones = since == 0
+            ? Collections.emptyList()
+            : syncTombstoneRepository.findChangedForUser(userId, since, upTo, firstRows);
+
+        List<Long> changeSeqs = new ArrayList<>();
+        projects.forEach(project -> changeSeqs.add(project.getChangeSeq()));
+        tasks.forEach(task -> changeSeqs.add(task.getChangeSeq()));
+        notes.forEach(note -> changeSeqs.add(note.getChangeSeq()));
+        tombstones.forEach(tombstone -> changeSeqs.add(tombstone.getChangeSeq()));
+
+        boolean hasMore = changeSeqs.size() > limit;
+        if (hasMore) {
+            Collections.sort(changeSeqs);
+            upTo = changeSeqs.get(limit - 1);
+            projects = upTo(projects, Project::getChangeSeq, upTo);
+            tasks = upTo(tasks, Task::getChangeSeq, upTo);
+            notes = upTo(notes, TaskNote::getChangeSeq, upTo);
+            tombstones = upTo(tombstones, SyncTombstone::getChangeSeq, upTo);
+        }
+
+        SyncResponse response = new SyncResponse(String.valueOf(upTo), hasMore);
+        response.setProjects(projectService.toProjectResponses(projects, false, false));
+        Map<Long, List<TaskAttachmentResponse>> attachments = taskAttachmentService.getAttachmentsByTaskIds(
+            tasks.stream().map(Task::getId).collect(Collectors.toList()));
+        response.setTasks(tasks.stream()
+            .map(task -> taskService.convertToTaskResponse(task, attachments.getOrDefault(task.getId(), new ArrayList<>())))
+            .collect(Collectors.toList()));
+        response.setNotes(notes.stream().map(taskNoteService::convertToResponse).collect(Collectors.toList()));
+
+        for (SyncTombstone tombstone : tombstones) {
+            switch (tombstone.getEntityType()) {
+                case SyncTombstone.PROJECT:
+                    response.getDeleted().getProjects().add(tombstone.getEntityId());
+                    break;
+                case SyncTombstone.TASK:
+                    response.getDeleted().getTasks().add(tombstone.getEntityId());
+                    break;
+                case SyncTombstone.NOTE:
+                    response.getDeleted().getNotes().add(tombstone.getEntityId());
+                    break;
+                default:
+                    logger.warn("Unknown tombstone type {}", tombstone.getEntityType());
+            }
+        }
+        return response;
+    }
+
+    /**
+     * ETag of a list endpoint. Lists only change when a synced row changes, so the
+     * change counter and open ranges (one small read) stand in for the list's contents.
+     */
+    public String getListETag(String resource, Long userId, String queryString) {
+        return ETags.ofList(resource, userId, changeSequenceService.readState().getVersion(), queryString);
+    }
+
+    /**
+     * Delete tombstones past the retention period; tokens older than the newest
+     * deleted one can no longer be served incrementally
+     */
+    @Scheduled(cron = "${app.sync.tombstone-prune-cron:0 30 3 * * *}")
+    @Transactional
+    public void pruneTombstones() {
+        Long prunedThrough = syncTombstoneRepository.findMaxChangeSeqDeletedBefore(
+            LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (prunedThrough == null) {
+            return;
+        }
+        int deleted = syncTombstoneRepository.deleteUpTo(prunedThrough);
+        int expired = changeSequenceService.deleteExpiredOpenRanges();
+        // Last, as it locks the counter row that writers take their numbers from
+        changeSequenceService.advancePrunedThrough(prunedThrough);
+        logger.info("Pruned {} sync tombstones up to change {} and {} expired open ranges", deleted, prunedThrough, expired);
+    }
+
+    private static long parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        try {
+            long since = Long.parseLong(token.trim());
+            if (since >= 0) {
+                return since;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new IllegalArgumentException("Invalid sync token: " + token);
+    }
+
+    private static <T> List<T> upTo(List<T> rows, Function<T, Long> changeSeq, long upTo) {
+        return rows.stream().filter(row -> changeSeq.apply(row) <= upTo).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,323 @@
+package com.tasksphere.shareme.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tasksphere.shareme.dto.ArchivedTaskResponse;
+import com.tasksphere.shareme.dto.TaskAttachmentResponse;
+import com.tasksphere.shareme.dto.TaskResponse;
+import com.tasksphere.shareme.dto.UserInfo;
+import com.tasksphere.shareme.entity.ArchivedTask;
+import com.tasksphere.shareme.entity.OutboxEvent;
+import com.tasksphere.shareme.entity.Task;
+import com.tasksphere.shareme.entity.User;
+import com.tasksphere.shareme.exception.ResourceNotFoundException;
+import com.tasksphere.shareme.exception.UnauthorizedException;
+import com.tasksphere.shareme.repository.ArchivedTaskRepository;
+
+/**
+ * Moves closed tasks between the tasks table and the archive tier.
+ *
+ * A batch is moved with a few INSERT ... SELECT statements and one DELETE in a
+ * short transaction. It locks the projects of the tasks first, like every
+ * other writer of several task rows (ProjectLockService), then the task rows,
+ * skipping any that a user is editing right now, and then their notes. Tombstones are recorded while the rows still show who
+ * could see them, so that the tasks and their notes disappear on the next
+ * delta sync, together with an ARCHIVED outbox event per task. Deleting the
+ * tasks removes their attachments, notes, tags and revisions through the
+ * foreign key cascades. Restoring copies one task back with fresh change
+ * numbers, so that it reappears on the next sync. Archived tasks leave their
+ * subtask tree; a restored task comes back as a top-level task.
+ *
+ * The notes of archived tasks also leave the in-memory state around them once
+ * the batch commits: unsaved autosaves and open collaborative documents are
+ * dropped, and the tag indexes of their owners are rebuilt, as they are again
+ * after a restore.
+ */
+@Service
+@Transactional
+public class TaskArchiveService {
+
+    // updated_at is handled per direction: kept when archiving, reset when restoring
+    private static final String TASK_COLUMNS =
+        "id, title, description, status, priority, project_id, assignee_id, creator_id, created_at, due_date, version";
+    private static final String ATTACHMENT_COLUMNS =
+        "id, task_id, original_filename, stored_filename, file_path, thumbnail_path, file_size, content_type, uploaded_by, uploaded_at";
+    private static final String NOTE_COLUMNS = "id, user_id, task_id, note_name, note_content, created_at, updated_at";
+    private static final String TAG_COLUMNS = "task_note_id, tag";
+    private static final String REVISION_COLUMNS =
+        "id, task_note_id, revision_number, is_snapshot, payload, content_length, created_at";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private ProjectLockService projectLockService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ActivityLog activityLog;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRankService taskRankService;
+
+    @Autowired
+    private TaskHierarchyService taskHierarchyService;
+
+    @Autowired
+    private TaskNoteTagIndex taskNoteTagIndex;
+
+    @Autowired
+    private TaskNoteAutosaveBuffer taskNoteAutosaveBuffer;
+
+    @Autowired
+    private CollaborativeNoteService collaborativeNoteService;
+
+    /**
+     * Archive up to batchSize COMPLETED or CANCELLED tasks last changed before the
+     * cutoff; returns how many were moved
+     */
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        // Served by idx_tasks_status_updated_at; read without locks, as the projects are locked first
+        List<Long> candidates = new ArrayList<>();
+        Set<Long> projectIds = new TreeSet<>();
+        jdbcTemplate.query("SELECT id, project_id FROM tasks WHERE status IN ('COMPLETED', 'CANCELLED') "
+            + "AND (updated_at < ? OR (updated_at IS NULL AND created_at < ?)) LIMIT ?", rs -> {
+                candidates.add(rs.getLong(1));
+                projectIds.add(rs.getLong(2));
+            }, cutoff, cutoff, batchSize);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        projectLockService.lockAll(projectIds);
+
+        // Checked again under the lock; rows a user is editing right now are left for the next run
+        String candidatesIn = "(" + String.join(", ", Collections.nCopies(candidates.size(), "?")) + ")";
+        List<Object> args = new ArrayList<>(candidates);
+        args.add(cutoff);
+        args.add(cutoff);
+        List<Long> taskIds = jdbcTemplate.queryForList(
+            "SELECT id FROM tasks WHERE id IN " + candidatesIn + " AND status IN ('COMPLETED', 'CANCELLED') "
+            + "AND (updated_at < ? OR (updated_at IS NULL AND created_at < ?)) FOR UPDATE SKIP LOCKED",
+            Long.class, args.toArray());
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+
+        String in = "(" + String.join(", ", Collections.nCopies(taskIds.size(), "?")) + ")";
+        String notesIn = "(SELECT id FROM task_notes WHERE task_id IN " + in + ")";
+        Object[] ids = taskIds.toArray();
+
+        List<Long> noteIds = new ArrayList<>();
+        Set<Long> noteOwners = new TreeSet<>();
+        jdbcTemplate.query("SELECT id, user_id FROM task_notes WHERE task_id IN " + in + " ORDER BY id FOR UPDATE", rs -> {
+            noteIds.add(rs.getLong(1));
+            noteOwners.add(rs.getLong(2));
+        }, ids);
+        taskNoteTagIndex.onNotesChanged(noteOwners);
+        if (!noteIds.isEmpty()) {
+            afterCommit(() -> {
+                collaborativeNoteService.discard(noteIds);
+                taskNoteAutosaveBuffer.discard(noteIds);
+            });
+        }
+
+        changeSequenceService.recordTaskDeletions(taskIds);
+        outboxService.publishTaskEvents(OutboxEvent.ARCHIVED, "t.id IN " + in, ids);
+        // Live subtasks of archived tasks become top-level tasks
+        taskHierarchyService.detach(taskIds);
+
+        jdbcTemplate.update("INSERT INTO archived_tasks (" + TASK_COLUMNS + ", updated_at, archived_at) "
+            + "SELECT " + TASK_COLUMNS + ", updated_at, NOW() FROM tasks WHERE id IN " + in, ids);
+        jdbcTemplate.update("INSERT INTO archived_task_attachments (" + ATTACHMENT_COLUMNS + ") "
+            + "SELECT " + ATTACHMENT_COLUMNS + " FROM task_attachments WHERE task_id IN " + in, ids);
+        jdbcTemplate.update("INSERT INTO archived_task_notes (" + NOTE_COLUMNS + ") "
+            + "SELECT " + NOTE_COLUMNS + " FROM task_notes WHERE task_id IN " + in, ids);
+        jdbcTemplate.update("INSERT INTO archived_task_note_tags (" + TAG_COLUMNS + ") "
+            + "SELECT " + TAG_COLUMNS + " FROM task_note_tags WHERE task_note_id IN " + notesIn, ids);
+        jdbcTemplate.update("INSERT INTO archived_task_note_revisions (" + REVISION_COLUMNS + ") "
+            + "SELECT " + REVISION_COLUMNS + " FROM task_note_revisions WHERE task_note_id IN " + notesIn, ids);
+
+        // Cascades to attachments, notes (and their tags and revisions) and upload sessions
+        return jdbcTemplate.update("DELETE FROM tasks WHERE id IN " + in, ids);
+    }
+
+    /**
+     * Move an archived task back into the tasks table; allowed for its creator and the project owner
+     */
+    public TaskResponse restoreTask(Long taskId, Long userId) {
+        // Lock the row so that two restores of the same task cannot both copy it; its project is
+        // locked first, as by every other writer (deleting a project deletes archived rows)
+        List<Long> projects = jdbcTemplate.queryForList("SELECT project_id FROM archived_tasks WHERE id = ?",
+            Long.class, taskId);
+        if (!projects.isEmpty()) {
+            projectLockService.lock(projects.get(0));
+        }
+        List<Long> locked = jdbcTemplate.queryForList("SELECT id FROM archived_tasks WHERE id = ? FOR UPDATE",
+            Long.class, taskId);
+        ArchivedTask archived = locked.isEmpty() ? null : archivedTaskRepository.findWithPeopleById(taskId).orElse(null);
+        if (archived == null) {
+            throw new ResourceNotFoundException("Archived task not found with id: " + taskId);
+        }
+        if (!archived.getCreator().getId().equals(userId) && !archived.getProject().getOwner().getId().equals(userId)) {
+            throw new UnauthorizedException("You don't have permission to restore this task");
+        }
+
+        // One number for the task and one for each of its notes, so that all of them sync again
+        int notes = archivedTaskRepository.countNotesByTaskId(taskId);
+        long base = changeSequenceService.reserve(1 + notes);
+        String notesOfTask = "(SELECT id FROM archived_task_notes WHERE task_id = ?)";
+
+        // A fresh updated_at restarts the archive age, so the next run does not move it right back;
+        // the task goes to the end of the manual order of its project
+        String rank = taskRankService.rankAtEnd(archived.getProject().getId());
+        jdbcTemplate.update("INSERT INTO tasks (" + TASK_COLUMNS + ", updated_at, change_seq, sort_rank) "
+            + "SELECT " + TASK_COLUMNS + ", NOW(), ?, ? FROM archived_tasks WHERE id = ?", base + 1, rank, taskId);
+        taskHierarchyService.addTask(taskId, null);
+        jdbcTemplate.update("INSERT INTO task_attachments (" + ATTACHMENT_COLUMNS + ") "
+            + "SELECT " + ATTACHMENT_COLUMNS + " FROM archived_task_attachments WHERE task_id = ?", taskId);
+        jdbcTemplate.update("INSERT INTO task_notes (" + NOTE_COLUMNS + ", change_seq) "
+            + "SELECT " + NOTE_COLUMNS + ", ? + ROW_NUMBER() OVER (ORDER BY id) FROM archived_task_notes WHERE task_id = ?",
+            base + 1, taskId);
+        jdbcTemplate.update("INSERT INTO task_note_tags (" + TAG_COLUMNS + ") "
+            + "SELECT " + TAG_COLUMNS + " FROM archived_task_note_tags WHERE task_note_id IN " + notesOfTask, taskId);
+        jdbcTemplate.update("INSERT INTO task_note_revisions (" + REVISION_COLUMNS + ") "
+            + "SELECT " + REVISION_COLUMNS + " FROM archived_task_note_revisions WHERE task_note_id IN " + notesOfTask, taskId);
+        taskNoteTagIndex.onNotesChanged(jdbcTemplate.queryForList(
+            "SELECT DISTINCT user_id FROM archived_task_notes WHERE task_id = ?", Long.class, taskId));
+
+        outboxService.publishTaskEvents(OutboxEvent.RESTORED, "t.id = ?", taskId);
+
+        // Cascades to the archived attachments, notes, tags and revisions
+        jdbcTemplate.update("DELETE FROM archived_tasks WHERE id = ?", taskId);
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("title", archived.getTitle());
+        activityLog.record(userId, archived.getProject().getId(), taskId, ActivityLog.TASK_RESTORED, details);
+
+        return taskService.getTaskById(taskId, userId);
+    }
+
+    /**
+     * Search the archived tasks the user could see while they were live, newest archived first
+     */
+    @Transactional(readOnly = true)
+    public Page<ArchivedTaskResponse> searchArchivedTasks(Long userId, String query, String status, Long projectId,
+                                                          int page, int size) {
+        Task.TaskStatus taskStatus = null;
+        if (status != null) {
+            try {
+                taskStatus = Task.TaskStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid task status: " + status);
+            }
+        }
+        String text = query == null || query.trim().isEmpty() ? null : query.trim();
+
+        return archivedTaskRepository.searchForUser(userId, text, taskStatus, projectId, PageRequest.of(page, size))
+            .map(this::convertToResponse);
+    }
+
+    /**
+     * An archived task with its attachment metadata
+     */
+    @Transactional(readOnly = true)
+    public ArchivedTaskResponse getArchivedTask(Long taskId, Long userId) {
+        ArchivedTask archived = archivedTaskRepository.findWithPeopleById(taskId)
+            .orElseThrow(() -> new ResourceNotFoundException("Archived task not found with id: " + taskId));
+
+        boolean hasAccess = archived.getCreator().getId().equals(userId)
+            || (archived.getAssignee() != null && archived.getAssignee().getId().equals(userId))
+            || archived.getProject().getOwner().getId().equals(userId);
+        if (!hasAccess) {
+            throw new UnauthorizedException("You don't have access to this task");
+        }
+
+        ArchivedTaskResponse response = convertToResponse(archived);
+        response.setAttachments(jdbcTemplate.query(
+            "SELECT a.id, a.original_filename, a.file_size, a.content_type, a.uploaded_at, "
+            + "u.id, u.first_name, u.last_name, u.email, u.role "
+            + "FROM archived_task_attachments a JOIN users u ON u.id = a.uploaded_by "
+            + "WHERE a.task_id = ? ORDER BY a.uploaded_at DESC",
+            (rs, rowNum) -> new TaskAttachmentResponse(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getLong(3),
+                rs.getString(4),
+                new UserInfo(rs.getLong(6), rs.getString(7), rs.getString(8), rs.getString(9), rs.getString(10)),
+                rs.getObject(5, LocalDateTime.class),
+                null),
+            taskId));
+        return response;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private ArchivedTaskResponse convertToResponse(ArchivedTask task) {
+        TaskResponse.ProjectInfo projectInfo = new TaskResponse.ProjectInfo(
+            task.getProject().getId(),
+            task.getProject().getName(),
+            task.getProject().getStatus().toString()
+        );
+
+        return new ArchivedTaskResponse(
+            task.getId(),
+            task.getTitle(),
+            task.getDescription(),
+            task.getStatus().toString(),
+            task.getPriority().toString(),
+            projectInfo,
+            toUserInfo(task.getAssignee()),
+            toUserInfo(task.getCreator()),
+            task.getCreatedAt(),
+            task.getUpdatedAt(),
+            task.getDueDate(),
+            task.getArchivedAt()
+        );
+    }
+
+    private UserInfo toUserInfo(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserInfo(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+            user.getRole().toString());
+    }
+}
@@ -0,0 +1,68 @@
+package com.tasksphere.shareme.service;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves closed tasks past the age limit into the archive tier.
+ *
+ * Each batch is its own short transaction, so the job never holds many row
+ * locks (or its projects) for long, and a pause between batches leaves
+ * room for regular traffic. A run stops after max-batches-per-run; whatever is
+ * left is picked up by the next run.
+ */
+@Component
+public class TaskArchiveWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchiveWorker.class);
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.min-age-days:90}")
+    private int minAgeDays;
+
+    @Value("${app.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.archive.max-batches-per-run:500}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.archive.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * *}")
+    public void archiveClosedTasks() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        int archived = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int moved = taskArchiveService.archiveBatch(cutoff, batchSize);
+                archived += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+                Thread.sleep(batchPauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Archiving closed tasks failed: {}", e.getMessage(), e);
+        }
+        if (archived > 0) {
+            logger.info("Archived {} closed tasks last changed before {}", archived, cutoff);
+        }
+    }
+}
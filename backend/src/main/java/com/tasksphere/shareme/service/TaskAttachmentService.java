@@ -1,22 +1,26 @@
 package com.tasksphere.shareme.service;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import com.tasksphere.shareme.dto.SignedDownloadUrlResponse;
 import com.tasksphere.shareme.dto.TaskAttachmentResponse;
 import com.tasksphere.shareme.dto.UserInfo;
 import com.tasksphere.shareme.entity.Task;
@@ -25,6 +29,10 @@ import com.tasksphere.shareme.entity.User;
 import com.tasksphere.shareme.exception.ResourceNotFoundException;
 import com.tasksphere.shareme.repository.TaskAttachmentRepository;
 import com.tasksphere.shareme.repository.TaskRepository;
+import com.tasksphere.shareme.security.DownloadUrlSigner;
+import com.tasksphere.shareme.storage.FileStorage;
+import com.tasksphere.shareme.storage.StorageResource;
+import com.tasksphere.shareme.storage.StoredObject;
 
 @Service
 public class TaskAttachmentService {
@@ -35,8 +43,23 @@ public class TaskAttachmentService {
     @Autowired
     private TaskRepository taskRepository;
 
-    @Value("${app.file.upload-dir:uploads}")
-    private String uploadDir;
+    @Autowired
+    private AttachmentThumbnailService attachmentThumbnailService;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Autowired
+    private DownloadUrlSigner downloadUrlSigner;
+
+    @Value("${app.downloads.base-url:}")
+    private String downloadBaseUrl;
+
+    @Value("${app.downloads.url-ttl-seconds:300}")
+    private long downloadUrlTtlSeconds;
 
     private static final long MAX_FILE_SIZE = 50 * 1024 * 1024; // 50MB
     private static final String[] ALLOWED_EXTENSIONS = {
@@ -63,45 +86,44 @@ public class TaskAttachmentService {
     public TaskAttachmentResponse uploadSingleFile(Task task, MultipartFile file, User uploader) {
         validateFile(file);
 
-        try {
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = getFileExtension(originalFilename);
-            String storedFilename = UUID.randomUUID().toString() + "." + fileExtension;
-            
-            // Create file path
-            Path filePath = uploadPath.resolve(storedFilename);
-            
-            // Save file
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-            // Create attachment entity
-            TaskAttachment attachment = new TaskAttachment();
-            attachment.setTask(task);
-            attachment.setOriginalFilename(originalFilename);
-            attachment.setStoredFilename(storedFilename);
-            attachment.setFilePath(filePath.toString());
-            attachment.setFileSize(file.getSize());
-            attachment.setContentType(file.getContentType());
-            attachment.setUploadedBy(uploader);
-            attachment.setUploadedAt(LocalDateTime.now());
-
-            // Save to database
-            TaskAttachment savedAttachment = taskAttachmentRepository.save(attachment);
-
-            return convertToResponse(savedAttachment);
-
+        try (InputStream content = file.getInputStream()) {
+            return storeAttachment(task, file.getOriginalFilename(), file.getContentType(), file.getSize(), content, uploader);
         } catch (IOException e) {
             throw new RuntimeException("Failed to store file: " + file.getOriginalFilename(), e);
         }
     }
 
+    /**
+     * Store already validated file content and record it as an attachment of the task
+     */
+    public TaskAttachmentResponse storeAttachment(Task task, String originalFilename, String contentType,
+                                                  long fileSize, InputStream content, User uploader) throws IOException {
+        // Generate unique filename
+        String fileExtension = getFileExtension(originalFilename);
+        String storedFilename = UUID.randomUUID().toString() + "." + fileExtension;
+
+        // Save file
+        fileStorage.store(storedFilename, content, fileSize, contentType);
+
+        // Create attachment entity
+        TaskAttachment attachment = new TaskAttachment();
+        attachment.setTask(task);
+        attachment.setOriginalFilename(originalFilename);
+        attachment.setStoredFilename(storedFilename);
+        attachment.setFilePath(storedFilename);
+        attachment.setFileSize(fileSize);
+        attachment.setContentType(contentType);
+        attachment.setUploadedBy(uploader);
+        attachment.setUploadedAt(LocalDateTime.now());
+
+        // Save to database
+        TaskAttachment savedAttachment = taskAttachmentRepository.save(attachment);
+        changeSequenceService.touchTask(task.getId());
+        attachmentThumbnailService.scheduleThumbnail(savedAttachment);
+
+        return convertToResponse(savedAttachment);
+    }
+
     /**
      * Get all attachments for a task
      */
@@ -112,6 +134,21 @@ public class TaskAttachmentService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Get the attachments of several tasks with one query, keyed by task id
+     */
+    public Map<Long, List<TaskAttachmentResponse>> getAttachmentsByTaskIds(Collection<Long> taskIds) {
+        Map<Long, List<TaskAttachmentResponse>> byTask = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return byTask;
+        }
+        for (TaskAttachment attachment : taskAttachmentRepository.findByTaskIdsWithUploader(taskIds)) {
+            byTask.computeIfAbsent(attachment.getTask().getId(), id -> new ArrayList<>())
+                .add(convertToResponse(attachment));
+        }
+        return byTask;
+    }
+
     /**
      * Download a file
      */
@@ -120,19 +157,52 @@ public class TaskAttachmentService {
             .orElseThrow(() -> new ResourceNotFoundException("Attachment not found with id: " + attachmentId));
 
         try {
-            Path filePath = Paths.get(attachment.getFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
+            StoredObject stored = fileStorage.stat(attachment.getStoredFilename());
+            if (stored == null) {
                 throw new ResourceNotFoundException("File not found or not readable: " + attachment.getOriginalFilename());
             }
-        } catch (Exception e) {
+            return new StorageResource(fileStorage, stored.getKey(), attachment.getOriginalFilename(), stored.getSize());
+        } catch (IOException e) {
             throw new RuntimeException("Error downloading file: " + attachment.getOriginalFilename(), e);
         }
     }
 
+    /**
+     * Issue a short-lived signed URL that downloads the file without authentication
+     */
+    public SignedDownloadUrlResponse createSignedDownloadUrl(Long attachmentId, Long userId) {
+        TaskAttachment attachment = taskAttachmentRepository.findById(attachmentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Attachment not found with id: " + attachmentId));
+
+        // Same people who can see the task (creator, assignee, project owner) plus the uploader
+        Task task = attachment.getTask();
+        boolean canDownload = task.getCreator().getId().equals(userId) ||
+                             (task.getAssignee() != null && task.getAssignee().getId().equals(userId)) ||
+                             task.getProject().getOwner().getId().equals(userId) ||
+                             attachment.getUploadedBy().getId().equals(userId);
+
+        if (!canDownload) {
+            throw new RuntimeException("You don't have permission to download this attachment");
+        }
+
+        String contentType = attachment.getContentType() != null ? attachment.getContentType() : "application/octet-stream";
+        long expiresAt = Instant.now().getEpochSecond() + downloadUrlTtlSeconds;
+        String signature = downloadUrlSigner.sign(attachment.getStoredFilename(), attachment.getOriginalFilename(),
+                                                  contentType, expiresAt);
+
+        // Values go in as URI variables so they are fully encoded ('+' and '&' included)
+        String url = UriComponentsBuilder.fromUriString(downloadBaseUrl)
+            .path("/files/{key}")
+            .query("name={name}&type={type}&expires={expires}&sig={sig}")
+            .encode()
+            .buildAndExpand(attachment.getStoredFilename(), attachment.getOriginalFilename(),
+                            contentType, expiresAt, signature)
+            .toUriString();
+
+        return new SignedDownloadUrlResponse(url,
+            LocalDateTime.ofInstant(Instant.ofEpochSecond(expiresAt), ZoneId.systemDefault()));
+    }
+
     /**
      * Delete an attachment
      */
@@ -152,13 +222,13 @@ public class TaskAttachmentService {
 
         try {
             // Delete file from storage
-            Path filePath = Paths.get(attachment.getFilePath());
-            if (Files.exists(filePath)) {
-                Files.delete(filePath);
-            }
+            fileStorage.delete(attachment.getStoredFilename());
+
+            attachmentThumbnailService.deleteThumbnail(attachment.getThumbnailPath());
 
             // Delete from database
             taskAttachmentRepository.delete(attachment);
+            changeSequenceService.touchTask(task.getId());
 
         } catch (IOException e) {
             throw new RuntimeException("Failed to delete file: " + attachment.getOriginalFilename(), e);
@@ -191,7 +261,13 @@ public class TaskAttachmentService {
             throw new RuntimeException("File size exceeds maximum limit of 50MB");
         }
 
-        String filename = file.getOriginalFilename();
+        validateFilename(file.getOriginalFilename());
+    }
+
+    /**
+     * Check that the file name is present and has an allowed extension
+     */
+    public void validateFilename(String filename) {
         if (filename == null || filename.trim().isEmpty()) {
             throw new RuntimeException("Invalid filename");
         }
@@ -233,6 +309,9 @@ public class TaskAttachmentService {
         );
 
         String downloadUrl = "/api/tasks/attachments/" + attachment.getId() + "/download";
+        String thumbnailUrl = attachment.getThumbnailPath() != null
+            ? "/api/tasks/attachments/" + attachment.getId() + "/thumbnail"
+            : null;
 
         return new TaskAttachmentResponse(
             attachment.getId(),
@@ -241,7 +320,8 @@ public class TaskAttachmentService {
             attachment.getContentType(),
             uploaderInfo,
             attachment.getUploadedAt(),
-            downloadUrl
+            downloadUrl,
+            thumbnailUrl
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,331 @@
+package com.tasksphere.shareme.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasksphere.shareme.entity.OutboxEvent;
+import com.tasksphere.shareme.entity.Task;
+
+/**
+ * Keeps the task status history and the flow rollups behind the project
+ * analytics up to date from the outbox.
+ *
+ * Each task event is compared with the last known state of the task: a change
+ * of status, project or assignee moves the task out of its old counter and
+ * into the new one for the day of the event. A relay batch is applied with one
+ * read of the known states and a handful of multi-row upserts. Because the
+ * writes commit with the relay cursor, every event is counted exactly once.
+ */
+@Component
+public class TaskFlowRollup implements OutboxSubscriber {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private static final String IN_PROGRESS = Task.TaskStatus.IN_PROGRESS.name();
+    private static final String COMPLETED = Task.TaskStatus.COMPLETED.name();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void onEvents(List<OutboxEvent> events) {
+        Set<Long> taskIds = new LinkedHashSet<>();
+        for (OutboxEvent event : events) {
+            if (OutboxEvent.TASK.equals(event.getAggregateType())) {
+                taskIds.add(event.getAggregateId());
+            }
+        }
+        Changes changes = new Changes(loadStates(taskIds));
+
+        for (OutboxEvent event : events) {
+            if (OutboxEvent.TASK.equals(event.getAggregateType())) {
+                apply(event, changes);
+            } else if (OutboxEvent.PROJECT.equals(event.getAggregateType())
+                    && OutboxEvent.DELETED.equals(event.getEventType())) {
+                // Its tasks were removed by the events before this one; drop what is left
+                write(changes);
+                deleteProject(event.getAggregateId());
+            }
+        }
+        write(changes);
+    }
+
+    private void apply(OutboxEvent event, Changes changes) {
+        Long taskId = event.getAggregateId();
+        LocalDateTime at = event.getCreatedAt();
+        TaskState current = changes.states.get(taskId);
+
+        switch (event.getEventType()) {
+            case OutboxEvent.CREATED:
+            case OutboxEvent.UPDATED: {
+                Map<String, Object> payload = parse(event.getPayload());
+                String status = (String) payload.get("status");
+                Long projectId = toLong(payload.get("projectId"));
+                Long assigneeId = toLong(payload.get("assigneeId"));
+
+                if (current == null) {
+                    TaskState created = new TaskState(projectId, assigneeId, status, at, at,
+                        IN_PROGRESS.equals(status) ? at : null);
+                    changes.enter(created, at);
+                    changes.history(taskId, created, null, status, at);
+                    if (COMPLETED.equals(status)) {
+                        changes.complete(created, at);
+                    }
+                    changes.put(taskId, created);
+                    return;
+                }
+
+                boolean statusChanged = !current.status.equals(status);
+                if (!statusChanged && current.projectId.equals(projectId)
+                        && Objects.equals(current.assigneeId, assigneeId)) {
+                    return;
+                }
+                TaskState next = new TaskState(projectId, assigneeId, status,
+                    statusChanged ? at : current.statusSince, current.createdAt,
+                    current.startedAt == null && IN_PROGRESS.equals(status) ? at : current.startedAt);
+                changes.exit(current, at);
+                changes.enter(next, at);
+                if (statusChanged) {
+                    changes.history(taskId, next, current.status, status, at);
+                    if (COMPLETED.equals(status)) {
+                        changes.complete(next, at);
+                    }
+                }
+                changes.put(taskId, next);
+                return;
+            }
+            case OutboxEvent.DELETED:
+                if (current != null) {
+                    changes.exit(current, at);
+                    changes.history(taskId, current, current.status, null, at);
+                    changes.remove(taskId);
+                }
+                return;
+            default:
+                // Archived and restored tasks keep their closed status and stay counted
+        }
+    }
+
+    private Map<Long, TaskState> loadStates(Collection<Long> taskIds) {
+        Map<Long, TaskState> states = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return states;
+        }
+        jdbcTemplate.query("SELECT task_id, project_id, assignee_id, status, status_since, created_at, started_at "
+            + "FROM task_status_current WHERE task_id IN " + placeholders(taskIds.size()),
+            rs -> {
+                states.put(rs.getLong(1), new TaskState(
+                    rs.getLong(2),
+                    rs.getObject(3, Long.class),
+                    rs.getString(4),
+                    rs.getObject(5, LocalDateTime.class),
+                    rs.getObject(6, LocalDateTime.class),
+                    rs.getObject(7, LocalDateTime.class)));
+            },
+            taskIds.toArray());
+        return states;
+    }
+
+    private void write(Changes changes) {
+        upsert("INSERT INTO task_status_history (task_id, project_id, assignee_id, from_status, to_status, changed_at) VALUES ",
+            null, 6, changes.history);
+        upsert("INSERT INTO task_flow_daily (project_id, day, assignee_id, status, entered, exited) VALUES ",
+            "entered = entered + VALUES(entered), exited = exited + VALUES(exited)", 6, flowRows(changes.dailyFlow));
+        upsert("INSERT INTO task_flow_monthly (project_id, month, assignee_id, status, entered, exited) VALUES ",
+            "entered = entered + VALUES(entered), exited = exited + VALUES(exited)", 6, flowRows(changes.monthlyFlow));
+
+        List<Object[]> cycleRows = new ArrayList<>();
+        changes.cycles.forEach((key, sums) -> cycleRows.add(new Object[] {
+            key.get(0), key.get(1), key.get(2), sums[0], sums[1], sums[2], sums[3] }));
+        upsert("INSERT INTO task_cycle_daily (project_id, day, assignee_id, completed, started_completed, "
+            + "cycle_seconds, lead_seconds) VALUES ",
+            "completed = completed + VALUES(completed), started_completed = started_completed + VALUES(started_completed), "
+            + "cycle_seconds = cycle_seconds + VALUES(cycle_seconds), lead_seconds = lead_seconds + VALUES(lead_seconds)",
+            7, cycleRows);
+
+        List<Object[]> stateRows = new ArrayList<>();
+        for (Long taskId : changes.changedTasks) {
+            TaskState state = changes.states.get(taskId);
+            if (state != null) {
+                stateRows.add(new Object[] { taskId, state.projectId, state.assigneeId, state.status,
+                    state.statusSince, state.createdAt, state.startedAt });
+            }
+        }
+        upsert("INSERT INTO task_status_current (task_id, project_id, assignee_id, status, status_since, created_at, "
+            + "started_at) VALUES ",
+            "project_id = VALUES(project_id), assignee_id = VALUES(assignee_id), status = VALUES(status), "
+            + "status_since = VALUES(status_since), started_at = VALUES(started_at)",
+            7, stateRows);
+
+        if (!changes.removedTasks.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM task_status_current WHERE task_id IN "
+                + placeholders(changes.removedTasks.size()), changes.removedTasks.toArray());
+        }
+        changes.clear();
+    }
+
+    private void deleteProject(Long projectId) {
+        for (String table : List.of("task_status_history", "task_status_current", "task_flow_daily",
+                "task_flow_monthly", "task_cycle_daily")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE project_id = ?", projectId);
+        }
+    }
+
+    private static List<Object[]> flowRows(Map<List<Object>, int[]> flow) {
+        List<Object[]> rows = new ArrayList<>();
+        flow.forEach((key, counts) -> rows.add(new Object[] { key.get(0), key.get(1), key.get(2), key.get(3),
+            counts[0], counts[1] }));
+        return rows;
+    }
+
+    /**
+     * Insert the rows with one multi-row statement, adding onDuplicate as the
+     * ON DUPLICATE KEY UPDATE clause when given
+     */
+    private void upsert(String insert, String onDuplicate, int columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object> params = new ArrayList<>(rows.size() * columns);
+        for (Object[] row : rows) {
+            Collections.addAll(params, row);
+        }
+        String sql = insert + String.join(", ", Collections.nCopies(rows.size(), placeholders(columns)));
+        if (onDuplicate != null) {
+            sql += " ON DUPLICATE KEY UPDATE " + onDuplicate;
+        }
+        jdbcTemplate.update(sql, params.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return "(" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+
+    private Map<String, Object> parse(String payload) {
+        try {
+            return objectMapper.readValue(payload, PAYLOAD_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload: " + payload, e);
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    /**
+     * Last known state of a task
+     */
+    private static final class TaskState {
+        private final Long projectId;
+        private final Long assigneeId;
+        private final String status;
+        private final LocalDateTime statusSince;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime startedAt;
+
+        private TaskState(Long projectId, Long assigneeId, String status, LocalDateTime statusSince,
+                          LocalDateTime createdAt, LocalDateTime startedAt) {
+            this.projectId = projectId;
+            this.assigneeId = assigneeId;
+            this.status = status;
+            this.statusSince = statusSince;
+            this.createdAt = createdAt;
+            this.startedAt = startedAt;
+        }
+
+        private long assigneeKey() {
+            return assigneeId != null ? assigneeId : 0L;
+        }
+    }
+
+    /**
+     * Writes accumulated while applying a batch; counters with the same key are merged
+     */
+    private static final class Changes {
+        private final Map<Long, TaskState> states;
+        private final Set<Long> changedTasks = new LinkedHashSet<>();
+        private final Set<Long> removedTasks = new LinkedHashSet<>();
+        private final List<Object[]> history = new ArrayList<>();
+        private final Map<List<Object>, int[]> dailyFlow = new LinkedHashMap<>();
+        private final Map<List<Object>, int[]> monthlyFlow = new LinkedHashMap<>();
+        private final Map<List<Object>, long[]> cycles = new LinkedHashMap<>();
+
+        private Changes(Map<Long, TaskState> states) {
+            this.states = states;
+        }
+
+        private void put(Long taskId, TaskState state) {
+            states.put(taskId, state);
+            changedTasks.add(taskId);
+            removedTasks.remove(taskId);
+        }
+
+        private void remove(Long taskId) {
+            states.remove(taskId);
+            changedTasks.remove(taskId);
+            removedTasks.add(taskId);
+        }
+
+        private void enter(TaskState state, LocalDateTime at) {
+            count(state, at, 0);
+        }
+
+        private void exit(TaskState state, LocalDateTime at) {
+            count(state, at, 1);
+        }
+
+        private void count(TaskState state, LocalDateTime at, int column) {
+            LocalDate day = at.toLocalDate();
+            dailyFlow.computeIfAbsent(List.of(state.projectId, day, state.assigneeKey(), state.status),
+                key -> new int[2])[column]++;
+            monthlyFlow.computeIfAbsent(List.of(state.projectId, day.withDayOfMonth(1), state.assigneeKey(), state.status),
+                key -> new int[2])[column]++;
+        }
+
+        private void history(Long taskId, TaskState state, String fromStatus, String toStatus, LocalDateTime at) {
+            history.add(new Object[] { taskId, state.projectId, state.assigneeId, fromStatus, toStatus, at });
+        }
+
+        private void complete(TaskState state, LocalDateTime at) {
+            long[] sums = cycles.computeIfAbsent(List.of(state.projectId, at.toLocalDate(), state.assigneeKey()),
+                key -> new long[4]);
+            sums[0]++;
+            if (state.startedAt != null) {
+                sums[1]++;
+                sums[2] += Duration.between(state.startedAt, at).getSeconds();
+            }
+            sums[3] += Duration.between(state.createdAt, at).getSeconds();
+        }
+
+        private void clear() {
+            changedTasks.clear();
+            removedTasks.clear();
+            history.clear();
+            dailyFlow.clear();
+            monthlyFlow.clear();
+            cycles.clear();
+        }
+    }
+}
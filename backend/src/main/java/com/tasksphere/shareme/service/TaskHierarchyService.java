@@ -0,0 +1,263 @@
+package com.tasksphere.shareme.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tasksphere.shareme.dto.SubtreeProgress;
+import com.tasksphere.shareme.dto.TaskTreeNode;
+import com.tasksphere.shareme.dto.UserInfo;
+import com.tasksphere.shareme.entity.Task;
+
+/**
+ * Subtask trees kept in the task_closure table.
+ *
+ * Every task has a row pairing it with itself and one per ancestor, with the
+ * distance as depth. Reading a subtree, an ancestor path or the progress of a
+ * subtree is one query on an index of task_closure; moving a subtree is one
+ * DELETE of the links to its old ancestors and one INSERT of the links to the
+ * new ones. Trees stay within one project and at most max-depth levels deep.
+ *
+ * Writers lock the project first (ProjectLockService) and validate with
+ * locking reads, so two concurrent moves cannot make a cycle. Reads return only the tasks the
+ * user can see (creator, assignee or project owner, as in TaskService); a task
+ * whose parent is hidden is listed at the top of the subtree. Other access
+ * checks are left to TaskService.
+ */
+@Service
+@Transactional
+public class TaskHierarchyService {
+
+    private static final String NODE_COLUMNS = "t.id, t.title, t.status, t.priority, t.parent_id, t.sort_rank, "
+        + "u.id, u.first_name, u.last_name, u.email, u.role";
+    // Joined with projects p; takes the user id three times
+    private static final String VISIBLE = "(t.creator_id = ? OR t.assignee_id = ? OR p.owner_id = ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private ProjectLockService projectLockService;
+
+    @Value("${app.tasks.max-depth:10}")
+    private int maxDepth;
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Check that parentId, a task of the project, can take the subtree of
+     * taskId, or a new task when taskId is null
+     */
+    public void checkParent(Long projectId, Long taskId, Long parentId) {
+        projectLockService.lock(projectId);
+        List<Long> projects = jdbcTemplate.queryForList(
+            "SELECT project_id FROM tasks WHERE id = ? FOR SHARE", Long.class, parentId);
+        if (projects.isEmpty() || !projects.get(0).equals(projectId)) {
+            throw new IllegalArgumentException("Parent task " + parentId + " is not in the same project");
+        }
+        if (taskId != null && isInSubtree(taskId, parentId)) {
+            throw new IllegalArgumentException("A task cannot become a subtask of itself or of its own subtasks");
+        }
+        int height = taskId == null ? 0 : heightOf(taskId);
+        if (depthOf(parentId) + 1 + height > maxDepth) {
+            throw new IllegalArgumentException("Subtasks can be nested at most " + maxDepth + " levels deep");
+        }
+    }
+
+    /**
+     * Links for a new task: itself, and its parent's path when it has one
+     */
+    public void addTask(Long taskId, Long parentId) {
+        if (parentId == null) {
+            jdbcTemplate.update("INSERT INTO task_closure (ancestor_id, descendant_id, depth) VALUES (?, ?, 0)",
+                taskId, taskId);
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO task_closure (ancestor_id, descendant_id, depth) "
+            + "SELECT ancestor_id, ?, depth + 1 FROM task_closure WHERE descendant_id = ? "
+            + "UNION ALL SELECT ?, ?, 0", taskId, parentId, taskId, taskId);
+    }
+
+    /**
+     * Relink the subtree of taskId below parentId, or make it a tree of its own
+     * when parentId is null; run checkParent first
+     */
+    public void moveSubtree(Long taskId, Long parentId) {
+        projectLockService.lockProjectsOfTasks(List.of(taskId));
+        // Links from the strict ancestors of the task to every task of its subtree
+        jdbcTemplate.update("DELETE c FROM task_closure c "
+            + "JOIN task_closure sub ON sub.descendant_id = c.descendant_id AND sub.ancestor_id = ? "
+            + "JOIN task_closure up ON up.ancestor_id = c.ancestor_id AND up.descendant_id = ? AND up.depth > 0",
+            taskId, taskId);
+        if (parentId != null) {
+            jdbcTemplate.update("INSERT INTO task_closure (ancestor_id, descendant_id, depth) "
+                + "SELECT up.ancestor_id, sub.descendant_id, up.depth + sub.depth + 1 "
+                + "FROM task_closure up JOIN task_closure sub ON sub.ancestor_id = ? "
+                + "WHERE up.descendant_id = ?", taskId, parentId);
+        }
+    }
+
+    /**
+     * Before tasks are deleted: cut the links that run through them, so that
+     * their subtasks become top-level tasks with their own subtrees intact
+     */
+    public void detach(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        projectLockService.lockProjectsOfTasks(taskIds);
+        String in = "(" + String.join(", ", Collections.nCopies(taskIds.size(), "?")) + ")";
+        Object[] ids = taskIds.toArray();
+
+        List<Long> children = jdbcTemplate.queryForList(
+            "SELECT id FROM tasks WHERE parent_id IN " + in + " AND id NOT IN " + in + " FOR UPDATE",
+            Long.class, concat(ids, ids));
+        if (children.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE c FROM task_closure c "
+            + "JOIN task_closure up ON up.ancestor_id = c.ancestor_id AND up.depth > 0 "
+            + "JOIN task_closure down ON down.descendant_id = c.descendant_id AND down.depth > 0 "
+            + "AND down.ancestor_id = up.descendant_id "
+            + "WHERE up.descendant_id IN " + in, ids);
+
+        // The former subtasks changed, so they sync again
+        long base = changeSequenceService.reserve(children.size());
+        List<Object[]> rows = new ArrayList<>(children.size());
+        for (int i = 0; i < children.size(); i++) {
+            rows.add(new Object[] { base + i + 1, children.get(i) });
+        }
+        jdbcTemplate.batchUpdate("UPDATE tasks SET parent_id = NULL, change_seq = ? WHERE id = ?", rows);
+    }
+
+    /**
+     * Subtasks the user can see down to depth levels below the task, nested,
+     * each level in the manual order
+     */
+    @Transactional(readOnly = true)
+    public List<TaskTreeNode> getSubtree(Long taskId, int depth, Long userId) {
+        List<TaskTreeNode> nodes = jdbcTemplate.query(
+            "SELECT " + NODE_COLUMNS + ", c.depth FROM task_closure c "
+            + "JOIN tasks t ON t.id = c.descendant_id JOIN projects p ON p.id = t.project_id "
+            + "LEFT JOIN users u ON u.id = t.assignee_id "
+            + "WHERE c.ancestor_id = ? AND c.depth BETWEEN 1 AND ? AND " + VISIBLE
+            + " ORDER BY c.depth, t.sort_rank, t.id",
+            nodeMapper(), taskId, depth, userId, userId, userId);
+
+        // Parents come before their children, so each node finds its parent already in place
+        Map<Long, TaskTreeNode> byId = new HashMap<>();
+        List<TaskTreeNode> roots = new ArrayList<>();
+        for (TaskTreeNode node : nodes) {
+            byId.put(node.getId(), node);
+            TaskTreeNode parent = byId.get(node.getParentId());
+            if (parent != null) {
+                parent.getChildren().add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * The path from the top-level task down to the parent of the task, without
+     * the tasks the user cannot see
+     */
+    @Transactional(readOnly = true)
+    public List<TaskTreeNode> getAncestors(Long taskId, Long userId) {
+        return jdbcTemplate.query(
+            "SELECT " + NODE_COLUMNS + ", c.depth FROM task_closure c "
+            + "JOIN tasks t ON t.id = c.ancestor_id JOIN projects p ON p.id = t.project_id "
+            + "LEFT JOIN users u ON u.id = t.assignee_id "
+            + "WHERE c.descendant_id = ? AND c.depth > 0 AND " + VISIBLE + " ORDER BY c.depth DESC",
+            nodeMapper(), taskId, userId, userId, userId);
+    }
+
+    /**
+     * Subtasks the user can see per status down to depth levels below the task,
+     * with the share completed of those not cancelled
+     */
+    @Transactional(readOnly = true)
+    public SubtreeProgress getProgress(Long taskId, int depth, Long userId) {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT t.status, COUNT(*) FROM task_closure c JOIN tasks t ON t.id = c.descendant_id "
+            + "JOIN projects p ON p.id = t.project_id "
+            + "WHERE c.ancestor_id = ? AND c.depth BETWEEN 1 AND ? AND " + VISIBLE + " GROUP BY t.status",
+            rs -> {
+                counts.put(rs.getString(1), rs.getLong(2));
+            },
+            taskId, depth, userId, userId, userId);
+
+        long todo = counts.getOrDefault(Task.TaskStatus.TODO.name(), 0L);
+        long inProgress = counts.getOrDefault(Task.TaskStatus.IN_PROGRESS.name(), 0L);
+        long completed = counts.getOrDefault(Task.TaskStatus.COMPLETED.name(), 0L);
+        long cancelled = counts.getOrDefault(Task.TaskStatus.CANCELLED.name(), 0L);
+        long notCancelled = todo + inProgress + completed;
+        Double percentComplete = notCancelled == 0 ? null : Math.round(completed * 1000.0 / notCancelled) / 10.0;
+        return new SubtreeProgress(taskId, depth, todo + inProgress + completed + cancelled, todo, inProgress,
+            completed, cancelled, percentComplete);
+    }
+
+    private boolean isInSubtree(Long rootId, Long taskId) {
+        Integer links = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM task_closure WHERE ancestor_id = ? AND descendant_id = ? FOR SHARE",
+            Integer.class, rootId, taskId);
+        return links != null && links > 0;
+    }
+
+    // Levels above the task; 0 for a top-level task
+    private int depthOf(Long taskId) {
+        Integer depth = jdbcTemplate.queryForObject(
+            "SELECT MAX(depth) FROM task_closure WHERE descendant_id = ? FOR SHARE", Integer.class, taskId);
+        return depth == null ? 0 : depth;
+    }
+
+    // Levels below the task; 0 for a task without subtasks
+    private int heightOf(Long taskId) {
+        Integer height = jdbcTemplate.queryForObject(
+            "SELECT MAX(depth) FROM task_closure WHERE ancestor_id = ? FOR SHARE", Integer.class, taskId);
+        return height == null ? 0 : height;
+    }
+
+    private static RowMapper<TaskTreeNode> nodeMapper() {
+        return (rs, rowNum) -> {
+            long assigneeId = rs.getLong(7);
+            UserInfo assignee = rs.wasNull() ? null
+                : new UserInfo(assigneeId, rs.getString(8), rs.getString(9), rs.getString(10), rs.getString(11));
+            long parentId = rs.getLong(5);
+            boolean topLevel = rs.wasNull();
+            return new TaskTreeNode(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                topLevel ? null : parentId,
+                rs.getInt(12),
+                rs.getString(6),
+                assignee);
+        };
+    }
+
+    private static Object[] concat(Object[] first, Object[] second) {
+        Object[] all = new Object[first.length + second.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        return all;
+    }
+}
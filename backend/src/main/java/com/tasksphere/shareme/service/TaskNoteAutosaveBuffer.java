@@ -0,0 +1,207 @@
+package com.tasksphere.shareme.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tasksphere.shareme.dto.TaskNoteAutosaveRequest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind buffer for note autosaves.
+ *
+ * Editors autosave every few seconds; each save replaces the pending state of
+ * that note in memory, so a burst of saves turns into a single UPDATE of the
+ * existing row. Pending saves are flushed in batches on a short interval, when
+ * the editor closes the note, when the buffer grows past its limit, and on
+ * shutdown.
+ *
+ * All writes run on one flusher thread, so a note is never written by two
+ * flushes at once and an older state cannot land after a newer one. Callers
+ * that need a note written (closing it, reading it back) wait for the flusher;
+ * a full buffer only asks it for an early flush.
+ */
+@Component
+public class TaskNoteAutosaveBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskNoteAutosaveBuffer.class);
+
+    @Autowired
+    private TaskNoteService taskNoteService;
+
+    @Value("${app.notes.autosave.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.notes.autosave.max-pending:5000}")
+    private int maxPending;
+
+    @Value("${app.notes.autosave.flush-interval-ms:2000}")
+    private long flushIntervalMs;
+
+    private final ConcurrentHashMap<Long, TaskNoteAutosaveRequest> pending = new ConcurrentHashMap<>();
+
+    // Notes taken from pending by the flusher and not written yet
+    private final Set<Long> writing = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean earlyFlushRequested = new AtomicBoolean();
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void startFlusher() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "note-autosave-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushPending, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        logger.info("Flushing {} pending note autosaves before shutdown", pending.size());
+        flushPending();
+    }
+
+    /**
+     * Buffer the latest state of a note, replacing any earlier unsaved state
+     * (a content-only save keeps the pending name and tags)
+     */
+    public void enqueue(Long noteId, TaskNoteAutosaveRequest request) {
+        pending.merge(noteId, request, TaskNoteAutosaveBuffer::coalesce);
+        if (pending.size() > maxPending && earlyFlushRequested.compareAndSet(false, true)) {
+            logger.warn("Autosave buffer holds {} notes, flushing early", pending.size());
+            try {
+                flusher.execute(() -> {
+                    earlyFlushRequested.set(false);
+                    flushPending();
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the final flush writes it
+                earlyFlushRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Whether the note has buffered changes that are not written yet
+     */
+    public boolean isPending(Long noteId) {
+        return pending.containsKey(noteId) || writing.contains(noteId);
+    }
+
+    /**
+     * Write one note now, e.g. when its editor is closed, and wait until it is
+     * written, including a batch that already took it
+     */
+    public void flushNote(Long noteId) {
+        runOnFlusher(() -> {
+            TaskNoteAutosaveRequest request = pending.remove(noteId);
+            if (request == null) {
+                return;
+            }
+            Map<Long, TaskNoteAutosaveRequest> batch = new LinkedHashMap<>();
+            batch.put(noteId, request);
+            write(batch);
+        });
+    }
+
+    /**
+     * Drain everything buffered so far in batches and wait for it
+     */
+    public void flush() {
+        runOnFlusher(this::flushPending);
+    }
+
+    /**
+     * Forget unsaved changes of notes that no longer exist (their task was
+     * archived), so they cannot land on the notes if the task is restored
+     */
+    public void discard(Collection<Long> noteIds) {
+        runOnFlusher(() -> pending.keySet().removeAll(noteIds));
+    }
+
+    // Only ever runs on the flusher thread (or after it stopped)
+    private void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Long> noteIds = new ArrayList<>(pending.keySet());
+        Map<Long, TaskNoteAutosaveRequest> batch = new LinkedHashMap<>();
+        for (Long noteId : noteIds) {
+            TaskNoteAutosaveRequest request = pending.remove(noteId);
+            if (request != null) {
+                batch.put(noteId, request);
+            }
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        write(batch);
+    }
+
+    private void runOnFlusher(Runnable action) {
+        Future<?> done;
+        try {
+            done = flusher.submit(action);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Autosave flusher stopped; pending changes are written by the shutdown flush");
+            return;
+        }
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Flushing note autosaves failed: {}", e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // The newer state, keeping the name and tags of an older full save under a content-only one
+    private static TaskNoteAutosaveRequest coalesce(TaskNoteAutosaveRequest older, TaskNoteAutosaveRequest newer) {
+        if (newer.isContentOnly() && !older.isContentOnly()) {
+            return new TaskNoteAutosaveRequest(older.getNoteName(), newer.getNoteContent(), older.getReminderTags());
+        }
+        return newer;
+    }
+
+    private void write(Map<Long, TaskNoteAutosaveRequest> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        writing.addAll(batch.keySet());
+        try {
+            int written = taskNoteService.applyAutosaves(batch);
+            logger.debug("Flushed {} coalesced note autosaves", written);
+        } catch (Exception e) {
+            logger.error("Failed to flush {} note autosaves, re-queueing: {}", batch.size(), e.getMessage(), e);
+            // No other write runs meanwhile, so anything in pending now is newer and wins
+            batch.forEach((noteId, failed) -> pending.merge(noteId, failed, (newer, older) -> coalesce(older, newer)));
+        } finally {
+            writing.removeAll(batch.keySet());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.tasksphere.shareme.service;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tasksphere.shareme.dto.TaskNoteRevisionResponse;
+import com.tasksphere.shareme.entity.TaskNoteRevision;
+import com.tasksphere.shareme.exception.ResourceNotFoundException;
+import com.tasksphere.shareme.repository.TaskNoteRepository;
+import com.tasksphere.shareme.repository.TaskNoteRevisionRepository;
+import com.tasksphere.shareme.util.NoteDeltaCodec;
+
+/**
+ * Stores note content history as compressed deltas with a full snapshot every
+ * few revisions, and rebuilds any revision from its nearest snapshot.
+ */
+@Service
+@Transactional
+public class TaskNoteRevisionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskNoteRevisionService.class);
+
+    @Autowired
+    private TaskNoteRevisionRepository taskNoteRevisionRepository;
+
+    @Autowired
+    private TaskNoteRepository taskNoteRepository;
+
+    @Value("${app.notes.revisions.snapshot-interval:20}")
+    private int snapshotInterval;
+
+    /**
+     * Record a new revision when the note content changed.
+     * previousContent is the content of the latest revision (null for a new note).
+     */
+    public void recordRevision(Long noteId, String previousContent, String newContent) {
+        if (noteId == null) {
+            return;
+        }
+
+        TaskNoteRevision latest = taskNoteRevisionRepository.findTopByTaskNoteIdOrderByRevisionNumberDesc(noteId)
+            .orElse(null);
+        if (latest != null && Objects.equals(nullToEmpty(previousContent), nullToEmpty(newContent))) {
+            return;
+        }
+
+        int revisionNumber = latest == null ? 1 : latest.getRevisionNumber() + 1;
+        boolean snapshot = latest == null || (revisionNumber - 1) % snapshotInterval == 0;
+        byte[] payload = snapshot
+            ? NoteDeltaCodec.encodeSnapshot(newContent)
+            : NoteDeltaCodec.encodeDelta(previousContent, newContent);
+
+        taskNoteRevisionRepository.save(new TaskNoteRevision(noteId, revisionNumber, snapshot, payload,
+            nullToEmpty(newContent).length()));
+        logger.debug("Recorded {} revision {} of note {} in {} bytes",
+            snapshot ? "snapshot" : "delta", revisionNumber, noteId, payload.length);
+    }
+
+    /**
+     * List revision metadata of a user's note, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<TaskNoteRevisionResponse> getRevisions(Long userId, Long noteId) {
+        verifyOwner(userId, noteId);
+        return taskNoteRevisionRepository.findSummariesByTaskNoteId(noteId);
+    }
+
+    /**
+     * Rebuild the content of one revision of a user's note
+     */
+    @Transactional(readOnly = true)
+    public TaskNoteRevisionResponse getRevision(Long userId, Long noteId, Integer revisionNumber) {
+        verifyOwner(userId, noteId);
+
+        Integer base = taskNoteRevisionRepository.findSnapshotRevisionAtOrBefore(noteId, revisionNumber);
+        if (base == null) {
+            throw new ResourceNotFoundException("Revision " + revisionNumber + " not found for note " + noteId);
+        }
+
+        List<TaskNoteRevision> chain = taskNoteRevisionRepository
+            .findByTaskNoteIdAndRevisionNumberBetweenOrderByRevisionNumberAsc(noteId, base, revisionNumber);
+        TaskNoteRevision target = chain.get(chain.size() - 1);
+        if (!target.getRevisionNumber().equals(revisionNumber)) {
+            throw new ResourceNotFoundException("Revision " + revisionNumber + " not found for note " + noteId);
+        }
+
+        String content = NoteDeltaCodec.decodeSnapshot(chain.get(0).getPayload());
+        for (int i = 1; i < chain.size(); i++) {
+            content = NoteDeltaCodec.applyDelta(content, chain.get(i).getPayload());
+        }
+
+        return new TaskNoteRevisionResponse(noteId, target.getRevisionNumber(), target.getSnapshot(),
+            target.getContentLength(), content, target.getCreatedAt());
+    }
+
+    private void verifyOwner(Long userId, Long noteId) {
+        if (!taskNoteRepository.existsByIdAndUserId(noteId, userId)) {
+            throw new ResourceNotFoundException("Task note not found with id: " + noteId);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
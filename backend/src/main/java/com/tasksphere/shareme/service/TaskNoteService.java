@@ -1,17 +1,27 @@
 package com.tasksphere.shareme.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.tasksphere.shareme.dto.CursorPageResponse;
+import com.tasksphere.shareme.dto.TaskNoteAutosaveRequest;
 import com.tasksphere.shareme.dto.TaskNoteRequest;
 import com.tasksphere.shareme.dto.TaskNoteResponse;
+import com.tasksphere.shareme.dto.TaskNoteSummaryResponse;
 import com.tasksphere.shareme.entity.Task;
 import com.tasksphere.shareme.entity.TaskNote;
 import com.tasksphere.shareme.entity.User;
@@ -19,6 +29,8 @@ import com.tasksphere.shareme.exception.ResourceNotFoundException;
 import com.tasksphere.shareme.repository.TaskNoteRepository;
 import com.tasksphere.shareme.repository.TaskRepository;
 import com.tasksphere.shareme.repository.UserRepository;
+import com.tasksphere.shareme.util.CursorCodec;
+import com.tasksphere.shareme.util.ETags;
 
 @Service
 @Transactional
@@ -26,6 +38,9 @@ public class TaskNoteService {
     
     private static final Logger logger = LoggerFactory.getLogger(TaskNoteService.class);
     
+    private static final int SNIPPET_LENGTH = 200;
+    private static final int MAX_SUMMARY_PAGE_SIZE = 100;
+    
     @Autowired
     private TaskNoteRepository taskNoteRepository;
     
@@ -35,6 +50,15 @@ public class TaskNoteService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private TaskNoteTagIndex taskNoteTagIndex;
+    
+    @Autowired
+    private TaskNoteRevisionService taskNoteRevisionService;
+    
+    @Autowired
+    private TaskService taskService;
+    
     /**
      * Get or create a task note for a user and task
      */
@@ -99,11 +123,60 @@ public class TaskNoteService {
         TaskNote taskNote = new TaskNote(user, task, request.getNoteName(), request.getNoteContent(), request.getReminderTags());
         
         TaskNote savedNote = taskNoteRepository.save(taskNote);
+        taskNoteTagIndex.onNoteSaved(userId, savedNote.getId(), savedNote.getReminderTags());
+        taskNoteRevisionService.recordRevision(savedNote.getId(), null, savedNote.getNoteContent());
         logger.info("Task note saved successfully for user {} and task {}", userId, request.getTaskId());
         
         return convertToResponse(savedNote);
     }
     
+    /**
+     * Check that a note exists and belongs to the user
+     */
+    @Transactional(readOnly = true)
+    public boolean isNoteOwner(Long userId, Long noteId) {
+        if (userId == null || noteId == null) {
+            return false;
+        }
+        return taskNoteRepository.existsByIdAndUserId(noteId, userId);
+    }
+    
+    /**
+     * Apply a batch of coalesced autosaves in one transaction, updating each note row in place.
+     * Returns the number of notes written.
+     */
+    public int applyAutosaves(Map<Long, TaskNoteAutosaveRequest> saves) {
+        if (saves == null || saves.isEmpty()) {
+            return 0;
+        }
+        
+        // Lock the note rows up front, in id order: the revision inserts below would otherwise share-lock
+        // them for their foreign key check before the updates at the flush, and deadlock with other writers
+        List<TaskNote> notes = taskNoteRepository.findAllByIdForUpdate(saves.keySet());
+        for (TaskNote note : notes) {
+            TaskNoteAutosaveRequest save = saves.get(note.getId());
+            String previousContent = note.getNoteContent();
+            note.setNoteContent(save.getNoteContent());
+            taskNoteRevisionService.recordRevision(note.getId(), previousContent, save.getNoteContent());
+            if (save.isContentOnly()) {
+                continue;
+            }
+            
+            note.setNoteName(save.getNoteName());
+            List<String> tags = save.getReminderTags() != null ? save.getReminderTags() : List.of();
+            if (note.getReminderTags() == null || !note.getReminderTags().equals(tags)) {
+                note.setReminderTags(new ArrayList<>(tags));
+                taskNoteTagIndex.onNoteSaved(note.getUser().getId(), note.getId(), tags);
+            }
+        }
+        
+        taskNoteRepository.saveAll(notes);
+        if (notes.size() < saves.size()) {
+            logger.debug("Skipped {} autosaves for notes that no longer exist", saves.size() - notes.size());
+        }
+        return notes.size();
+    }
+    
     /**
      * Delete a task note
      */
@@ -115,9 +188,39 @@ public class TaskNoteService {
             .orElseThrow(() -> new ResourceNotFoundException("Task note not found for user " + userId + " and task " + taskId));
         
         taskNoteRepository.delete(taskNote);
+        taskNoteTagIndex.onNoteDeleted(userId, taskNote.getId());
         logger.info("Task note deleted successfully for user {} and task {}", userId, taskId);
     }
     
+    /**
+     * Get the notes of a user on the given tasks, grouped by task id
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<TaskNoteResponse>> getUserTaskNotesByTaskIds(Long userId, Collection<Long> taskIds) {
+        Map<Long, List<TaskNoteResponse>> byTask = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return byTask;
+        }
+        for (TaskNote taskNote : taskNoteRepository.findByUserIdAndTaskIdIn(userId, taskIds)) {
+            byTask.computeIfAbsent(taskNote.getTask().getId(), id -> new ArrayList<>())
+                .add(convertToResponse(taskNote));
+        }
+        return byTask;
+    }
+    
+    /**
+     * ETag of GET /api/task-notes/{noteId} from a version lookup; null when the
+     * note is missing or not the user's
+     */
+    @Transactional(readOnly = true)
+    public String getTaskNoteETag(Long userId, Long noteId) {
+        List<Object[]> versions = taskNoteRepository.findVersionForUser(userId, noteId);
+        if (versions.isEmpty()) {
+            return null;
+        }
+        return ETags.of("note", noteId, versions.get(0)[0], versions.get(0)[1]);
+    }
+    
     /**
      * Get all task notes for a user
      */
@@ -131,15 +234,93 @@ public class TaskNoteService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Get one page of lightweight note summaries for a user, newest first.
+     * Only a content snippet is read; tags come from the in-memory tag index.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskNoteSummaryResponse> getUserTaskNoteSummaries(Long userId, String cursor, int size) {
+        logger.debug("Getting task note summaries for user {} after cursor {}", userId, cursor);
+        
+        int pageSize = Math.max(1, Math.min(size, MAX_SUMMARY_PAGE_SIZE));
+        // Fetch one extra row to know whether another page follows
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        CursorCodec.Position position = CursorCodec.decode(cursor);
+        
+        List<TaskNoteSummaryResponse> rows = position == null
+            ? taskNoteRepository.findSummariesByUserId(userId, SNIPPET_LENGTH, limit)
+            : taskNoteRepository.findSummariesByUserIdBefore(userId, position.getTimestamp(), position.getId(),
+                SNIPPET_LENGTH, limit);
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskNoteSummaryResponse> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        
+        Map<Long, List<String>> tags = taskNoteTagIndex.getTagsForNotes(userId,
+            items.stream().map(TaskNoteSummaryResponse::getId).collect(Collectors.toList()));
+        for (TaskNoteSummaryResponse item : items) {
+            item.setReminderTags(tags.get(item.getId()));
+            if (item.getSnippet() != null) {
+                item.setSnippet(item.getSnippet().replaceAll("\\s+", " ").trim());
+            }
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            TaskNoteSummaryResponse last = items.get(items.size() - 1);
+            nextCursor = CursorCodec.encode(last.getUpdatedAt(), last.getId());
+        }
+        return new CursorPageResponse<>(items, nextCursor);
+    }
+    
+    /**
+     * Get the full content of one note of the user
+     */
+    @Transactional(readOnly = true)
+    public TaskNoteResponse getTaskNoteById(Long userId, Long noteId) {
+        logger.debug("Getting task note {} for user {}", noteId, userId);
+        
+        TaskNote taskNote = taskNoteRepository.findById(noteId)
+            .filter(note -> note.getUser().getId().equals(userId))
+            .orElseThrow(() -> new ResourceNotFoundException("Task note not found with id: " + noteId));
+        return convertToResponse(taskNote);
+    }
+    
+    /**
+     * Get a note for shared editing: the owner, or anyone with access to the note's task
+     */
+    @Transactional(readOnly = true)
+    public TaskNoteResponse getTaskNoteForCollaboration(Long userId, Long noteId) {
+        logger.debug("Getting task note {} for collaborative editing by user {}", noteId, userId);
+        
+        TaskNote taskNote = taskNoteRepository.findById(noteId)
+            .filter(note -> note.getUser().getId().equals(userId)
+                || (note.getTask() != null && taskService.userHasAccessToTask(userId, note.getTask().getId())))
+            .orElseThrow(() -> new ResourceNotFoundException("Task note not found with id: " + noteId));
+        return convertToResponse(taskNote);
+    }
+    
     /**
      * Get task notes by tag for a user
      */
     @Transactional(readOnly = true)
     public List<TaskNoteResponse> getUserTaskNotesByTag(Long userId, String tag) {
         logger.debug("Getting task notes for user {} with tag {}", userId, tag);
+        return getUserTaskNotesByTags(userId, List.of(tag), true);
+    }
+    
+    /**
+     * Get task notes carrying all (matchAll) or any of the given tags, resolved through the tag index
+     */
+    @Transactional(readOnly = true)
+    public List<TaskNoteResponse> getUserTaskNotesByTags(Long userId, List<String> tags, boolean matchAll) {
+        logger.debug("Getting task notes for user {} with tags {} (matchAll={})", userId, tags, matchAll);
         
-        List<TaskNote> taskNotes = taskNoteRepository.findByUserIdAndReminderTagsContaining(userId, tag);
-        return taskNotes.stream()
+        Set<Long> noteIds = taskNoteTagIndex.findNoteIds(userId, tags, matchAll);
+        if (noteIds.isEmpty()) {
+            return List.of();
+        }
+        
+        return taskNoteRepository.findByUserIdAndIdIn(userId, noteIds).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
@@ -150,7 +331,25 @@ public class TaskNoteService {
     @Transactional(readOnly = true)
     public List<String> getUserTags(Long userId) {
         logger.debug("Getting all tags for user {}", userId);
-        return taskNoteRepository.findDistinctTagsByUserId(userId);
+        return taskNoteTagIndex.getTags(userId);
+    }
+    
+    /**
+     * Get the number of notes per tag for a user
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Integer> getUserTagCounts(Long userId) {
+        logger.debug("Getting tag counts for user {}", userId);
+        return taskNoteTagIndex.getTagCounts(userId);
+    }
+    
+    /**
+     * Suggest the user's tags starting with a prefix
+     */
+    @Transactional(readOnly = true)
+    public List<String> autocompleteTags(Long userId, String prefix, int limit) {
+        logger.debug("Autocompleting tags for user {} with prefix {}", userId, prefix);
+        return taskNoteTagIndex.autocomplete(userId, prefix, limit);
     }
     
     /**
@@ -179,7 +378,7 @@ public class TaskNoteService {
     /**
      * Convert TaskNote entity to TaskNoteResponse DTO
      */
-    private TaskNoteResponse convertToResponse(TaskNote taskNote) {
+    TaskNoteResponse convertToResponse(TaskNote taskNote) {
         Long taskId = taskNote.getTask() != null ? taskNote.getTask().getId() : null;
         String taskTitle = taskNote.getTask() != null ? taskNote.getTask().getTitle() : null;
         
@@ -0,0 +1,348 @@
+package com.tasksphere.shareme.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tasksphere.shareme.repository.TaskNoteRepository;
+
+/**
+ * In-memory inverted index over task note reminder tags.
+ *
+ * Each user gets a tag -> note id postings list plus the reverse note -> tags
+ * mapping, so tag listings, counts, multi-tag AND/OR lookups and prefix
+ * autocomplete never touch the task_note_tags table. A user's index is built
+ * from a single query on first access and kept current by TaskNoteService
+ * after each committed save or delete. Paths that remove notes in bulk (task
+ * and project deletion, archiving, restoring) evict the affected users so
+ * their index is rebuilt.
+ *
+ * The query runs outside of the map, and saves or deletes that commit while
+ * it runs are replayed on top of its result. At most max-users indexes are
+ * kept, least recently used first out, and an index is rebuilt after
+ * expire-after-minutes, which also bounds how long another instance's
+ * changes stay invisible here.
+ *
+ * Tags compare case-insensitively to match the MySQL collation that the
+ * previous MEMBER OF / DISTINCT queries relied on.
+ */
+@Component
+public class TaskNoteTagIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskNoteTagIndex.class);
+
+    @Autowired
+    private TaskNoteRepository taskNoteRepository;
+
+    @Value("${app.notes.tag-index.max-users:10000}")
+    private int maxUsers;
+
+    @Value("${app.notes.tag-index.expire-after-minutes:30}")
+    private long expireAfterMinutes;
+
+    private final Map<Long, UserTagIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * All tags used by the user, alphabetically
+     */
+    public List<String> getTags(Long userId) {
+        UserTagIndex index = indexFor(userId);
+        synchronized (index) {
+            return new ArrayList<>(index.postings.keySet());
+        }
+    }
+
+    /**
+     * Number of notes carrying each tag, alphabetically by tag
+     */
+    public Map<String, Integer> getTagCounts(Long userId) {
+        UserTagIndex index = indexFor(userId);
+        synchronized (index) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            index.postings.forEach((tag, noteIds) -> counts.put(tag, noteIds.size()));
+            return counts;
+        }
+    }
+
+    /**
+     * Tags starting with the given prefix, alphabetically, at most limit entries
+     */
+    public List<String> autocomplete(Long userId, String prefix, int limit) {
+        UserTagIndex index = indexFor(userId);
+        String normalized = prefix == null ? "" : prefix.trim();
+        synchronized (index) {
+            NavigableMap<String, TreeSet<Long>> candidates = normalized.isEmpty()
+                ? index.postings
+                : index.postings.subMap(normalized, true, normalized + Character.MAX_VALUE, true);
+            List<String> result = new ArrayList<>();
+            for (String tag : candidates.keySet()) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(tag);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Ids of notes carrying all (matchAll) or any of the given tags
+     */
+    public Set<Long> findNoteIds(Long userId, Collection<String> tags, boolean matchAll) {
+        UserTagIndex index = indexFor(userId);
+        Set<Long> result = new TreeSet<>();
+        if (tags == null || tags.isEmpty()) {
+            return result;
+        }
+
+        synchronized (index) {
+            if (!matchAll) {
+                for (String tag : tags) {
+                    TreeSet<Long> noteIds = index.postings.get(tag.trim());
+                    if (noteIds != null) {
+                        result.addAll(noteIds);
+                    }
+                }
+                return result;
+            }
+
+            // Intersect starting from the shortest postings list
+            List<TreeSet<Long>> lists = new ArrayList<>();
+            for (String tag : tags) {
+                TreeSet<Long> noteIds = index.postings.get(tag.trim());
+                if (noteIds == null) {
+                    return result;
+                }
+                lists.add(noteIds);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+            result.addAll(lists.get(0));
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(lists.get(i));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Tags of each of the given notes, for listings that skip the element collection
+     */
+    public Map<Long, List<String>> getTagsForNotes(Long userId, Collection<Long> noteIds) {
+        UserTagIndex index = indexFor(userId);
+        Map<Long, List<String>> result = new HashMap<>();
+        synchronized (index) {
+            for (Long noteId : noteIds) {
+                Set<String> tags = index.noteTags.get(noteId);
+                result.put(noteId, tags == null ? List.of() : new ArrayList<>(tags));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Record the tags of a saved note once the surrounding transaction commits
+     */
+    public void onNoteSaved(Long userId, Long noteId, Collection<String> tags) {
+        List<String> snapshot = tags == null ? List.of() : new ArrayList<>(tags);
+        afterCommit(() -> update(userId, index -> index.put(noteId, snapshot)));
+    }
+
+    /**
+     * Drop a deleted note from the index once the surrounding transaction commits
+     */
+    public void onNoteDeleted(Long userId, Long noteId) {
+        afterCommit(() -> update(userId, index -> index.remove(noteId)));
+    }
+
+    /**
+     * Rebuild the indexes of the given users once the surrounding transaction
+     * commits; for statements that remove or restore many notes at once
+     */
+    public void onNotesChanged(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<Long> snapshot = new ArrayList<>(userIds);
+        afterCommit(() -> snapshot.forEach(this::evict));
+    }
+
+    /**
+     * Forget a user's index so it is rebuilt on next access
+     */
+    public void evict(Long userId) {
+        indexes.remove(userId);
+    }
+
+    private void update(Long userId, Consumer<UserTagIndex> change) {
+        UserTagIndex index = indexes.get(userId);
+        if (index != null) {
+            index.apply(change);
+        }
+    }
+
+    private UserTagIndex indexFor(Long userId) {
+        long expireAfterMillis = expireAfterMinutes * 60_000L;
+        while (true) {
+            UserTagIndex index = indexes.get(userId);
+            if (index == null) {
+                UserTagIndex created = new UserTagIndex();
+                index = indexes.putIfAbsent(userId, created);
+                if (index == null) {
+                    load(userId, created);
+                    trim();
+                    return created;
+                }
+            }
+            if (index.awaitBuilt() && System.currentTimeMillis() - index.builtAt < expireAfterMillis) {
+                index.lastAccess = System.currentTimeMillis();
+                return index;
+            }
+            // Failed or expired: the next round builds a fresh one
+            indexes.remove(userId, index);
+        }
+    }
+
+    // Runs the query while the empty index is already in the map, so that changes committed meanwhile are kept
+    private void load(Long userId, UserTagIndex index) {
+        List<Object[]> rows;
+        try {
+            rows = taskNoteRepository.findNoteIdAndTagByUserId(userId);
+        } catch (RuntimeException e) {
+            indexes.remove(userId, index);
+            index.fail();
+            throw e;
+        }
+        index.build(rows);
+        logger.debug("Built tag index for user {} with {} tags over {} notes",
+            userId, index.postings.size(), index.noteTags.size());
+    }
+
+    // Drop the least recently used indexes, a tenth more than needed so this does not run for every new user
+    private void trim() {
+        int excess = indexes.size() - maxUsers;
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<Long, Long>> byAccess = new ArrayList<>();
+        indexes.forEach((userId, index) -> byAccess.add(Map.entry(userId, index.lastAccess)));
+        byAccess.sort(Map.Entry.comparingByValue());
+        int drop = Math.min(byAccess.size(), excess + maxUsers / 10);
+        for (int i = 0; i < drop; i++) {
+            indexes.remove(byAccess.get(i).getKey());
+        }
+        logger.debug("Dropped {} tag indexes over the limit of {} users", drop, maxUsers);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Postings and forward lists for one user; guarded by its own monitor.
+     * Until build() ran, changes are queued and replayed over the loaded rows.
+     */
+    private static class UserTagIndex {
+        private final TreeMap<String, TreeSet<Long>> postings = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Map<Long, Set<String>> noteTags = new HashMap<>();
+        private List<Consumer<UserTagIndex>> queued = new ArrayList<>();
+        private boolean built;
+        private boolean failed;
+        private volatile long builtAt;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        synchronized void build(List<Object[]> rows) {
+            for (Object[] row : rows) {
+                add((Long) row[0], (String) row[1]);
+            }
+            queued.forEach(change -> change.accept(this));
+            queued = null;
+            built = true;
+            builtAt = System.currentTimeMillis();
+            notifyAll();
+        }
+
+        synchronized void fail() {
+            failed = true;
+            queued = null;
+            notifyAll();
+        }
+
+        synchronized void apply(Consumer<UserTagIndex> change) {
+            if (built) {
+                change.accept(this);
+            } else if (!failed) {
+                queued.add(change);
+            }
+        }
+
+        // True once built, false if the load failed
+        synchronized boolean awaitBuilt() {
+            while (!built && !failed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while the tag index was loading", e);
+                }
+            }
+            return built;
+        }
+
+        void put(Long noteId, Collection<String> tags) {
+            remove(noteId);
+            for (String tag : tags) {
+                add(noteId, tag);
+            }
+        }
+        void add(Long noteId, String tag) {
+            if (tag == null || tag.trim().isEmpty()) {
+                return;
+            }
+            String normalized = tag.trim();
+            postings.computeIfAbsent(normalized, t -> new TreeSet<>()).add(noteId);
+            noteTags.computeIfAbsent(noteId, id -> new TreeSet<>(String.CASE_INSENSITIVE_ORDER)).add(normalized);
+        }
+
+        void remove(Long noteId) {
+            Set<String> tags = noteTags.remove(noteId);
+            if (tags == null) {
+                return;
+            }
+            for (String tag : tags) {
+                TreeSet<Long> noteIds = postings.get(tag);
+                if (noteIds != null) {
+                    noteIds.remove(noteId);
+                    if (noteIds.isEmpty()) {
+                        postings.remove(tag);
+                    }
+                }
+            }
+        }
+    }
+}
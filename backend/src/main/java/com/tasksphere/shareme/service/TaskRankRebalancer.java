@@ -0,0 +1,65 @@
+package com.tasksphere.shareme.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Respaces the manual task order of projects whose keys got long.
+ *
+ * Projects are queued by TaskRankService when a move produced a long key and
+ * handled here shortly after, one project per transaction, outside of any
+ * user request. A nightly sweep finds the projects whose request was lost in
+ * a restart.
+ */
+@Component
+public class TaskRankRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskRankRebalancer.class);
+
+    @Autowired
+    private TaskRankService taskRankService;
+
+    @Value("${app.rank.sweep-batch-size:100}")
+    private int sweepBatchSize;
+
+    @Scheduled(fixedDelayString = "${app.rank.rebalance-interval-ms:30000}")
+    public void rebalanceRequested() {
+        rebalance(taskRankService.takeRequested());
+    }
+
+    @Scheduled(cron = "${app.rank.sweep-cron:0 0 5 * * *}")
+    public void sweep() {
+        try {
+            List<Long> projectIds;
+            do {
+                projectIds = taskRankService.findProjectsToRebalance(sweepBatchSize);
+            } while (rebalance(projectIds) == sweepBatchSize);
+        } catch (Exception e) {
+            logger.error("Sweeping task ranks failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Number of projects respaced
+    private int rebalance(List<Long> projectIds) {
+        int done = 0;
+        for (Long projectId : projectIds) {
+            try {
+                int tasks = taskRankService.rebalance(projectId);
+                logger.debug("Respaced the order of {} tasks in project {}", tasks, projectId);
+                done++;
+            } catch (Exception e) {
+                logger.warn("Respacing the task order of project {} failed: {}", projectId, e.getMessage());
+            }
+        }
+        if (done > 0) {
+            logger.info("Respaced the task order of {} projects", done);
+        }
+        return done;
+    }
+}
@@ -0,0 +1,160 @@
+package com.tasksphere.shareme.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tasksphere.shareme.util.RankKey;
+
+/**
+ * Keys of the manual task order of a project.
+ *
+ * Placing a task computes one key between two neighbours, so a move writes
+ * only the moved task. Every writer of sort_rank holds the project lock
+ * (ProjectLockService) and reads the neighbours with a locking read, so two
+ * moves into the same gap cannot pick the same key. A key longer than
+ * rebalance-length queues its project for TaskRankRebalancer; one that would
+ * no longer fit the column respaces the project right away. A respacing locks
+ * the project before its task rows, like every other writer.
+ */
+@Service
+@Transactional
+public class TaskRankService {
+
+    private static final int MAX_RANK_LENGTH = 64;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private ProjectLockService projectLockService;
+
+    @Value("${app.rank.rebalance-length:12}")
+    private int rebalanceLength;
+
+    // Projects that got a long key, waiting for the rebalancer
+    private final Set<Long> requested = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Key after the last task of the project, for a new or restored task
+     */
+    public String rankAtEnd(Long projectId) {
+        projectLockService.lock(projectId);
+        String key = keyAtEnd(projectId);
+        if (key.length() > MAX_RANK_LENGTH) {
+            rebalance(projectId);
+            key = keyAtEnd(projectId);
+        }
+        return checked(projectId, key);
+    }
+
+    /**
+     * Key that puts the task right after afterTaskId in the project order, or
+     * first when afterTaskId is null; the task itself is ignored as a neighbour
+     */
+    public String rankAfter(Long projectId, Long taskId, Long afterTaskId) {
+        projectLockService.lock(projectId);
+        String key = keyAfter(projectId, taskId, afterTaskId);
+        if (key.length() > MAX_RANK_LENGTH) {
+            rebalance(projectId);
+            key = keyAfter(projectId, taskId, afterTaskId);
+        }
+        return checked(projectId, key);
+    }
+
+    /**
+     * Give the tasks of a project short, evenly spaced keys in their current
+     * order; returns how many tasks were rewritten
+     */
+    public int rebalance(Long projectId) {
+        // The new keys are synced like any other change, so the tasks get new numbers
+        projectLockService.lock(projectId);
+        List<Long> taskIds = jdbcTemplate.queryForList(
+            "SELECT id FROM tasks WHERE project_id = ? ORDER BY sort_rank, id FOR UPDATE", Long.class, projectId);
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        long base = changeSequenceService.reserve(taskIds.size());
+        List<String> keys = RankKey.spread(taskIds.size());
+
+        List<Object[]> rows = new ArrayList<>(taskIds.size());
+        for (int i = 0; i < taskIds.size(); i++) {
+            rows.add(new Object[] { keys.get(i), base + i + 1, taskIds.get(i) });
+        }
+        jdbcTemplate.batchUpdate("UPDATE tasks SET sort_rank = ?, change_seq = ? WHERE id = ?", rows);
+        return taskIds.size();
+    }
+
+    /**
+     * Projects with a key longer than the rebalance length; a full scan, for the
+     * sweep that catches requests lost in a restart
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findProjectsToRebalance(int limit) {
+        return jdbcTemplate.queryForList(
+            "SELECT DISTINCT project_id FROM tasks WHERE CHAR_LENGTH(sort_rank) > ? LIMIT ?",
+            Long.class, rebalanceLength, limit);
+    }
+
+    /**
+     * Take the projects queued since the last call
+     */
+    public List<Long> takeRequested() {
+        List<Long> projectIds = new ArrayList<>(requested);
+        requested.removeAll(projectIds);
+        return projectIds;
+    }
+
+    private String keyAtEnd(Long projectId) {
+        List<String> last = jdbcTemplate.queryForList(
+            "SELECT sort_rank FROM tasks WHERE project_id = ? ORDER BY sort_rank DESC LIMIT 1 FOR SHARE",
+            String.class, projectId);
+        return RankKey.between(last.isEmpty() ? null : last.get(0), null);
+    }
+
+    private String keyAfter(Long projectId, Long taskId, Long afterTaskId) {
+        String before = null;
+        if (afterTaskId != null) {
+            List<String> found = jdbcTemplate.queryForList(
+                "SELECT sort_rank FROM tasks WHERE id = ? AND project_id = ? FOR SHARE", String.class,
+                afterTaskId, projectId);
+            if (found.isEmpty()) {
+                throw new IllegalArgumentException("Task " + afterTaskId + " is not in the same project");
+            }
+            before = found.get(0);
+        }
+
+        // Served by idx_tasks_project_rank
+        List<String> next = before == null
+            ? jdbcTemplate.queryForList("SELECT sort_rank FROM tasks WHERE project_id = ? AND id <> ? "
+                + "ORDER BY sort_rank LIMIT 1 FOR SHARE", String.class, projectId, taskId)
+            : jdbcTemplate.queryForList("SELECT sort_rank FROM tasks WHERE project_id = ? AND sort_rank > ? AND id <> ? "
+                + "ORDER BY sort_rank LIMIT 1 FOR SHARE", String.class, projectId, before, taskId);
+        return RankKey.between(before, next.isEmpty() ? null : next.get(0));
+    }
+
+    // Queue the project for respacing once this transaction committed its long key
+    private String checked(Long projectId, String key) {
+        if (key.length() > rebalanceLength && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requested.add(projectId);
+                }
+            });
+        }
+        return key;
+    }
+}
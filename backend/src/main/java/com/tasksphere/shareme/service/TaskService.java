@@ -1,6 +1,16 @@
 package com.tasksphere.shareme.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -8,23 +18,46 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.tasksphere.shareme.dto.SubtreeProgress;
+import com.tasksphere.shareme.dto.TaskAttachmentResponse;
+import com.tasksphere.shareme.dto.TaskMoveRequest;
+import com.tasksphere.shareme.dto.TaskParentRequest;
 import com.tasksphere.shareme.dto.TaskRequest;
 import com.tasksphere.shareme.dto.TaskResponse;
 import com.tasksphere.shareme.dto.TaskSearchRequest;
+import com.tasksphere.shareme.dto.TaskTreeNode;
 import com.tasksphere.shareme.dto.UserInfo;
 import com.tasksphere.shareme.entity.Project;
+import com.tasksphere.shareme.entity.SyncTombstone;
 import com.tasksphere.shareme.entity.Task;
 import com.tasksphere.shareme.entity.User;
 import com.tasksphere.shareme.exception.ResourceNotFoundException;
 import com.tasksphere.shareme.exception.UnauthorizedException;
+import com.tasksphere.shareme.exception.VersionConflictException;
 import com.tasksphere.shareme.repository.ProjectRepository;
+import com.tasksphere.shareme.repository.TaskNoteRepository;
 import com.tasksphere.shareme.repository.TaskRepository;
 import com.tasksphere.shareme.repository.UserRepository;
+import com.tasksphere.shareme.util.ETags;
+import com.tasksphere.shareme.util.FieldSelection;
+import com.tasksphere.shareme.util.MergePatch;
+
+import jakarta.persistence.Tuple;
 
 @Service
 @Transactional
 public class TaskService {
     
+    /** Values accepted by fields= and include= on the task list */
+    public static final Set<String> TASK_FIELDS = FieldSelection.names(
+        "id", "title", "description", "status", "priority", "project", "assignee", "creator",
+        "createdAt", "updatedAt", "dueDate", "version", "rank", "parentId");
+    public static final Set<String> TASK_INCLUDES = FieldSelection.names("attachments");
+    
+    /** Members accepted by PATCH /api/tasks/{id} */
+    public static final Set<String> TASK_PATCH_FIELDS = FieldSelection.names(
+        "title", "description", "status", "priority", "dueDate", "assigneeId", "version");
+    
     @Autowired
     private TaskRepository taskRepository;
     
@@ -37,10 +70,35 @@ public class TaskService {
     @Autowired
     private TaskAttachmentService taskAttachmentService;
     
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+    
+    @Autowired
+    private ActivityLog activityLog;
+    
+    @Autowired
+    private TaskRankService taskRankService;
+    
+    @Autowired
+    private TaskHierarchyService taskHierarchyService;
+    
+    @Autowired
+    private TaskNoteRepository taskNoteRepository;
+    
+    @Autowired
+    private TaskNoteTagIndex taskNoteTagIndex;
+    
     /**
      * Get all tasks accessible by the user with search and filtering
      */
     public Page<TaskResponse> getUserAccessibleTasks(Long userId, TaskSearchRequest searchRequest) {
+        return getUserAccessibleTasks(userId, searchRequest, true);
+    }
+    
+    /**
+     * Get accessible tasks; attachments are loaded for the whole page in one query, or not at all
+     */
+    public Page<TaskResponse> getUserAccessibleTasks(Long userId, TaskSearchRequest searchRequest, boolean includeAttachments) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         
@@ -61,7 +119,109 @@ public class TaskService {
             pageable
         );
         
-        return tasks.map(this::convertToTaskResponse);
+        if (!includeAttachments) {
+            return tasks.map(task -> convertToTaskResponse(task, null));
+        }
+        Map<Long, List<TaskAttachmentResponse>> attachments = taskAttachmentService.getAttachmentsByTaskIds(
+            tasks.getContent().stream().map(Task::getId).collect(Collectors.toList()));
+        return tasks.map(task -> convertToTaskResponse(task, attachments.getOrDefault(task.getId(), new ArrayList<>())));
+    }
+    
+    /**
+     * Get accessible tasks with only the selected fields; relations that are not
+     * selected are not joined and attachments are only loaded when included
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getUserAccessibleTaskFields(Long userId, TaskSearchRequest searchRequest,
+                                                                 FieldSelection selection) {
+        Sort sort = createSort(searchRequest.getSortBy(), searchRequest.getSortDirection());
+        Pageable pageable = PageRequest.of(searchRequest.getPage(), searchRequest.getSize(), sort);
+        
+        Page<Tuple> rows = taskRepository.findUserAccessibleTaskFields(
+            userId,
+            searchRequest.getQuery(),
+            parseTaskStatus(searchRequest.getStatus()),
+            parseTaskPriority(searchRequest.getPriority()),
+            searchRequest.getProjectId(),
+            selection.getFields(),
+            pageable
+        );
+        
+        Map<Long, List<TaskAttachmentResponse>> attachments = selection.hasInclude("attachments")
+            ? taskAttachmentService.getAttachmentsByTaskIds(
+                rows.getContent().stream().map(row -> row.get("id", Long.class)).collect(Collectors.toList()))
+            : null;
+        
+        return rows.map(row -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            Long taskId = row.get("id", Long.class);
+            item.put("id", taskId);
+            for (String field : selection.getFields()) {
+                switch (field) {
+                    case "id":
+                        break;
+                    case "project":
+                        item.put("project", new TaskResponse.ProjectInfo(
+                            row.get("project_id", Long.class),
+                            row.get("project_name", String.class),
+                            String.valueOf(row.get("project_status"))));
+                        break;
+                    case "assignee":
+                    case "creator":
+                        item.put(field, toUserInfo(row, field));
+                        break;
+                    default:
+                        Object value = row.get(field);
+                        item.put(field, value instanceof Enum ? value.toString() : value);
+                }
+            }
+            if (attachments != null) {
+                item.put("attachments", attachments.getOrDefault(taskId, new ArrayList<>()));
+            }
+            return item;
+        });
+    }
+    
+    private UserInfo toUserInfo(Tuple row, String prefix) {
+        Long id = row.get(prefix + "_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        return new UserInfo(
+            id,
+            row.get(prefix + "_firstName", String.class),
+            row.get(prefix + "_lastName", String.class),
+            row.get(prefix + "_email", String.class),
+            String.valueOf(row.get(prefix + "_role"))
+        );
+    }
+    
+    /**
+     * Get task counts by status for the dashboard
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTaskStats(Long userId) {
+        TaskSearchRequest allTasks = new TaskSearchRequest();
+        allTasks.setSize(1); // We only need count
+        
+        TaskSearchRequest todoTasks = new TaskSearchRequest();
+        todoTasks.setStatus("TODO");
+        todoTasks.setSize(1);
+        
+        TaskSearchRequest inProgressTasks = new TaskSearchRequest();
+        inProgressTasks.setStatus("IN_PROGRESS");
+        inProgressTasks.setSize(1);
+        
+        TaskSearchRequest completedTasks = new TaskSearchRequest();
+        completedTasks.setStatus("COMPLETED");
+        completedTasks.setSize(1);
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalTasks", getUserAccessibleTasks(userId, allTasks, false).getTotalElements());
+        stats.put("todoTasks", getUserAccessibleTasks(userId, todoTasks, false).getTotalElements());
+        stats.put("inProgressTasks", getUserAccessibleTasks(userId, inProgressTasks, false).getTotalElements());
+        stats.put("completedTasks", getUserAccessibleTasks(userId, completedTasks, false).getTotalElements());
+        return stats;
     }
     
     /**
@@ -79,6 +239,19 @@ public class TaskService {
         return convertToTaskResponse(task);
     }
     
+    /**
+     * ETag of GET /api/tasks/{id} from a version lookup; null when the task is
+     * missing or not accessible
+     */
+    @Transactional(readOnly = true)
+    public String getTaskETag(Long taskId, Long userId) {
+        List<Object[]> versions = taskRepository.findVersionForUser(userId, taskId);
+        if (versions.isEmpty()) {
+            return null;
+        }
+        return ETags.of("task", taskId, versions.get(0)[0], versions.get(0)[1]);
+    }
+    
     /**
      * Create a new task
      */
@@ -105,6 +278,11 @@ public class TaskService {
         task.setProject(project);
         task.setCreator(creator);
         task.setDueDate(taskRequest.getDueDate());
+        task.setRank(taskRankService.rankAtEnd(project.getId()));
+        if (taskRequest.getParentId() != null) {
+            taskHierarchyService.checkParent(project.getId(), null, taskRequest.getParentId());
+            task.setParentId(taskRequest.getParentId());
+        }
         
         // Set assignee if provided
         if (taskRequest.getAssigneeId() != null) {
@@ -114,6 +292,10 @@ public class TaskService {
         }
         
         Task savedTask = taskRepository.save(task);
+        taskHierarchyService.addTask(savedTask.getId(), savedTask.getParentId());
+        Map<String, Object> created = activityFields(savedTask);
+        created.remove("description");
+        activityLog.record(userId, project.getId(), savedTask.getId(), ActivityLog.TASK_CREATED, created);
         return convertToTaskResponse(savedTask);
     }
     
@@ -128,25 +310,128 @@ public class TaskService {
         if (!canModifyTask(task, userId)) {
             throw new UnauthorizedException("You don't have permission to update this task");
         }
+        checkVersion(task, taskRequest.getVersion());
+        Map<String, Object> before = activityFields(task);
         
-        // Update task fields
+        // Update task fields; values that did not change are left out of the UPDATE
         task.setTitle(taskRequest.getTitle());
         task.setDescription(taskRequest.getDescription());
         task.setStatus(parseTaskStatus(taskRequest.getStatus()));
         task.setPriority(parseTaskPriority(taskRequest.getPriority()));
         task.setDueDate(taskRequest.getDueDate());
+        changeAssignee(task, taskRequest.getAssigneeId());
         
-        // Update assignee if provided
-        if (taskRequest.getAssigneeId() != null) {
-            User assignee = userRepository.findById(taskRequest.getAssigneeId())
-                .orElseThrow(() -> new ResourceNotFoundException("Assignee not found with id: " + taskRequest.getAssigneeId()));
+        return convertToTaskResponse(saveAndRecord(task, before, userId));
+    }
+    
+    /**
+     * Apply a JSON Merge Patch to a task; only the fields present in the patch are changed
+     */
+    public TaskResponse patchTask(Long taskId, MergePatch patch, Long userId) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        
+        if (!canModifyTask(task, userId)) {
+            throw new UnauthorizedException("You don't have permission to update this task");
+        }
+        checkVersion(task, patch.getLong("version"));
+        Map<String, Object> before = activityFields(task);
+        
+        if (patch.has("title")) {
+            task.setTitle(patch.getRequiredString("title", 3, 200));
+        }
+        if (patch.has("description")) {
+            task.setDescription(patch.getString("description"));
+        }
+        if (patch.has("status")) {
+            task.setStatus(parseTaskStatus(patch.getRequiredString("status", 1, 20)));
+        }
+        if (patch.has("priority")) {
+            task.setPriority(parseTaskPriority(patch.getRequiredString("priority", 1, 20)));
+        }
+        if (patch.has("dueDate")) {
+            task.setDueDate(patch.getDateTime("dueDate"));
+        }
+        if (patch.has("assigneeId")) {
+            changeAssignee(task, patch.getLong("assigneeId"));
+        }
+        
+        return convertToTaskResponse(saveAndRecord(task, before, userId));
+    }
+    
+    /**
+     * Reassign a task; the new assignee is only loaded when the assignee actually changes
+     */
+    private void changeAssignee(Task task, Long assigneeId) {
+        User previousAssignee = task.getAssignee();
+        Long previousAssigneeId = previousAssignee != null ? previousAssignee.getId() : null;
+        if (Objects.equals(previousAssigneeId, assigneeId)) {
+            return;
+        }
+        
+        if (assigneeId != null) {
+            User assignee = userRepository.findById(assigneeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assignee not found with id: " + assigneeId));
             task.setAssignee(assignee);
         } else {
             task.setAssignee(null);
         }
         
-        Task updatedTask = taskRepository.save(task);
-        return convertToTaskResponse(updatedTask);
+        // An unassigned user who cannot otherwise see the task drops it on their next sync
+        if (previousAssignee != null && !hasTaskAccess(task, previousAssignee.getId())) {
+            changeSequenceService.recordAccessLost(SyncTombstone.TASK, task.getId(), previousAssignee.getId());
+        }
+    }
+    
+    /**
+     * Reject an update based on a version the client read before someone else changed the task
+     */
+    private void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new VersionConflictException("Task " + task.getId() + " was changed by someone else (version "
+                + expectedVersion + " is stale, current version is " + task.getVersion() + ")");
+        }
+    }
+    
+    /**
+     * Flush the update so that the response carries the new version; a concurrent
+     * update committed since the task was read fails the version check in the UPDATE
+     */
+    private Task saveVersioned(Task task) {
+        try {
+            return taskRepository.saveAndFlush(task);
+        } catch (OptimisticLockingFailureException e) {
+            throw new VersionConflictException("Task " + task.getId() + " was changed by someone else", e);
+        }
+    }
+    
+    /**
+     * Save an update and log the fields it changed, if any
+     */
+    private Task saveAndRecord(Task task, Map<String, Object> before, Long userId) {
+        Task saved = saveVersioned(task);
+        Map<String, Object> changes = ActivityLog.changes(before, activityFields(saved));
+        if (!changes.isEmpty()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("changes", changes);
+            activityLog.record(userId, saved.getProject().getId(), saved.getId(), ActivityLog.TASK_UPDATED, details);
+        }
+        return saved;
+    }
+    
+    /**
+     * The fields compared for the activity log
+     */
+    private static Map<String, Object> activityFields(Task task) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("title", task.getTitle());
+        fields.put("description", task.getDescription());
+        fields.put("status", task.getStatus().name());
+        fields.put("priority", task.getPriority().name());
+        fields.put("dueDate", task.getDueDate() != null ? task.getDueDate().toString() : null);
+        fields.put("assigneeId", task.getAssignee() != null ? task.getAssignee().getId() : null);
+        fields.put("parentId", task.getParentId());
+        return fields;
     }
     
     /**
@@ -161,7 +446,14 @@ public class TaskService {
             throw new UnauthorizedException("You don't have permission to delete this task");
         }
         
+        // Its subtasks stay and become top-level tasks
+        taskHierarchyService.detach(List.of(taskId));
+        // The task's notes go with it through the foreign key
+        taskNoteTagIndex.onNotesChanged(taskNoteRepository.findUserIdsByTaskIdIn(List.of(taskId)));
         taskRepository.delete(task);
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("title", task.getTitle());
+        activityLog.record(userId, task.getProject().getId(), taskId, ActivityLog.TASK_DELETED, details);
     }
     
     /**
@@ -176,12 +468,114 @@ public class TaskService {
             throw new UnauthorizedException("You don't have access to this task");
         }
         
+        Map<String, Object> before = activityFields(task);
         task.setStatus(parseTaskStatus(status));
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = saveAndRecord(task, before, userId);
         
         return convertToTaskResponse(updatedTask);
     }
     
+    /**
+     * Move a task in the manual order of its project, right after afterTaskId or
+     * first when it is null, optionally into another status column. Only the
+     * moved task is written.
+     */
+    public TaskResponse moveTask(Long taskId, TaskMoveRequest moveRequest, Long userId) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        
+        if (!hasTaskAccess(task, userId)) {
+            throw new UnauthorizedException("You don't have access to this task");
+        }
+        checkVersion(task, moveRequest.getVersion());
+        if (taskId.equals(moveRequest.getAfterTaskId())) {
+            throw new IllegalArgumentException("A task cannot be moved after itself");
+        }
+        
+        Map<String, Object> before = activityFields(task);
+        if (moveRequest.getStatus() != null) {
+            task.setStatus(parseTaskStatus(moveRequest.getStatus()));
+        }
+        task.setRank(taskRankService.rankAfter(task.getProject().getId(), taskId, moveRequest.getAfterTaskId()));
+        
+        return convertToTaskResponse(saveAndRecord(task, before, userId));
+    }
+    
+    /**
+     * Move a task with all its subtasks below another task of the project, or
+     * make it a top-level task when parentId is null
+     */
+    public TaskResponse changeParent(Long taskId, TaskParentRequest parentRequest, Long userId) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        
+        if (!canModifyTask(task, userId)) {
+            throw new UnauthorizedException("You don't have permission to update this task");
+        }
+        checkVersion(task, parentRequest.getVersion());
+        Map<String, Object> before = activityFields(task);
+        
+        Long parentId = parentRequest.getParentId();
+        if (!Objects.equals(task.getParentId(), parentId)) {
+            if (parentId != null) {
+                checkParentModifiable(parentId, userId);
+                taskHierarchyService.checkParent(task.getProject().getId(), taskId, parentId);
+            }
+            taskHierarchyService.moveSubtree(taskId, parentId);
+            task.setParentId(parentId);
+        }
+        return convertToTaskResponse(saveAndRecord(task, before, userId));
+    }
+    
+    /**
+     * Subtasks of a task down to depth levels, nested
+     */
+    @Transactional(readOnly = true)
+    public List<TaskTreeNode> getSubtasks(Long taskId, int depth, Long userId) {
+        checkTaskAccess(taskId, userId);
+        return taskHierarchyService.getSubtree(taskId, clampDepth(depth), userId);
+    }
+    
+    /**
+     * Parent tasks of a task, from the top-level task down to its direct parent
+     */
+    @Transactional(readOnly = true)
+    public List<TaskTreeNode> getTaskAncestors(Long taskId, Long userId) {
+        checkTaskAccess(taskId, userId);
+        return taskHierarchyService.getAncestors(taskId, userId);
+    }
+    
+    /**
+     * Subtasks per status down to depth levels; the whole subtree when depth is null
+     */
+    @Transactional(readOnly = true)
+    public SubtreeProgress getSubtreeProgress(Long taskId, Integer depth, Long userId) {
+        checkTaskAccess(taskId, userId);
+        return taskHierarchyService.getProgress(taskId,
+            depth == null ? taskHierarchyService.getMaxDepth() : clampDepth(depth), userId);
+    }
+    
+    // Only the tasks of the tree the user can see are returned
+    private void checkTaskAccess(Long taskId, Long userId) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        if (!hasTaskAccess(task, userId)) {
+            throw new UnauthorizedException("You don't have access to this task");
+        }
+    }
+    
+    // Moving a subtree below a task changes that task's tree as well
+    private void checkParentModifiable(Long parentId, Long userId) {
+        Task parent = taskRepository.findById(parentId).orElse(null);
+        if (parent != null && !canModifyTask(parent, userId)) {
+            throw new UnauthorizedException("You don't have permission to add subtasks to task " + parentId);
+        }
+    }
+    
+    private int clampDepth(int depth) {
+        return Math.max(1, Math.min(depth, taskHierarchyService.getMaxDepth()));
+    }
+    
     // Helper methods
     private boolean hasTaskAccess(Task task, Long userId) {
         return task.getCreator().getId().equals(userId) ||
@@ -222,6 +616,9 @@ public class TaskService {
                 return Sort.by(direction, "dueDate");
             case "updatedat":
                 return Sort.by(direction, "updatedAt");
+            case "rank":
+                // Manual order of the project; the id keeps pages stable across projects
+                return Sort.by(direction, "rank").and(Sort.by(direction, "id"));
             default:
                 return Sort.by(direction, "createdAt");
         }
@@ -246,6 +643,10 @@ public class TaskService {
     }
     
     private TaskResponse convertToTaskResponse(Task task) {
+        return convertToTaskResponse(task, taskAttachmentService.getTaskAttachments(task.getId()));
+    }
+    
+    TaskResponse convertToTaskResponse(Task task, List<TaskAttachmentResponse> attachments) {
         TaskResponse.ProjectInfo projectInfo = new TaskResponse.ProjectInfo(
             task.getProject().getId(),
             task.getProject().getName(),
@@ -271,10 +672,7 @@ public class TaskService {
             );
         }
         
-        // Get attachments for this task
-        var attachments = taskAttachmentService.getTaskAttachments(task.getId());
-        
-        return new TaskResponse(
+        TaskResponse response = new TaskResponse(
             task.getId(),
             task.getTitle(),
             task.getDescription(),
@@ -288,5 +686,9 @@ public class TaskService {
             task.getDueDate(),
             attachments
         );
+        response.setVersion(task.getVersion());
+        response.setRank(task.getRank());
+        response.setParentId(task.getParentId());
+        return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+package com.tasksphere.shareme.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tasksphere.shareme.repository.ArchivedTaskRepository;
+import com.tasksphere.shareme.repository.ProjectDocumentRepository;
+import com.tasksphere.shareme.repository.TaskAttachmentRepository;
+import com.tasksphere.shareme.storage.FileStorage;
+import com.tasksphere.shareme.storage.StoredObject;
+
+/**
+ * Deletes stored uploads that no database row points to.
+ *
+ * Files leak when a task or project is deleted (the rows cascade, the files do
+ * not) and when a transaction fails after the file was written. The collector
+ * lists the storage in fixed-size batches, asks the attachment (live and
+ * archived) and document tables which names of the batch are still referenced, and deletes the rest.
+ * Only one batch is held in memory at a time. Files younger than the grace
+ * period are never touched, so uploads whose row is not committed yet are safe.
+ */
+@Component
+public class UploadGarbageCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadGarbageCollector.class);
+
+    private static final String THUMBNAIL_PREFIX = "thumbnails/";
+
+    @Autowired
+    private TaskAttachmentRepository taskAttachmentRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private ProjectDocumentRepository projectDocumentRepository;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Value("${app.storage.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.storage.gc.grace-period-hours:24}")
+    private long gracePeriodHours;
+
+    @Value("${app.storage.gc.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.storage.gc.dry-run:false}")
+    private boolean dryRun;
+
+    @Scheduled(cron = "${app.storage.gc.cron:0 30 3 * * *}")
+    public void scheduledCollect() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            collect();
+        } catch (Exception e) {
+            logger.error("Upload garbage collection aborted: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run one reconciliation pass over the stored uploads
+     */
+    public Report collect() throws IOException {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(gracePeriodHours));
+        Report report = new Report();
+
+        // Attachments and documents share the top level; a file there is live if any table references it
+        collectPrefix("", List.of(
+            taskAttachmentRepository::findExistingStoredFilenames,
+            archivedTaskRepository::findExistingStoredFilenames,
+            projectDocumentRepository::findExistingFilePaths), cutoff, report);
+        collectPrefix(THUMBNAIL_PREFIX, List.of(this::findReferencedThumbnails), cutoff, report);
+
+        logger.info("Upload garbage collection {}: scanned {} files, {} {} orphans ({} bytes), skipped {} within grace period",
+            dryRun ? "(dry run)" : "finished", report.getScanned(), dryRun ? "found" : "deleted",
+            report.getDeleted(), report.getReclaimedBytes(), report.getSkippedRecent());
+        return report;
+    }
+
+    private void collectPrefix(String prefix, List<Function<List<String>, List<String>>> referenceLookups,
+                               Instant cutoff, Report report) throws IOException {
+        List<StoredObject> batch = new ArrayList<>(batchSize);
+        fileStorage.list(prefix, object -> {
+            report.scanned++;
+            if (object.getLastModified().isAfter(cutoff)) {
+                report.skippedRecent++;
+                return;
+            }
+            batch.add(object);
+            if (batch.size() >= batchSize) {
+                sweep(batch, referenceLookups, report);
+                batch.clear();
+            }
+        });
+        sweep(batch, referenceLookups, report);
+    }
+
+    private void sweep(List<StoredObject> batch, List<Function<List<String>, List<String>>> referenceLookups, Report report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        batch.sort(Comparator.comparing(StoredObject::getName));
+        List<String> names = new ArrayList<>(batch.size());
+        for (StoredObject object : batch) {
+            names.add(object.getName());
+        }
+
+        Set<String> referenced = new HashSet<>();
+        for (Function<List<String>, List<String>> lookup : referenceLookups) {
+            referenced.addAll(lookup.apply(names));
+        }
+
+        for (StoredObject object : batch) {
+            if (referenced.contains(object.getName())) {
+                continue;
+            }
+            try {
+                if (!dryRun) {
+                    fileStorage.delete(object.getKey());
+                }
+                report.deleted++;
+                report.reclaimedBytes += object.getSize();
+                logger.debug("{} orphaned upload {}", dryRun ? "Found" : "Deleted", object.getKey());
+            } catch (IOException e) {
+                logger.warn("Failed to delete orphaned upload {}: {}", object.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Thumbnails are named after their attachment id ("42.jpg")
+     */
+    private List<String> findReferencedThumbnails(List<String> names) {
+        Map<Long, String> byId = new LinkedHashMap<>();
+        for (String name : names) {
+            int dot = name.indexOf('.');
+            try {
+                if (name.endsWith(".jpg") && dot > 0) {
+                    byId.put(Long.valueOf(name.substring(0, dot)), name);
+                }
+            } catch (NumberFormatException e) {
+                // Leftover temp file or foreign file: not referenced
+            }
+        }
+        if (byId.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> referenced = new ArrayList<>();
+        for (Long id : taskAttachmentRepository.findIdsWithThumbnail(byId.keySet())) {
+            referenced.add(byId.get(id));
+        }
+        for (Long id : archivedTaskRepository.findAttachmentIdsWithThumbnail(byId.keySet())) {
+            referenced.add(byId.get(id));
+        }
+        return referenced;
+    }
+
+    public static class Report {
+        private long scanned;
+        private long deleted;
+        private long reclaimedBytes;
+        private long skippedRecent;
+
+        public long getScanned() {
+            return scanned;
+        }
+
+        public long getDeleted() {
+            return deleted;
+        }
+
+        public long getReclaimedBytes() {
+            return reclaimedBytes;
+        }
+
+        public long getSkippedRecent() {
+            return skippedRecent;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.tasksphere.shareme.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Storage for uploaded files, addressed by key (e.g. "3f2c...e1.pdf" or
+ * "thumbnails/42.jpg"). Implementations are selected with app.storage.type.
+ */
+public interface FileStorage {
+
+    /**
+     * Store content under the key, replacing any existing object.
+     * size is the exact content length, or -1 when unknown.
+     */
+    void store(String key, InputStream content, long size, String contentType) throws IOException;
+
+    /**
+     * Open the whole object; throws NoSuchFileException when the key does not exist
+     */
+    InputStream read(String key) throws IOException;
+
+    /**
+     * Open bytes start..end (both inclusive) of the object
+     */
+    InputStream readRange(String key, long start, long end) throws IOException;
+
+    /**
+     * Metadata of the object, or null when the key does not exist
+     */
+    StoredObject stat(String key) throws IOException;
+
+    /**
+     * Delete the object; deleting a missing key is not an error
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * Visit the objects directly under a prefix ("" or ending in "/"), not descending further
+     */
+    void list(String prefix, Consumer<StoredObject> visitor) throws IOException;
+}
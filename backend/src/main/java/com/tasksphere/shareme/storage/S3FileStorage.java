@@ -0,0 +1,252 @@
+package com.tasksphere.shareme.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Stores files in an S3-compatible object store (AWS S3, MinIO, Ceph, ...), so
+ * every backend instance sees the same files.
+ *
+ * Large uploads are split into parts that are sent in parallel; at most
+ * "parallelism" parts are buffered at a time, so memory stays at
+ * parallelism x part-size regardless of the file size.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3FileStorage implements FileStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3FileStorage.class);
+
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    @Value("${app.storage.s3.bucket}")
+    private String bucket;
+
+    @Value("${app.storage.s3.region:us-east-1}")
+    private String region;
+
+    @Value("${app.storage.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${app.storage.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${app.storage.s3.secret-key:}")
+    private String secretKey;
+
+    @Value("${app.storage.s3.path-style-access:true}")
+    private boolean pathStyleAccess;
+
+    @Value("${app.storage.s3.part-size:8388608}")
+    private int partSize;
+
+    @Value("${app.storage.s3.upload-parallelism:4}")
+    private int uploadParallelism;
+
+    private S3Client s3;
+    private ExecutorService partUploader;
+
+    @PostConstruct
+    public void init() {
+        AwsCredentialsProvider credentials = accessKey.isBlank()
+            ? DefaultCredentialsProvider.create()
+            : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+
+        S3ClientBuilder builder = S3Client.builder()
+            .region(Region.of(region))
+            .credentialsProvider(credentials)
+            .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyleAccess).build());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        s3 = builder.build();
+
+        partSize = Math.max(partSize, MIN_PART_SIZE);
+        partUploader = Executors.newFixedThreadPool(uploadParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "s3-part-upload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Using S3 storage bucket {} at {}", bucket, endpoint.isBlank() ? region : endpoint);
+    }
+
+    @PreDestroy
+    public void close() {
+        partUploader.shutdownNow();
+        s3.close();
+    }
+
+    @Override
+    public void store(String key, InputStream content, long size, String contentType) throws IOException {
+        if (size >= 0 && size <= partSize) {
+            try {
+                s3.putObject(request -> request.bucket(bucket).key(key).contentType(contentType),
+                    RequestBody.fromInputStream(content, size));
+            } catch (S3Exception e) {
+                throw new IOException("Failed to store " + key + ": " + e.getMessage(), e);
+            }
+            return;
+        }
+        storeMultipart(key, content, size, contentType);
+    }
+
+    private void storeMultipart(String key, InputStream content, long size, String contentType) throws IOException {
+        String uploadId = s3.createMultipartUpload(request -> request.bucket(bucket).key(key).contentType(contentType))
+            .uploadId();
+        Semaphore buffers = new Semaphore(uploadParallelism);
+        List<Future<CompletedPart>> parts = new ArrayList<>();
+
+        try {
+            int partNumber = 0;
+            long total = 0;
+            while (true) {
+                buffers.acquire();
+                byte[] part = content.readNBytes(partSize);
+                if (part.length == 0 && partNumber > 0) {
+                    buffers.release();
+                    break;
+                }
+                int number = ++partNumber;
+                total += part.length;
+                parts.add(partUploader.submit(() -> {
+                    try {
+                        String eTag = s3.uploadPart(request -> request.bucket(bucket).key(key)
+                                .uploadId(uploadId).partNumber(number).contentLength((long) part.length),
+                            RequestBody.fromBytes(part)).eTag();
+                        return CompletedPart.builder().partNumber(number).eTag(eTag).build();
+                    } finally {
+                        buffers.release();
+                    }
+                }));
+                if (part.length < partSize) {
+                    break;
+                }
+            }
+            // A stream that ended early must not leave a truncated object behind
+            if (size >= 0 && total != size) {
+                throw new IOException("Expected " + size + " bytes for " + key + " but got " + total);
+            }
+
+            List<CompletedPart> completed = new ArrayList<>(parts.size());
+            for (Future<CompletedPart> part : parts) {
+                completed.add(part.get());
+            }
+            completed.sort(Comparator.comparing(CompletedPart::partNumber));
+            s3.completeMultipartUpload(request -> request.bucket(bucket).key(key).uploadId(uploadId)
+                .multipartUpload(upload -> upload.parts(completed)));
+            logger.debug("Stored {} in {} parts", key, completed.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(key, uploadId, parts);
+            throw new IOException("Interrupted while storing " + key, e);
+        } catch (ExecutionException | S3Exception e) {
+            abort(key, uploadId, parts);
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            throw new IOException("Failed to store " + key + ": " + cause.getMessage(), cause);
+        } catch (IOException | RuntimeException e) {
+            abort(key, uploadId, parts);
+            throw e;
+        }
+    }
+
+    private void abort(String key, String uploadId, List<Future<CompletedPart>> parts) {
+        parts.forEach(part -> part.cancel(true));
+        try {
+            s3.abortMultipartUpload(request -> request.bucket(bucket).key(key).uploadId(uploadId));
+        } catch (S3Exception e) {
+            logger.warn("Failed to abort multipart upload {} of {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public InputStream read(String key) throws IOException {
+        try {
+            return s3.getObject(request -> request.bucket(bucket).key(key));
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(key);
+        } catch (S3Exception e) {
+            throw new IOException("Failed to read " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream readRange(String key, long start, long end) throws IOException {
+        try {
+            return s3.getObject(request -> request.bucket(bucket).key(key).range("bytes=" + start + "-" + end));
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(key);
+        } catch (S3Exception e) {
+            throw new IOException("Failed to read " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public StoredObject stat(String key) throws IOException {
+        try {
+            HeadObjectResponse head = s3.headObject(request -> request.bucket(bucket).key(key));
+            return new StoredObject(key, head.contentLength(), head.lastModified());
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return null;
+            }
+            throw new IOException("Failed to stat " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3.deleteObject(request -> request.bucket(bucket).key(key));
+        } catch (S3Exception e) {
+            throw new IOException("Failed to delete " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void list(String prefix, Consumer<StoredObject> visitor) throws IOException {
+        try {
+            for (S3Object object : s3.listObjectsV2Paginator(request -> request.bucket(bucket)
+                    .prefix(prefix).delimiter("/")).contents()) {
+                visitor.accept(new StoredObject(object.key(), object.size(), object.lastModified()));
+            }
+        } catch (S3Exception e) {
+            throw new IOException("Failed to list " + prefix + ": " + e.getMessage(), e);
+        }
+    }
+}
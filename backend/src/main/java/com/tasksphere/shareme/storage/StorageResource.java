@@ -0,0 +1,101 @@
+package com.tasksphere.shareme.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * Resource view of a stored object for controller responses.
+ *
+ * Spring MVC answers Range requests for Resource bodies by opening the stream
+ * and skipping to the start of the range. The stream returned here opens the
+ * object lazily, so a skip before the first read becomes a ranged read on the
+ * storage instead of reading and discarding the skipped bytes.
+ */
+public class StorageResource extends AbstractResource {
+
+    private final FileStorage storage;
+    private final String key;
+    private final String filename;
+    private final long contentLength;
+
+    public StorageResource(FileStorage storage, String key, String filename, long contentLength) {
+        this.storage = storage;
+        this.key = key;
+        this.filename = filename;
+        this.contentLength = contentLength;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Stored file [" + key + "]";
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new LazyRangeInputStream();
+    }
+
+    private class LazyRangeInputStream extends InputStream {
+        private InputStream delegate;
+        private long offset;
+
+        private InputStream delegate() throws IOException {
+            if (delegate == null) {
+                delegate = offset == 0
+                    ? storage.read(key)
+                    : storage.readRange(key, offset, contentLength - 1);
+            }
+            return delegate;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (delegate == null) {
+                long skipped = Math.max(0, Math.min(n, contentLength - offset));
+                offset += skipped;
+                return skipped;
+            }
+            return delegate.skip(n);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (delegate == null && offset >= contentLength) {
+                return -1;
+            }
+            return delegate().read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int length) throws IOException {
+            if (delegate == null && offset >= contentLength) {
+                return -1;
+            }
+            return delegate().read(buffer, off, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+    }
+}
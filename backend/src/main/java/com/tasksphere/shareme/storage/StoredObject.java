@@ -0,0 +1,35 @@
+package com.tasksphere.shareme.storage;
+
+import java.time.Instant;
+
+public class StoredObject {
+
+    private final String key;
+    private final long size;
+    private final Instant lastModified;
+
+    public StoredObject(String key, long size, Instant lastModified) {
+        this.key = key;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Key without its prefix, e.g. "42.jpg" for "thumbnails/42.jpg"
+     */
+    public String getName() {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,83 @@
+package com.tasksphere.shareme.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.StringJoiner;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Strong ETags built from change sequence numbers, so that If-None-Match can be
+ * answered from a version lookup without loading the resource.
+ *
+ * Responses are private (they depend on the Authorization header) and must be
+ * revalidated on every use; a matching revalidation costs one small query.
+ */
+public final class ETags {
+
+    private ETags() {}
+
+    /**
+     * ETag of a single resource, e.g. "task-12-4711-4690"
+     */
+    public static String of(String resource, Object... versions) {
+        StringJoiner tag = new StringJoiner("-", "\"", "\"");
+        tag.add(resource);
+        for (Object version : versions) {
+            tag.add(String.valueOf(version));
+        }
+        return tag.toString();
+    }
+
+    /**
+     * ETag of a list response: changes with any synced change (the change
+     * counter version) and differs per user and query string
+     */
+    public static String ofList(String resource, Long userId, String changeVersion, String queryString) {
+        return of(resource, userId, changeVersion, digest(queryString == null ? "" : queryString));
+    }
+
+    /**
+     * Whether an If-None-Match header matches the ETag (weak comparison, as the header requires)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(304).eTag(etag).cacheControl(revalidate()).build();
+    }
+
+    /**
+     * 200 builder with the ETag (when known) and the revalidation policy
+     */
+    public static ResponseEntity.BodyBuilder ok(String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(revalidate());
+        return etag != null ? builder.eTag(etag) : builder;
+    }
+
+    private static CacheControl revalidate() {
+        return CacheControl.noCache().cachePrivate();
+    }
+
+    private static String digest(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.tasksphere.shareme.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The fields= and include= parameters of a list request.
+ *
+ * fields selects the plain and to-one fields of each item; include selects the
+ * related collections that cost extra queries (attachments, members, ...).
+ * Without either parameter the full legacy response is returned. With fields
+ * but no include, no related collection is loaded.
+ */
+public class FieldSelection {
+
+    private final Set<String> fields;
+    private final Set<String> includes;
+    private final boolean sparse;
+
+    private FieldSelection(Set<String> fields, Set<String> includes, boolean sparse) {
+        this.fields = fields;
+        this.includes = includes;
+        this.sparse = sparse;
+    }
+
+    /**
+     * Parse comma-separated parameters; unknown names are rejected with IllegalArgumentException
+     */
+    public static FieldSelection parse(String fields, String include,
+                                       Set<String> allowedFields, Set<String> allowedIncludes) {
+        Set<String> selectedFields = fields == null ? allowedFields : split(fields, allowedFields, "field");
+        Set<String> selectedIncludes;
+        if (include != null) {
+            selectedIncludes = split(include, allowedIncludes, "include");
+        } else {
+            selectedIncludes = fields == null ? allowedIncludes : Collections.emptySet();
+        }
+        return new FieldSelection(selectedFields, selectedIncludes, fields != null);
+    }
+
+    private static Set<String> split(String value, Set<String> allowed, String kind) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : value.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(trimmed)) {
+                throw new IllegalArgumentException("Unknown " + kind + " '" + trimmed + "'. Allowed: " + String.join(", ", allowed));
+            }
+            names.add(trimmed);
+        }
+        return names;
+    }
+
+    /** Whether only the selected fields should be returned */
+    public boolean isSparse() {
+        return sparse;
+    }
+
+    public boolean hasField(String field) {
+        return fields.contains(field);
+    }
+
+    public boolean hasInclude(String include) {
+        return includes.contains(include);
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    public static Set<String> names(String... names) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(names)));
+    }
+}
@@ -0,0 +1,91 @@
+package com.tasksphere.shareme.util;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JSON Merge Patch (RFC 7386) of a flat resource.
+ *
+ * A member that is absent leaves its field unchanged, null clears it and any
+ * other value replaces it. Services apply only the members present, so with
+ * dynamic update only their columns end up in the UPDATE statement.
+ */
+public class MergePatch {
+
+    private final Map<String, Object> members;
+
+    private MergePatch(Map<String, Object> members) {
+        this.members = members;
+    }
+
+    /**
+     * Wrap a parsed patch document; unknown members are rejected with IllegalArgumentException
+     */
+    public static MergePatch of(Map<String, Object> document, Set<String> allowed) {
+        if (document == null) {
+            throw new IllegalArgumentException("Patch document must be a JSON object");
+        }
+        for (String name : document.keySet()) {
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "'. Allowed: " + String.join(", ", allowed));
+            }
+        }
+        return new MergePatch(document);
+    }
+
+    /** Whether the patch sets or clears the field */
+    public boolean has(String name) {
+        return members.containsKey(name);
+    }
+
+    public String getString(String name) {
+        Object value = members.get(name);
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException("Field '" + name + "' must be a string");
+        }
+        return (String) value;
+    }
+
+    /**
+     * A string that may not be cleared, with its length checked
+     */
+    public String getRequiredString(String name, int minLength, int maxLength) {
+        String value = getString(name);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Field '" + name + "' cannot be empty");
+        }
+        if (value.length() < minLength || value.length() > maxLength) {
+            throw new IllegalArgumentException("Field '" + name + "' must be between " + minLength
+                + " and " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    public Long getLong(String name) {
+        Object value = members.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Integer || value instanceof Long)) {
+            throw new IllegalArgumentException("Field '" + name + "' must be an integer");
+        }
+        return ((Number) value).longValue();
+    }
+
+    /**
+     * An ISO-8601 local date-time, e.g. 2024-12-31T23:59:59
+     */
+    public LocalDateTime getDateTime(String name) {
+        String value = getString(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Field '" + name + "' must be an ISO-8601 date-time");
+        }
+    }
+}
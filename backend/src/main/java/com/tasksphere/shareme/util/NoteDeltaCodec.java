@@ -0,0 +1,127 @@
+package com.tasksphere.shareme.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact encoding of note revisions.
+ *
+ * A snapshot is the Deflate-compressed UTF-8 content. A delta describes the
+ * edit between two versions as one splice (keep a common prefix, drop some
+ * characters, insert new text, keep a common suffix), which covers the
+ * localized edits an editor produces in a few dozen bytes.
+ */
+public final class NoteDeltaCodec {
+
+    private NoteDeltaCodec() {}
+
+    public static byte[] encodeSnapshot(String content) {
+        return deflate(nullToEmpty(content).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decodeSnapshot(byte[] payload) {
+        return new String(inflate(payload), StandardCharsets.UTF_8);
+    }
+
+    public static byte[] encodeDelta(String previous, String next) {
+        String from = nullToEmpty(previous);
+        String to = nullToEmpty(next);
+
+        int maxPrefix = Math.min(from.length(), to.length());
+        int prefix = 0;
+        while (prefix < maxPrefix && from.charAt(prefix) == to.charAt(prefix)) {
+            prefix++;
+        }
+        // Never split a surrogate pair across the splice boundary
+        if (prefix > 0 && Character.isHighSurrogate(from.charAt(prefix - 1))) {
+            prefix--;
+        }
+
+        int maxSuffix = Math.min(from.length(), to.length()) - prefix;
+        int suffix = 0;
+        while (suffix < maxSuffix
+                && from.charAt(from.length() - 1 - suffix) == to.charAt(to.length() - 1 - suffix)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(to.charAt(to.length() - suffix))) {
+            suffix--;
+        }
+
+        int deleteLength = from.length() - prefix - suffix;
+        byte[] inserted = to.substring(prefix, to.length() - suffix).getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(12 + inserted.length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(prefix);
+            out.writeInt(deleteLength);
+            out.writeInt(inserted.length);
+            out.write(inserted);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode note delta", e);
+        }
+        return deflate(bytes.toByteArray());
+    }
+
+    public static String applyDelta(String previous, byte[] payload) {
+        String from = nullToEmpty(previous);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(payload)))) {
+            int prefix = in.readInt();
+            int deleteLength = in.readInt();
+            byte[] inserted = new byte[in.readInt()];
+            in.readFully(inserted);
+            return from.substring(0, prefix)
+                + new String(inserted, StandardCharsets.UTF_8)
+                + from.substring(prefix + deleteLength);
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new IllegalStateException("Corrupt note delta", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(16, input.length / 2));
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated note revision payload");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt note revision payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
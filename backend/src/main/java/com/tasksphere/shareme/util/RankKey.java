@@ -0,0 +1,102 @@
+package com.tasksphere.shareme.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keys of a manual order that sort as plain strings.
+ *
+ * A key is a base-62 fraction: its digits 0-9, A-Z and a-z are in ASCII order,
+ * so comparing keys byte by byte (ascii_bin in MySQL, String.compareTo here)
+ * compares the fractions. There is always a key between two others, so moving
+ * an item only changes its own key. Keys never end in '0', which keeps room
+ * before every key. Repeated inserts at one spot make keys longer, one digit
+ * for about every six inserts; spread() hands out short, evenly spaced keys
+ * again.
+ */
+public class RankKey {
+
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    private RankKey() {}
+
+    /**
+     * A key strictly between before and after; null stands for the start or the
+     * end of the order. Appending (after null) takes the next first digit, so
+     * keys at the end grow by one digit only every 61 appends.
+     */
+    public static String between(String before, String after) {
+        String low = before == null ? "" : before;
+        if (after != null && low.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank key '" + low + "' is not before '" + after + "'");
+        }
+        return midpoint(low, after, after == null);
+    }
+
+    /**
+     * count keys in ascending order, evenly spread over the shortest length that
+     * leaves at least BASE free keys between neighbours
+     */
+    public static List<String> spread(int count) {
+        int length = 2;
+        long space = (long) BASE * BASE;
+        while (space / (count + 1) < BASE) {
+            length++;
+            space *= BASE;
+        }
+        long step = space / (count + 1);
+
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            keys.add(encode(step * i, length));
+        }
+        return keys;
+    }
+
+    private static String midpoint(String low, String high, boolean append) {
+        if (high != null) {
+            // Keep the common prefix (low padded with zeros) and split the rest
+            int common = 0;
+            while (common < high.length() && digitAt(low, common) == high.charAt(common)) {
+                common++;
+            }
+            if (common > 0) {
+                return high.substring(0, common)
+                    + midpoint(low.length() > common ? low.substring(common) : "", high.substring(common), false);
+            }
+        }
+
+        int lowDigit = low.isEmpty() ? 0 : DIGITS.indexOf(low.charAt(0));
+        if (append && lowDigit < BASE - 1) {
+            return String.valueOf(DIGITS.charAt(lowDigit + 1));
+        }
+        int highDigit = high == null ? BASE : DIGITS.indexOf(high.charAt(0));
+        if (highDigit - lowDigit > 1) {
+            return String.valueOf(DIGITS.charAt((lowDigit + highDigit) / 2));
+        }
+        // Adjacent first digits: a longer high already sorts between, else go one digit deeper after low
+        if (high != null && high.length() > 1) {
+            return high.substring(0, 1);
+        }
+        return DIGITS.charAt(lowDigit) + midpoint(low.length() > 1 ? low.substring(1) : "", null, append);
+    }
+
+    private static char digitAt(String key, int index) {
+        return index < key.length() ? key.charAt(index) : DIGITS.charAt(0);
+    }
+
+    // Fixed-length digits of value without the trailing zeros, which does not change the order
+    private static String encode(long value, int length) {
+        char[] digits = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            digits[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        int end = length;
+        while (end > 1 && digits[end - 1] == DIGITS.charAt(0)) {
+            end--;
+        }
+        return new String(digits, 0, end);
+    }
+}
@@ -0,0 +1,211 @@
+package com.tasksphere.shareme.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Operational-transformation text operation in the ot.js wire format.
+ *
+ * An operation is a list of components walked over the whole document:
+ * a positive integer retains that many characters, a negative integer deletes
+ * that many, and a string is inserted. For example [5, "abc", -3, 10] keeps 5
+ * characters, inserts "abc", deletes 3 and keeps the remaining 10, so its size
+ * grows with the edit and not with the document.
+ */
+public class TextOperation {
+
+    private final List<Object> ops = new ArrayList<>();
+    private int baseLength;
+    private int targetLength;
+
+    public static TextOperation fromJson(List<?> components) {
+        TextOperation operation = new TextOperation();
+        if (components == null) {
+            return operation;
+        }
+        for (Object component : components) {
+            if (component instanceof String) {
+                operation.insert((String) component);
+            } else if (component instanceof Number) {
+                int count = ((Number) component).intValue();
+                if (count > 0) {
+                    operation.retain(count);
+                } else {
+                    operation.delete(-count);
+                }
+            } else {
+                throw new IllegalArgumentException("Invalid operation component: " + component);
+            }
+        }
+        return operation;
+    }
+
+    public List<Object> toJson() {
+        return Collections.unmodifiableList(ops);
+    }
+
+    public int getBaseLength() {
+        return baseLength;
+    }
+
+    public int getTargetLength() {
+        return targetLength;
+    }
+
+    public TextOperation retain(int count) {
+        if (count <= 0) {
+            return this;
+        }
+        baseLength += count;
+        targetLength += count;
+        Object last = last(0);
+        if (isRetain(last)) {
+            ops.set(ops.size() - 1, (Integer) last + count);
+        } else {
+            ops.add(count);
+        }
+        return this;
+    }
+
+    public TextOperation insert(String text) {
+        if (text == null || text.isEmpty()) {
+            return this;
+        }
+        targetLength += text.length();
+        Object last = last(0);
+        if (isInsert(last)) {
+            ops.set(ops.size() - 1, last + text);
+        } else if (isDelete(last)) {
+            // Keep inserts before deletes so equal operations have one canonical form
+            Object beforeLast = last(1);
+            if (isInsert(beforeLast)) {
+                ops.set(ops.size() - 2, beforeLast + text);
+            } else {
+                ops.set(ops.size() - 1, text);
+                ops.add(last);
+            }
+        } else {
+            ops.add(text);
+        }
+        return this;
+    }
+
+    public TextOperation delete(int count) {
+        if (count <= 0) {
+            return this;
+        }
+        baseLength += count;
+        Object last = last(0);
+        if (isDelete(last)) {
+            ops.set(ops.size() - 1, (Integer) last - count);
+        } else {
+            ops.add(-count);
+        }
+        return this;
+    }
+
+    public String apply(String document) {
+        if (document.length() != baseLength) {
+            throw new IllegalArgumentException("Operation base length " + baseLength
+                + " does not match document length " + document.length());
+        }
+        StringBuilder result = new StringBuilder(targetLength);
+        int index = 0;
+        for (Object op : ops) {
+            if (isRetain(op)) {
+                int count = (Integer) op;
+                result.append(document, index, index + count);
+                index += count;
+            } else if (isInsert(op)) {
+                result.append((String) op);
+            } else {
+                index -= (Integer) op;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Transform two concurrent operations on the same document into a pair
+     * (a', b') such that applying a then b' equals applying b then a'.
+     * Inserts of a win ties at the same position.
+     */
+    public static TextOperation[] transform(TextOperation a, TextOperation b) {
+        if (a.baseLength != b.baseLength) {
+            throw new IllegalArgumentException("Concurrent operations must share the same base length");
+        }
+
+        TextOperation aPrime = new TextOperation();
+        TextOperation bPrime = new TextOperation();
+        List<Object> opsA = a.ops;
+        List<Object> opsB = b.ops;
+        int ia = 0;
+        int ib = 0;
+        Object opA = ia < opsA.size() ? opsA.get(ia++) : null;
+        Object opB = ib < opsB.size() ? opsB.get(ib++) : null;
+
+        while (opA != null || opB != null) {
+            if (isInsert(opA)) {
+                aPrime.insert((String) opA);
+                bPrime.retain(((String) opA).length());
+                opA = ia < opsA.size() ? opsA.get(ia++) : null;
+                continue;
+            }
+            if (isInsert(opB)) {
+                aPrime.retain(((String) opB).length());
+                bPrime.insert((String) opB);
+                opB = ib < opsB.size() ? opsB.get(ib++) : null;
+                continue;
+            }
+            if (opA == null || opB == null) {
+                throw new IllegalArgumentException("Operations do not cover the same document");
+            }
+
+            int countA = (Integer) opA;
+            int countB = (Integer) opB;
+            int min;
+            if (countA > 0 && countB > 0) {
+                // retain / retain
+                min = Math.min(countA, countB);
+                aPrime.retain(min);
+                bPrime.retain(min);
+            } else if (countA < 0 && countB < 0) {
+                // delete / delete: both removed the same characters
+                min = Math.min(-countA, -countB);
+            } else if (countA < 0) {
+                // delete / retain
+                min = Math.min(-countA, countB);
+                aPrime.delete(min);
+            } else {
+                // retain / delete
+                min = Math.min(countA, -countB);
+                bPrime.delete(min);
+            }
+
+            int restA = countA > 0 ? countA - min : countA + min;
+            int restB = countB > 0 ? countB - min : countB + min;
+            opA = restA != 0 ? Integer.valueOf(restA) : (ia < opsA.size() ? opsA.get(ia++) : null);
+            opB = restB != 0 ? Integer.valueOf(restB) : (ib < opsB.size() ? opsB.get(ib++) : null);
+        }
+
+        return new TextOperation[] { aPrime, bPrime };
+    }
+
+    private Object last(int offset) {
+        int index = ops.size() - 1 - offset;
+        return index >= 0 ? ops.get(index) : null;
+    }
+
+    private static boolean isRetain(Object op) {
+        return op instanceof Integer && (Integer) op > 0;
+    }
+
+    private static boolean isInsert(Object op) {
+        return op instanceof String;
+    }
+
+    private static boolean isDelete(Object op) {
+        return op instanceof Integer && (Integer) op < 0;
+    }
+}
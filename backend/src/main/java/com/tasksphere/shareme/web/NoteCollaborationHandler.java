@@ -0,0 +1,88 @@
+package com.tasksphere.shareme.web;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasksphere.shareme.exception.ResourceNotFoundException;
+import com.tasksphere.shareme.service.CollaborativeNoteService;
+
+/**
+ * WebSocket endpoint for collaborative note editing.
+ *
+ * Protocol (JSON text frames):
+ * - server -> client on join: {"type":"init","revision":n,"content":"..."}
+ * - client -> server: {"type":"op","revision":n,"ops":[5,"abc",-3,10]}
+ * - server -> sender: {"type":"ack","revision":n+1}
+ * - server -> other editors: {"type":"op","revision":n+1,"ops":[...],"userId":id}
+ * - server -> client on failure: {"type":"error","message":"..."}
+ */
+@Component
+public class NoteCollaborationHandler extends TextWebSocketHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteCollaborationHandler.class);
+
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 512 * 1024;
+
+    @Autowired
+    private CollaborativeNoteService collaborativeNoteService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        Long noteId = (Long) session.getAttributes().get("noteId");
+        Long userId = (Long) session.getAttributes().get("userId");
+        WebSocketSession concurrentSession =
+            new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT_BYTES);
+        session.getAttributes().put("concurrentSession", concurrentSession);
+
+        try {
+            collaborativeNoteService.join(noteId, userId, concurrentSession);
+        } catch (ResourceNotFoundException e) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Note not found"));
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        Long noteId = (Long) session.getAttributes().get("noteId");
+        Long userId = (Long) session.getAttributes().get("userId");
+        WebSocketSession concurrentSession = (WebSocketSession) session.getAttributes().get("concurrentSession");
+
+        Map<?, ?> payload;
+        try {
+            payload = objectMapper.readValue(message.getPayload(), Map.class);
+        } catch (Exception e) {
+            logger.debug("Ignoring malformed collaboration message from session {}", session.getId());
+            return;
+        }
+
+        if ("op".equals(payload.get("type")) && payload.get("revision") instanceof Number
+                && payload.get("ops") instanceof List) {
+            collaborativeNoteService.applyOperation(noteId, userId, concurrentSession,
+                ((Number) payload.get("revision")).intValue(), (List<?>) payload.get("ops"));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+        Long noteId = (Long) session.getAttributes().get("noteId");
+        WebSocketSession concurrentSession = (WebSocketSession) session.getAttributes().get("concurrentSession");
+        if (concurrentSession != null) {
+            collaborativeNoteService.leave(noteId, concurrentSession);
+        }
+    }
+}
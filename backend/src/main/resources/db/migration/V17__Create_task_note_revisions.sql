@@ -0,0 +1,15 @@
+-- V17: Revision history for personal notes
+-- Each row stores either a full snapshot or a single-splice delta against the
+-- previous revision, Deflate-compressed. A snapshot is written every few
+-- revisions so any revision can be rebuilt from a short chain.
+CREATE TABLE task_note_revisions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_note_id BIGINT NOT NULL,
+    revision_number INT NOT NULL,
+    is_snapshot BOOLEAN NOT NULL,
+    payload MEDIUMBLOB NOT NULL,
+    content_length INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (task_note_id) REFERENCES task_notes(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_task_note_revision (task_note_id, revision_number)
+);
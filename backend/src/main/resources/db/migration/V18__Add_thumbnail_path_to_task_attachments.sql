@@ -0,0 +1,2 @@
+-- V18: Location of the generated preview image of an attachment (NULL until rendered)
+ALTER TABLE task_attachments ADD COLUMN thumbnail_path VARCHAR(1000) NULL AFTER file_path;
@@ -0,0 +1,3 @@
+-- V19: Lookups by stored file name for the uploads garbage collector
+CREATE INDEX idx_task_attachments_stored_filename ON task_attachments (stored_filename);
+CREATE INDEX idx_project_documents_file_path ON project_documents (file_path);
@@ -0,0 +1,17 @@
+-- V20: Resumable chunked uploads
+-- One row per upload in progress; the bytes received so far live in a staging
+-- file named after the session id until the upload is finalized.
+CREATE TABLE upload_sessions (
+    id VARCHAR(36) PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    original_filename VARCHAR(500) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    received_bytes BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_upload_sessions_expires_at (expires_at)
+);
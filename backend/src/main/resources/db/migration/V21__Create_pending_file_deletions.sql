@@ -0,0 +1,10 @@
+-- V21: Queue of stored files to delete
+-- Bulk deletes (e.g. a whole project) remove rows with set-based statements and
+-- record the storage keys of the files they orphaned here, in the same
+-- transaction. A background worker deletes the files and then the queue rows.
+CREATE TABLE pending_file_deletions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    storage_key VARCHAR(1000) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
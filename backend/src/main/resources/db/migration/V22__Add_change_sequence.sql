@@ -0,0 +1,40 @@
+-- V22: Change sequence for delta sync (/api/sync)
+-- Every insert or update of a project, task or task note takes the next number
+-- from sync_state and stores it in change_seq; deletions (and a user losing
+-- access to a task) are recorded as tombstones numbered from the same counter.
+-- The counter row stays locked until the writing transaction ends, so numbers
+-- become visible in order and a client that has seen everything up to N never
+-- misses a later commit with a number below N.
+CREATE TABLE sync_state (
+    id TINYINT PRIMARY KEY,
+    last_seq BIGINT NOT NULL,
+    -- Tombstones up to this number have been pruned; older tokens need a full sync
+    pruned_through BIGINT NOT NULL DEFAULT 0
+);
+
+ALTER TABLE projects ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE task_notes ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+-- Number the existing rows so that a first full sync can be paged by change_seq
+SET @seq := 0;
+UPDATE projects SET change_seq = (@seq := @seq + 1) ORDER BY id;
+UPDATE tasks SET change_seq = (@seq := @seq + 1) ORDER BY id;
+UPDATE task_notes SET change_seq = (@seq := @seq + 1) ORDER BY id;
+INSERT INTO sync_state (id, last_seq, pruned_through) VALUES (1, @seq, 0);
+
+CREATE INDEX idx_projects_change_seq ON projects (change_seq);
+CREATE INDEX idx_tasks_change_seq ON tasks (change_seq);
+CREATE INDEX idx_task_notes_user_change_seq ON task_notes (user_id, change_seq);
+
+-- One row per deleted object and user who could see it
+CREATE TABLE sync_tombstones (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_sync_tombstones_user_change_seq (user_id, change_seq),
+    INDEX idx_sync_tombstones_deleted_at (deleted_at)
+);
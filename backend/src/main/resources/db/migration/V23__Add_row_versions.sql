@@ -0,0 +1,7 @@
+-- V23: Row versions for optimistic locking of tasks and projects
+-- Hibernate increments version on every entity update and adds it to the
+-- WHERE clause, so an update based on a stale read fails instead of silently
+-- overwriting a concurrent edit. Clients send the version they read back with
+-- PUT/PATCH and get 409 Conflict when it is no longer current.
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
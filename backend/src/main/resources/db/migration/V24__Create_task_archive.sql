@@ -0,0 +1,75 @@
+-- V24: Archive tier for closed tasks
+-- COMPLETED and CANCELLED tasks older than app.archive.min-age-days are moved,
+-- with their attachment metadata and notes, into these tables by a background
+-- job, so that the access-filtered queries on the hot tables only see live work.
+-- Rows keep their ids, which makes restoring them a plain copy back.
+-- Attachment files stay where they are; the archive rows still reference them.
+CREATE TABLE archived_tasks (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    description TEXT,
+    status ENUM('TODO', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED') NOT NULL,
+    priority ENUM('LOW', 'MEDIUM', 'HIGH', 'URGENT') NOT NULL,
+    project_id BIGINT NOT NULL,
+    assignee_id BIGINT NULL,
+    creator_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NULL,
+    due_date TIMESTAMP NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
+    FOREIGN KEY (assignee_id) REFERENCES users(id) ON DELETE SET NULL,
+    FOREIGN KEY (creator_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_archived_tasks_project_archived_at (project_id, archived_at),
+    INDEX idx_archived_tasks_assignee_id (assignee_id),
+    INDEX idx_archived_tasks_creator_id (creator_id)
+);
+
+CREATE TABLE archived_task_attachments (
+    id BIGINT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    original_filename VARCHAR(500) NOT NULL,
+    stored_filename VARCHAR(500) NOT NULL,
+    file_path VARCHAR(1000) NOT NULL,
+    thumbnail_path VARCHAR(1000) NULL,
+    file_size BIGINT NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    uploaded_by BIGINT NOT NULL,
+    uploaded_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (task_id) REFERENCES archived_tasks(id) ON DELETE CASCADE,
+    FOREIGN KEY (uploaded_by) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_archived_task_attachments_stored_filename (stored_filename)
+);
+
+CREATE TABLE archived_task_notes (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    task_id BIGINT NOT NULL,
+    note_name VARCHAR(255),
+    note_content TEXT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (task_id) REFERENCES archived_tasks(id) ON DELETE CASCADE
+);
+
+CREATE TABLE archived_task_note_tags (
+    task_note_id BIGINT NOT NULL,
+    tag VARCHAR(50) NOT NULL,
+    FOREIGN KEY (task_note_id) REFERENCES archived_task_notes(id) ON DELETE CASCADE
+);
+
+CREATE TABLE archived_task_note_revisions (
+    id BIGINT PRIMARY KEY,
+    task_note_id BIGINT NOT NULL,
+    revision_number INT NOT NULL,
+    is_snapshot BOOLEAN NOT NULL,
+    payload MEDIUMBLOB NOT NULL,
+    content_length INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (task_note_id) REFERENCES archived_task_notes(id) ON DELETE CASCADE
+);
+
+-- Lets the archiver find closed tasks past the age limit without scanning the table
+CREATE INDEX idx_tasks_status_updated_at ON tasks (status, updated_at);
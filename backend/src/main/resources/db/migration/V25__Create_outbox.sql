@@ -0,0 +1,23 @@
+-- V25: Transactional outbox
+-- Task and project changes write an event row in the same transaction as the
+-- change itself, so an event exists exactly when its change committed. The id
+-- is taken from the change sequence (sync_state), which makes ids visible in
+-- commit order: a relay that has seen id N will never see a later commit below N.
+CREATE TABLE outbox_events (
+    id BIGINT PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_outbox_events_created_at (created_at)
+);
+
+-- Cursor of the relay: events up to this id have been delivered to the subscribers
+CREATE TABLE outbox_relay_state (
+    id TINYINT PRIMARY KEY,
+    relayed_through BIGINT NOT NULL
+);
+
+-- Start after the changes made so far; they predate the outbox
+INSERT INTO outbox_relay_state (id, relayed_through) SELECT 1, last_seq FROM sync_state WHERE id = 1;
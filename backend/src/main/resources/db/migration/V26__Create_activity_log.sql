@@ -0,0 +1,18 @@
+-- V26: Activity log (who changed what on tasks and projects)
+-- Append-only; rows are written in batches by a background writer and pruned
+-- after app.activity.retention-days. There are no foreign keys, so that the
+-- history outlives deleted tasks and users and inserts stay cheap.
+CREATE TABLE activity_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    actor_id BIGINT NULL,
+    project_id BIGINT NULL,
+    task_id BIGINT NULL,
+    action VARCHAR(40) NOT NULL,
+    details TEXT NULL,
+    created_at TIMESTAMP NOT NULL,
+    -- One per feed, newest first by id
+    INDEX idx_activity_log_project_id (project_id, id),
+    INDEX idx_activity_log_task_id (task_id, id),
+    INDEX idx_activity_log_actor_id (actor_id, id),
+    INDEX idx_activity_log_created_at (created_at)
+);
@@ -0,0 +1,107 @@
+-- V27: Task status history and flow rollups for project analytics
+-- Maintained by TaskFlowRollup, an outbox subscriber: it records every status
+-- transition and adds it to daily and monthly counters per project, assignee
+-- and status. Burndown, cumulative-flow and cycle-time charts read only these
+-- counters, never the tasks table. There are no foreign keys because events
+-- are applied after their transaction committed (the project may be gone by
+-- then); deleting a project removes its rows when its event is relayed.
+
+-- One row per transition; from_status is NULL on creation, to_status on deletion
+CREATE TABLE task_status_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    project_id BIGINT NOT NULL,
+    assignee_id BIGINT NULL,
+    from_status ENUM('TODO', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED') NULL,
+    to_status ENUM('TODO', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED') NULL,
+    changed_at TIMESTAMP NOT NULL,
+    INDEX idx_task_status_history_task (task_id, changed_at),
+    INDEX idx_task_status_history_project (project_id, changed_at)
+);
+
+-- Last known state of each task, to tell transitions apart from other updates
+-- and to measure cycle time (first start to completion) and lead time
+CREATE TABLE task_status_current (
+    task_id BIGINT PRIMARY KEY,
+    project_id BIGINT NOT NULL,
+    assignee_id BIGINT NULL,
+    status ENUM('TODO', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED') NOT NULL,
+    status_since TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP NULL,
+    INDEX idx_task_status_current_project (project_id)
+);
+
+-- Tasks entering and leaving each status per day; assignee_id 0 = unassigned.
+-- The number of tasks in a status at the end of a day is the running sum of entered - exited.
+CREATE TABLE task_flow_daily (
+    project_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    assignee_id BIGINT NOT NULL,
+    status ENUM('TODO', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED') NOT NULL,
+    entered INT NOT NULL DEFAULT 0,
+    exited INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (project_id, day, assignee_id, status)
+);
+
+-- The same per month (month = first day), so that the opening balance of a
+-- chart sums a few rows per year instead of one per day
+CREATE TABLE task_flow_monthly (
+    project_id BIGINT NOT NULL,
+    month DATE NOT NULL,
+    assignee_id BIGINT NOT NULL,
+    status ENUM('TODO', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED') NOT NULL,
+    entered INT NOT NULL DEFAULT 0,
+    exited INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (project_id, month, assignee_id, status)
+);
+
+-- Completions per day with summed cycle and lead times; cycle time is only
+-- known for tasks that went through IN_PROGRESS (counted in started_completed)
+CREATE TABLE task_cycle_daily (
+    project_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    assignee_id BIGINT NOT NULL,
+    completed INT NOT NULL DEFAULT 0,
+    started_completed INT NOT NULL DEFAULT 0,
+    cycle_seconds BIGINT NOT NULL DEFAULT 0,
+    lead_seconds BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (project_id, day, assignee_id)
+);
+
+-- Seed from the existing live and archived tasks. Their history is unknown:
+-- a task that is no longer TODO is assumed to have been TODO from its creation
+-- until its last update, and to have reached its current status then.
+INSERT INTO task_status_current (task_id, project_id, assignee_id, status, status_since, created_at, started_at)
+SELECT id, project_id, assignee_id, status, COALESCE(updated_at, created_at), created_at,
+       IF(status = 'IN_PROGRESS', COALESCE(updated_at, created_at), NULL)
+FROM tasks
+UNION ALL
+SELECT id, project_id, assignee_id, status, COALESCE(updated_at, created_at), created_at, NULL
+FROM archived_tasks;
+
+INSERT INTO task_flow_daily (project_id, day, assignee_id, status, entered, exited)
+SELECT project_id, day, assignee_id, status, SUM(entered), SUM(exited) FROM (
+    SELECT project_id, DATE(created_at) AS day, COALESCE(assignee_id, 0) AS assignee_id,
+           IF(status = 'TODO' OR status_since <= created_at, status, 'TODO') AS status, 1 AS entered, 0 AS exited
+    FROM task_status_current
+    UNION ALL
+    SELECT project_id, DATE(status_since), COALESCE(assignee_id, 0), 'TODO', 0, 1
+    FROM task_status_current WHERE status <> 'TODO' AND status_since > created_at
+    UNION ALL
+    SELECT project_id, DATE(status_since), COALESCE(assignee_id, 0), status, 1, 0
+    FROM task_status_current WHERE status <> 'TODO' AND status_since > created_at
+) seed
+GROUP BY project_id, day, assignee_id, status;
+
+INSERT INTO task_flow_monthly (project_id, month, assignee_id, status, entered, exited)
+SELECT project_id, DATE_FORMAT(day, '%Y-%m-01'), assignee_id, status, SUM(entered), SUM(exited)
+FROM task_flow_daily
+GROUP BY project_id, DATE_FORMAT(day, '%Y-%m-01'), assignee_id, status;
+
+INSERT INTO task_cycle_daily (project_id, day, assignee_id, completed, started_completed, cycle_seconds, lead_seconds)
+SELECT project_id, DATE(status_since), COALESCE(assignee_id, 0), COUNT(*), 0, 0,
+       SUM(TIMESTAMPDIFF(SECOND, created_at, status_since))
+FROM task_status_current
+WHERE status = 'COMPLETED'
+GROUP BY project_id, DATE(status_since), COALESCE(assignee_id, 0);
@@ -0,0 +1,6 @@
+-- V28: Index for the project board
+-- The board ranks the tasks of each status column of a project with a window
+-- function. This index holds everything the ranking reads (the primary key is
+-- implicit), so the top tasks of every column are picked from the index alone
+-- and only the rows that make it onto the board are read from the table.
+CREATE INDEX idx_tasks_project_status_priority ON tasks (project_id, status, priority, due_date);
@@ -0,0 +1,25 @@
+-- V29: Manual order of tasks
+-- sort_rank is a base-62 fraction (see RankKey) compared byte by byte, hence
+-- ascii_bin. It orders all tasks of a project; a board column is that order
+-- restricted to one status. Moving a task rewrites only its own key, and
+-- TaskRankRebalancer respaces a project once its keys get long.
+ALTER TABLE tasks ADD COLUMN sort_rank VARCHAR(64) CHARACTER SET ascii COLLATE ascii_bin NULL;
+
+-- Existing tasks keep the board order of V28 (most urgent first), with every
+-- other six-digit base-36 number, which leaves room between neighbours and
+-- never ends in '0'
+UPDATE tasks t
+JOIN (
+    SELECT id, ROW_NUMBER() OVER (
+        PARTITION BY project_id ORDER BY priority DESC, due_date IS NULL, due_date, id) AS position
+    FROM tasks
+) r ON r.id = t.id
+SET t.sort_rank = LPAD(CONV(2 * r.position - 1, 10, 36), 6, '0');
+
+ALTER TABLE tasks MODIFY COLUMN sort_rank VARCHAR(64) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
+
+-- Ordered board columns and lists of a project; the plain project order finds
+-- the neighbours of a moved task and the end of the project for new tasks
+CREATE INDEX idx_tasks_project_status_rank ON tasks (project_id, status, sort_rank);
+CREATE INDEX idx_tasks_project_rank ON tasks (project_id, sort_rank);
+DROP INDEX idx_tasks_project_status_priority ON tasks;
@@ -0,0 +1,26 @@
+-- V30: Subtasks
+-- tasks.parent_id is the direct parent; task_closure holds one row for every
+-- (ancestor, descendant) pair of the same tree, including each task paired
+-- with itself at depth 0. Subtrees, ancestor paths and subtree progress are
+-- then single indexed lookups instead of recursive walks. Maintained by
+-- TaskHierarchyService; a deleted task's subtasks become top-level tasks.
+ALTER TABLE tasks ADD COLUMN parent_id BIGINT NULL;
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_parent FOREIGN KEY (parent_id) REFERENCES tasks(id) ON DELETE SET NULL;
+CREATE INDEX idx_tasks_parent_id ON tasks (parent_id);
+
+CREATE TABLE task_closure (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    FOREIGN KEY (ancestor_id) REFERENCES tasks(id) ON DELETE CASCADE,
+    FOREIGN KEY (descendant_id) REFERENCES tasks(id) ON DELETE CASCADE,
+    -- Subtrees down to a given depth
+    INDEX idx_task_closure_ancestor_depth (ancestor_id, depth, descendant_id),
+    -- Ancestor paths, root first
+    INDEX idx_task_closure_descendant_depth (descendant_id, depth, ancestor_id)
+);
+
+-- Every existing task is a top-level task
+INSERT INTO task_closure (ancestor_id, descendant_id, depth)
+SELECT id, id, 0 FROM tasks;
@@ -0,0 +1,12 @@
+-- V31: Change numbers without a transaction-long counter lock
+-- Numbers are now taken from sync_state in short transactions of their own,
+-- so they no longer become visible in number order. A transaction that takes
+-- numbers first records the first of them here (committed right away) and
+-- deletes the row again in its own work, so the row disappears together with
+-- the transaction's changes, or after it rolled back. Readers (delta sync, the
+-- outbox relay) only go up to the number before the oldest open range.
+CREATE TABLE sync_open_ranges (
+    first_seq BIGINT PRIMARY KEY,
+    opened_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_sync_open_ranges_opened_at (opened_at)
+);
@@ -0,0 +1,341 @@
+package com.tasksphere.shareme.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.tasksphere.shareme.dto.TaskTreeNode;
+import com.tasksphere.shareme.entity.ArchivedTask;
+import com.tasksphere.shareme.entity.Project;
+import com.tasksphere.shareme.entity.User;
+import com.tasksphere.shareme.repository.ArchivedTaskRepository;
+
+/**
+ * Closure table maintenance against MySQL with the real migrations.
+ *
+ * After every change the task_closure rows of the project must be exactly the
+ * pairs that the parent_id column implies: each task with itself at depth 0
+ * and with every ancestor at its distance.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TaskHierarchyServiceTest {
+
+    private static final int MAX_DEPTH = 4;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static DataSource dataSource;
+
+    private TaskHierarchyService hierarchy;
+    private ProjectLockService projectLockService;
+    private Long ownerId;
+    private Long otherUserId;
+    private Long projectId;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new DriverManagerDataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // The sample data from V9 on belongs to a second user, who registered on the original database
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").target("8").load().migrate();
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password_hash, role) VALUES (?, ?, ?, ?, ?)",
+            "Second", "User", "second.user@example.com", "not-a-password-hash", "MEMBER");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+    }
+
+    @BeforeEach
+    void newProject() {
+        ChangeSequenceService changeSequenceService = new ChangeSequenceService();
+        ReflectionTestUtils.setField(changeSequenceService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(changeSequenceService, "numberDataSource", dataSource);
+        projectLockService = new ProjectLockService();
+        ReflectionTestUtils.setField(projectLockService, "jdbcTemplate", jdbcTemplate);
+        hierarchy = new TaskHierarchyService();
+        ReflectionTestUtils.setField(hierarchy, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(hierarchy, "changeSequenceService", changeSequenceService);
+        ReflectionTestUtils.setField(hierarchy, "projectLockService", projectLockService);
+        ReflectionTestUtils.setField(hierarchy, "maxDepth", MAX_DEPTH);
+
+        ownerId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        otherUserId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        projectId = insert("INSERT INTO projects (name, owner_id) VALUES (?, ?)", "Subtasks", ownerId);
+    }
+
+    @Test
+    void newTasksAreLinkedToEveryAncestor() {
+        long root = task("root", null);
+        long a = task("a", root);
+        long b = task("b", a);
+        long c = task("c", root);
+
+        assertClosureMatchesParents();
+        assertThat(ids(hierarchy.getAncestors(b, ownerId))).containsExactly(root, a);
+        List<TaskTreeNode> subtree = hierarchy.getSubtree(root, MAX_DEPTH, ownerId);
+        assertThat(ids(subtree)).containsExactly(a, c);
+        assertThat(ids(subtree.get(0).getChildren())).containsExactly(b);
+    }
+
+    @Test
+    void movingASubtreeRelinksAllOfItsTasks() {
+        long root1 = task("root1", null);
+        long a = task("a", root1);
+        long b = task("b", a);
+        long c = task("c", b);
+        long root2 = task("root2", null);
+
+        move(a, root2);
+        assertClosureMatchesParents();
+        assertThat(ids(hierarchy.getAncestors(c, ownerId))).containsExactly(root2, a, b);
+        assertThat(hierarchy.getSubtree(root1, MAX_DEPTH, ownerId)).isEmpty();
+
+        move(b, null);
+        assertClosureMatchesParents();
+        assertThat(ids(hierarchy.getAncestors(c, ownerId))).containsExactly(b);
+
+        move(b, root1);
+        move(a, c);
+        assertClosureMatchesParents();
+        assertThat(ids(hierarchy.getAncestors(a, ownerId))).containsExactly(root1, b, c);
+    }
+
+    @Test
+    void movesThatWouldMakeACycleOrATooDeepTreeAreRejected() {
+        long root = task("root", null);
+        long a = task("a", root);
+        long b = task("b", a);
+        long c = task("c", b);
+        long d = task("d", c);
+        long x = task("x", null);
+        task("y", x);
+
+        assertThatThrownBy(() -> move(root, b)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> move(a, a)).isInstanceOf(IllegalArgumentException.class);
+        // d is at depth 4, and x brings one more level
+        assertThatThrownBy(() -> move(x, d)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> task("too deep", d)).isInstanceOf(IllegalArgumentException.class);
+        assertClosureMatchesParents();
+
+        move(x, b);
+        assertClosureMatchesParents();
+    }
+
+    @Test
+    void deletingATaskMakesItsSubtasksTopLevelWithTheirSubtrees() {
+        long root = task("root", null);
+        long a = task("a", root);
+        long b = task("b", a);
+        long c = task("c", b);
+        long d = task("d", a);
+
+        delete(a);
+
+        assertClosureMatchesParents();
+        assertThat(parentOf(b)).isNull();
+        assertThat(parentOf(d)).isNull();
+        assertThat(parentOf(c)).isEqualTo(b);
+        assertThat(hierarchy.getSubtree(root, MAX_DEPTH, ownerId)).isEmpty();
+        assertThat(ids(hierarchy.getSubtree(b, MAX_DEPTH, ownerId))).containsExactly(c);
+    }
+
+    @Test
+    void deletingATaskTogetherWithItsParentDetachesOnlyTheSurvivors() {
+        long root = task("root", null);
+        long a = task("a", root);
+        long b = task("b", a);
+        long c = task("c", b);
+
+        delete(a, b);
+
+        assertClosureMatchesParents();
+        assertThat(parentOf(c)).isNull();
+        assertThat(hierarchy.getAncestors(c, ownerId)).isEmpty();
+        assertThat(hierarchy.getSubtree(root, MAX_DEPTH, ownerId)).isEmpty();
+    }
+
+    @Test
+    void archivingAndRestoringKeepTheClosureConsistent() {
+        long root = task("root", null);
+        long a = task("a", root);
+        long b = task("b", a);
+        long c = task("c", b);
+        jdbcTemplate.update("UPDATE tasks SET status = 'COMPLETED', updated_at = ? WHERE id = ?",
+            Timestamp.valueOf(LocalDateTime.of(2001, 1, 1, 0, 0)), a);
+        TaskArchiveService archive = archiveService(a);
+
+        assertThat(archive.archiveBatch(LocalDateTime.of(2002, 1, 1, 0, 0), 100)).isEqualTo(1);
+
+        assertClosureMatchesParents();
+        assertThat(parentOf(b)).isNull();
+        assertThat(parentOf(c)).isEqualTo(b);
+        assertThat(hierarchy.getSubtree(root, MAX_DEPTH, ownerId)).isEmpty();
+
+        archive.restoreTask(a, ownerId);
+
+        assertClosureMatchesParents();
+        assertThat(parentOf(a)).isNull();
+        assertThat(hierarchy.getAncestors(a, ownerId)).isEmpty();
+        assertThat(hierarchy.getSubtree(a, MAX_DEPTH, ownerId)).isEmpty();
+
+        move(b, a);
+        assertClosureMatchesParents();
+        assertThat(ids(hierarchy.getAncestors(c, ownerId))).containsExactly(a, b);
+    }
+
+    @Test
+    void treeReadsLeaveOutTasksTheUserCannotSee() {
+        long root = task("root", null);
+        long a = task("a", root);
+        long b = task("b", a);
+        long c = task("c", b);
+        jdbcTemplate.update("UPDATE tasks SET assignee_id = ? WHERE id = ?", otherUserId, b);
+
+        List<TaskTreeNode> subtree = hierarchy.getSubtree(root, MAX_DEPTH, otherUserId);
+        assertThat(ids(subtree)).containsExactly(b);
+        assertThat(subtree.get(0).getChildren()).isEmpty();
+        assertThat(ids(hierarchy.getAncestors(c, otherUserId))).containsExactly(b);
+        assertThat(hierarchy.getProgress(root, MAX_DEPTH, otherUserId).getTotal()).isEqualTo(1);
+
+        assertThat(ids(hierarchy.getAncestors(c, ownerId))).containsExactly(root, a, b);
+        assertThat(hierarchy.getProgress(root, MAX_DEPTH, ownerId).getTotal()).isEqualTo(3);
+    }
+
+    // As TaskService.createTask: check the parent, insert the row, then link it
+    private long task(String title, Long parentId) {
+        if (parentId != null) {
+            hierarchy.checkParent(projectId, null, parentId);
+        }
+        long id = insert("INSERT INTO tasks (title, project_id, creator_id, sort_rank, parent_id) VALUES (?, ?, ?, ?, ?)",
+            title, projectId, ownerId, title, parentId);
+        hierarchy.addTask(id, parentId);
+        return id;
+    }
+
+    // As TaskService.changeParent
+    private void move(long taskId, Long parentId) {
+        if (parentId != null) {
+            hierarchy.checkParent(projectId, taskId, parentId);
+        }
+        hierarchy.moveSubtree(taskId, parentId);
+        jdbcTemplate.update("UPDATE tasks SET parent_id = ? WHERE id = ?", parentId, taskId);
+    }
+
+    // As TaskService.deleteTask, for one or more tasks
+    private void delete(Long... taskIds) {
+        hierarchy.detach(Arrays.asList(taskIds));
+        String in = "(" + String.join(", ", Collections.nCopies(taskIds.length, "?")) + ")";
+        jdbcTemplate.update("DELETE FROM tasks WHERE id IN " + in, (Object[]) taskIds);
+    }
+
+    private TaskArchiveService archiveService(long taskId) {
+        User owner = new User();
+        owner.setId(ownerId);
+        Project project = new Project();
+        project.setId(projectId);
+        project.setOwner(owner);
+        ArchivedTask archived = mock(ArchivedTask.class);
+        when(archived.getCreator()).thenReturn(owner);
+        when(archived.getProject()).thenReturn(project);
+        when(archived.getTitle()).thenReturn("a");
+        ArchivedTaskRepository archivedTasks = mock(ArchivedTaskRepository.class);
+        when(archivedTasks.findWithPeopleById(taskId)).thenReturn(Optional.of(archived));
+        TaskRankService ranks = mock(TaskRankService.class);
+        when(ranks.rankAtEnd(anyLong())).thenReturn("zz");
+
+        TaskArchiveService archive = new TaskArchiveService();
+        ReflectionTestUtils.setField(archive, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(archive, "changeSequenceService",
+            ReflectionTestUtils.getField(hierarchy, "changeSequenceService"));
+        ReflectionTestUtils.setField(archive, "projectLockService", projectLockService);
+        ReflectionTestUtils.setField(archive, "taskHierarchyService", hierarchy);
+        ReflectionTestUtils.setField(archive, "archivedTaskRepository", archivedTasks);
+        ReflectionTestUtils.setField(archive, "taskRankService", ranks);
+        ReflectionTestUtils.setField(archive, "outboxService", mock(OutboxService.class));
+        ReflectionTestUtils.setField(archive, "activityLog", mock(ActivityLog.class));
+        ReflectionTestUtils.setField(archive, "taskService", mock(TaskService.class));
+        ReflectionTestUtils.setField(archive, "taskNoteTagIndex", mock(TaskNoteTagIndex.class));
+        ReflectionTestUtils.setField(archive, "taskNoteAutosaveBuffer", mock(TaskNoteAutosaveBuffer.class));
+        ReflectionTestUtils.setField(archive, "collaborativeNoteService", mock(CollaborativeNoteService.class));
+        return archive;
+    }
+
+    private void assertClosureMatchesParents() {
+        Map<Long, Long> parents = new HashMap<>();
+        jdbcTemplate.query("SELECT id, parent_id FROM tasks WHERE project_id = ?",
+            rs -> {
+                parents.put(rs.getLong(1), rs.getObject(2, Long.class));
+            },
+            projectId);
+
+        Set<String> expected = new TreeSet<>();
+        for (Long task : parents.keySet()) {
+            int depth = 0;
+            for (Long ancestor = task; ancestor != null; ancestor = parents.get(ancestor)) {
+                assertThat(depth).as("parent_id cycle at task %d", task).isLessThanOrEqualTo(MAX_DEPTH);
+                expected.add(ancestor + " > " + task + " at " + depth++);
+            }
+        }
+        Set<String> actual = new TreeSet<>(jdbcTemplate.query(
+            "SELECT c.ancestor_id, c.descendant_id, c.depth FROM task_closure c "
+            + "JOIN tasks t ON t.id = c.descendant_id WHERE t.project_id = ?",
+            (rs, rowNum) -> rs.getLong(1) + " > " + rs.getLong(2) + " at " + rs.getInt(3),
+            projectId));
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static Long parentOf(long taskId) {
+        return jdbcTemplate.queryForObject("SELECT parent_id FROM tasks WHERE id = ?", Long.class, taskId);
+    }
+
+    private static List<Long> ids(List<TaskTreeNode> nodes) {
+        List<Long> ids = new ArrayList<>();
+        for (TaskTreeNode node : nodes) {
+            ids.add(node.getId());
+        }
+        return ids;
+    }
+
+    private static long insert(String sql, Object... args) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+}
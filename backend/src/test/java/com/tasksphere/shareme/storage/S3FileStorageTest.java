@@ -0,0 +1,192 @@
+package com.tasksphere.shareme.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * S3FileStorage against an in-process S3 stand-in, so the real SDK requests
+ * (signed streaming uploads, multipart calls, Range headers) are exercised
+ * without a running MinIO.
+ */
+class S3FileStorageTest {
+
+    private static final String BUCKET = "shareme-test";
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    private S3StandIn standIn;
+    private S3FileStorage storage;
+
+    @BeforeEach
+    void start() throws IOException {
+        standIn = new S3StandIn(BUCKET);
+        storage = new S3FileStorage();
+        ReflectionTestUtils.setField(storage, "bucket", BUCKET);
+        ReflectionTestUtils.setField(storage, "region", "us-east-1");
+        ReflectionTestUtils.setField(storage, "endpoint", standIn.endpoint().toString());
+        ReflectionTestUtils.setField(storage, "accessKey", "test-access");
+        ReflectionTestUtils.setField(storage, "secretKey", "test-secret");
+        ReflectionTestUtils.setField(storage, "pathStyleAccess", true);
+        ReflectionTestUtils.setField(storage, "partSize", PART_SIZE);
+        ReflectionTestUtils.setField(storage, "uploadParallelism", 4);
+        storage.init();
+    }
+
+    @AfterEach
+    void stop() {
+        storage.close();
+        standIn.close();
+    }
+
+    @Test
+    void smallFileIsStoredInOnePutAndReadBack() throws IOException {
+        byte[] content = "hello storage".getBytes(StandardCharsets.UTF_8);
+
+        storage.store("docs/hello.txt", new ByteArrayInputStream(content), content.length, "text/plain");
+
+        assertThat(standIn.object("docs/hello.txt")).isEqualTo(content);
+        try (InputStream in = storage.read("docs/hello.txt")) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        assertThat(standIn.abortedUploads()).isZero();
+    }
+
+    @Test
+    void largeFileIsUploadedInParallelParts() throws IOException {
+        byte[] content = randomBytes(3 * PART_SIZE + 12345);
+
+        storage.store("big.bin", new ByteArrayInputStream(content), content.length, "application/octet-stream");
+
+        assertThat(standIn.object("big.bin")).isEqualTo(content);
+        assertThat(standIn.openUploads()).isZero();
+        assertThat(standIn.maxPartsInFlight()).isGreaterThan(1);
+    }
+
+    @Test
+    void fileOfUnknownSizeUsesMultipart() throws IOException {
+        byte[] content = randomBytes(PART_SIZE + 1);
+
+        storage.store("unknown.bin", new ByteArrayInputStream(content), -1, "application/octet-stream");
+
+        assertThat(standIn.object("unknown.bin")).isEqualTo(content);
+        assertThat(standIn.openUploads()).isZero();
+    }
+
+    @Test
+    void failedPartAbortsTheUpload() {
+        byte[] content = randomBytes(3 * PART_SIZE);
+        standIn.failUploadOfPart(2);
+
+        assertThatThrownBy(() -> storage.store("broken.bin", new ByteArrayInputStream(content), content.length,
+            "application/octet-stream")).isInstanceOf(IOException.class);
+
+        assertThat(standIn.abortedUploads()).isEqualTo(1);
+        assertThat(standIn.openUploads()).isZero();
+        assertThat(standIn.object("broken.bin")).isNull();
+    }
+
+    @Test
+    void failingSourceStreamAbortsTheUpload() {
+        byte[] content = randomBytes(3 * PART_SIZE);
+
+        assertThatThrownBy(() -> storage.store("cut.bin", S3StandIn.failingAfter(content, PART_SIZE + 10),
+            content.length, "application/octet-stream")).isInstanceOf(IOException.class);
+
+        assertThat(standIn.abortedUploads()).isEqualTo(1);
+        assertThat(standIn.openUploads()).isZero();
+        assertThat(standIn.object("cut.bin")).isNull();
+    }
+
+    @Test
+    void streamShorterThanTheDeclaredSizeAbortsTheUpload() {
+        byte[] content = randomBytes(2 * PART_SIZE + 100);
+
+        assertThatThrownBy(() -> storage.store("short.bin", new ByteArrayInputStream(content), 3L * PART_SIZE,
+            "application/octet-stream")).isInstanceOf(IOException.class);
+
+        assertThat(standIn.abortedUploads()).isEqualTo(1);
+        assertThat(standIn.object("short.bin")).isNull();
+    }
+
+    @Test
+    void readRangeReturnsTheInclusiveByteRange() throws IOException {
+        byte[] content = randomBytes(10_000);
+        standIn.putObject("range.bin", content);
+
+        try (InputStream in = storage.readRange("range.bin", 100, 199)) {
+            assertThat(in.readAllBytes()).isEqualTo(slice(content, 100, 200));
+        }
+        try (InputStream in = storage.readRange("range.bin", 9_990, 9_999)) {
+            assertThat(in.readAllBytes()).isEqualTo(slice(content, 9_990, 10_000));
+        }
+        assertThat(standIn.rangedReads()).isEqualTo(2);
+    }
+
+    @Test
+    void storageResourceTurnsASkipIntoARangedRead() throws IOException {
+        byte[] content = randomBytes(4096);
+        standIn.putObject("resource.bin", content);
+        StorageResource resource = new StorageResource(storage, "resource.bin", "resource.bin", content.length);
+
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(in.skip(1000)).isEqualTo(1000);
+            assertThat(in.readAllBytes()).isEqualTo(slice(content, 1000, 4096));
+        }
+        assertThat(standIn.rangedReads()).isEqualTo(1);
+    }
+
+    @Test
+    void missingObjectsAreReported() throws IOException {
+        assertThatThrownBy(() -> storage.read("missing.txt")).isInstanceOf(NoSuchFileException.class);
+        assertThatThrownBy(() -> storage.readRange("missing.txt", 0, 10)).isInstanceOf(NoSuchFileException.class);
+        assertThat(storage.stat("missing.txt")).isNull();
+        storage.delete("missing.txt");
+    }
+
+    @Test
+    void statDeleteAndListWork() throws IOException {
+        standIn.putObject("a.txt", new byte[3]);
+        standIn.putObject("b.txt", new byte[5]);
+        standIn.putObject("thumbnails/1.jpg", new byte[7]);
+
+        StoredObject stat = storage.stat("b.txt");
+        assertThat(stat.getSize()).isEqualTo(5);
+        assertThat(stat.getLastModified()).isNotNull();
+
+        List<String> topLevel = new ArrayList<>();
+        storage.list("", object -> topLevel.add(object.getKey()));
+        assertThat(topLevel).containsExactly("a.txt", "b.txt");
+
+        List<String> thumbnails = new ArrayList<>();
+        storage.list("thumbnails/", object -> thumbnails.add(object.getName() + ":" + object.getSize()));
+        assertThat(thumbnails).containsExactly("1.jpg:7");
+
+        storage.delete("a.txt");
+        assertThat(storage.stat("a.txt")).isNull();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] slice(byte[] content, int from, int to) {
+        byte[] slice = new byte[to - from];
+        System.arraycopy(content, from, slice, 0, slice.length);
+        return slice;
+    }
+}
@@ -0,0 +1,381 @@
+package com.tasksphere.shareme.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for an S3-compatible store such as MinIO, speaking the
+ * path-style REST API over HTTP for the calls S3FileStorage makes: put, the
+ * multipart upload calls, get with Range, head, delete and ListObjectsV2.
+ * Uploads can be made to fail at a given part to check abort handling.
+ */
+class S3StandIn implements AutoCloseable {
+
+    private static final Pattern PART = Pattern.compile(
+        "<PartNumber>(\\d+)</PartNumber>\\s*<ETag>([^<]*)</ETag>|<ETag>([^<]*)</ETag>\\s*<PartNumber>(\\d+)</PartNumber>");
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final String bucket;
+
+    private final Map<String, StoredBytes> objects = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final AtomicInteger uploadIds = new AtomicInteger();
+    private final AtomicInteger abortedUploads = new AtomicInteger();
+    private final AtomicInteger partsInFlight = new AtomicInteger();
+    private final AtomicInteger maxPartsInFlight = new AtomicInteger();
+    private final AtomicInteger rangedReads = new AtomicInteger();
+    private volatile int failPartNumber = -1;
+
+    S3StandIn(String bucket) throws IOException {
+        this.bucket = bucket;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    void failUploadOfPart(int partNumber) {
+        failPartNumber = partNumber;
+    }
+
+    byte[] object(String key) {
+        StoredBytes object = objects.get(key);
+        return object == null ? null : object.content;
+    }
+
+    void putObject(String key, byte[] content) {
+        objects.put(key, new StoredBytes(content));
+    }
+
+    int openUploads() {
+        return uploads.size();
+    }
+
+    int abortedUploads() {
+        return abortedUploads.get();
+    }
+
+    int maxPartsInFlight() {
+        return maxPartsInFlight.get();
+    }
+
+    int rangedReads() {
+        return rangedReads.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8);
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            String prefix = "/" + bucket;
+            if (!path.startsWith(prefix)) {
+                error(exchange, 404, "NoSuchBucket");
+                return;
+            }
+            String key = path.length() > prefix.length() + 1 ? path.substring(prefix.length() + 1) : "";
+            String method = exchange.getRequestMethod();
+
+            if (key.isEmpty() && method.equals("GET")) {
+                list(exchange, query.getOrDefault("prefix", ""), query.get("delimiter"));
+            } else if (method.equals("POST") && query.containsKey("uploads")) {
+                createUpload(exchange, key);
+            } else if (method.equals("PUT") && query.containsKey("uploadId")) {
+                uploadPart(exchange, query.get("uploadId"), Integer.parseInt(query.get("partNumber")));
+            } else if (method.equals("POST") && query.containsKey("uploadId")) {
+                completeUpload(exchange, key, query.get("uploadId"));
+            } else if (method.equals("DELETE") && query.containsKey("uploadId")) {
+                uploads.remove(query.get("uploadId"));
+                abortedUploads.incrementAndGet();
+                exchange.sendResponseHeaders(204, -1);
+            } else if (method.equals("PUT")) {
+                byte[] content = body(exchange);
+                objects.put(key, new StoredBytes(content));
+                exchange.getResponseHeaders().add("ETag", quotedMd5(content));
+                exchange.sendResponseHeaders(200, -1);
+            } else if (method.equals("GET") || method.equals("HEAD")) {
+                get(exchange, key, method.equals("HEAD"));
+            } else if (method.equals("DELETE")) {
+                objects.remove(key);
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                error(exchange, 405, "MethodNotAllowed");
+            }
+        }
+    }
+
+    private void createUpload(HttpExchange exchange, String key) throws IOException {
+        body(exchange);
+        String uploadId = "upload-" + uploadIds.incrementAndGet();
+        uploads.put(uploadId, new ConcurrentHashMap<>());
+        xml(exchange, 200, "<InitiateMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key
+            + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+    }
+
+    private void uploadPart(HttpExchange exchange, String uploadId, int partNumber) throws IOException {
+        int inFlight = partsInFlight.incrementAndGet();
+        maxPartsInFlight.accumulateAndGet(inFlight, Math::max);
+        try {
+            byte[] content = body(exchange);
+            Map<Integer, byte[]> parts = uploads.get(uploadId);
+            if (parts == null) {
+                error(exchange, 404, "NoSuchUpload");
+                return;
+            }
+            if (partNumber == failPartNumber) {
+                error(exchange, 400, "InvalidRequest");
+                return;
+            }
+            // Long enough for the next parts to start while this one is open
+            Thread.sleep(50);
+            parts.put(partNumber, content);
+            exchange.getResponseHeaders().add("ETag", quotedMd5(content));
+            exchange.sendResponseHeaders(200, -1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            partsInFlight.decrementAndGet();
+        }
+    }
+
+    private void completeUpload(HttpExchange exchange, String key, String uploadId) throws IOException {
+        String request = new String(body(exchange), StandardCharsets.UTF_8);
+        Map<Integer, byte[]> parts = uploads.remove(uploadId);
+        if (parts == null) {
+            error(exchange, 404, "NoSuchUpload");
+            return;
+        }
+        TreeMap<Integer, String> listed = new TreeMap<>();
+        Matcher matcher = PART.matcher(request);
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                listed.put(Integer.parseInt(matcher.group(1)), matcher.group(2));
+            } else {
+                listed.put(Integer.parseInt(matcher.group(4)), matcher.group(3));
+            }
+        }
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (Map.Entry<Integer, String> part : listed.entrySet()) {
+            byte[] bytes = parts.get(part.getKey());
+            if (bytes == null || !quotedMd5(bytes).equals(part.getValue().replace("&quot;", "\""))) {
+                error(exchange, 400, "InvalidPart");
+                return;
+            }
+            content.write(bytes);
+        }
+        objects.put(key, new StoredBytes(content.toByteArray()));
+        xml(exchange, 200, "<CompleteMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key
+            + "</Key><ETag>\"multipart-" + listed.size() + "\"</ETag></CompleteMultipartUploadResult>");
+    }
+
+    private void get(HttpExchange exchange, String key, boolean headOnly) throws IOException {
+        body(exchange);
+        StoredBytes object = objects.get(key);
+        if (object == null) {
+            if (headOnly) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                error(exchange, 404, "NoSuchKey");
+            }
+            return;
+        }
+
+        byte[] content = object.content;
+        int start = 0;
+        int end = content.length - 1;
+        int status = 200;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        if (range != null) {
+            Matcher matcher = RANGE.matcher(range);
+            if (!matcher.matches()) {
+                error(exchange, 416, "InvalidRange");
+                return;
+            }
+            rangedReads.incrementAndGet();
+            start = Integer.parseInt(matcher.group(1));
+            if (!matcher.group(2).isEmpty()) {
+                end = Math.min(end, Integer.parseInt(matcher.group(2)));
+            }
+            status = 206;
+            exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+        }
+
+        exchange.getResponseHeaders().add("Last-Modified",
+            DateTimeFormatter.RFC_1123_DATE_TIME.format(object.lastModified.atOffset(ZoneOffset.UTC)));
+        exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+        int length = end - start + 1;
+        if (headOnly) {
+            exchange.getResponseHeaders().add("Content-Length", String.valueOf(length));
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, length == 0 ? -1 : length);
+        exchange.getResponseBody().write(content, start, length);
+    }
+
+    private void list(HttpExchange exchange, String prefix, String delimiter) throws IOException {
+        body(exchange);
+        StringBuilder contents = new StringBuilder();
+        Set<String> commonPrefixes = new TreeSet<>();
+        for (Map.Entry<String, StoredBytes> object : new TreeMap<>(objects).entrySet()) {
+            String key = object.getKey();
+            if (!key.startsWith(prefix)) {
+                continue;
+            }
+            int cut = delimiter == null ? -1 : key.indexOf(delimiter, prefix.length());
+            if (cut >= 0) {
+                commonPrefixes.add(key.substring(0, cut + 1));
+                continue;
+            }
+            contents.append("<Contents><Key>").append(key).append("</Key><LastModified>")
+                .append(DateTimeFormatter.ISO_INSTANT.format(object.getValue().lastModified))
+                .append("</LastModified><Size>").append(object.getValue().content.length)
+                .append("</Size></Contents>");
+        }
+        StringBuilder prefixes = new StringBuilder();
+        commonPrefixes.forEach(common -> prefixes.append("<CommonPrefixes><Prefix>").append(common)
+            .append("</Prefix></CommonPrefixes>"));
+        xml(exchange, 200, "<ListBucketResult><Name>" + bucket + "</Name><Prefix>" + prefix
+            + "</Prefix><IsTruncated>false</IsTruncated>" + contents + prefixes + "</ListBucketResult>");
+    }
+
+    private static void error(HttpExchange exchange, int status, String code) throws IOException {
+        xml(exchange, status, "<Error><Code>" + code + "</Code><Message>" + code + "</Message></Error>");
+    }
+
+    private static void xml(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    // Request body, with the aws-chunked framing of signed streaming uploads removed
+    private static byte[] body(HttpExchange exchange) throws IOException {
+        byte[] raw = exchange.getRequestBody().readAllBytes();
+        String sha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (sha == null || !sha.startsWith("STREAMING-")) {
+            return raw;
+        }
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        int index = 0;
+        while (index < raw.length) {
+            int lineEnd = indexOfCrlf(raw, index);
+            String header = new String(raw, index, lineEnd - index, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";", 2)[0].trim(), 16);
+            if (size == 0) {
+                break;
+            }
+            decoded.write(raw, lineEnd + 2, size);
+            index = lineEnd + 2 + size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length - 1; i++) {
+            if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Malformed aws-chunked body");
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            String[] parts = pair.split("=", 2);
+            query.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+        }
+        return query;
+    }
+
+    private static String quotedMd5(byte[] content) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class StoredBytes {
+        private final byte[] content;
+        private final Instant lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        private StoredBytes(byte[] content) {
+            this.content = content;
+        }
+    }
+
+    static InputStream failingAfter(byte[] content, int failAt) {
+        return new InputStream() {
+            private int position;
+
+            @Override
+            public int read() throws IOException {
+                if (position >= failAt) {
+                    throw new IOException("Client went away");
+                }
+                return position < content.length ? content[position++] & 0xff : -1;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (length == 0) {
+                    return 0;
+                }
+                if (position >= failAt) {
+                    throw new IOException("Client went away");
+                }
+                int count = Math.min(length, Math.min(failAt, content.length) - position);
+                if (count <= 0) {
+                    return -1;
+                }
+                System.arraycopy(content, position, buffer, offset, count);
+                position += count;
+                return count;
+            }
+        };
+    }
+}
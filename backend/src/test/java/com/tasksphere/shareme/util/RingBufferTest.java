@@ -0,0 +1,251 @@
+package com.tasksphere.shareme.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RingBufferTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 100_000;
+
+    private ExecutorService threads;
+
+    @BeforeEach
+    void startThreads() {
+        threads = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void stopThreads() throws InterruptedException {
+        threads.shutdownNow();
+        assertThat(threads.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new RingBuffer<>(1).capacity()).isEqualTo(2);
+        assertThat(new RingBuffer<>(8).capacity()).isEqualTo(8);
+        assertThat(new RingBuffer<>(9).capacity()).isEqualTo(16);
+    }
+
+    @Test
+    void elementsComeOutInOrderAcrossLaps() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        for (int lap = 0; lap < 5; lap++) {
+            for (int i = 0; i < 3; i++) {
+                assertThat(buffer.offer(lap * 3 + i)).isTrue();
+            }
+            assertThat(buffer.drainTo(drained, 2)).isEqualTo(2);
+            assertThat(buffer.drainTo(drained, 10)).isEqualTo(1);
+        }
+
+        assertThat(drained).hasSize(15);
+        for (int i = 0; i < drained.size(); i++) {
+            assertThat(drained.get(i)).isEqualTo(i);
+        }
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void fullBufferRejectsAndRecoversAfterPoll() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(buffer.offer("c")).isFalse();
+        assertThat(buffer.size()).isEqualTo(2);
+
+        assertThat(buffer.poll()).isEqualTo("a");
+        assertThat(buffer.offer("c")).isTrue();
+        assertThat(buffer.poll()).isEqualTo("b");
+        assertThat(buffer.poll()).isEqualTo("c");
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        // Producers retry when the buffer is full, so every element must arrive exactly once
+        RingBuffer<Integer> buffer = new RingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            producers.add(threads.submit(() -> {
+                start.await();
+                for (int i = 0; i < PER_PRODUCER; i++) {
+                    while (!buffer.offer(producer * PER_PRODUCER + i)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        BitSet seen = new BitSet(PRODUCERS * PER_PRODUCER);
+        int[] lastOfProducer = new int[PRODUCERS];
+        Arrays.fill(lastOfProducer, -1);
+        List<Integer> batch = new ArrayList<>();
+        int received = 0;
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (received < PRODUCERS * PER_PRODUCER) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("consumer timed out after " + received + " elements");
+            }
+            batch.clear();
+            buffer.drainTo(batch, 256);
+            for (int value : batch) {
+                if (seen.get(value)) {
+                    throw new AssertionError("duplicate " + value);
+                }
+                seen.set(value);
+                // Each producer's elements keep their order
+                int producer = value / PER_PRODUCER;
+                if (value % PER_PRODUCER <= lastOfProducer[producer]) {
+                    throw new AssertionError("producer " + producer + " out of order at " + value);
+                }
+                lastOfProducer[producer] = value % PER_PRODUCER;
+            }
+            received += batch.size();
+        }
+        for (Future<?> producer : producers) {
+            producer.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(seen.cardinality()).isEqualTo(PRODUCERS * PER_PRODUCER);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    void producersRacingForAFullBufferGetExactDropCounts() throws Exception {
+        // No consumer: exactly capacity offers succeed, every other offer is a drop
+        RingBuffer<Integer> buffer = new RingBuffer<>(4096);
+        int perProducer = 10_000;
+        int[] accepted = runProducers(buffer, perProducer);
+
+        int total = 0;
+        for (int count : accepted) {
+            total += count;
+        }
+        int dropped = PRODUCERS * perProducer - total;
+        assertThat(total).isEqualTo(buffer.capacity());
+        assertThat(dropped).isEqualTo(PRODUCERS * perProducer - 4096);
+        assertThat(buffer.size()).isEqualTo(buffer.capacity());
+        assertThat(buffer.offer(-1)).isFalse();
+
+        // What is in the buffer is exactly the accepted prefix of each producer
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, Integer.MAX_VALUE)).isEqualTo(buffer.capacity());
+        int[] counts = new int[PRODUCERS];
+        BitSet seen = new BitSet();
+        for (int value : drained) {
+            assertThat(seen.get(value)).as("duplicate %d", value).isFalse();
+            seen.set(value);
+            counts[value / perProducer]++;
+        }
+        for (int p = 0; p < PRODUCERS; p++) {
+            assertThat(counts[p]).isEqualTo(accepted[p]);
+            for (int i = 0; i < accepted[p]; i++) {
+                assertThat(seen.get(p * perProducer + i)).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void acceptedElementsAreExactlyThoseConsumedUnderContention() throws Exception {
+        // Producers drop on full while two consumers drain: accepted and consumed must match one to one
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        int perProducer = 100_000;
+        AtomicBoolean producing = new AtomicBoolean(true);
+        List<Future<BitSet>> consumers = new ArrayList<>();
+        for (int c = 0; c < 2; c++) {
+            consumers.add(threads.submit(consumer(buffer, producing)));
+        }
+
+        int[] accepted = runProducers(buffer, perProducer);
+        producing.set(false);
+
+        BitSet consumed = new BitSet();
+        int consumedCount = 0;
+        for (Future<BitSet> consumer : consumers) {
+            BitSet values = consumer.get(30, TimeUnit.SECONDS);
+            assertThat(consumed.intersects(values)).as("an element was consumed twice").isFalse();
+            consumed.or(values);
+            consumedCount += values.cardinality();
+        }
+        int acceptedCount = 0;
+        for (int count : accepted) {
+            acceptedCount += count;
+        }
+
+        assertThat(consumedCount).isEqualTo(acceptedCount);
+        assertThat(acceptedCount).isLessThanOrEqualTo(PRODUCERS * perProducer);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    // Each producer offers its values once, without retrying; returns how many each got in
+    private int[] runProducers(RingBuffer<Integer> buffer, int perProducer) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            producers.add(threads.submit(() -> {
+                start.await();
+                int accepted = 0;
+                for (int i = 0; i < perProducer; i++) {
+                    if (buffer.offer(producer * perProducer + i)) {
+                        accepted++;
+                    }
+                }
+                return accepted;
+            }));
+        }
+        start.countDown();
+
+        int[] accepted = new int[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            accepted[p] = producers.get(p).get(30, TimeUnit.SECONDS);
+        }
+        return accepted;
+    }
+
+    private static Callable<BitSet> consumer(RingBuffer<Integer> buffer, AtomicBoolean producing) {
+        return () -> {
+            BitSet values = new BitSet();
+            List<Integer> batch = new ArrayList<>();
+            while (true) {
+                // Read the flag before draining, so the last drain sees everything produced
+                boolean last = !producing.get();
+                batch.clear();
+                buffer.drainTo(batch, 128);
+                for (int value : batch) {
+                    if (values.get(value)) {
+                        throw new AssertionError("duplicate " + value);
+                    }
+                    values.set(value);
+                }
+                if (last && batch.isEmpty()) {
+                    return values;
+                }
+            }
+        };
+    }
+}
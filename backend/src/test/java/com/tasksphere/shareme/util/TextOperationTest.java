@@ -0,0 +1,160 @@
+package com.tasksphere.shareme.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TextOperationTest {
+
+    private static final String ALPHABET = "abcdefgh \n";
+    private static final int ROUNDS = 2000;
+
+    @Test
+    void applyRetainsInsertsAndDeletes() {
+        TextOperation operation = new TextOperation().retain(5).insert("abc").delete(3).retain(2);
+
+        assertThat(operation.getBaseLength()).isEqualTo(10);
+        assertThat(operation.getTargetLength()).isEqualTo(10);
+        assertThat(operation.apply("hello12345")).isEqualTo("helloabc45");
+    }
+
+    @Test
+    void applyRejectsADocumentOfAnotherLength() {
+        TextOperation operation = new TextOperation().retain(3);
+
+        assertThatThrownBy(() -> operation.apply("four")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void adjacentComponentsAreMergedWithInsertsBeforeDeletes() {
+        TextOperation operation = new TextOperation().retain(1).retain(2).delete(1).insert("x").delete(1).insert("y");
+
+        assertThat(operation.toJson()).containsExactly(3, "xy", -2);
+    }
+
+    @Test
+    void jsonRoundTripKeepsTheOperation() {
+        Random random = new Random(7);
+        for (int i = 0; i < ROUNDS; i++) {
+            String document = randomText(random, 20);
+            TextOperation operation = randomOperation(random, document);
+
+            TextOperation copy = TextOperation.fromJson(new ArrayList<>(operation.toJson()));
+
+            assertThat(copy.toJson()).isEqualTo(operation.toJson());
+            assertThat(copy.apply(document)).isEqualTo(operation.apply(document));
+        }
+    }
+
+    @Test
+    void fromJsonRejectsUnknownComponents() {
+        assertThatThrownBy(() -> TextOperation.fromJson(List.of(2, true)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void transformConverges() {
+        Random random = new Random(42);
+        for (int i = 0; i < ROUNDS; i++) {
+            String document = randomText(random, 30);
+            TextOperation a = randomOperation(random, document);
+            TextOperation b = randomOperation(random, document);
+
+            TextOperation[] primes = TextOperation.transform(a, b);
+
+            String viaA = primes[1].apply(a.apply(document));
+            String viaB = primes[0].apply(b.apply(document));
+            assertThat(viaA).as("document %s, a %s, b %s", document, a.toJson(), b.toJson()).isEqualTo(viaB);
+            assertThat(primes[0].getBaseLength()).isEqualTo(b.getTargetLength());
+            assertThat(primes[1].getBaseLength()).isEqualTo(a.getTargetLength());
+        }
+    }
+
+    @Test
+    void insertsOfTheFirstOperationWinTies() {
+        TextOperation a = new TextOperation().retain(2).insert("A").retain(1);
+        TextOperation b = new TextOperation().retain(2).insert("B").retain(1);
+
+        TextOperation[] primes = TextOperation.transform(a, b);
+
+        assertThat(primes[1].apply(a.apply("xyz"))).isEqualTo("xyABz");
+        assertThat(primes[0].apply(b.apply("xyz"))).isEqualTo("xyABz");
+    }
+
+    @Test
+    void transformOverASequenceMatchesTheServerHistory() {
+        // What CollaborativeNoteService does for a client that missed several revisions
+        Random random = new Random(1234);
+        for (int i = 0; i < ROUNDS / 4; i++) {
+            String base = randomText(random, 25);
+            TextOperation client = randomOperation(random, base);
+
+            String server = base;
+            List<TextOperation> history = new ArrayList<>();
+            int missed = 1 + random.nextInt(5);
+            for (int j = 0; j < missed; j++) {
+                TextOperation applied = randomOperation(random, server);
+                history.add(applied);
+                server = applied.apply(server);
+            }
+
+            TextOperation transformed = client;
+            List<TextOperation> historyForClient = new ArrayList<>();
+            for (TextOperation applied : history) {
+                TextOperation[] primes = TextOperation.transform(transformed, applied);
+                transformed = primes[0];
+                historyForClient.add(primes[1]);
+            }
+
+            // The client applied its own operation first, then receives the server's in transformed form
+            String atClient = client.apply(base);
+            for (TextOperation applied : historyForClient) {
+                atClient = applied.apply(atClient);
+            }
+            assertThat(transformed.apply(server)).isEqualTo(atClient);
+        }
+    }
+
+    @Test
+    void transformRejectsOperationsOnDifferentDocuments() {
+        TextOperation a = new TextOperation().retain(3);
+        TextOperation b = new TextOperation().retain(4);
+
+        assertThatThrownBy(() -> TextOperation.transform(a, b)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static TextOperation randomOperation(Random random, String document) {
+        TextOperation operation = new TextOperation();
+        int index = 0;
+        while (index < document.length()) {
+            int count = 1 + random.nextInt(Math.min(5, document.length() - index));
+            switch (random.nextInt(3)) {
+                case 0 -> operation.retain(count);
+                case 1 -> operation.delete(count);
+                default -> {
+                    operation.insert(randomText(random, 4));
+                    continue;
+                }
+            }
+            index += count;
+        }
+        if (random.nextBoolean()) {
+            operation.insert(randomText(random, 4));
+        }
+        return operation;
+    }
+
+    private static String randomText(Random random, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+}
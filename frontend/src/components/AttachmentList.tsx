@@ -1,7 +1,41 @@
-import React from 'react';
+import React, { useEffect, useState } from 'react';
 import type { TaskAttachment } from '../types/task';
 import { taskAttachmentService } from '../services/attachmentService';
 
+const AttachmentThumbnail: React.FC<{ attachment: TaskAttachment; fallback: React.ReactNode }> = ({
+  attachment,
+  fallback
+}) => {
+  const [src, setSrc] = useState<string | null>(null);
+
+  useEffect(() => {
+    if (!attachment.thumbnailUrl) {
+      return;
+    }
+    let objectUrl: string | null = null;
+    let cancelled = false;
+    taskAttachmentService.getThumbnail(attachment.id)
+      .then(blob => {
+        if (!cancelled) {
+          objectUrl = window.URL.createObjectURL(blob);
+          setSrc(objectUrl);
+        }
+      })
+      .catch(() => setSrc(null));
+    return () => {
+      cancelled = true;
+      if (objectUrl) {
+        window.URL.revokeObjectURL(objectUrl);
+      }
+    };
+  }, [attachment.id, attachment.thumbnailUrl]);
+
+  if (!src) {
+    return <>{fallback}</>;
+  }
+  return <img src={src} alt="" className="h-8 w-8 rounded object-cover flex-shrink-0" />;
+};
+
 interface AttachmentListProps {
   attachments: TaskAttachment[];
   onDelete?: (attachmentId: number) => void;
@@ -82,7 +116,7 @@ const AttachmentList: React.FC<AttachmentListProps> = ({
             onClick={() => handleDownload(attachment)}
           >
             <div className="flex items-center space-x-2 flex-1 min-w-0">
-              {getFileIcon(attachment.contentType)}
+              <AttachmentThumbnail attachment={attachment} fallback={getFileIcon(attachment.contentType)} />
               <div className="flex-1 min-w-0">
                 <p className={`text-xs truncate ${
                   isDarkMode ? 'text-gray-200' : 'text-gray-700'
@@ -1,6 +1,6 @@
 import React, { useState, useEffect, useRef } from 'react';
 import { useAuth } from '../contexts/AuthContext';
-import { projectService, type DashboardStats } from '../services/api';
+import { dashboardService, type DashboardStats } from '../services/api';
 
 const Dashboard: React.FC = () => {
   const { user, logout } = useAuth();
@@ -13,8 +13,10 @@ const Dashboard: React.FC = () => {
   useEffect(() => {
     const fetchDashboardData = async () => {
       try {
-        const statsData = await projectService.getStats();
-        setStats(statsData);
+        const dashboard = await dashboardService.getDashboard();
+        if (dashboard.projectStats) {
+          setStats(dashboard.projectStats);
+        }
       } catch (error) {
         console.error('Failed to fetch dashboard data:', error);
       } finally {
@@ -8,12 +8,22 @@ import type {
   User 
 } from '../types/auth';
 import type {
+  ArchivedTask,
+  ArchivedTaskPage,
+  ProjectBoard,
+  SubtreeProgress,
   Task,
   TaskRequest,
+  TaskMove,
+  TaskPatch,
   TaskSearchRequest,
   TaskResponse,
-  TaskStats
+  TaskStats,
+  TaskTreeNode
 } from '../types/task';
+import type { CursorPage, TaskNoteResponse } from '../types/taskNote';
+import type { ActivityEntry } from '../types/activity';
+import type { AnalyticsRange, BurndownPoint, CumulativeFlowPoint, CycleTimePoint } from '../types/analytics';
 
 export interface Project {
   id: number;
@@ -31,6 +41,7 @@ export interface Project {
   createdAt: string;
   updatedAt?: string;
   deadline?: string;
+  version?: number;
   // Permissions returned by backend
   currentUserRole?: string;
   canView?: boolean;
@@ -46,6 +57,17 @@ export interface CreateProjectRequest {
   memberEmails: string[];
   documents: File[];
   sendEmail: boolean;
+  version?: number;
+}
+
+/** JSON Merge Patch of a project: absent fields are kept, null clears a field */
+export interface ProjectPatch {
+  name?: string;
+  description?: string | null;
+  priority?: 'URGENT' | 'HIGH' | 'MEDIUM' | 'LOW';
+  status?: 'ACTIVE' | 'COMPLETED' | 'ON_HOLD' | 'ARCHIVED';
+  deadline?: string | null;
+  version?: number;
 }
 
 export interface DashboardStats {
@@ -54,6 +76,24 @@ export interface DashboardStats {
   inProgressTasks: number;
 }
 
+export interface DashboardData {
+  projects: Project[] | null;
+  projectStats: DashboardStats | null;
+  taskStats: TaskStats | null;
+  recentTasks: Task[] | null;
+  unavailableSections: string[];
+}
+
+export interface SyncChanges {
+  token: string | null;
+  hasMore: boolean;
+  resetRequired: boolean;
+  projects: Project[];
+  tasks: Task[];
+  notes: TaskNoteResponse[];
+  deleted: { projects: number[]; tasks: number[]; notes: number[] };
+}
+
 const API_BASE_URL = 'http://localhost:8080/api';  // Use correct backend URL
 
 console.log('API Base URL:', API_BASE_URL); // Debug log
@@ -256,6 +296,18 @@ export const projectService = {
     return response.data;
   },
 
+  async getBoard(id: number, limit = 20): Promise<ProjectBoard> {
+    const response = await api.get<ProjectBoard>(`/projects/${id}/board`, { params: { limit } });
+    return response.data;
+  },
+
+  async patchProject(id: number, patch: ProjectPatch): Promise<Project> {
+    const response = await api.patch<Project>(`/projects/${id}`, patch, {
+      headers: { 'Content-Type': 'application/merge-patch+json' },
+    });
+    return response.data;
+  },
+
   async deleteProject(id: number): Promise<void> {
     await api.delete(`/projects/${id}`);
   },
@@ -300,11 +352,43 @@ export const taskService = {
     return response.data;
   },
 
+  async patchTask(id: number, patch: TaskPatch): Promise<Task> {
+    const response = await api.patch<Task>(`/tasks/${id}`, patch, {
+      headers: { 'Content-Type': 'application/merge-patch+json' },
+    });
+    return response.data;
+  },
+
   async updateTaskStatus(id: number, status: string): Promise<Task> {
     const response = await api.patch<Task>(`/tasks/${id}/status`, { status });
     return response.data;
   },
 
+  async moveTask(id: number, move: TaskMove): Promise<Task> {
+    const response = await api.put<Task>(`/tasks/${id}/position`, move);
+    return response.data;
+  },
+
+  async getSubtasks(id: number, depth = 1): Promise<TaskTreeNode[]> {
+    const response = await api.get<TaskTreeNode[]>(`/tasks/${id}/subtasks`, { params: { depth } });
+    return response.data;
+  },
+
+  async getTaskAncestors(id: number): Promise<TaskTreeNode[]> {
+    const response = await api.get<TaskTreeNode[]>(`/tasks/${id}/ancestors`);
+    return response.data;
+  },
+
+  async getSubtreeProgress(id: number, depth?: number): Promise<SubtreeProgress> {
+    const response = await api.get<SubtreeProgress>(`/tasks/${id}/progress`, { params: { depth } });
+    return response.data;
+  },
+
+  async changeParent(id: number, parentId: number | null, version?: number): Promise<Task> {
+    const response = await api.put<Task>(`/tasks/${id}/parent`, { parentId, version });
+    return response.data;
+  },
+
   async deleteTask(id: number): Promise<void> {
     await api.delete(`/tasks/${id}`);
   },
@@ -315,4 +399,91 @@ export const taskService = {
   },
 };
 
+export const dashboardService = {
+  async getDashboard(): Promise<DashboardData> {
+    const response = await api.get<DashboardData>('/dashboard');
+    return response.data;
+  },
+};
+
+export const syncService = {
+  /**
+   * Changes since the token of the previous call (everything when omitted).
+   * Call again with the returned token while hasMore is set; on resetRequired,
+   * drop local data and start over without a token.
+   */
+  async getChanges(token?: string | null, limit?: number): Promise<SyncChanges> {
+    const params = new URLSearchParams();
+    if (token) params.append('token', token);
+    if (limit !== undefined) params.append('limit', limit.toString());
+    const response = await api.get<SyncChanges>(`/sync?${params.toString()}`);
+    return response.data;
+  },
+};
+
+export const taskArchiveService = {
+  async searchArchivedTasks(params: { query?: string; status?: string; projectId?: number; page?: number; size?: number } = {}): Promise<ArchivedTaskPage> {
+    const response = await api.get<ArchivedTaskPage>('/tasks/archive', { params });
+    return response.data;
+  },
+
+  async getArchivedTask(id: number): Promise<ArchivedTask> {
+    const response = await api.get<ArchivedTask>(`/tasks/archive/${id}`);
+    return response.data;
+  },
+
+  /** Move the task back to the live tasks; returns it as a regular task */
+  async restoreTask(id: number): Promise<Task> {
+    const response = await api.post<Task>(`/tasks/archive/${id}/restore`);
+    return response.data;
+  },
+};
+
+/** Newest-first activity feeds; pass nextCursor back to get older entries */
+export const activityService = {
+  async getProjectActivity(projectId: number, cursor?: string | null, size = 50): Promise<CursorPage<ActivityEntry>> {
+    const response = await api.get<CursorPage<ActivityEntry>>(`/activity/projects/${projectId}`, {
+      params: { cursor: cursor ?? undefined, size },
+    });
+    return response.data;
+  },
+
+  async getTaskActivity(taskId: number, cursor?: string | null, size = 50): Promise<CursorPage<ActivityEntry>> {
+    const response = await api.get<CursorPage<ActivityEntry>>(`/activity/tasks/${taskId}`, {
+      params: { cursor: cursor ?? undefined, size },
+    });
+    return response.data;
+  },
+
+  async getMyActivity(cursor?: string | null, size = 50): Promise<CursorPage<ActivityEntry>> {
+    const response = await api.get<CursorPage<ActivityEntry>>('/activity/me', {
+      params: { cursor: cursor ?? undefined, size },
+    });
+    return response.data;
+  },
+};
+
+/** Chart series read from precomputed daily rollups */
+export const projectAnalyticsService = {
+  async getBurndown(projectId: number, range: AnalyticsRange = {}): Promise<BurndownPoint[]> {
+    const response = await api.get<BurndownPoint[]>(`/projects/${projectId}/analytics/burndown`, { params: range });
+    return response.data;
+  },
+
+  async getCumulativeFlow(projectId: number, range: AnalyticsRange = {}): Promise<CumulativeFlowPoint[]> {
+    const response = await api.get<CumulativeFlowPoint[]>(`/projects/${projectId}/analytics/cumulative-flow`, {
+      params: range,
+    });
+    return response.data;
+  },
+
+  async getCycleTime(
+    projectId: number,
+    range: AnalyticsRange & { interval?: 'day' | 'week' | 'month' } = {}
+  ): Promise<CycleTimePoint[]> {
+    const response = await api.get<CycleTimePoint[]>(`/projects/${projectId}/analytics/cycle-time`, { params: range });
+    return response.data;
+  },
+};
+
 export default api;
\ No newline at end of file
@@ -6,6 +6,7 @@ export interface TaskAttachment {
   fileSize: number;
   contentType: string;
   downloadUrl: string;
+  thumbnailUrl?: string | null;
   uploader: {
     id: number;
     username: string;
@@ -16,6 +17,16 @@ export interface TaskAttachment {
   uploadedAt: string;
 }
 
+export interface UploadSession {
+  uploadId: string;
+  taskId: number;
+  originalFilename: string;
+  fileSize: number;
+  offset: number;
+  maxChunkSize: number;
+  expiresAt: string;
+}
+
 export interface AttachmentStats {
   attachmentCount: number;
   totalFileSize: number;
@@ -57,6 +68,48 @@ class TaskAttachmentService {
     return response.data;
   }
 
+  /**
+   * Upload a large file in chunks. A dropped chunk is retried from the offset
+   * the server last acknowledged, so only the chunk in flight is re-sent.
+   */
+  async uploadFileResumable(
+    taskId: number,
+    file: File,
+    onProgress?: (uploadedBytes: number, totalBytes: number) => void,
+    maxRetries: number = 5
+  ): Promise<TaskAttachment> {
+    const created = await api.post(`/tasks/${taskId}/attachments/uploads`, {
+      originalFilename: file.name,
+      fileSize: file.size,
+      contentType: file.type || 'application/octet-stream',
+    });
+    let session: UploadSession = created.data;
+    let failures = 0;
+
+    while (session.offset < session.fileSize) {
+      const chunk = file.slice(session.offset, Math.min(session.offset + session.maxChunkSize, session.fileSize));
+      try {
+        const response = await api.put(`/tasks/attachments/uploads/${session.uploadId}`, chunk, {
+          params: { offset: session.offset },
+          headers: { 'Content-Type': 'application/octet-stream' },
+        });
+        session = response.data;
+        failures = 0;
+        onProgress?.(session.offset, session.fileSize);
+      } catch (error) {
+        if (++failures > maxRetries) {
+          throw error;
+        }
+        await new Promise(resolve => setTimeout(resolve, 1000 * failures));
+        const current = await api.get(`/tasks/attachments/uploads/${session.uploadId}`);
+        session = current.data;
+      }
+    }
+
+    const response = await api.post(`/tasks/attachments/uploads/${session.uploadId}/complete`);
+    return response.data;
+  }
+
   /**
    * Get all attachments for a task
    */
@@ -75,6 +128,34 @@ class TaskAttachmentService {
     return response.data;
   }
 
+  /**
+   * Get a short-lived link that downloads the file without an Authorization header
+   */
+  async getSignedDownloadUrl(attachmentId: number): Promise<{ url: string; expiresAt: string }> {
+    const response = await api.post(`/tasks/attachments/${attachmentId}/signed-url`);
+    return response.data;
+  }
+
+  /**
+   * Download all attachments of a task as one ZIP archive
+   */
+  async downloadAttachmentArchive(taskId: number): Promise<Blob> {
+    const response = await api.get(`/tasks/${taskId}/attachments/archive`, {
+      responseType: 'blob',
+    });
+    return response.data;
+  }
+
+  /**
+   * Download the small preview image of an attachment
+   */
+  async getThumbnail(attachmentId: number): Promise<Blob> {
+    const response = await api.get(`/tasks/attachments/${attachmentId}/thumbnail`, {
+      responseType: 'blob',
+    });
+    return response.data;
+  }
+
   /**
    * Delete an attachment
    */
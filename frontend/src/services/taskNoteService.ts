@@ -1,5 +1,5 @@
 import api from './api';
-import type { TaskNoteRequest, TaskNoteResponse } from '../types/taskNote';
+import type { CursorPage, TaskNoteRequest, TaskNoteResponse, TaskNoteSummary } from '../types/taskNote';
 
 // Simple local storage implementation for testing
 class LocalTaskNoteService {
@@ -152,6 +152,24 @@ export const taskNoteService = {
     return this.getAllTaskNotes();
   },
 
+  /**
+   * Get one page of note summaries (snippet instead of full content), newest first
+   */
+  async getTaskNoteSummaries(cursor?: string | null, size = 20): Promise<CursorPage<TaskNoteSummary>> {
+    const params: Record<string, string | number> = { size };
+    if (cursor) params.cursor = cursor;
+    const response = await api.get<CursorPage<TaskNoteSummary>>('/api/task-notes/summaries', { params });
+    return response.data;
+  },
+
+  /**
+   * Get the full content of a single note
+   */
+  async getTaskNoteById(noteId: number): Promise<TaskNoteResponse> {
+    const response = await api.get<TaskNoteResponse>(`/api/task-notes/${noteId}`);
+    return response.data;
+  },
+
   /**
    * Get task notes filtered by a specific reminder tag
    */
@@ -0,0 +1,30 @@
+export type ActivityAction =
+  | 'TASK_CREATED'
+  | 'TASK_UPDATED'
+  | 'TASK_DELETED'
+  | 'TASK_RESTORED'
+  | 'PROJECT_CREATED'
+  | 'PROJECT_UPDATED'
+  | 'PROJECT_DELETED';
+
+export interface ActivityFieldChange {
+  from: unknown;
+  to: unknown;
+}
+
+export interface ActivityEntry {
+  id: number;
+  action: ActivityAction;
+  actor: {
+    id: number;
+    firstName: string;
+    lastName: string;
+    email: string;
+    role: string;
+  } | null;
+  projectId: number | null;
+  taskId: number | null;
+  /** e.g. { changes: { status: { from: 'TODO', to: 'IN_PROGRESS' } } } */
+  details: { changes?: Record<string, ActivityFieldChange>; [key: string]: unknown } | null;
+  createdAt: string;
+}
@@ -0,0 +1,29 @@
+/** Query of the project analytics endpoints; dates are YYYY-MM-DD */
+export interface AnalyticsRange {
+  from?: string;
+  to?: string;
+  assigneeId?: number;
+}
+
+export interface BurndownPoint {
+  date: string;
+  remaining: number;
+  completed: number;
+  scope: number;
+  completedOnDay: number;
+}
+
+export interface CumulativeFlowPoint {
+  date: string;
+  todo: number;
+  inProgress: number;
+  completed: number;
+  cancelled: number;
+}
+
+export interface CycleTimePoint {
+  periodStart: string;
+  completed: number;
+  averageCycleTimeHours: number | null;
+  averageLeadTimeHours: number | null;
+}
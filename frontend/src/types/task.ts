@@ -11,6 +11,10 @@ export interface Task {
   updatedAt?: string;
   dueDate?: string;
   attachments?: TaskAttachment[];
+  version?: number;
+  /** Position in the manual order of the project; compare as plain strings */
+  rank?: string;
+  parentId?: number | null;
 }
 
 export interface TaskRequest {
@@ -21,6 +25,27 @@ export interface TaskRequest {
   projectId: number;
   assigneeId?: number;
   dueDate?: string;
+  version?: number;
+  /** Creation only; move existing tasks with taskService.changeParent */
+  parentId?: number;
+}
+
+/** New place of a task: right after afterTaskId (first when null), optionally in another status column */
+export interface TaskMove {
+  afterTaskId: number | null;
+  status?: TaskStatus;
+  version?: number;
+}
+
+/** JSON Merge Patch of a task: absent fields are kept, null clears a field */
+export interface TaskPatch {
+  title?: string;
+  description?: string | null;
+  status?: TaskStatus;
+  priority?: TaskPriority;
+  dueDate?: string | null;
+  assigneeId?: number | null;
+  version?: number;
 }
 
 export interface TaskSearchRequest {
@@ -47,6 +72,31 @@ export interface TaskResponse {
   empty: boolean;
 }
 
+/** A closed task moved to the archive; attachments are only set on the detail view */
+export interface ArchivedTask {
+  id: number;
+  title: string;
+  description?: string;
+  status: TaskStatus;
+  priority: TaskPriority;
+  project: ProjectInfo;
+  assignee?: UserInfo;
+  creator: UserInfo;
+  createdAt: string;
+  updatedAt?: string;
+  dueDate?: string;
+  archivedAt: string;
+  attachments?: TaskAttachment[];
+}
+
+export interface ArchivedTaskPage {
+  content: ArchivedTask[];
+  totalElements: number;
+  totalPages: number;
+  size: number;
+  number: number;
+}
+
 export interface TaskStats {
   totalTasks: number;
   todoTasks: number;
@@ -72,7 +122,7 @@ export type TaskStatus = 'TODO' | 'IN_PROGRESS' | 'COMPLETED' | 'CANCELLED';
 
 export type TaskPriority = 'LOW' | 'MEDIUM' | 'HIGH' | 'URGENT';
 
-export type TaskSortField = 'createdAt' | 'updatedAt' | 'dueDate' | 'title' | 'priority';
+export type TaskSortField = 'createdAt' | 'updatedAt' | 'dueDate' | 'title' | 'priority' | 'rank';
 
 export type SortDirection = 'ASC' | 'DESC';
 
@@ -96,6 +146,7 @@ export const TASK_SORT_OPTIONS: { value: TaskSortField; label: string }[] = [
   { value: 'dueDate', label: 'Due Date' },
   { value: 'title', label: 'Title' },
   { value: 'priority', label: 'Priority' },
+  { value: 'rank', label: 'Manual Order' },
 ];
 
 export interface TaskAttachment {
@@ -104,6 +155,7 @@ export interface TaskAttachment {
   fileSize: number;
   contentType: string;
   downloadUrl: string;
+  thumbnailUrl?: string | null;
   uploader: {
     id: number;
     username: string;
@@ -112,4 +164,52 @@ export interface TaskAttachment {
     lastName: string;
   };
   uploadedAt: string;
-}
\ No newline at end of file
+}
+/** A task on the project board */
+export interface BoardCard {
+  id: number;
+  title: string;
+  priority: TaskPriority;
+  dueDate?: string;
+  updatedAt?: string;
+  version: number;
+  rank: string;
+  assignee?: UserInfo;
+}
+
+export interface BoardColumn {
+  status: TaskStatus;
+  /** All tasks in the column the user can see, not only those returned */
+  total: number;
+  tasks: BoardCard[];
+}
+
+export interface ProjectBoard {
+  projectId: number;
+  columns: BoardColumn[];
+}
+
+/** A task in a subtask tree (children within the requested depth) or ancestor path (no children) */
+export interface TaskTreeNode {
+  id: number;
+  title: string;
+  status: TaskStatus;
+  priority: TaskPriority;
+  parentId: number | null;
+  depth: number;
+  rank: string;
+  assignee?: UserInfo;
+  children: TaskTreeNode[];
+}
+
+export interface SubtreeProgress {
+  taskId: number;
+  depth: number;
+  total: number;
+  todo: number;
+  inProgress: number;
+  completed: number;
+  cancelled: number;
+  /** Completed share of the subtasks that are not cancelled; null without any */
+  percentComplete: number | null;
+}
@@ -27,6 +27,23 @@ export interface TaskNoteResponse {
   updatedAt: string;
 }
 
+export interface TaskNoteSummary {
+  id: number;
+  noteName?: string;
+  taskId: number | null;
+  taskTitle: string | null;
+  snippet: string | null;
+  reminderTags: string[];
+  createdAt: string;
+  updatedAt: string;
+}
+
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
 export interface TaskNoteStats {
   totalNotes: number;
   totalTags: number;